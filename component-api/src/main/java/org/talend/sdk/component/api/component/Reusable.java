@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.component;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.talend.sdk.component.api.meta.Documentation;
+
+/**
+ * Marks a `@Processor` or a `@PartitionMapper` as reusable: it does not keep any state between its
+ * `@PostConstruct` and `@PreDestroy` callbacks which would prevent it to be used again with the same configuration.
+ *
+ * The runtime can then keep the started instances and reuse them instead of creating a new one for each lookup,
+ * `@PreDestroy` is only called when the instance is evicted.
+ */
+@Documentation("Mark a `@Processor` or a `@PartitionMapper` as stateless between its lifecycle callbacks, "
+        + "the runtime can then reuse the started instances for the same configuration.")
+@Target(TYPE)
+@Retention(RUNTIME)
+public @interface Reusable {
+}
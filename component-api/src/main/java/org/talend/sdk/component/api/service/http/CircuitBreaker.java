@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Stops sending requests to a host after consecutive failures (network errors or 5xx statuses),
+ * requests fail immediately until the open duration is elapsed, then a single trial request is let through.
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface CircuitBreaker {
+
+    /**
+     * @return the number of consecutive failures opening the circuit.
+     */
+    int failureThreshold() default 5;
+
+    /**
+     * @return how long the circuit stays open in milliseconds.
+     */
+    long openDuration() default 30000;
+}
@@ -15,6 +15,9 @@
  */
 package org.talend.sdk.component.api.service.http;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Type;
 
 /**
@@ -28,4 +31,33 @@ public interface Decoder {
      * @return the instantiated payload respecting expectedType.
      */
     Object decode(byte[] value, Type expectedType);
+
+    /**
+     * Streaming flavor of {@link #decode(byte[], Type)}, it is used when the payload does not need to be buffered.
+     * If the expected type is an {@link java.util.Iterator} or a {@link java.util.stream.Stream} the returned
+     * instance can read the stream lazily and must close it once consumed, otherwise the caller closes it.
+     * In the lazy case the connection is held until then so the caller must fully consume the returned
+     * {@link java.util.Iterator} (or close it if it is {@link AutoCloseable}) or close the returned
+     * {@link java.util.stream.Stream} (try-with-resources), else the connection is not released.
+     *
+     * The default implementation buffers the payload, closes the stream and delegates to
+     * {@link #decode(byte[], Type)}.
+     *
+     * @param value the payload stream.
+     * @param expectedType the user type.
+     * @return the instantiated payload respecting expectedType.
+     */
+    default Object decode(final InputStream value, final Type expectedType) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        final byte[] bytes = new byte[8192];
+        try (final InputStream stream = value) {
+            int count;
+            while ((count = stream.read(bytes)) >= 0) {
+                buffer.write(bytes, 0, count);
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return decode(buffer.toByteArray(), expectedType);
+    }
 }
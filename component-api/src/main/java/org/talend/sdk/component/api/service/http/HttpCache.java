@@ -0,0 +1,50 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the successful responses of the GET requests in the plugin
+ * {@link org.talend.sdk.component.api.service.cache.LocalCache}.
+ * A response is served locally while it is fresh ({@code Cache-Control: max-age} or {@link #maxAge()}),
+ * then it is revalidated with its {@code ETag} or {@code Last-Modified} header and reused if the server answers
+ * {@code 304 Not Modified}.
+ *
+ * The cache key is the method, the url, the request headers passed to the method and, when the method uses
+ * a {@link Configurer}, its type and a hash of its {@link ConfigurerOption} values (credentials for instance).
+ * A configurer adding headers from another source than its options must not be used with this cache.
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface HttpCache {
+
+    /**
+     * @return how long in milliseconds a response without {@code Cache-Control} max-age is considered fresh,
+     * 0 means it is revalidated for each request.
+     */
+    long maxAge() default 0;
+
+    /**
+     * @return how long in milliseconds a response is kept in the cache to be revalidated.
+     */
+    long timeout() default 3600000;
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Limits the rate of the requests of a client to a host, requests over the limit are delayed.
+ * The limit is shared by all the methods of the client using the same configuration.
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface RateLimit {
+
+    /**
+     * @return the number of requests allowed per period, it is also the allowed burst.
+     */
+    int permits();
+
+    /**
+     * @return the period in milliseconds.
+     */
+    long period() default 1000;
+}
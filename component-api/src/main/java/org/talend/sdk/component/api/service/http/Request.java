@@ -37,4 +37,10 @@ public @interface Request {
      * @return the request path.
      */
     String path() default "";
+
+    /**
+     * @return the encoding ({@code gzip} or {@code deflate}) used to compress the request payload, the
+     * {@code Content-Encoding} header is set accordingly. Empty (default) sends the payload as encoded.
+     */
+    String compression() default "";
 }
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.api.service.http;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Retries the request when it fails with a network error or one of the configured statuses.
+ * The delay between attempts grows exponentially (with jitter) and a {@code Retry-After} response header is honored.
+ *
+ * Only idempotent methods ({@code GET}, {@code HEAD}, {@code OPTIONS}, {@code TRACE}, {@code PUT}
+ * and {@code DELETE}) are retried by default since a failed request may have been processed by the server,
+ * other methods are only retried on a {@code 429} status unless {@link #nonIdempotent()} is set.
+ */
+@Target({ TYPE, METHOD })
+@Retention(RUNTIME)
+public @interface Retry {
+
+    /**
+     * @return the maximum number of attempts, including the first one.
+     */
+    int maxAttempts() default 3;
+
+    /**
+     * @return the delay before the first retry in milliseconds, it is doubled for each next retry.
+     */
+    long backoff() default 500;
+
+    /**
+     * @return the maximum delay between two attempts in milliseconds, a longer {@code Retry-After} stops the retries.
+     */
+    long maxBackoff() default 30000;
+
+    /**
+     * @return the HTTP statuses triggering a retry.
+     */
+    int[] statuses() default { 429, 502, 503, 504 };
+
+    /**
+     * @return true to retry non idempotent methods (like {@code POST}) too,
+     * only use it if the server handles duplicated requests.
+     */
+    boolean nonIdempotent() default false;
+}
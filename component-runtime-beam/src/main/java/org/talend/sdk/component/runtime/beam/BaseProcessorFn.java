@@ -33,6 +33,7 @@ import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.record.Schema;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.beam.spi.record.RecordCollectors;
 import org.talend.sdk.component.runtime.output.InputFactory;
 import org.talend.sdk.component.runtime.output.OutputFactory;
@@ -65,9 +66,13 @@ abstract class BaseProcessorFn<O> extends DoFn<Record, O> {
 
     BaseProcessorFn(final Processor processor) {
         this.processor = processor;
-        if (ProcessorImpl.class.isInstance(processor)) {
+        // pooled instances wrap the actual processor
+        final Object processorImpl = Delegated.class.isInstance(processor) && !ProcessorImpl.class.isInstance(processor)
+                ? Delegated.class.cast(processor).getDelegate()
+                : processor;
+        if (ProcessorImpl.class.isInstance(processorImpl)) {
             ProcessorImpl.class
-                    .cast(processor)
+                    .cast(processorImpl)
                     .getInternalConfiguration()
                     .entrySet()
                     .stream()
@@ -0,0 +1,383 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.base.Lifecycle;
+import org.talend.sdk.component.runtime.input.Input;
+import org.talend.sdk.component.runtime.input.Mapper;
+import org.talend.sdk.component.runtime.output.InputFactory;
+import org.talend.sdk.component.runtime.output.OutputFactory;
+import org.talend.sdk.component.runtime.output.Processor;
+
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the started instances of the {@link org.talend.sdk.component.api.component.Reusable} components of a plugin
+ * to reuse them for the same configuration. The instances are handed out wrapped: the first {@code start()}
+ * starts the actual instance and {@code stop()} gives it back to the pool, it is really stopped when it is evicted
+ * (pool full, idle for too long or plugin undeployed). Idle instances are swept when the pool is used and by
+ * a task scheduled while some instances are idle, so they are released even if the workload stops.
+ */
+@Slf4j
+class ComponentInstancePool implements AutoCloseable {
+
+    private final int maxIdle;
+
+    private final long idleTimeout;
+
+    private final ConcurrentMap<Key, Deque<PooledInstance<?>>> idle = new ConcurrentHashMap<>();
+
+    private final AtomicInteger idleCount = new AtomicInteger();
+
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime());
+
+    private final Supplier<ScheduledExecutorService> scheduler;
+
+    private final AtomicBoolean sweepScheduled = new AtomicBoolean();
+
+    private volatile ScheduledFuture<?> sweepTask;
+
+    private volatile boolean closed;
+
+    ComponentInstancePool(final Supplier<ScheduledExecutorService> scheduler) {
+        this(Integer.getInteger("talend.component.manager.instances.pool.maxIdle", 64),
+                Long.getLong("talend.component.manager.instances.pool.idleTimeout", 60000L), scheduler);
+    }
+
+    /**
+     * @param maxIdle the maximum number of idle instances.
+     * @param idleTimeout how long in milliseconds an instance can stay idle.
+     * @param scheduler the executor sweeping the idle instances when the pool is not used, can be null.
+     */
+    ComponentInstancePool(final int maxIdle, final long idleTimeout,
+            final Supplier<ScheduledExecutorService> scheduler) {
+        this.maxIdle = maxIdle;
+        this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+        this.scheduler = scheduler;
+    }
+
+    boolean isActive() {
+        return maxIdle > 0;
+    }
+
+    /**
+     * @param key the component and its configuration.
+     * @param factory creates a new instance if none is idle for this key.
+     * @return a pooled instance, released when it is stopped.
+     */
+    Lifecycle acquire(final Key key, final Supplier<Lifecycle> factory) {
+        evictIdle();
+        final Deque<PooledInstance<?>> instances = idle.get(key);
+        if (instances != null) {
+            final PooledInstance<?> instance = instances.pollFirst();
+            if (instance != null) {
+                idleCount.decrementAndGet();
+                removeIfEmpty(key);
+                instance.acquire();
+                return instance;
+            }
+        }
+        final Lifecycle instance = factory.get();
+        if (Processor.class.isInstance(instance)) {
+            return new PooledProcessor(this, key, Processor.class.cast(instance));
+        }
+        if (Mapper.class.isInstance(instance)) {
+            return new PooledMapper(this, key, Mapper.class.cast(instance));
+        }
+        return instance;
+    }
+
+    private void release(final PooledInstance<?> instance) {
+        if (!instance.started || closed) { // nothing to keep
+            instance.destroy();
+            return;
+        }
+        if (idleCount.incrementAndGet() > maxIdle) {
+            idleCount.decrementAndGet();
+            instance.destroy();
+            return;
+        }
+        instance.idleSince = System.nanoTime();
+        // added in compute() to not race with removeIfEmpty()
+        idle.compute(instance.key, (key, instances) -> {
+            final Deque<PooledInstance<?>> deque = instances == null ? new ConcurrentLinkedDeque<>() : instances;
+            deque.addFirst(instance);
+            return deque;
+        });
+        if (closed) { // close() raced with the release
+            close();
+        }
+        evictIdle();
+        scheduleSweep();
+    }
+
+    // at most one task per pool, it reschedules itself while instances are idle
+    private void scheduleSweep() {
+        if (scheduler == null || closed || !sweepScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            sweepTask = scheduler
+                    .get()
+                    .schedule(this::scheduledSweep, Math.max(1, TimeUnit.NANOSECONDS.toMillis(idleTimeout / 2)),
+                            TimeUnit.MILLISECONDS);
+        } catch (final RejectedExecutionException ree) { // manager closed, the pool is closed with the plugins
+            sweepScheduled.set(false);
+        }
+    }
+
+    private void scheduledSweep() {
+        sweepScheduled.set(false);
+        final long now = System.nanoTime();
+        nextSweep.set(now + idleTimeout / 2);
+        sweep(now);
+        if (idleCount.get() > 0) {
+            scheduleSweep();
+        }
+    }
+
+    private void evictIdle() {
+        final long now = System.nanoTime();
+        final long next = nextSweep.get();
+        if (now - next < 0 || !nextSweep.compareAndSet(next, now + idleTimeout / 2)) {
+            return;
+        }
+        sweep(now);
+    }
+
+    private void sweep(final long now) {
+        final long expired = now - idleTimeout;
+        for (final Map.Entry<Key, Deque<PooledInstance<?>>> entry : idle.entrySet()) {
+            final Deque<PooledInstance<?>> instances = entry.getValue();
+            // most recently used first so the expired ones are at the end
+            final Iterator<PooledInstance<?>> iterator = instances.descendingIterator();
+            while (iterator.hasNext()) {
+                final PooledInstance<?> instance = iterator.next();
+                if (instance.idleSince - expired > 0) {
+                    break;
+                }
+                if (instances.removeFirstOccurrence(instance)) {
+                    idleCount.decrementAndGet();
+                    instance.destroy();
+                }
+            }
+            removeIfEmpty(entry.getKey());
+        }
+    }
+
+    // a key holds a copy of the configuration, don't keep it when no instance is idle anymore
+    private void removeIfEmpty(final Key key) {
+        idle.computeIfPresent(key, (k, instances) -> instances.isEmpty() ? null : instances);
+    }
+
+    int idleKeys() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        final ScheduledFuture<?> task = sweepTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        final Collection<PooledInstance<?>> instances = new ArrayList<>();
+        idle.forEach((key, deque) -> {
+            PooledInstance<?> instance;
+            while ((instance = deque.pollFirst()) != null) {
+                idleCount.decrementAndGet();
+                instances.add(instance);
+            }
+            removeIfEmpty(key);
+        });
+        instances.forEach(PooledInstance::destroy);
+    }
+
+    /**
+     * Identifies the instances which can be reused, the configuration is the raw one (before migration).
+     */
+    @Data
+    static class Key {
+
+        private final String plugin;
+
+        private final String type;
+
+        private final String name;
+
+        private final int version;
+
+        private final Map<String, String> configuration;
+
+        Key(final String plugin, final String type, final String name, final int version,
+                final Map<String, String> configuration) {
+            this.plugin = plugin;
+            this.type = type;
+            this.name = name;
+            this.version = version;
+            this.configuration = configuration == null ? null : new HashMap<>(configuration);
+        }
+    }
+
+    private abstract static class PooledInstance<T extends Lifecycle> implements Lifecycle, Delegated, Serializable {
+
+        private final transient ComponentInstancePool pool;
+
+        private final transient Key key;
+
+        protected final T delegate;
+
+        private final AtomicBoolean inUse = new AtomicBoolean(true);
+
+        private volatile boolean started;
+
+        private volatile long idleSince;
+
+        private PooledInstance(final ComponentInstancePool pool, final Key key, final T delegate) {
+            this.pool = pool;
+            this.key = key;
+            this.delegate = delegate;
+        }
+
+        private void acquire() {
+            inUse.set(true);
+        }
+
+        private void destroy() {
+            if (!started) {
+                return;
+            }
+            started = false;
+            try {
+                delegate.stop();
+            } catch (final RuntimeException re) {
+                log.warn("Can't stop pooled instance of " + delegate.plugin() + "#" + delegate.name(), re);
+            }
+        }
+
+        @Override
+        public Object getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public String plugin() {
+            return delegate.plugin();
+        }
+
+        @Override
+        public String rootName() {
+            return delegate.rootName();
+        }
+
+        @Override
+        public String name() {
+            return delegate.name();
+        }
+
+        @Override
+        public void start() {
+            if (!started) {
+                delegate.start();
+                started = true;
+            }
+        }
+
+        @Override
+        public void stop() {
+            if (inUse.compareAndSet(true, false)) {
+                pool.release(this);
+            }
+        }
+
+        // a serialized instance is no more pooled, the remote side owns its lifecycle
+        protected Object writeReplace() throws ObjectStreamException {
+            return delegate;
+        }
+    }
+
+    private static class PooledProcessor extends PooledInstance<Processor> implements Processor {
+
+        private PooledProcessor(final ComponentInstancePool pool, final Key key, final Processor delegate) {
+            super(pool, key, delegate);
+        }
+
+        @Override
+        public void beforeGroup() {
+            delegate.beforeGroup();
+        }
+
+        @Override
+        public void afterGroup(final OutputFactory output) {
+            delegate.afterGroup(output);
+        }
+
+        @Override
+        public void onNext(final InputFactory input, final OutputFactory output) {
+            delegate.onNext(input, output);
+        }
+    }
+
+    private static class PooledMapper extends PooledInstance<Mapper> implements Mapper {
+
+        private PooledMapper(final ComponentInstancePool pool, final Key key, final Mapper delegate) {
+            super(pool, key, delegate);
+        }
+
+        @Override
+        public long assess() {
+            return delegate.assess();
+        }
+
+        @Override
+        public List<Mapper> split(final long desiredSize) {
+            return delegate.split(desiredSize);
+        }
+
+        @Override
+        public Input create() {
+            return delegate.create();
+        }
+
+        @Override
+        public boolean isStream() {
+            return delegate.isStream();
+        }
+    }
+}
@@ -73,6 +73,8 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
@@ -117,6 +119,7 @@ import org.apache.xbean.finder.util.Files;
 import org.apache.xbean.propertyeditor.Converter;
 import org.talend.sdk.component.api.component.Components;
 import org.talend.sdk.component.api.component.MigrationHandler;
+import org.talend.sdk.component.api.component.Reusable;
 import org.talend.sdk.component.api.component.Version;
 import org.talend.sdk.component.api.input.Emitter;
 import org.talend.sdk.component.api.input.PartitionMapper;
@@ -142,6 +145,7 @@ import org.talend.sdk.component.dependencies.maven.MvnDependencyListLocalReposit
 import org.talend.sdk.component.jmx.JmxManager;
 import org.talend.sdk.component.path.PathFactory;
 import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.base.Lifecycle;
 import org.talend.sdk.component.runtime.impl.Mode;
 import org.talend.sdk.component.runtime.input.LocalPartitionMapper;
 import org.talend.sdk.component.runtime.input.Mapper;
@@ -360,6 +364,9 @@ public class ComponentManager implements AutoCloseable {
 
     private final DefaultServiceProvider defaultServiceProvider;
 
+    // sweeps the idle @Reusable instances, created with the first pooled instance
+    private final AtomicReference<ScheduledExecutorService> instancePoolScheduler = new AtomicReference<>();
+
     public ComponentManager(final File m2) {
         this(m2.toPath());
     }
@@ -442,6 +449,8 @@ public class ComponentManager implements AutoCloseable {
                         .parentClassesFilter(isContainerClass)
                         .classesFilter(isContainerClass.negate())
                         .supportsResourceDependencies(true)
+                        .lazyNestedDependencies(Boolean.getBoolean("talend.component.manager.classloader.nested.lazy"))
+                        .sharedDependencies(Boolean.getBoolean("talend.component.manager.classloader.shared"))
                         .create();
         this.container = new ContainerManager(ContainerManager.DependenciesResolutionConfiguration
                 .builder()
@@ -771,18 +780,19 @@ public class ComponentManager implements AutoCloseable {
     // nothing more
     public Optional<Object> createComponent(final String plugin, final String name, final ComponentType componentType,
             final int version, final Map<String, String> configuration) {
-        return findComponentInternal(plugin, name, componentType, version, configuration)
+        return findComponentInternal(plugin, name, componentType, version, configuration, false)
                 // unwrap to access the actual instance which is the desired one
                 .map(i -> Delegated.class.isInstance(i) ? Delegated.class.cast(i).getDelegate() : i);
     }
 
     private Optional<Object> findComponentInternal(final String plugin, final String name,
-            final ComponentType componentType, final int version, final Map<String, String> configuration) {
+            final ComponentType componentType, final int version, final Map<String, String> configuration,
+            final boolean pooled) {
         if (container.findAll().isEmpty()) {
             autoDiscoverPlugins(false, true);
         }
         return find(pluginContainer -> Stream
-                .of(findInstance(plugin, name, componentType, version, configuration, pluginContainer)))
+                .of(findInstance(plugin, name, componentType, version, configuration, pluginContainer, pooled)))
                         .filter(Objects::nonNull)
                         .findFirst();
     }
@@ -814,18 +824,16 @@ public class ComponentManager implements AutoCloseable {
     }
 
     private Object findInstance(final String plugin, final String name, final ComponentType componentType,
-            final int version, final Map<String, String> configuration, final Container pluginContainer) {
+            final int version, final Map<String, String> configuration, final Container pluginContainer,
+            final boolean pooled) {
         return findGenericInstance(plugin, name, componentType, version, configuration, pluginContainer)
-                .orElseGet(
-                        () -> findDeployedInstance(plugin, name, componentType, version, configuration, pluginContainer)
-                                .filter(Objects::nonNull)
-                                .findFirst()
-                                .orElse(null));
+                .orElseGet(() -> findDeployedInstance(plugin, name, componentType, version, configuration,
+                        pluginContainer, pooled).filter(Objects::nonNull).findFirst().orElse(null));
     }
 
     private Stream<Object> findDeployedInstance(final String plugin, final String name,
             final ComponentType componentType, final int version, final Map<String, String> configuration,
-            final Container pluginContainer) {
+            final Container pluginContainer, final boolean pooled) {
         return Stream
                 .of(pluginContainer.get(ContainerComponentRegistry.class))
                 .filter(Objects::nonNull)
@@ -834,14 +842,29 @@ public class ComponentManager implements AutoCloseable {
                 .map(component -> componentType.findMeta(component).get(name))
                 .filter(Objects::nonNull)
                 .map(comp -> {
-                    if (configuration == null) {
-                        return comp.getInstantiator().apply(null);
+                    final ComponentInstancePool pool = pooled && comp.getType().isAnnotationPresent(Reusable.class)
+                            ? pluginContainer.get(ComponentInstancePool.class)
+                            : null;
+                    if (pool != null && pool.isActive()) {
+                        return pool
+                                .acquire(
+                                        new ComponentInstancePool.Key(plugin, componentType.name(), name, version,
+                                                configuration),
+                                        () -> Lifecycle.class.cast(instantiate(comp, version, configuration)));
                     }
-                    final Supplier<MigrationHandler> migrationHandler = comp.getMigrationHandler();
-                    return comp.getInstantiator().apply(migrationHandler.get().migrate(version, configuration));
+                    return instantiate(comp, version, configuration);
                 });
     }
 
+    private Object instantiate(final ComponentFamilyMeta.BaseMeta<?> comp, final int version,
+            final Map<String, String> configuration) {
+        if (configuration == null) {
+            return comp.getInstantiator().apply(null);
+        }
+        final Supplier<MigrationHandler> migrationHandler = comp.getMigrationHandler();
+        return comp.getInstantiator().apply(migrationHandler.get().migrate(version, configuration));
+    }
+
     private Optional<Object> findGenericInstance(final String plugin, final String name,
             final ComponentType componentType, final int version, final Map<String, String> configuration,
             final Container pluginContainer) {
@@ -857,18 +880,18 @@ public class ComponentManager implements AutoCloseable {
 
     public Optional<Mapper> findMapper(final String plugin, final String name, final int version,
             final Map<String, String> configuration) {
-        return findComponentInternal(plugin, name, MAPPER, version, configuration).map(Mapper.class::cast);
+        return findComponentInternal(plugin, name, MAPPER, version, configuration, true).map(Mapper.class::cast);
     }
 
     public Optional<org.talend.sdk.component.runtime.standalone.DriverRunner> findDriverRunner(final String plugin,
             final String name, final int version, final Map<String, String> configuration) {
-        return findComponentInternal(plugin, name, DRIVER_RUNNER, version, configuration)
+        return findComponentInternal(plugin, name, DRIVER_RUNNER, version, configuration, false)
                 .map(org.talend.sdk.component.runtime.standalone.DriverRunner.class::cast);
     }
 
     public Optional<org.talend.sdk.component.runtime.output.Processor> findProcessor(final String plugin,
             final String name, final int version, final Map<String, String> configuration) {
-        return findComponentInternal(plugin, name, PROCESSOR, version, configuration)
+        return findComponentInternal(plugin, name, PROCESSOR, version, configuration, true)
                 .map(org.talend.sdk.component.runtime.output.Processor.class::cast);
     }
 
@@ -938,6 +961,26 @@ public class ComponentManager implements AutoCloseable {
     public void close() {
         container.close();
         propertyEditorRegistry.close();
+        ofNullable(instancePoolScheduler.getAndSet(null)).ifPresent(ScheduledExecutorService::shutdownNow);
+    }
+
+    private ScheduledExecutorService getInstancePoolScheduler() {
+        ScheduledExecutorService scheduler = instancePoolScheduler.get();
+        if (scheduler == null) {
+            final ScheduledThreadPoolExecutor created = new ScheduledThreadPoolExecutor(1, r -> {
+                final Thread thread = new Thread(r, ComponentInstancePool.class.getName() + "-" + hashCode());
+                thread.setDaemon(true);
+                return thread;
+            });
+            created.setRemoveOnCancelPolicy(true);
+            if (instancePoolScheduler.compareAndSet(null, created)) {
+                scheduler = created;
+            } else {
+                created.shutdownNow();
+                scheduler = instancePoolScheduler.get();
+            }
+        }
+        return scheduler;
     }
 
     private Consumer<Container> createContainerCustomizer(final String originalId) {
@@ -1173,6 +1216,7 @@ public class ComponentManager implements AutoCloseable {
             try {
                 String alreadyScannedClasses = null;
                 Filter filter = KnownClassesFilter.INSTANCE;
+                final Map<String, String> scanningIndex = new HashMap<>();
                 try (final InputStream containerFilterConfig =
                         container.getLoader().getResourceAsStream("TALEND-INF/scanning.properties")) {
                     if (containerFilterConfig != null) {
@@ -1180,6 +1224,12 @@ public class ComponentManager implements AutoCloseable {
                         config.load(containerFilterConfig);
                         filter = createScanningFilter(config);
                         alreadyScannedClasses = config.getProperty("classes.list");
+                        config
+                                .stringPropertyNames()
+                                .stream()
+                                .filter(it -> it.startsWith("classes.index."))
+                                .forEach(key -> scanningIndex
+                                        .put(key.substring("classes.index.".length()), config.getProperty(key)));
                     }
                 } catch (final IOException e) {
                     log.debug(e.getMessage(), e);
@@ -1188,27 +1238,34 @@ public class ComponentManager implements AutoCloseable {
                 AnnotationFinder optimizedFinder = null;
                 if (alreadyScannedClasses != null
                         && !(alreadyScannedClasses = alreadyScannedClasses.trim()).isEmpty()) {
-                    final List<? extends Class<?>> classes =
-                            Stream.of(alreadyScannedClasses.split(",")).map(String::trim).map(it -> {
-                                try {
-                                    return loader.loadClass(it);
-                                } catch (final ClassNotFoundException e) {
-                                    throw new IllegalArgumentException(e);
-                                }
-                            }).collect(toList());
+                    final String scannedClasses = alreadyScannedClasses;
+                    final Supplier<List<Class<?>>> classes = lazy(() -> loadClasses(loader, scannedClasses));
+                    final Map<String, List<Class<?>>> indexedClasses = new ConcurrentHashMap<>();
+                    final Function<String, List<Class<?>>> indexLookup = marker -> ofNullable(scanningIndex.get(marker))
+                            .map(list -> indexedClasses.computeIfAbsent(marker, k -> loadClasses(loader, list)))
+                            .orElse(null);
                     if (KnownClassesFilter.INSTANCE == filter) {
                         archive = new ClassesArchive(/* empty */);
                         optimizedFinder = new AnnotationFinder(archive) {
 
                             @Override
                             public List<Class<?>> findAnnotatedClasses(final Class<? extends Annotation> marker) {
-                                return classes.stream().filter(c -> c.isAnnotationPresent(marker)).collect(toList());
+                                final List<Class<?>> indexed = indexLookup.apply(marker.getName());
+                                if (indexed != null) { // precomputed at build time, no need to filter
+                                    return indexed;
+                                }
+                                return classes
+                                        .get()
+                                        .stream()
+                                        .filter(c -> c.isAnnotationPresent(marker))
+                                        .collect(toList());
                             }
 
                             @Override
                             public List<Method> findAnnotatedMethods(final Class<? extends Annotation> annotation) {
                                 if (Request.class == annotation) { // optimized
-                                    return classes
+                                    return ofNullable(indexLookup.apply(annotation.getName()))
+                                            .orElseGet(classes)
                                             .stream()
                                             .filter(HttpClient.class::isAssignableFrom)
                                             .flatMap(client -> Stream
@@ -1252,6 +1309,9 @@ public class ComponentManager implements AutoCloseable {
             }
             final ContainerComponentRegistry registry = new ContainerComponentRegistry();
             container.set(ContainerComponentRegistry.class, registry);
+            container
+                    .set(ComponentInstancePool.class,
+                            new ComponentInstancePool(ComponentManager.this::getInstancePoolScheduler));
 
             final boolean isGeneric;
             final Iterator<GenericComponentExtension> genericExtension =
@@ -1378,6 +1438,16 @@ public class ComponentManager implements AutoCloseable {
             }
         }
 
+        private List<Class<?>> loadClasses(final ClassLoader loader, final String list) {
+            return Stream.of(list.split(",")).map(String::trim).filter(it -> !it.isEmpty()).map(it -> {
+                try {
+                    return loader.loadClass(it);
+                } catch (final ClassNotFoundException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }).collect(toList());
+        }
+
         private Filter createScanningFilter(final Properties config) {
             final String includes = config.getProperty("classloader.includes");
             final String excludes = config.getProperty("classloader.excludes");
@@ -1687,6 +1757,7 @@ public class ComponentManager implements AutoCloseable {
         public void onClose(final Container container) {
             // ensure we don't keep any data/ref after the classloader of the container is
             // released
+            ofNullable(container.remove(ComponentInstancePool.class)).ifPresent(ComponentInstancePool::close);
             ofNullable(container.get(ContainerComponentRegistry.class)).ifPresent(r -> {
                 final ContainerComponentRegistry registry = container.remove(ContainerComponentRegistry.class);
                 registry.getComponents().clear();
@@ -49,6 +49,7 @@ import javax.json.bind.JsonbConfig;
 import org.talend.sdk.component.api.processor.OutputEmitter;
 import org.talend.sdk.component.api.record.Record;
 import org.talend.sdk.component.api.service.record.RecordBuilderFactory;
+import org.talend.sdk.component.runtime.base.Delegated;
 import org.talend.sdk.component.runtime.base.Lifecycle;
 import org.talend.sdk.component.runtime.input.Input;
 import org.talend.sdk.component.runtime.input.Mapper;
@@ -345,9 +346,14 @@ public class JobImpl implements Job {
                                 .orElseThrow(() -> new IllegalStateException(
                                         "No processor found for:" + component.getNode()));
                         final AtomicInteger maxBatchSize = new AtomicInteger(1);
-                        if (ProcessorImpl.class.isInstance(processor)) {
+                        // pooled instances wrap the actual processor
+                        final Object processorImpl =
+                                Delegated.class.isInstance(processor) && !ProcessorImpl.class.isInstance(processor)
+                                        ? Delegated.class.cast(processor).getDelegate()
+                                        : processor;
+                        if (ProcessorImpl.class.isInstance(processorImpl)) {
                             ProcessorImpl.class
-                                    .cast(processor)
+                                    .cast(processorImpl)
                                     .getInternalConfiguration()
                                     .entrySet()
                                     .stream()
@@ -18,14 +18,17 @@ package org.talend.sdk.component.runtime.manager.interceptor;
 import static java.util.stream.Collectors.joining;
 
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.talend.sdk.component.api.service.cache.Cached;
 import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.interceptor.InterceptorHandler;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
 
 public class CacheHandler implements InterceptorHandler {
 
@@ -42,19 +45,72 @@ public class CacheHandler implements InterceptorHandler {
 
     @Override
     public Object invoke(final Method method, final Object[] args) {
-        final String key = toKey(method, args);
-        final long timeout = timeouts.computeIfAbsent(method, m -> findAnnotation(m, Cached.class).get().timeout());
-        return cache.computeIfAbsent(Object.class, key, timeout, () -> invoker.apply(method, args));
+        Long timeout = timeouts.get(method);
+        if (timeout == null) {
+            timeout = timeouts.computeIfAbsent(method, m -> findAnnotation(m, Cached.class).get().timeout());
+        }
+        // the invocation is the key and the value provider so it is the only allocation of a cache hit
+        final Invocation invocation = new Invocation(method, args);
+        if (LocalCacheService.class.isInstance(cache)) {
+            return LocalCacheService.class
+                    .cast(cache)
+                    .computeIfAbsent(Object.class, invocation, null, timeout, invocation);
+        }
+        return cache.computeIfAbsent(Object.class, invocation.toString(), timeout, invocation);
     }
 
-    // assumes toString() and hashCode() of params are representative
-    private String toKey(final Method method, final Object[] args) {
-        return method.getDeclaringClass().getName() + "#" + method.getName() + "("
-                + (args == null ? ""
-                        : Stream
-                                .of(args)
-                                .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
-                                .collect(joining(",")))
-                + ")";
+    /**
+     * Key of a cached invocation, it assumes the parameters implement equals/hashCode and are not mutated
+     * once passed to the cached method.
+     */
+    private class Invocation implements Supplier<Object> {
+
+        private final Method method;
+
+        private final Object[] args;
+
+        private final int hash;
+
+        private Invocation(final Method method, final Object[] args) {
+            this.method = method;
+            this.args = args;
+            this.hash = 31 * method.hashCode() + Arrays.deepHashCode(args);
+        }
+
+        @Override
+        public Object get() {
+            return invoker.apply(method, args);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Invocation that = Invocation.class.cast(o);
+            return hash == that.hash && (method == that.method || method.equals(that.method))
+                    && Arrays.deepEquals(args, that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        // string key used when the cache is not the built-in one
+        // (assumes toString() and hashCode() of params are representative)
+        @Override
+        public String toString() {
+            return method.getDeclaringClass().getName() + "#" + method.getName() + "("
+                    + (args == null ? ""
+                            : Stream
+                                    .of(args)
+                                    .map(s -> String.valueOf(s) + "/" + (s == null ? 0 : s.hashCode()))
+                                    .collect(joining(",")))
+                    + ")";
+        }
     }
 }
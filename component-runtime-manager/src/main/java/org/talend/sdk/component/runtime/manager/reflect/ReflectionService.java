@@ -39,10 +39,12 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -86,6 +88,28 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ReflectionService {
 
+    // reflection lookups done for each instantiation, the values are owned by the classes so plugins are not leaked
+    private static final ClassValue<ConcurrentMap<String, Optional<Field>>> FIELDS =
+            new ClassValue<ConcurrentMap<String, Optional<Field>>>() {
+
+                @Override
+                protected ConcurrentMap<String, Optional<Field>> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final ClassValue<Optional<String[]>> ARGS_NAMES = new ClassValue<Optional<String[]>>() {
+
+        @Override
+        protected Optional<String[]> computeValue(final Class<?> type) {
+            return Stream
+                    .of(type.getConstructors())
+                    .filter(c -> c.isAnnotationPresent(ConstructorProperties.class))
+                    .findFirst()
+                    .map(c -> c.getAnnotation(ConstructorProperties.class).value());
+        }
+    };
+
     private final ParameterModelService parameterModelService;
 
     private final PropertyEditorRegistry propertyEditorRegistry;
@@ -206,16 +230,18 @@ public class ReflectionService {
                     throw new IllegalArgumentException("Unsupported type: " + parameterizedType);
                 }).collect(toList());
 
+        final Function<Map<String, String>, Object>[] factoryArray = factories.toArray(new Function[0]);
+        final PayloadValidator validator = new PayloadValidator(metas);
         return config -> {
             final Map<String, String> notNullConfig = ofNullable(config).orElseGet(Collections::emptyMap);
-            final PayloadValidator visitor = new PayloadValidator();
-            if (!visitor.skip) {
-                visitor.globalPayload = new PayloadMapper((a, b) -> {
-                }).visitAndMap(metas, notNullConfig);
-                new PayloadMapper(visitor).visitAndMap(metas, notNullConfig);
-                visitor.throwIfFailed();
-            }
-            return factories.stream().map(f -> f.apply(notNullConfig)).toArray(Object[]::new);
+            if (!Boolean.getBoolean("talend.component.configuration.validation.skip")) {
+                validator.validate(notNullConfig);
+            }
+            final Object[] args = new Object[factoryArray.length];
+            for (int i = 0; i < factoryArray.length; i++) {
+                args[i] = factoryArray[i].apply(notNullConfig);
+            }
+            return args;
         };
     }
 
@@ -313,11 +339,14 @@ public class ReflectionService {
         final int maxLength = getArrayMaxLength(name, config);
         int paramIdx = 0;
         String[] args = null;
+        Set<Integer> objectIndices = null;
         while (paramIdx < maxLength) {
-            final String configName = String.format("%s[%d]", name, paramIdx);
+            final String configName = name + '[' + paramIdx + ']';
             if (!config.containsKey(configName)) {
-                if (config.keySet().stream().anyMatch(k -> k.startsWith(configName + "."))) { // object
-                                                                                              // mapping
+                if (objectIndices == null) { // scan the keys once for all the items
+                    objectIndices = findIndices(config, name + '[', true);
+                }
+                if (objectIndices.contains(paramIdx)) { // object mapping
                     if (paramIdx == 0) {
                         args = findArgsName(itemClass);
                     }
@@ -336,6 +365,31 @@ public class ReflectionService {
         return collection;
     }
 
+    /**
+     * @param config the flat configuration.
+     * @param prefix the array prefix including the opening bracket.
+     * @param nested true to only keep the indices having nested properties ({@code <prefix><index>].<property>}).
+     * @return the indices found in the configuration keys.
+     */
+    private Set<Integer> findIndices(final Map<String, Object> config, final String prefix, final boolean nested) {
+        final Set<Integer> indices = new HashSet<>();
+        for (final String key : config.keySet()) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            final int end = key.indexOf(']', prefix.length());
+            if (end <= prefix.length() || (nested && (key.length() <= end + 1 || key.charAt(end + 1) != '.'))) {
+                continue;
+            }
+            try {
+                indices.add(Integer.parseInt(key.substring(prefix.length(), end)));
+            } catch (final NumberFormatException nfe) {
+                // not an item, ex: [length]
+            }
+        }
+        return indices;
+    }
+
     private Integer getArrayMaxLength(final String prefix, final Map<String, Object> config) {
         return ofNullable(config.get(prefix + "[length]"))
                 .map(String::valueOf)
@@ -359,12 +413,16 @@ public class ReflectionService {
         // <value>.value[<index>].<property> = xxxxx
         final Map map = ConcurrentMap.class.isAssignableFrom(mapType) ? new ConcurrentHashMap() : new HashMap();
         int paramIdx = 0;
+        Set<Integer> indices = null;
         do {
-            final String keyConfigName = String.format("%s.key[%d]", name, paramIdx);
-            final String valueConfigName = String.format("%s.value[%d]", name, paramIdx);
+            final String keyConfigName = name + ".key[" + paramIdx + ']';
+            final String valueConfigName = name + ".value[" + paramIdx + ']';
             if (!config.containsKey(keyConfigName) || !config.containsKey(valueConfigName)) { // quick test first
-                if (config.keySet().stream().noneMatch(k -> k.startsWith(keyConfigName))
-                        && config.keySet().stream().noneMatch(k -> k.startsWith(valueConfigName))) {
+                if (indices == null) { // scan the keys once for all the entries
+                    indices = findIndices(config, name + ".key[", false);
+                    indices.addAll(findIndices(config, name + ".value[", false));
+                }
+                if (!indices.contains(paramIdx)) {
                     break;
                 }
             }
@@ -397,12 +455,7 @@ public class ReflectionService {
     }
 
     private String[] findArgsName(final Class clazz) {
-        return Stream
-                .of(clazz.getConstructors())
-                .filter(c -> c.isAnnotationPresent(ConstructorProperties.class))
-                .findFirst()
-                .map(c -> ConstructorProperties.class.cast(c.getAnnotation(ConstructorProperties.class)).value())
-                .orElse(null);
+        return ARGS_NAMES.get(clazz).orElse(null);
     }
 
     private JsonValue createJsonValue(final Object value, final Map<Class<?>, Object> precomputed,
@@ -746,17 +799,23 @@ public class ReflectionService {
     }
 
     private Field findField(final String name, final Class clazz) {
+        return ofNullable(clazz)
+                .flatMap(c -> FIELDS.get(c).computeIfAbsent(name, n -> doFindField(n, c)))
+                .orElseThrow(() -> new IllegalArgumentException(String
+                        .format("Unknown field: %s in class: %s.", name, clazz != null ? clazz.getName() : "null")));
+    }
+
+    private static Optional<Field> doFindField(final String name, final Class<?> clazz) {
         Class<?> type = clazz;
         while (type != Object.class && type != null) {
             try {
-                return type.getDeclaredField(name);
+                return Optional.of(type.getDeclaredField(name));
             } catch (final NoSuchFieldException e) {
                 // no-op
             }
             type = type.getSuperclass();
         }
-        throw new IllegalArgumentException(
-                String.format("Unknown field: %s in class: %s.", name, clazz != null ? clazz.getName() : "null"));
+        return Optional.empty();
     }
 
     private int sortIndexEntry(final Map.Entry<String, Object> e1, final Map.Entry<String, Object> e2) {
@@ -885,119 +944,156 @@ public class ReflectionService {
         String pattern(String property, String pattern);
     }
 
-    @RequiredArgsConstructor
-    private static class PayloadValidator implements PayloadMapper.OnParameter {
+    /**
+     * Validation rules compiled once from the {@link ParameterMeta} tree: only the parameters with a constraint are
+     * kept with their visibility condition, bounds and pattern already parsed. The payload is mapped a single time per
+     * validation and not at all when the configuration has no constraint.
+     */
+    private static class PayloadValidator {
 
         private static final VisibilityService VISIBILITY_SERVICE = new VisibilityService(JsonProvider.provider());
 
         private static final Messages MESSAGES = new InternationalizationServiceFactory(Locale::getDefault)
                 .create(Messages.class, PayloadValidator.class.getClassLoader());
 
-        private final boolean skip = Boolean.getBoolean("talend.component.configuration.validation.skip");
+        private final Collection<ParameterMeta> metas;
 
-        private final Collection<String> errors = new ArrayList<>();
+        private final Map<ParameterMeta, Constraints> constraints = new IdentityHashMap<>();
 
-        private JsonObject globalPayload;
+        private final JsonProvider jsonProvider = JsonProvider.provider();
 
-        @Override
-        public void onParameter(final ParameterMeta meta, final JsonValue value) {
-            if (!VISIBILITY_SERVICE.build(meta).isVisible(globalPayload)) {
+        private PayloadValidator(final Collection<ParameterMeta> metas) {
+            this.metas = metas;
+            ofNullable(metas).ifPresent(this::compile);
+        }
+
+        private void compile(final Collection<ParameterMeta> parameters) {
+            for (final ParameterMeta meta : parameters) {
+                final Constraints rules = new Constraints(meta);
+                if (rules.hasRule()) {
+                    constraints.put(meta, rules);
+                }
+                ofNullable(meta.getNestedParameters()).ifPresent(this::compile);
+            }
+        }
+
+        private void validate(final Map<String, String> config) {
+            if (constraints.isEmpty()) {
                 return;
             }
+            final List<Constraints> visited = new ArrayList<>();
+            final List<JsonValue> values = new ArrayList<>();
+            final JsonObject payload = new PayloadMapper(jsonProvider, (meta, value) -> {
+                final Constraints rules = constraints.get(meta);
+                if (rules != null) {
+                    visited.add(rules);
+                    values.add(value);
+                }
+            }).visitAndMap(metas, config);
 
-            if (Boolean.parseBoolean(meta.getMetadata().get("tcomp::validation::required"))
-                    && value == JsonValue.NULL) {
-                errors.add(MESSAGES.required(meta.getPath()));
+            final Collection<String> errors = new ArrayList<>();
+            for (int i = 0; i < visited.size(); i++) {
+                visited.get(i).validate(payload, values.get(i), errors);
             }
+            if (!errors.isEmpty()) {
+                throw new IllegalArgumentException("- " + String.join("\n- ", errors));
+            }
+        }
+    }
+
+    private static class Constraints {
+
+        private final String path;
+
+        private final VisibilityService.ConditionGroup visibility;
+
+        private final boolean required;
+
+        private final Double min;
+
+        private final Double max;
+
+        private final Double minLength;
+
+        private final Double maxLength;
+
+        private final Double minItems;
+
+        private final Double maxItems;
+
+        private final boolean uniqueItems;
+
+        private final String pattern;
+
+        private final JavascriptRegex regex;
+
+        private Constraints(final ParameterMeta meta) {
             final Map<String, String> metadata = meta.getMetadata();
-            {
-                final String min = metadata.get("tcomp::validation::min");
-                if (min != null) {
-                    final double bound = Double.parseDouble(min);
-                    if (value.getValueType() == JsonValue.ValueType.NUMBER
-                            && JsonNumber.class.cast(value).doubleValue() < bound) {
-                        errors.add(MESSAGES.min(meta.getPath(), bound, JsonNumber.class.cast(value).doubleValue()));
-                    }
-                }
+            this.path = meta.getPath();
+            this.required = Boolean.parseBoolean(metadata.get("tcomp::validation::required"));
+            this.min = toDouble(metadata.get("tcomp::validation::min"));
+            this.max = toDouble(metadata.get("tcomp::validation::max"));
+            this.minLength = toDouble(metadata.get("tcomp::validation::minLength"));
+            this.maxLength = toDouble(metadata.get("tcomp::validation::maxLength"));
+            this.minItems = toDouble(metadata.get("tcomp::validation::minItems"));
+            this.maxItems = toDouble(metadata.get("tcomp::validation::maxItems"));
+            this.uniqueItems = metadata.get("tcomp::validation::uniqueItems") != null;
+            this.pattern = metadata.get("tcomp::validation::pattern");
+            this.regex = pattern == null ? null : new JavascriptRegex(pattern);
+            this.visibility = hasRule() ? PayloadValidator.VISIBILITY_SERVICE.build(meta) : null;
+        }
+
+        private boolean hasRule() {
+            return required || min != null || max != null || minLength != null || maxLength != null || minItems != null
+                    || maxItems != null || uniqueItems || pattern != null;
+        }
+
+        private void validate(final JsonObject payload, final JsonValue value, final Collection<String> errors) {
+            if (!visibility.isVisible(payload)) {
+                return;
             }
-            {
-                final String max = metadata.get("tcomp::validation::max");
-                if (max != null) {
-                    final double bound = Double.parseDouble(max);
-                    if (value.getValueType() == JsonValue.ValueType.NUMBER
-                            && JsonNumber.class.cast(value).doubleValue() > bound) {
-                        errors.add(MESSAGES.max(meta.getPath(), bound, JsonNumber.class.cast(value).doubleValue()));
-                    }
-                }
+            final Messages messages = PayloadValidator.MESSAGES;
+            if (required && value == JsonValue.NULL) {
+                errors.add(messages.required(path));
             }
-            {
-                final String min = metadata.get("tcomp::validation::minLength");
-                if (min != null) {
-                    final double bound = Double.parseDouble(min);
-                    if (value.getValueType() == JsonValue.ValueType.STRING) {
-                        final String val = JsonString.class.cast(value).getString();
-                        if (val.length() < bound) {
-                            errors.add(MESSAGES.minLength(meta.getPath(), bound, val.length()));
-                        }
-                    }
+            if (value.getValueType() == JsonValue.ValueType.NUMBER) {
+                final double number = JsonNumber.class.cast(value).doubleValue();
+                if (min != null && number < min) {
+                    errors.add(messages.min(path, min, number));
                 }
-            }
-            {
-                final String max = metadata.get("tcomp::validation::maxLength");
-                if (max != null) {
-                    final double bound = Double.parseDouble(max);
-                    if (value.getValueType() == JsonValue.ValueType.STRING) {
-                        final String val = JsonString.class.cast(value).getString();
-                        if (val.length() > bound) {
-                            errors.add(MESSAGES.maxLength(meta.getPath(), bound, val.length()));
-                        }
-                    }
+                if (max != null && number > max) {
+                    errors.add(messages.max(path, max, number));
                 }
             }
-            {
-                final String min = metadata.get("tcomp::validation::minItems");
-                if (min != null) {
-                    final double bound = Double.parseDouble(min);
-                    if (value.getValueType() == JsonValue.ValueType.ARRAY && value.asJsonArray().size() < bound) {
-                        errors.add(MESSAGES.minItems(meta.getPath(), bound, value.asJsonArray().size()));
-                    }
+            if (value.getValueType() == JsonValue.ValueType.STRING) {
+                final String string = JsonString.class.cast(value).getString();
+                if (minLength != null && string.length() < minLength) {
+                    errors.add(messages.minLength(path, minLength, string.length()));
                 }
-            }
-            {
-                final String max = metadata.get("tcomp::validation::maxItems");
-                if (max != null) {
-                    final double bound = Double.parseDouble(max);
-                    if (value.getValueType() == JsonValue.ValueType.ARRAY && value.asJsonArray().size() > bound) {
-                        errors.add(MESSAGES.maxItems(meta.getPath(), bound, value.asJsonArray().size()));
-                    }
+                if (maxLength != null && string.length() > maxLength) {
+                    errors.add(messages.maxLength(path, maxLength, string.length()));
                 }
             }
-            {
-                final String unique = metadata.get("tcomp::validation::uniqueItems");
-                if (unique != null) {
-                    if (value.getValueType() == JsonValue.ValueType.ARRAY) {
-                        final JsonArray array = value.asJsonArray();
-                        if (new HashSet<>(array).size() != array.size()) {
-                            errors.add(MESSAGES.uniqueItems(meta.getPath()));
-                        }
-                    }
+            if (value.getValueType() == JsonValue.ValueType.ARRAY) {
+                final JsonArray array = value.asJsonArray();
+                if (minItems != null && array.size() < minItems) {
+                    errors.add(messages.minItems(path, minItems, array.size()));
                 }
-            }
-            {
-                final String pattern = metadata.get("tcomp::validation::pattern");
-                if (pattern != null && value.getValueType() == JsonValue.ValueType.STRING) {
-                    final String val = JsonString.class.cast(value).getString();
-                    if (!new JavascriptRegex(pattern).test(CharSequence.class.cast(val))) {
-                        errors.add(MESSAGES.pattern(meta.getPath(), pattern));
-                    }
+                if (maxItems != null && array.size() > maxItems) {
+                    errors.add(messages.maxItems(path, maxItems, array.size()));
+                }
+                if (uniqueItems && new HashSet<>(array).size() != array.size()) {
+                    errors.add(messages.uniqueItems(path));
                 }
             }
+            if (regex != null && value.getValueType() == JsonValue.ValueType.STRING
+                    && !regex.test(JsonString.class.cast(value).getString())) {
+                errors.add(messages.pattern(path, pattern));
+            }
         }
 
-        private void throwIfFailed() {
-            if (!errors.isEmpty()) {
-                throw new IllegalArgumentException("- " + String.join("\n- ", errors));
-            }
+        private static Double toDouble(final String value) {
+            return value == null ? null : Double.valueOf(value);
         }
     }
 }
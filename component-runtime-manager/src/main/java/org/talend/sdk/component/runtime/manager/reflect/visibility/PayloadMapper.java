@@ -34,18 +34,24 @@ import javax.json.spi.JsonProvider;
 
 import org.talend.sdk.component.runtime.manager.ParameterMeta;
 
-import lombok.RequiredArgsConstructor;
-
-@RequiredArgsConstructor
 public class PayloadMapper {
 
-    // we don't need the runtime one here
-    private final JsonProvider jsonp = JsonProvider.provider();
+    private final JsonProvider jsonp;
 
-    private final JsonBuilderFactory factory = jsonp.createBuilderFactory(emptyMap());
+    private final JsonBuilderFactory factory;
 
     private final OnParameter parameterVisitor;
 
+    public PayloadMapper(final OnParameter parameterVisitor) {
+        this(JsonProvider.provider(), parameterVisitor); // we don't need the runtime one here
+    }
+
+    public PayloadMapper(final JsonProvider jsonp, final OnParameter parameterVisitor) {
+        this.jsonp = jsonp;
+        this.factory = jsonp.createBuilderFactory(emptyMap());
+        this.parameterVisitor = parameterVisitor;
+    }
+
     public JsonObject visitAndMap(final Collection<ParameterMeta> parameters, final Map<String, String> payload) {
         return unflatten("", ofNullable(parameters).orElseGet(Collections::emptyList),
                 payload == null ? emptyMap() : payload);
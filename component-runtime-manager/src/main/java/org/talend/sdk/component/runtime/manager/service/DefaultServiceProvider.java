@@ -24,9 +24,11 @@ import java.lang.reflect.Field;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.ServiceLoader;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
@@ -61,6 +63,9 @@ import org.talend.sdk.component.runtime.manager.proxy.JavaProxyEnricherFactory;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.service.configuration.PropertiesConfiguration;
 import org.talend.sdk.component.runtime.manager.service.http.HttpClientFactoryImpl;
+import org.talend.sdk.component.runtime.manager.service.http.HttpDispatcher;
+import org.talend.sdk.component.runtime.manager.service.http.HttpTransport;
+import org.talend.sdk.component.runtime.manager.service.http.UrlConnectionTransport;
 import org.talend.sdk.component.runtime.manager.util.Lazy;
 import org.talend.sdk.component.runtime.manager.util.MemoizingSupplier;
 import org.talend.sdk.component.runtime.manager.xbean.registry.EnrichedPropertyEditorRegistry;
@@ -104,6 +109,10 @@ public class DefaultServiceProvider {
     private final Supplier<ScheduledExecutorService> executorService =
             new MemoizingSupplier<>(this::buildExecutorService);
 
+    private final Supplier<HttpTransport> httpTransport = new MemoizingSupplier<>(this::loadHttpTransport);
+
+    private final Supplier<HttpDispatcher> httpDispatcher = new MemoizingSupplier<>(HttpDispatcher::new);
+
     public <T> T lookup(final String id, final ClassLoader loader, final Supplier<List<InputStream>> localConfigLookup,
             final Function<String, Path> resolver, final Class<T> api,
             final AtomicReference<Map<Class<?>, Object>> services) {
@@ -176,7 +185,7 @@ public class DefaultServiceProvider {
         }
         if (HttpClientFactory.class == api) {
             return new HttpClientFactoryImpl(id, reflections, Jsonb.class.cast(services.get().get(Jsonb.class)),
-                    services.get());
+                    services.get(), httpTransport.get(), httpDispatcher.get());
         }
         if (Resolver.class == api) {
             return new ResolverImpl(id, resolver);
@@ -261,6 +270,17 @@ public class DefaultServiceProvider {
         return result;
     }
 
+    private HttpTransport loadHttpTransport() {
+        final Iterator<HttpTransport> transports =
+                ServiceLoader.load(HttpTransport.class, HttpTransport.class.getClassLoader()).iterator();
+        if (transports.hasNext()) {
+            final HttpTransport transport = transports.next();
+            log.info("Using HTTP transport {}", transport.getClass().getName());
+            return transport;
+        }
+        return new UrlConnectionTransport();
+    }
+
     /**
      * Build executor service
      * used by
@@ -17,16 +17,25 @@ package org.talend.sdk.component.runtime.manager.service;
 
 import java.io.ObjectStreamException;
 import java.io.Serializable;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -39,10 +48,15 @@ import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.configuration.Configuration;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 
 /**
  * Implementation of LocalCache with in memory concurrent map.
+ *
+ * Expired elements are removed lazily when accessed and by a single sweep task per cache scheduled at the closest
+ * expiration, the max size is enforced with a CLOCK (second chance) policy which does not lock the cache.
  */
 public class LocalCacheService implements LocalCache, Serializable {
 
@@ -51,7 +65,26 @@ public class LocalCacheService implements LocalCache, Serializable {
 
     private final Supplier<Long> timer;
 
-    private final ConcurrentMap<String, ElementImpl> cache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Object, ElementImpl> cache = new ConcurrentHashMap<>();
+
+    /** elements with a timeout ordered by end of validity */
+    private final transient ConcurrentSkipListSet<ElementImpl> expirations = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong((ElementImpl e) -> e.endOfValidity).thenComparingLong(e -> e.id));
+
+    /** CLOCK queue used to pick the element to evict when the cache is full */
+    private final Queue<ElementImpl> evictionQueue = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger evictionQueueSize = new AtomicInteger();
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final Object sweepLock = new Object();
+
+    private final transient Statistics statistics = new Statistics(cache::size);
+
+    private volatile long nextSweep = Long.MAX_VALUE;
+
+    private transient ScheduledFuture<?> sweepTask;
 
     @Configuration("talend.component.manager.services.cache.eviction")
     private Supplier<CacheConfiguration> configuration;
@@ -73,13 +106,11 @@ public class LocalCacheService implements LocalCache, Serializable {
      */
     @Override
     public void evict(final String key) {
-        final String realKey = internalKey(key);
-
         // use compute to be able to call release.
-        cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
+        cache.compute(key, (Object oldKey, ElementImpl oldElement) -> {
             if (oldElement != null && oldElement.canBeEvict()) {
                 // ok to evict, so do release.
-                oldElement.release();
+                release(oldElement);
                 return null;
             }
             return oldElement;
@@ -88,13 +119,11 @@ public class LocalCacheService implements LocalCache, Serializable {
 
     @Override
     public void evictIfValue(final String key, final Object expected) {
-        final String realKey = internalKey(key);
-
         // use compute to be able to call release.
-        cache.compute(realKey, (String oldKey, ElementImpl oldElement) -> {
+        cache.compute(key, (Object oldKey, ElementImpl oldElement) -> {
             if (oldElement != null && (Objects.equals(oldElement.getValue(), expected) || oldElement.canBeEvict())) {
                 // ok to evit, so do release.
-                oldElement.release();
+                release(oldElement);
                 return null;
             }
             return oldElement;
@@ -105,26 +134,32 @@ public class LocalCacheService implements LocalCache, Serializable {
     @Override
     public <T> T computeIfAbsent(final Class<T> expectedClass, final String key, final Predicate<Element> toRemove,
             final long timeoutMs, final Supplier<T> value) {
+        return computeIfAbsent(expectedClass, (Object) key, toRemove, timeoutMs, value);
+    }
 
-        final Integer maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
-        if (maxSize > 0 && this.cache.size() >= maxSize) {
-            this.clean(); // clean before add one element.
-            if (this.cache.size() >= maxSize) {
-                synchronized (this.cache) {
-                    while (this.cache.size() >= maxSize) {
-                        final String keyToRemove = this.cache.keySet().iterator().next();
-                        this.cache.remove(keyToRemove);
-                    }
-                }
-            }
+    /**
+     * Same as {@link #computeIfAbsent(Class, String, Predicate, long, Supplier)} but with a key which is not a
+     * string, it is used by the runtime to avoid to serialize structured keys (see {@code @Cached}).
+     *
+     * @param expectedClass the expected value type.
+     * @param key the key, it must implement equals/hashCode and can't be evicted with the string based methods.
+     * @param toRemove the predicate to validate an element can be removed, can be null.
+     * @param timeoutMs the timeout of the element, negative for none.
+     * @param value the value provider.
+     * @param <T> the value type.
+     * @return the cached value.
+     */
+    public <T> T computeIfAbsent(final Class<T> expectedClass, final Object key, final Predicate<Element> toRemove,
+            final long timeoutMs, final Supplier<T> value) {
+        final ElementImpl existing = cache.get(key);
+        if (existing != null && !existing.mustBeRemoved()) { // fast path, no locking nor allocation
+            existing.referenced = true;
+            statistics.hits.increment();
+            return existing.getValue(expectedClass);
         }
-
-        final ScheduledFuture<?> task = timeoutMs > 0 ? this.evictionTask(key, timeoutMs) : null;
-
-        final long endOfValidity = this.calcEndOfValidity(timeoutMs);
-        final ElementImpl element =
-                this.addToMap(key, () -> new ElementImpl(value, toRemove, endOfValidity, task, this.timer));
-
+        final ElementImpl element = this
+                .addToMap(key, k -> new ElementImpl(k, ids.incrementAndGet(), value, toRemove,
+                        this.calcEndOfValidity(timeoutMs), this.timer));
         return element.getValue(expectedClass);
     }
 
@@ -142,10 +177,44 @@ public class LocalCacheService implements LocalCache, Serializable {
         return this.computeIfAbsent(expectedClass, key, null, timeoutMs, value);
     }
 
-    private ElementImpl addToMap(final String key, final Supplier<ElementImpl> builder) {
-        final String internalKey = internalKey(key);
-        return cache.compute(internalKey, (String k, ElementImpl old) -> //
-        old == null || old.mustBeRemoved() ? builder.get() : old);
+    private ElementImpl addToMap(final Object key, final Function<Object, ElementImpl> builder) {
+        final ElementImpl[] created = new ElementImpl[1];
+        final ElementImpl element = cache.compute(key, (Object k, ElementImpl old) -> {
+            if (old == null || old.mustBeRemoved()) {
+                if (old != null) {
+                    release(old);
+                    statistics.expirations.increment();
+                }
+                created[0] = builder.apply(k);
+                return created[0];
+            }
+            return old;
+        });
+        if (created[0] == null) {
+            element.referenced = true;
+            statistics.hits.increment();
+            return element;
+        }
+
+        statistics.misses.increment();
+        if (element.endOfValidity > 0) {
+            scheduleExpiration(element);
+        }
+        final int maxSize = this.getConfigValue(CacheConfiguration::getDefaultMaxSize, -1);
+        if (maxSize > 0) {
+            evictionQueue.offer(element);
+            if (evictionQueueSize.incrementAndGet() > maxSize * 2) { // drop elements removed by another way
+                evictionQueue.removeIf(it -> {
+                    if (cache.get(it.key) != it) {
+                        evictionQueueSize.decrementAndGet();
+                        return true;
+                    }
+                    return false;
+                });
+            }
+            enforceMaxSize(maxSize);
+        }
+        return element;
     }
 
     @Override
@@ -156,20 +225,32 @@ public class LocalCacheService implements LocalCache, Serializable {
 
     @PreDestroy
     public void release() {
-        this.cache.forEach((String k, ElementImpl e) -> e.release());
+        synchronized (sweepLock) {
+            if (sweepTask != null) {
+                sweepTask.cancel(false);
+                sweepTask = null;
+            }
+            nextSweep = Long.MAX_VALUE;
+        }
         this.cache.clear();
+        this.expirations.clear();
+        this.evictionQueue.clear();
+        this.evictionQueueSize.set(0);
     }
 
-    private long calcEndOfValidity(final long timeoutMs) {
-        return timeoutMs > 0 ? this.timer.get() + timeoutMs : -1;
+    /**
+     * @return the statistics of this cache (the cache is per plugin).
+     */
+    public Statistics getStatistics() {
+        return statistics;
     }
 
-    private String internalKey(final String key) {
-        return plugin + '@' + key;
+    private long calcEndOfValidity(final long timeoutMs) {
+        return timeoutMs > 0 ? this.timer.get() + timeoutMs : -1;
     }
 
     public void clean() {
-        Stream<Entry<String, ElementImpl>> elements = //
+        Stream<Entry<Object, ElementImpl>> elements = //
                 this.cache
                         .entrySet() //
                         .stream() //
@@ -179,32 +260,122 @@ public class LocalCacheService implements LocalCache, Serializable {
         if (maxEviction > 0) {
             elements = elements.limit(maxEviction);
         }
-        final List<String> removableElements = elements.map(Entry::getKey).collect(Collectors.toList());// materialize
-                                                                                                        // before
-                                                                                                        // actually
-                                                                                                        // removing it
-        removableElements.forEach(this.cache::remove);
+        final List<Entry<Object, ElementImpl>> removableElements = elements.collect(Collectors.toList()); // materialize
+                                                                                                          // before
+                                                                                                          // actually
+                                                                                                          // removing it
+        removableElements.forEach(e -> {
+            if (remove(e.getValue())) {
+                statistics.expirations.increment();
+            }
+        });
+    }
+
+    // ElementImpl equality is based on the value so ensure to only remove this instance
+    private boolean remove(final ElementImpl element) {
+        final boolean[] removed = new boolean[1];
+        cache.computeIfPresent(element.key, (Object k, ElementImpl current) -> {
+            if (current == element) {
+                removed[0] = true;
+                return null;
+            }
+            return current;
+        });
+        if (removed[0]) {
+            release(element);
+        }
+        return removed[0];
+    }
+
+    private void release(final ElementImpl element) {
+        if (element.endOfValidity > 0) {
+            expirations.remove(element);
+        }
+    }
+
+    // CLOCK: an element accessed since it was enqueued gets a second chance, expired ones are dropped first
+    private void enforceMaxSize(final int maxSize) {
+        while (cache.size() > maxSize) {
+            final ElementImpl candidate = evictionQueue.poll();
+            if (candidate == null) {
+                return;
+            }
+            evictionQueueSize.decrementAndGet();
+            if (cache.get(candidate.key) != candidate) {
+                continue;
+            }
+            if (candidate.referenced && !candidate.mustBeRemoved()) {
+                candidate.referenced = false;
+                evictionQueue.offer(candidate);
+                evictionQueueSize.incrementAndGet();
+                continue;
+            }
+            if (remove(candidate)) {
+                statistics.evictions.increment();
+            }
+        }
     }
 
     private ScheduledExecutorService getThreadService() {
         return this.threadServiceGetter.get();
     }
 
+    private void scheduleExpiration(final ElementImpl element) {
+        expirations.add(element);
+        if (element.endOfValidity < nextSweep) {
+            synchronized (sweepLock) {
+                if (element.endOfValidity < nextSweep) {
+                    scheduleSweep(element.endOfValidity);
+                }
+            }
+        }
+    }
+
     /**
-     * Schedule an eviction task for a key.
-     * 
-     * @param key : key to evict from cache.
-     * @param delayMillis : delay in millis before triggered.
-     * @return result of task.
+     * Schedule the sweep of the expired elements, there is at most one task per cache.
+     *
+     * @param endOfValidity : time of the closest expiration.
      */
-    private ScheduledFuture<?> evictionTask(final String key, final long delayMillis) {
-        return this
+    private void scheduleSweep(final long endOfValidity) {
+        if (sweepTask != null) {
+            sweepTask.cancel(false);
+        }
+        nextSweep = endOfValidity;
+        sweepTask = this
                 .getThreadService()
-                .schedule(() -> this.evict(key), //
-                        delayMillis, //
+                .schedule(this::sweep, //
+                        Math.max(1, endOfValidity - this.timer.get()), //
                         TimeUnit.MILLISECONDS); //
     }
 
+    private void sweep() {
+        final long now = this.timer.get();
+        ElementImpl first;
+        while ((first = firstExpiration()) != null && first.endOfValidity <= now) {
+            expirations.remove(first);
+            // elements which can't be evicted yet are kept until accessed or cleaned
+            if (cache.get(first.key) == first && first.canBeEvict() && remove(first)) {
+                statistics.expirations.increment();
+            }
+        }
+        synchronized (sweepLock) {
+            sweepTask = null;
+            nextSweep = Long.MAX_VALUE;
+            final ElementImpl next = firstExpiration();
+            if (next != null) {
+                scheduleSweep(next.endOfValidity);
+            }
+        }
+    }
+
+    private ElementImpl firstExpiration() {
+        try {
+            return expirations.first();
+        } catch (final NoSuchElementException nse) {
+            return null;
+        }
+    }
+
     private <T> T getConfigValue(final Function<CacheConfiguration, T> getter, final T defaultValue) {
         return Optional
                 .ofNullable(this.getConfig()) //
@@ -232,11 +403,60 @@ public class LocalCacheService implements LocalCache, Serializable {
         private int defaultMaxSize;
     }
 
+    /**
+     * Cache statistics.
+     */
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Statistics {
+
+        private final IntSupplier size;
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        private final LongAdder evictions = new LongAdder();
+
+        private final LongAdder expirations = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        /**
+         * @return number of elements removed because the cache was full.
+         */
+        public long getEvictions() {
+            return evictions.sum();
+        }
+
+        /**
+         * @return number of elements removed because their timeout was reached.
+         */
+        public long getExpirations() {
+            return expirations.sum();
+        }
+
+        public int getSize() {
+            return size.getAsInt();
+        }
+    }
+
     /**
      * Wrapper for each cached object.
      */
     private static class ElementImpl implements Element {
 
+        /** key of the element */
+        private final Object key;
+
+        /** unique id to order elements expiring at the same time */
+        private final long id;
+
         /** cached object */
         private final Object value;
 
@@ -246,17 +466,18 @@ public class LocalCacheService implements LocalCache, Serializable {
         /** give time object can be release (infinity if < 0) */
         private final long endOfValidity;
 
-        /** scheduled task to remove object if nedeed (to cancel if removed before) */
-        private final ScheduledFuture<?> removedTask;
-
         private final Supplier<Long> serviceTimer;
 
-        public <T> ElementImpl(final Supplier<T> value, final Predicate<Element> canBeRemoved, final long endOfValidity,
-                final ScheduledFuture<?> removedTask, final Supplier<Long> timer) {
+        /** CLOCK reference bit, set when the element is read */
+        private volatile boolean referenced;
+
+        public <T> ElementImpl(final Object key, final long id, final Supplier<T> value,
+                final Predicate<Element> canBeRemoved, final long endOfValidity, final Supplier<Long> timer) {
+            this.key = key;
+            this.id = id;
             this.value = value.get();
             this.canBeRemoved = canBeRemoved;
             this.endOfValidity = endOfValidity;
-            this.removedTask = removedTask;
             this.serviceTimer = timer;
         }
 
@@ -283,15 +504,6 @@ public class LocalCacheService implements LocalCache, Serializable {
             return this.canBeRemoved == null || this.canBeRemoved.test(this);
         }
 
-        /**
-         * Release this object because removed.
-         */
-        public synchronized void release() {
-            if (this.removedTask != null) {
-                this.removedTask.cancel(false);
-            }
-        }
-
         @Override
         public boolean equals(final Object o) { // consider only value
             if (this == o) {
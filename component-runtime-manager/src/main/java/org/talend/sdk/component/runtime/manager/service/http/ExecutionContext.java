@@ -16,31 +16,35 @@
 package org.talend.sdk.component.runtime.manager.service.http;
 
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
-import java.io.BufferedOutputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.stream.Stream;
 
-import org.talend.sdk.component.api.service.http.Configurer;
 import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.HttpException;
 import org.talend.sdk.component.api.service.http.Response;
 import org.talend.sdk.component.runtime.manager.service.http.codec.CodecMatcher;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.HostLimits;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.HostLimitsRegistry;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.Resilience;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.RetryPolicy;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.RequiredArgsConstructor;
 
 @Data
 @AllArgsConstructor
@@ -54,82 +58,257 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
 
     private final Map<String, Decoder> decoders;
 
+    private final HttpTransport transport;
+
+    /**
+     * Set when the method returns a {@code CompletionStage}, null for synchronous calls.
+     */
+    private final HttpDispatcher dispatcher;
+
+    /**
+     * Retry, rate limit and circuit breaker configuration, null if the method does not use any.
+     */
+    private final Resilience resilience;
+
+    private final HostLimitsRegistry limitsRegistry;
+
+    /**
+     * Set when the method uses {@link org.talend.sdk.component.api.service.http.HttpCache}.
+     */
+    private final HttpResponseCache responseCache;
+
+    // decoders are selected once per content-type for the method
+    private final CodecMatcher<Decoder> decoderMatcher = new CodecMatcher<>();
+
     public Object apply(final String base, final Object[] params) {
-        HttpURLConnection urlConnection = null;
+        final HttpRequest request = requestCreator.apply(base, params);
+        final HttpResponseCache.Slot slot = responseCache == null ? null : responseCache.slot(request);
+        if (slot != null) {
+            final HttpResponseCache.Entry fresh = slot.getFresh();
+            if (fresh != null) {
+                final Object result = read(fresh, fresh.status());
+                return dispatcher == null ? result : CompletableFuture.completedFuture(result);
+            }
+        }
+        final HostLimits limits = resilience == null ? null : limitsRegistry.limits(resilience, request.getUrl());
+        if (dispatcher == null) {
+            return limits == null ? execute(request, slot, null, 0) : executeWithLimits(request, slot, limits);
+        }
+        request.getBody(); // encode the payload in the caller thread, params can be reused after the call
+        if (limits == null) {
+            return dispatcher.submit(request.getUrl(), () -> execute(request, slot, null, 0));
+        }
+        final CompletableFuture<Object> result = new CompletableFuture<>();
+        executeWithLimits(request, slot, limits, 0, result);
+        return result;
+    }
+
+    private Object executeWithLimits(final HttpRequest request, final HttpResponseCache.Slot slot,
+            final HostLimits limits) {
+        for (int attempt = 0;; attempt++) {
+            if (!limits.tryAcquire()) {
+                throw circuitOpen(request, limits);
+            }
+            sleep(limits.reserve(), NANOSECONDS);
+            final Object result = execute(request, slot, limits, attempt);
+            if (!Retrying.class.isInstance(result)) {
+                return result;
+            }
+            limits.onRetry();
+            sleep(Retrying.class.cast(result).delay, MILLISECONDS);
+        }
+    }
+
+    // waits are scheduled, no thread is blocked until the request can actually be sent
+    private void executeWithLimits(final HttpRequest request, final HttpResponseCache.Slot slot,
+            final HostLimits limits, final int attempt, final CompletableFuture<Object> result) {
+        if (!limits.tryAcquire()) { // don't consume a rate limit token for a rejected request
+            result.completeExceptionally(circuitOpen(request, limits));
+            return;
+        }
+        final long wait = limits.reserve();
+        if (wait > 0) {
+            dispatcher.schedule(() -> send(request, slot, limits, attempt, result), wait, NANOSECONDS);
+        } else {
+            send(request, slot, limits, attempt, result);
+        }
+    }
+
+    private void send(final HttpRequest request, final HttpResponseCache.Slot slot, final HostLimits limits,
+            final int attempt, final CompletableFuture<Object> result) {
+        dispatcher
+                .submit(request.getUrl(), () -> execute(request, slot, limits, attempt))
+                .whenComplete((value, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else if (Retrying.class.isInstance(value)) {
+                        limits.onRetry();
+                        dispatcher
+                                .schedule(() -> executeWithLimits(request, slot, limits, attempt + 1, result),
+                                        Retrying.class.cast(value).delay, MILLISECONDS);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+    }
+
+    private static IllegalStateException circuitOpen(final HttpRequest request, final HostLimits limits) {
+        return new IllegalStateException(
+                "Circuit breaker open for " + limits.getHost() + ", request to " + request.getUrl() + " rejected");
+    }
+
+    private void sleep(final long duration, final TimeUnit unit) {
+        if (duration <= 0) {
+            return;
+        }
+        try {
+            unit.sleep(duration);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the decoded response or a {@link Retrying} instance if the request must be sent again.
+     */
+    private Object execute(final HttpRequest request, final HttpResponseCache.Slot slot, final HostLimits limits,
+            final int attempt) {
+        final RetryPolicy retryPolicy = resilience == null ? null : resilience.getRetryPolicy();
+        final boolean canRetry = retryPolicy != null && attempt + 1 < retryPolicy.getMaxAttempts();
+        HttpTransport.Exchange exchange = null;
         try {
-            final HttpRequest request = requestCreator.apply(base, params);
-            final String queryParams = String.join("&", request.getQueryParams());
-            final URL url = new URL(request.getUrl() + (queryParams.isEmpty() ? "" : "?" + queryParams));
-            urlConnection = HttpURLConnection.class.cast(url.openConnection());
-            urlConnection.setRequestMethod(request.getMethodType());
-            request.getHeaders().forEach(urlConnection::setRequestProperty);
-
-            final Optional<byte[]> requestBody = request.getBody();
-
-            final DefaultConnection connection = new DefaultConnection(urlConnection, requestBody.orElse(null), true);
-            if (request.getConfigurer() != null) {
-                request.getConfigurer().configure(connection, request.getConfigurationOptions());
+            try {
+                exchange = transport.execute(slot == null ? request : responseCache.conditional(request, slot));
+            } catch (final RuntimeException re) { // ensure the circuit is released
+                if (limits != null) {
+                    limits.onFailure();
+                }
+                throw re;
             }
-            connection.postConfigure();
-
-            if (requestBody.isPresent()) {
-                urlConnection.setDoOutput(true);
-                try (final BufferedOutputStream outputStream =
-                        new BufferedOutputStream(urlConnection.getOutputStream())) {
-                    outputStream.write(requestBody.orElse(null));
-                    outputStream.flush();
+            final int responseCode = exchange.status();
+            if (limits != null) {
+                if (responseCode >= 500) {
+                    limits.onFailure();
+                } else {
+                    limits.onSuccess();
                 }
             }
-            final int responseCode = urlConnection.getResponseCode();
-            final CodecMatcher<Decoder> decoderMatcher = new CodecMatcher<>();
-            final String contentType = urlConnection.getHeaderField("content-type");
-            final byte[] error;
-            final byte[] response;
-            try {
-                final InputStream inputStream = urlConnection.getInputStream();
-                if (getResponseType() == InputStream.class) {
-                    if (isResponse()) {
-                        return new InputStreamResponse(responseCode, PassthroughDecoder.INSTANCE,
-                                headers(urlConnection), null, inputStream);
-                    }
-                    return inputStream;
+            if (canRetry && retryPolicy.isRetryable(request.getMethodType(), responseCode)) {
+                final long delay = retryPolicy.delay(attempt, header(exchange, "Retry-After"));
+                if (delay >= 0) {
+                    discard(exchange);
+                    return new Retrying(delay);
                 }
-                response = slurp(inputStream, urlConnection.getContentLength());
+            }
+            if (slot != null) {
+                final HttpTransport.Exchange cached = responseCache.update(slot, exchange, responseCode);
+                return read(cached, cached.status());
+            }
+            return read(exchange, responseCode);
+        } catch (final IOException e) {
+            if (exchange != null) { // it fails, release the resources, otherwise we want to be pooled
+                exchange.release();
+            }
+            if (limits != null) {
+                limits.onFailure();
+            }
+            if (canRetry && retryPolicy.isRetryable(request.getMethodType())) {
+                return new Retrying(retryPolicy.delay(attempt, null));
+            }
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Object read(final HttpTransport.Exchange exchange, final int responseCode) {
+        final String contentType = header(exchange, "content-type");
+        final byte[] error;
+        final byte[] response;
+        try {
+            final InputStream inputStream = exchange.body();
+            if (getResponseType() == InputStream.class) {
+                if (isResponse()) {
+                    return new InputStreamResponse(responseCode, PassthroughDecoder.INSTANCE, exchange.headers(), null,
+                            inputStream);
+                }
+                return inputStream;
+            }
+            if (byte[].class == getResponseType()) {
+                response = slurp(inputStream, exchange.contentLength());
                 if (!isResponse()) {
-                    return byte[].class == getResponseType() ? response
-                            : decoderMatcher.select(getDecoders(), contentType).decode(response, getResponseType());
+                    return response;
                 }
-                return new ResponseImpl(responseCode,
-                        byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
-                                : decoderMatcher.select(getDecoders(), contentType),
-                        headers(urlConnection), null, response, getResponseType());
-            } catch (final IOException e) {
-                error = ofNullable(urlConnection.getErrorStream())
-                        .map(s -> slurp(s, -1))
-                        .orElseGet(() -> ofNullable(e.getMessage())
-                                .map(s -> s.getBytes(StandardCharsets.UTF_8))
-                                .orElse(null));
-                final Response<Object> errorResponse = new ResponseImpl(responseCode,
-                        byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
-                                : decoderMatcher.select(getDecoders(), contentType),
-                        headers(urlConnection), error, null, getResponseType());
-
+                return new ResponseImpl(responseCode, PassthroughDecoder.INSTANCE, exchange.headers(), null, response,
+                        getResponseType());
+            }
+            final Decoder decoder = decoderMatcher.select(getDecoders(), contentType);
+            if (isStreamed(getResponseType())) { // the decoder owns the stream
                 if (isResponse()) {
-                    return errorResponse;
+                    return new StreamedResponse(responseCode, decoder, exchange.headers(), null, inputStream,
+                            getResponseType());
                 }
-
-                throw new HttpException(errorResponse);
+                return decoder.decode(inputStream, getResponseType());
             }
-
+            if (!isResponse()) {
+                return decode(decoder, inputStream);
+            }
+            response = slurp(inputStream, exchange.contentLength());
+            return new ResponseImpl(responseCode, decoder, exchange.headers(), null, response, getResponseType());
         } catch (final IOException e) {
-            if (urlConnection != null) { // it fails, release the resources, otherwise we want to be pooled
-                urlConnection.disconnect();
+            error = ofNullable(exchange.error())
+                    .map(s -> slurp(s, -1))
+                    .orElseGet(
+                            () -> ofNullable(e.getMessage()).map(s -> s.getBytes(StandardCharsets.UTF_8)).orElse(null));
+            final Response<Object> errorResponse = new ResponseImpl(responseCode,
+                    byte[].class == getResponseType() ? PassthroughDecoder.INSTANCE
+                            : decoderMatcher.select(getDecoders(), contentType),
+                    exchange.headers(), error, null, getResponseType());
+
+            if (isResponse()) {
+                return errorResponse;
             }
+
+            throw new HttpException(errorResponse);
+        }
+    }
+
+    private static String header(final HttpTransport.Exchange exchange, final String name) {
+        return ofNullable(exchange.headers().get(name))
+                .filter(values -> !values.isEmpty())
+                .map(values -> values.get(values.size() - 1))
+                .orElse(null);
+    }
+
+    // read the payload to let the connection be reused
+    static void discard(final HttpTransport.Exchange exchange) {
+        try {
+            slurp(exchange.body(), -1);
+        } catch (final IOException e) {
+            ofNullable(exchange.error()).ifPresent(s -> slurp(s, -1));
+        }
+    }
+
+    /**
+     * @param type the expected payload type.
+     * @return true if the payload is read lazily by the decoder ({@code Iterator<T>} or {@code Stream<T>}).
+     */
+    static boolean isStreamed(final Type type) {
+        if (!ParameterizedType.class.isInstance(type)) {
+            return false;
+        }
+        final Type rawType = ParameterizedType.class.cast(type).getRawType();
+        return Iterator.class == rawType || Stream.class == rawType;
+    }
+
+    private Object decode(final Decoder decoder, final InputStream inputStream) {
+        try (final InputStream stream = inputStream) {
+            return decoder.decode(stream, getResponseType());
+        } catch (final IOException e) {
             throw new IllegalStateException(e);
         }
     }
 
-    private static byte[] slurp(final InputStream responseStream, final int len) {
+    static byte[] slurp(final InputStream responseStream, final int len) {
         final byte[] buffer = new byte[8192];
         final ByteArrayOutputStream responseBuffer = new ByteArrayOutputStream(len > 0 ? len : buffer.length);
         try (final InputStream inputStream = responseStream) {
@@ -143,73 +322,10 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         return responseBuffer.toByteArray();
     }
 
-    private Map<String, List<String>> headers(final HttpURLConnection urlConnection) {
-        return urlConnection
-                .getHeaderFields()
-                .keySet()
-                .stream()
-                .filter(Objects::nonNull)
-                .collect(toMap(e -> e, urlConnection.getHeaderFields()::get, (k, v) -> {
-                    throw new IllegalArgumentException("Ambiguous key for: '" + k + "'");
-                }, () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER)));
-    }
-
-    @AllArgsConstructor
-    private static class DefaultConnection implements Configurer.Connection {
-
-        private final HttpURLConnection urlConnection;
-
-        private final byte[] payload;
-
-        private boolean followRedirects;
-
-        @Override
-        public String getMethod() {
-            return urlConnection.getRequestMethod();
-        }
-
-        @Override
-        public String getUrl() {
-            return urlConnection.getURL().toExternalForm();
-        }
-
-        @Override
-        public Map<String, List<String>> getHeaders() {
-            return urlConnection.getHeaderFields();
-        }
-
-        @Override
-        public byte[] getPayload() {
-            return payload;
-        }
-
-        @Override
-        public Configurer.Connection withHeader(final String name, final String value) {
-            urlConnection.addRequestProperty(name, value);
-            return this;
-        }
-
-        @Override
-        public Configurer.Connection withReadTimeout(final int timeout) {
-            urlConnection.setReadTimeout(timeout);
-            return this;
-        }
-
-        @Override
-        public Configurer.Connection withConnectionTimeout(final int timeout) {
-            urlConnection.setConnectTimeout(timeout);
-            return this;
-        }
-
-        @Override
-        public Configurer.Connection withoutFollowRedirects() {
-            followRedirects = false;
-            return this;
-        }
+    @RequiredArgsConstructor
+    private static class Retrying {
 
-        private void postConfigure() {
-            urlConnection.setInstanceFollowRedirects(followRedirects);
-        }
+        private final long delay;
     }
 
     private static class PassthroughDecoder implements Decoder {
@@ -272,6 +388,34 @@ public class ExecutionContext implements BiFunction<String, Object[], Object> {
         }
     }
 
+    private static class StreamedResponse<T> extends BaseResponse<T> {
+
+        private final InputStream inputStream;
+
+        private final Type responseType;
+
+        private volatile T bodyCache;
+
+        private StreamedResponse(final int status, final Decoder decoder, final Map<String, List<String>> headers,
+                final byte[] error, final InputStream inputStream, final Type responseType) {
+            super(status, decoder, headers, error);
+            this.inputStream = inputStream;
+            this.responseType = responseType;
+        }
+
+        @Override
+        public T body() {
+            if (bodyCache == null) {
+                synchronized (this) {
+                    if (bodyCache == null) {
+                        bodyCache = (T) decoder.decode(inputStream, responseType);
+                    }
+                }
+            }
+            return bodyCache;
+        }
+    }
+
     private static class ResponseImpl<T> extends BaseResponse<T> {
 
         private final byte[] responseBody;
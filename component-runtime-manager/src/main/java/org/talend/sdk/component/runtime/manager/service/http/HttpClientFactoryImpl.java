@@ -41,6 +41,8 @@ import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.runtime.manager.proxy.SerializationHandlerReplacer;
 import org.talend.sdk.component.runtime.manager.reflect.Copiable;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.HostLimits;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.HostLimitsRegistry;
 import org.talend.sdk.component.runtime.reflect.Defaults;
 import org.talend.sdk.component.runtime.serialization.SerializableService;
 
@@ -59,6 +61,17 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
 
     private final Map<Class<?>, Object> services;
 
+    private final HttpTransport transport;
+
+    private final HttpDispatcher dispatcher;
+
+    private final HostLimitsRegistry limitsRegistry = new HostLimitsRegistry();
+
+    public HttpClientFactoryImpl(final String plugin, final ReflectionService reflections, final Jsonb jsonb,
+            final Map<Class<?>, Object> services) {
+        this(plugin, reflections, jsonb, services, new UrlConnectionTransport(), new HttpDispatcher());
+    }
+
     public static <T> Collection<String> createErrors(final Class<T> api) {
         final Collection<String> errors = new ArrayList<>();
         final Collection<Method> methods =
@@ -82,8 +95,8 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
             throw new IllegalArgumentException(api + " is not an interface");
         }
         validate(api);
-        final HttpHandler handler =
-                new HttpHandler(api.getName(), plugin, new RequestParser(reflections, jsonb, services));
+        final HttpHandler handler = new HttpHandler(api.getName(), plugin,
+                new RequestParser(reflections, jsonb, services, transport, dispatcher, limitsRegistry));
         final T instance = api
                 .cast(Proxy
                         .newProxyInstance(api.getClassLoader(),
@@ -96,6 +109,13 @@ public class HttpClientFactoryImpl implements HttpClientFactory, Serializable {
         return instance;
     }
 
+    /**
+     * @return the counters of the rate limits and circuit breakers of the clients created by this factory.
+     */
+    public Collection<HostLimits.Statistics> getStatistics() {
+        return limitsRegistry.getStatistics();
+    }
+
     private <T> void validate(final Class<T> api) {
         final Collection<String> errors = createErrors(api);
         if (!errors.isEmpty()) {
@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.talend.sdk.component.runtime.manager.util.MemoizingSupplier;
+import org.talend.sdk.component.runtime.manager.util.Threads;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Executes the asynchronous requests ({@code CompletionStage<Response<T>>} methods) in a bounded pool.
+ * The number of requests in flight per host is limited, other ones wait in a queue without holding a thread.
+ * The default limit is the JVM keep-alive pool size ({@code http.maxConnections}) so all connections get reused.
+ * It also schedules the delayed requests (rate limits and retries).
+ *
+ * Since the dispatcher is shared by all the plugins, each task runs with the context classloader
+ * of the thread which submitted it and the per host state is released as soon as a host is idle.
+ */
+public class HttpDispatcher {
+
+    private final int maxRequestsPerHost;
+
+    private final Supplier<ExecutorService> executor;
+
+    private final Supplier<ScheduledExecutorService> scheduler = new MemoizingSupplier<>(this::createScheduler);
+
+    private final ConcurrentMap<String, Host> hosts = new ConcurrentHashMap<>();
+
+    public HttpDispatcher() {
+        this(Integer.getInteger("talend.component.manager.http.async.threads", 16),
+                Integer
+                        .getInteger("talend.component.manager.http.async.maxRequestsPerHost",
+                                Integer.getInteger("http.maxConnections", 5)));
+    }
+
+    public HttpDispatcher(final int threads, final int maxRequestsPerHost) {
+        if (threads <= 0 || maxRequestsPerHost <= 0) {
+            throw new IllegalArgumentException("threads and maxRequestsPerHost must be positive");
+        }
+        this.maxRequestsPerHost = maxRequestsPerHost;
+        this.executor = new MemoizingSupplier<>(() -> createExecutor(threads));
+    }
+
+    public <T> CompletionStage<T> submit(final String url, final Supplier<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        final Task next = new Task(withContextClassLoader(() -> {
+            try {
+                future.complete(task.get());
+            } catch (final RuntimeException | Error e) {
+                future.completeExceptionally(e);
+            }
+        }), future);
+        // enqueue in compute() to ensure an idle host is not released while a task is added
+        hosts.compute(hostOf(url), (key, host) -> {
+            final Host current = host == null ? new Host(key) : host;
+            current.pending.add(next);
+            return current;
+        }).drain();
+        return future;
+    }
+
+    /**
+     * Runs a task after a delay without holding a thread while waiting, the task must be fast or dispatch its work.
+     *
+     * @param task the task to run.
+     * @param delay the delay.
+     * @param unit the delay unit.
+     */
+    public void schedule(final Runnable task, final long delay, final TimeUnit unit) {
+        scheduler.get().schedule(withContextClassLoader(task), delay, unit);
+    }
+
+    /**
+     * @param url the request url.
+     * @return the scheme, host and port of the url.
+     */
+    public static String hostOf(final String url) {
+        try {
+            final URL parsed = new URL(url);
+            return parsed.getProtocol() + "://" + parsed.getHost() + ':'
+                    + (parsed.getPort() > 0 ? parsed.getPort() : parsed.getDefaultPort());
+        } catch (final MalformedURLException e) {
+            return url; // the execution will fail anyway
+        }
+    }
+
+    int getHostCount() {
+        return hosts.size();
+    }
+
+    private static Runnable withContextClassLoader(final Runnable task) {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return () -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                task.run();
+            } finally {
+                thread.setContextClassLoader(old);
+            }
+        };
+    }
+
+    // threads are created lazily by the first plugin using them, don't let them keep its loader
+    private static ThreadFactory ownLoader(final ThreadFactory delegate) {
+        return r -> {
+            final Thread thread = delegate.newThread(r);
+            thread.setContextClassLoader(HttpDispatcher.class.getClassLoader());
+            return thread;
+        };
+    }
+
+    private ExecutorService createExecutor(final int threads) {
+        final ThreadPoolExecutor pool =
+                new ThreadPoolExecutor(threads, threads, 60, SECONDS, new LinkedBlockingQueue<>(),
+                        ownLoader(Threads.newThreadFactory(HttpDispatcher.class.getName() + "-" + hashCode())));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private ScheduledExecutorService createScheduler() {
+        final ScheduledThreadPoolExecutor pool = new ScheduledThreadPoolExecutor(1, ownLoader(r -> {
+            final Thread thread = new Thread(r, HttpDispatcher.class.getName() + "-" + hashCode() + "-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        pool.setRemoveOnCancelPolicy(true);
+        return pool;
+    }
+
+    @RequiredArgsConstructor
+    private class Host {
+
+        private final String key;
+
+        private final Queue<Task> pending = new ConcurrentLinkedQueue<>();
+
+        private final AtomicInteger running = new AtomicInteger();
+
+        private void drain() {
+            while (!pending.isEmpty()) {
+                final int current = running.get();
+                if (current >= maxRequestsPerHost) {
+                    return; // a running request will drain the queue when done
+                }
+                if (!running.compareAndSet(current, current + 1)) {
+                    continue;
+                }
+                final Task next = pending.poll();
+                if (next == null) {
+                    running.decrementAndGet();
+                    continue;
+                }
+                try {
+                    executor.get().execute(() -> {
+                        try {
+                            next.runnable.run();
+                        } finally {
+                            running.decrementAndGet();
+                            drain();
+                            releaseIfIdle();
+                        }
+                    });
+                } catch (final RejectedExecutionException ree) {
+                    running.decrementAndGet();
+                    next.future.completeExceptionally(ree);
+                    releaseIfIdle();
+                }
+            }
+        }
+
+        // pending is checked first since tasks are only added under the map lock, a drain can't start after
+        private void releaseIfIdle() {
+            hosts
+                    .computeIfPresent(key,
+                            (k, host) -> host == this && pending.isEmpty() && running.get() == 0 ? null : host);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Task {
+
+        private final Runnable runnable;
+
+        private final CompletableFuture<?> future;
+    }
+}
@@ -34,9 +34,15 @@ public class HttpRequestCreator implements BiFunction<String, Object[], HttpRequ
 
     private final Function<Object[], String> baseProvider;
 
-    private final String pathTemplate;
+    /**
+     * Path of the request, compiled from the {@code @Request} template.
+     */
+    private final Function<Object[], String> pathProvider;
 
-    private final BiFunction<String, Object[], String> pathProvider;
+    /**
+     * Resolves the path placeholders of a {@code @Url} parameter, only known at call time.
+     */
+    private final BiFunction<String, Object[], String> urlPathProvider;
 
     private final Function<Object[], Collection<String>> queryParamsProvider;
 
@@ -57,11 +63,11 @@ public class HttpRequestCreator implements BiFunction<String, Object[], HttpRequ
 
     private String buildUrl(final String base, final Object[] params) {
         if (urlProvide == null) {
-            final String path = pathProvider.apply(pathTemplate, params);
+            final String path = pathProvider.apply(params);
             final String realBase = this.baseProvider != null ? this.baseProvider.apply(params) : base;
             return this.appendPaths(realBase, path);
         }
-        return pathProvider.apply(urlProvide.apply(params), params);
+        return urlPathProvider.apply(urlProvide.apply(params), params);
     }
 
     private String appendPaths(final String p1, final String p2) {
@@ -0,0 +1,253 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.joining;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.talend.sdk.component.api.service.cache.LocalCache;
+import org.talend.sdk.component.api.service.http.HttpCache;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Conditional GET cache of a {@link HttpCache} method, responses are stored in the plugin {@link LocalCache}.
+ */
+@RequiredArgsConstructor
+public class HttpResponseCache {
+
+    private static final String KEY_PREFIX = HttpResponseCache.class.getName() + ':';
+
+    private final Supplier<LocalCache> localCache;
+
+    private final HttpCache configuration;
+
+    /**
+     * @param request the request to send.
+     * @return the cache slot of this request or null if it can't be cached.
+     */
+    public Slot slot(final HttpRequest request) {
+        if (!"GET".equalsIgnoreCase(request.getMethodType())) {
+            return null;
+        }
+        final LocalCache cache = localCache.get();
+        if (cache == null) {
+            return null;
+        }
+        return cache.computeIfAbsent(Slot.class, key(request), configuration.timeout(), Slot::new);
+    }
+
+    /**
+     * @param request the request to send.
+     * @param slot the cache slot of the request.
+     * @return the request with the validators of the cached response if any.
+     */
+    public HttpRequest conditional(final HttpRequest request, final Slot slot) {
+        final Entry entry = slot.entry;
+        if (entry == null || (entry.etag == null && entry.lastModified == null)) {
+            return request;
+        }
+        final Map<String, String> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.getHeaders());
+        if (entry.etag != null) {
+            headers.put("If-None-Match", entry.etag);
+        }
+        if (entry.lastModified != null) {
+            headers.put("If-Modified-Since", entry.lastModified);
+        }
+        return new HttpRequest(request.getUrl(), request.getMethodType(), request.getQueryParams(), headers,
+                request.getConfigurer(), request.getConfigurerOptions(), request.getPayloadProvider(),
+                request.getParams(), request.getBodyCache());
+    }
+
+    /**
+     * Updates the cache with the response of the server.
+     *
+     * @param slot the cache slot of the request.
+     * @param exchange the server response.
+     * @param status the response status.
+     * @return the exchange to read the response from, it can be the cached entry.
+     * @throws IOException if the response can't be read.
+     */
+    public HttpTransport.Exchange update(final Slot slot, final HttpTransport.Exchange exchange, final int status)
+            throws IOException {
+        final Entry current = slot.entry;
+        if (status == 304 && current != null) {
+            ExecutionContext.discard(exchange);
+            final Entry revalidated = new Entry(current.status, current.headers, current.body,
+                    ofHeader(exchange.headers(), "ETag", current.etag),
+                    ofHeader(exchange.headers(), "Last-Modified", current.lastModified),
+                    freshUntil(exchange.headers()));
+            slot.entry = revalidated;
+            return revalidated;
+        }
+        if (status != 200) {
+            return exchange;
+        }
+        final String cacheControl = ofHeader(exchange.headers(), "Cache-Control", "").toLowerCase(ROOT);
+        if (cacheControl.contains("no-store") || "*".equals(ofHeader(exchange.headers(), "Vary", null))) {
+            return exchange;
+        }
+        final String etag = ofHeader(exchange.headers(), "ETag", null);
+        final String lastModified = ofHeader(exchange.headers(), "Last-Modified", null);
+        final long freshUntil = freshUntil(exchange.headers());
+        if (etag == null && lastModified == null && freshUntil <= System.currentTimeMillis()) {
+            return exchange;
+        }
+        final Entry entry = new Entry(status, exchange.headers(),
+                ExecutionContext.slurp(exchange.body(), exchange.contentLength()), etag, lastModified, freshUntil);
+        slot.entry = entry;
+        return entry;
+    }
+
+    private long freshUntil(final Map<String, List<String>> headers) {
+        final String cacheControl = ofHeader(headers, "Cache-Control", "").toLowerCase(ROOT);
+        long maxAge = configuration.maxAge();
+        if (cacheControl.contains("no-cache")) {
+            maxAge = 0;
+        } else {
+            for (final String directive : cacheControl.split(",")) {
+                final String trimmed = directive.trim();
+                if (trimmed.startsWith("max-age=")) {
+                    try {
+                        maxAge = Long.parseLong(trimmed.substring("max-age=".length())) * 1000;
+                    } catch (final NumberFormatException nfe) {
+                        maxAge = 0;
+                    }
+                }
+            }
+        }
+        return System.currentTimeMillis() + maxAge;
+    }
+
+    private static String ofHeader(final Map<String, List<String>> headers, final String name,
+            final String defaultValue) {
+        final List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? defaultValue : values.get(values.size() - 1);
+    }
+
+    private static String key(final HttpRequest request) {
+        final String query = String.join("&", request.getQueryParams());
+        return KEY_PREFIX + request.getMethodType() + ' ' + request.getUrl() + (query.isEmpty() ? "" : "?" + query)
+                + new TreeMap<>(request.getHeaders())
+                        .entrySet()
+                        .stream()
+                        .map(e -> e.getKey().toLowerCase(ROOT) + '=' + e.getValue())
+                        .collect(joining("\n", "\n", ""))
+                + configurerKey(request);
+    }
+
+    // the configurer adds headers (credentials) from its options so users of a same url don't share their responses,
+    // options are hashed to not keep credentials in the cache keys
+    private static String configurerKey(final HttpRequest request) {
+        if (request.getConfigurer() == null) {
+            return "";
+        }
+        final String prefix = "\nconfigurer=" + request.getConfigurer().getClass().getName();
+        if (request.getConfigurerOptions().isEmpty()) {
+            return prefix;
+        }
+        final String options = new TreeMap<>(request.getConfigurerOptions())
+                .entrySet()
+                .stream()
+                .map(e -> e.getKey() + '='
+                        + Arrays.deepToString(new Object[] { e.getValue().apply(request.getParams()) }))
+                .collect(joining("\n"));
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            final byte[] hash = digest.digest(options.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder hex = new StringBuilder(prefix).append('@');
+            for (final byte b : hash) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Slot {
+
+        private volatile Entry entry;
+
+        /**
+         * @return the cached response if it is still fresh.
+         */
+        public Entry getFresh() {
+            final Entry current = entry;
+            return current != null && current.freshUntil > System.currentTimeMillis() ? current : null;
+        }
+    }
+
+    @AllArgsConstructor
+    public static class Entry implements HttpTransport.Exchange {
+
+        private final int status;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        private final String etag;
+
+        private final String lastModified;
+
+        private final long freshUntil;
+
+        @Override
+        public int status() {
+            return status;
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            return headers;
+        }
+
+        @Override
+        public int contentLength() {
+            return body.length;
+        }
+
+        @Override
+        public InputStream body() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public InputStream error() {
+            return null;
+        }
+
+        @Override
+        public void release() {
+            // no-op
+        }
+    }
+}
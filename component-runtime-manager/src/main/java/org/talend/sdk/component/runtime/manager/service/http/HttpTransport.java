@@ -0,0 +1,77 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the requests of the {@link org.talend.sdk.component.api.service.http.HttpClient} proxies.
+ *
+ * The implementation is looked up with the {@link java.util.ServiceLoader} of the manager,
+ * {@link UrlConnectionTransport} is used if none is registered.
+ */
+public interface HttpTransport {
+
+    /**
+     * Sends the request (including its {@link org.talend.sdk.component.api.service.http.Configurer})
+     * and returns as soon as the response status and headers are available.
+     *
+     * @param request the request to send.
+     * @return the exchange to read the response from.
+     * @throws IOException if the request can't be sent.
+     */
+    Exchange execute(HttpRequest request) throws IOException;
+
+    interface Exchange {
+
+        /**
+         * @return the HTTP status of the response.
+         * @throws IOException if the server didn't answer.
+         */
+        int status() throws IOException;
+
+        /**
+         * @return the response headers, keys are case insensitive.
+         */
+        Map<String, List<String>> headers();
+
+        /**
+         * @return the length of the response payload or -1 if unknown.
+         */
+        int contentLength();
+
+        /**
+         * The stream must be fully read and closed to let the connection be reused.
+         *
+         * @return the response payload.
+         * @throws IOException if the server answered with an error status.
+         */
+        InputStream body() throws IOException;
+
+        /**
+         * @return the error payload or null if there is none.
+         */
+        InputStream error();
+
+        /**
+         * Closes the underlying connection instead of giving it back to the pool, used when the exchange failed.
+         */
+        void release();
+    }
+}
@@ -16,16 +16,19 @@
 package org.talend.sdk.component.runtime.manager.service.http;
 
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Locale.ROOT;
 import static java.util.Optional.ofNullable;
-import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
-import static java.util.stream.Stream.empty;
-import static java.util.stream.Stream.of;
 import static org.talend.sdk.component.runtime.base.lang.exception.InvocationExceptionWrapper.toRuntimeException;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -34,7 +37,6 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
-import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -43,13 +45,19 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import java.util.stream.Stream;
+import java.util.function.Supplier;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.json.bind.Jsonb;
 
+import org.talend.sdk.component.api.service.cache.LocalCache;
 import org.talend.sdk.component.api.service.http.Base;
+import org.talend.sdk.component.api.service.http.CircuitBreaker;
 import org.talend.sdk.component.api.service.http.Codec;
 import org.talend.sdk.component.api.service.http.Configurer;
 import org.talend.sdk.component.api.service.http.ConfigurerOption;
@@ -58,13 +66,16 @@ import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.Encoder;
 import org.talend.sdk.component.api.service.http.Header;
 import org.talend.sdk.component.api.service.http.Headers;
+import org.talend.sdk.component.api.service.http.HttpCache;
 import org.talend.sdk.component.api.service.http.HttpMethod;
 import org.talend.sdk.component.api.service.http.Path;
 import org.talend.sdk.component.api.service.http.Query;
 import org.talend.sdk.component.api.service.http.QueryFormat;
 import org.talend.sdk.component.api.service.http.QueryParams;
+import org.talend.sdk.component.api.service.http.RateLimit;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
+import org.talend.sdk.component.api.service.http.Retry;
 import org.talend.sdk.component.api.service.http.Url;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
 import org.talend.sdk.component.runtime.manager.reflect.Constructors;
@@ -73,6 +84,9 @@ import org.talend.sdk.component.runtime.manager.service.MediaTypeComparator;
 import org.talend.sdk.component.runtime.manager.service.http.codec.CodecMatcher;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpDecoder;
 import org.talend.sdk.component.runtime.manager.service.http.codec.JsonpEncoder;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.HostLimitsRegistry;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.Resilience;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.RetryPolicy;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -120,14 +134,33 @@ public class RequestParser {
 
     private final JAXBManager jaxb = JAXB.ACTIVE ? new JAXBManager() : null;
 
-    private volatile CodecMatcher<Encoder> codecMatcher = new CodecMatcher<>();
+    private final HttpTransport transport;
 
-    public RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services) {
-        this(new ReflectionInstanceCreator(reflections, services), jsonb);
+    private final HttpDispatcher dispatcher;
+
+    private final HostLimitsRegistry limitsRegistry;
+
+    private final Supplier<LocalCache> localCache;
+
+    public RequestParser(final ReflectionService reflections, final Jsonb jsonb, final Map<Class<?>, Object> services,
+            final HttpTransport transport, final HttpDispatcher dispatcher, final HostLimitsRegistry limitsRegistry) {
+        this(new ReflectionInstanceCreator(reflections, services), jsonb, transport, dispatcher, limitsRegistry,
+                () -> LocalCache.class.cast(services.get(LocalCache.class)));
     }
 
     public RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb) {
+        this(instanceCreator, jsonb, new UrlConnectionTransport(), new HttpDispatcher(), new HostLimitsRegistry(),
+                () -> null);
+    }
+
+    public RequestParser(final InstanceCreator instanceCreator, final Jsonb jsonb, final HttpTransport transport,
+            final HttpDispatcher dispatcher, final HostLimitsRegistry limitsRegistry,
+            final Supplier<LocalCache> localCache) {
         this.instanceCreator = instanceCreator;
+        this.transport = transport;
+        this.dispatcher = dispatcher;
+        this.limitsRegistry = limitsRegistry;
+        this.localCache = localCache;
         this.jsonpEncoder = new JsonpEncoder(jsonb);
         this.jsonpDecoder = new JsonpDecoder(jsonb);
     }
@@ -152,9 +185,9 @@ public class RequestParser {
                 .orElseGet(() -> method.getDeclaringClass().getAnnotation(Codec.class));
         final Map<String, Encoder> encoders = createEncoder(codec);
         final Map<String, Decoder> decoders = createDecoder(codec);
-        final PathProvider pathProvider = new PathProvider();
-        final QueryParamsProvider queryParamsProvider = new QueryParamsProvider();
-        final HeadersProvider headersProvider = new HeadersProvider();
+        final Map<Integer, Encodable> pathParams = new LinkedHashMap<>();
+        final Map<Integer, QueryEncodable> queries = new LinkedHashMap<>();
+        final Map<Integer, String> headers = new LinkedHashMap<>();
         final Map<String, Function<Object[], Object>> configurerOptionsProvider = new HashMap<>();
         Integer httpMethod = null;
         Function<Object[], String> urlProvider = null;
@@ -171,7 +204,7 @@ public class RequestParser {
                 httpMethod = index;
             } else if (parameters[i].isAnnotationPresent(Path.class)) {
                 final Path path = parameters[i].getAnnotation(Path.class);
-                pathProvider.pathParams.put(i, new Encodable(path.value(), path.encode()));
+                pathParams.put(i, new Encodable(path.value(), path.encode()));
             } else if (parameters[i].isAnnotationPresent(Url.class)) {
                 if (urlProvider != null) {
                     throw new IllegalStateException(method + "has two Url parameters");
@@ -179,14 +212,14 @@ public class RequestParser {
                 urlProvider = params -> String.valueOf(params[index]);
             } else if (parameters[i].isAnnotationPresent(QueryParams.class)) {
                 final QueryParams params = parameters[i].getAnnotation(QueryParams.class);
-                queryParamsProvider.queries.put(i, new QueryEncodable("", params.encode(), params.format()));
+                queries.put(i, new QueryEncodable("", params.encode(), params.format()));
             } else if (parameters[i].isAnnotationPresent(Query.class)) {
                 final Query query = parameters[i].getAnnotation(Query.class);
-                queryParamsProvider.queries.put(i, new QueryEncodable(query.value(), query.encode(), query.format()));
+                queries.put(i, new QueryEncodable(query.value(), query.encode(), query.format()));
             } else if (parameters[i].isAnnotationPresent(Headers.class)) {
-                headersProvider.headers.put(i, "");
+                headers.put(i, "");
             } else if (parameters[i].isAnnotationPresent(Header.class)) {
-                headersProvider.headers.put(i, parameters[i].getAnnotation(Header.class).value());
+                headers.put(i, parameters[i].getAnnotation(Header.class).value());
             } else if (parameters[i].isAnnotationPresent(ConfigurerOption.class)) {
                 configurerOptionsProvider
                         .putIfAbsent(parameters[i].getAnnotation(ConfigurerOption.class).value(),
@@ -203,11 +236,27 @@ public class RequestParser {
                 payloadProvider = buildPayloadProvider(encoders, i);
             }
         }
+        final String compression = request.compression().trim().toLowerCase(ROOT);
+        if (!compression.isEmpty()) {
+            if (!"gzip".equals(compression) && !"deflate".equals(compression)) {
+                throw new IllegalArgumentException(method + " uses an unsupported compression: " + compression);
+            }
+            if (payloadProvider != null) {
+                final BiFunction<String, Object[], Optional<byte[]>> encoder = payloadProvider;
+                payloadProvider = (contentType,
+                        params) -> encoder.apply(contentType, params).map(payload -> compress(compression, payload));
+            }
+        }
 
-        final boolean isResponse = method.getReturnType() == Response.class;
-        final Type responseType =
-                isResponse ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
-                        : method.getReturnType();
+        final boolean isAsync =
+                method.getReturnType() == CompletionStage.class || method.getReturnType() == CompletableFuture.class;
+        final Type returnType =
+                isAsync ? ParameterizedType.class.cast(method.getGenericReturnType()).getActualTypeArguments()[0]
+                        : method.getGenericReturnType();
+        final boolean isResponse = returnType == Response.class || ParameterizedType.class.isInstance(returnType)
+                && ParameterizedType.class.cast(returnType).getRawType() == Response.class;
+        final Type responseType = isResponse ? ParameterizedType.class.cast(returnType).getActualTypeArguments()[0]
+                : isAsync || ExecutionContext.isStreamed(returnType) ? returnType : method.getReturnType();
         final Integer httpMethodIndex = httpMethod;
         final Function<Object[], String> httpMethodProvider = params -> httpMethodIndex == null ? request.method()
                 : ofNullable(params[httpMethodIndex]).map(String::valueOf).orElse(request.method());
@@ -220,14 +269,42 @@ public class RequestParser {
             pathTemplate = pathTemplate.substring(0, pathTemplate.length() - 1);
         }
 
-        return new ExecutionContext(new HttpRequestCreator(httpMethodProvider, urlProvider, baseProvider, pathTemplate,
-                pathProvider, queryParamsProvider, headersProvider, payloadProvider, configurerInstance,
-                configurerOptionsProvider), responseType, isResponse, decoders);
+        return new ExecutionContext(
+                new HttpRequestCreator(httpMethodProvider, urlProvider, baseProvider,
+                        new PathTemplate(pathTemplate, pathParams), new PathProvider(pathParams),
+                        new QueryParamsProvider(queries), new HeadersProvider(headers, compression), payloadProvider,
+                        configurerInstance, configurerOptionsProvider),
+                responseType, isResponse, decoders, transport, isAsync ? dispatcher : null, createResilience(method),
+                limitsRegistry, createResponseCache(method, responseType));
+    }
+
+    private HttpResponseCache createResponseCache(final Method method, final Type responseType) {
+        final HttpCache httpCache = findAnnotation(method, HttpCache.class);
+        if (httpCache == null || responseType == InputStream.class || ExecutionContext.isStreamed(responseType)) {
+            return null; // streamed payloads are not buffered so they can't be cached
+        }
+        return new HttpResponseCache(localCache, httpCache);
+    }
+
+    private Resilience createResilience(final Method method) {
+        final Retry retry = findAnnotation(method, Retry.class);
+        final RateLimit rateLimit = findAnnotation(method, RateLimit.class);
+        final CircuitBreaker circuitBreaker = findAnnotation(method, CircuitBreaker.class);
+        if (retry == null && rateLimit == null && circuitBreaker == null) {
+            return null;
+        }
+        return new Resilience(method.getDeclaringClass(), retry == null ? null : new RetryPolicy(retry), rateLimit,
+                circuitBreaker);
+    }
+
+    private <A extends Annotation> A findAnnotation(final Method method, final Class<A> type) {
+        return ofNullable(method.getAnnotation(type)).orElseGet(() -> method.getDeclaringClass().getAnnotation(type));
     }
 
     private BiFunction<String, Object[], Optional<byte[]>> buildPayloadProvider(final Map<String, Encoder> encoders,
             final int index) {
-
+        final Encoder singleEncoder = encoders.size() == 1 ? encoders.values().iterator().next() : null;
+        final CodecMatcher<Encoder> codecMatcher = new CodecMatcher<>(); // caches the encoder per content-type
         return (contentType, params) -> {
             final Object payload = params[index];
             if (payload == null) {
@@ -236,13 +313,24 @@ public class RequestParser {
             if (byte[].class.isInstance(payload)) {
                 return Optional.of(byte[].class.cast(payload));
             }
-            if (encoders.size() == 1) {
-                return Optional.of(encoders.values().iterator().next().encode(payload));
+            if (singleEncoder != null) {
+                return Optional.of(singleEncoder.encode(payload));
             }
             return Optional.of(codecMatcher.select(encoders, contentType).encode(payload));
         };
     }
 
+    private static byte[] compress(final String encoding, final byte[] payload) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (final OutputStream stream =
+                "gzip".equals(encoding) ? new GZIPOutputStream(buffer) : new DeflaterOutputStream(buffer)) {
+            stream.write(payload);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
     private Configurer findConfigurerInstance(final Method m) {
         final UseConfigurer configurer = ofNullable(m.getAnnotation(UseConfigurer.class))
                 .orElseGet(() -> m.getDeclaringClass().getAnnotation(UseConfigurer.class));
@@ -378,92 +466,225 @@ public class RequestParser {
 
         private final QueryFormat format;
 
+        private final String prefix;
+
         private QueryEncodable(final String name, final boolean encode, final QueryFormat format) {
             super(name, encode);
             this.format = format;
+            this.prefix = name + '=';
         }
     }
 
     private static class QueryParamsProvider implements Function<Object[], Collection<String>> {
 
-        private final Map<Integer, QueryEncodable> queries = new LinkedHashMap<>();
+        private final int[] indices;
+
+        private final QueryEncodable[] queries;
+
+        private QueryParamsProvider(final Map<Integer, QueryEncodable> queries) {
+            this.indices = queries.keySet().stream().mapToInt(Integer::intValue).toArray();
+            this.queries = queries.values().toArray(new QueryEncodable[0]);
+        }
 
         @Override
         public Collection<String> apply(final Object[] args) {
+            if (indices.length == 0) {
+                return emptyList();
+            }
+            final List<String> result = new ArrayList<>(indices.length);
+            for (int i = 0; i < indices.length; i++) {
+                final Object value = args[indices[i]];
+                if (value == null) {
+                    continue;
+                }
+                final QueryEncodable config = queries[i];
+                if (!config.getName().isEmpty()) {
+                    addValues(result, config, config.prefix, value);
+                    continue;
+                }
+                for (final Map.Entry<String, ?> query : ((Map<String, ?>) value).entrySet()) {
+                    if (!config.isEncode()) {
+                        result.add(query.getKey() + '=' + query.getValue());
+                    } else if (query.getValue() != null) {
+                        addValues(result, config, query.getKey() + '=', query.getValue());
+                    }
+                }
+            }
+            return result;
+        }
 
-            return queries.entrySet().stream().flatMap(entry -> {
-                if (entry.getValue().getName().isEmpty()) {
-                    final Map<String, ?> queryParams =
-                            args[entry.getKey()] == null ? emptyMap() : Map.class.cast(args[entry.getKey()]);
-                    if (entry.getValue().isEncode()) {
-                        return queryParams
-                                .entrySet()
-                                .stream()
-                                .filter(q -> q.getValue() != null)
-                                .flatMap(it -> mapValues(entry.getValue(), it.getKey(), it.getValue()));
+        private void addValues(final Collection<String> result, final QueryEncodable config, final String prefix,
+                final Object value) {
+            if (!Collection.class.isInstance(value)) {
+                result.add(prefix + encode(config, value));
+                return;
+            }
+            switch (config.format) {
+            case MULTI:
+                for (final Object item : Collection.class.cast(value)) {
+                    if (item != null) {
+                        result.add(prefix + encode(config, item));
                     }
-                    return queryParams.entrySet().stream();
                 }
-                return ofNullable(args[entry.getKey()])
-                        .map(v -> mapValues(entry.getValue(), entry.getValue().getName(), v))
-                        .orElse(null);
-            }).filter(Objects::nonNull).map(kv -> kv.getKey() + "=" + kv.getValue()).collect(toList());
-        }
-
-        private Stream<AbstractMap.SimpleEntry<String, String>> mapValues(final QueryEncodable config, final String key,
-                final Object v) {
-            if (Collection.class.isInstance(v)) {
-                final Stream<String> collection = ((Collection<?>) v)
-                        .stream()
-                        .filter(Objects::nonNull)
-                        .map(String::valueOf)
-                        .map(q -> config.isEncode() ? queryEncode(q) : q);
-                switch (config.format) {
-                case MULTI:
-                    return collection.map(q -> new AbstractMap.SimpleEntry<>(key, q));
-                case CSV:
-                    return of(new AbstractMap.SimpleEntry<>(key, String.join(",", collection.collect(toList()))));
-                default:
-                    throw new IllegalArgumentException("Unsupported formatting: " + config);
+                break;
+            case CSV:
+                final StringBuilder csv = new StringBuilder(prefix);
+                boolean first = true;
+                for (final Object item : Collection.class.cast(value)) {
+                    if (item == null) {
+                        continue;
+                    }
+                    if (!first) {
+                        csv.append(',');
+                    }
+                    csv.append(encode(config, item));
+                    first = false;
                 }
+                result.add(csv.toString());
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported formatting: " + config);
             }
+        }
 
-            String value = String.valueOf(v);
-            if (config.isEncode()) {
-                value = queryEncode(value);
-            }
-            return of(new AbstractMap.SimpleEntry<>(key, value));
+        private String encode(final QueryEncodable config, final Object value) {
+            final String string = String.valueOf(value);
+            return config.isEncode() ? queryEncode(string) : string;
         }
     }
 
     private static class HeadersProvider implements Function<Object[], Map<String, String>> {
 
-        private final Map<Integer, String> headers = new LinkedHashMap<>();
+        private final int[] indices;
+
+        private final String[] names;
+
+        private final String contentEncoding;
+
+        private HeadersProvider(final Map<Integer, String> headers, final String contentEncoding) {
+            this.indices = headers.keySet().stream().mapToInt(Integer::intValue).toArray();
+            this.names = headers.values().toArray(new String[0]);
+            this.contentEncoding = contentEncoding.isEmpty() ? null : contentEncoding;
+        }
 
         @Override
         public Map<String, String> apply(final Object[] args) {
+            final Map<String, String> result = new LinkedHashMap<>();
+            for (int i = 0; i < indices.length; i++) {
+                final Object value = args[indices[i]];
+                if (value == null) {
+                    continue;
+                }
+                if (!names[i].isEmpty()) {
+                    put(result, names[i], String.valueOf(value));
+                    continue;
+                }
+                for (final Map.Entry<String, String> header : ((Map<String, String>) value).entrySet()) {
+                    if (header.getValue() != null) { // ignore null values
+                        put(result, header.getKey(), header.getValue());
+                    }
+                }
+            }
+            if (contentEncoding != null) {
+                put(result, "Content-Encoding", contentEncoding);
+            }
+            return result;
+        }
+
+        private void put(final Map<String, String> headers, final String name, final String value) {
+            final String existing = headers.putIfAbsent(name, value);
+            if (existing != null) {
+                throw new IllegalArgumentException("conflictings keys: " + existing + '/' + value);
+            }
+        }
+    }
+
+    /**
+     * The {@link Request#path()} compiled once per method: static parts are kept as they are and each placeholder
+     * is bound to the index of its {@link Path} parameter, placeholders without parameter are kept as is.
+     */
+    private static class PathTemplate implements Function<Object[], String> {
+
+        private final String[] parts;
+
+        private final int[] indices;
+
+        private final boolean[] encode;
+
+        private final int length;
+
+        private PathTemplate(final String template, final Map<Integer, Encodable> pathParams) {
+            final Map<String, Integer> slots = new HashMap<>();
+            pathParams.forEach((index, param) -> slots.putIfAbsent(param.getName(), index));
 
-            return headers.entrySet().stream().flatMap(entry -> {
-                if (entry.getValue().isEmpty()) {
-                    return args[entry.getKey()] == null ? empty()
-                            : ((Map<String, String>) args[entry.getKey()]).entrySet().stream();
+            final List<String> parts = new ArrayList<>();
+            final List<Integer> indices = new ArrayList<>();
+            final StringBuilder current = new StringBuilder();
+            int from = 0;
+            int start;
+            while ((start = template.indexOf('{', from)) >= 0) {
+                final int end = template.indexOf('}', start + 1);
+                if (end < 0) {
+                    break;
+                }
+                final Integer index = slots.get(template.substring(start + 1, end));
+                if (index == null) {
+                    current.append(template, from, start + 1);
+                    from = start + 1;
+                    continue;
                 }
-                return ofNullable(args[entry.getKey()])
-                        .map(v -> of(new AbstractMap.SimpleEntry<>(entry.getValue(), String.valueOf(v))))
-                        .orElse(null);
-            })
-                    .filter(Objects::nonNull)
-                    .filter(e -> e.getValue() != null) // ignore null values
-                    .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> {
-                        throw new IllegalArgumentException("conflictings keys: " + a + '/' + b);
-                    }, LinkedHashMap::new));
+                current.append(template, from, start);
+                parts.add(current.toString());
+                current.setLength(0);
+                indices.add(index);
+                from = end + 1;
+            }
+            current.append(template.substring(from));
+            parts.add(current.toString());
+
+            this.parts = parts.toArray(new String[0]);
+            this.indices = indices.stream().mapToInt(Integer::intValue).toArray();
+            this.encode = new boolean[this.indices.length];
+            for (int i = 0; i < this.indices.length; i++) {
+                this.encode[i] = pathParams.get(this.indices[i]).isEncode();
+            }
+            this.length = parts.stream().mapToInt(String::length).sum();
+        }
+
+        @Override
+        public String apply(final Object[] args) {
+            if (indices.length == 0) {
+                return parts[0];
+            }
+            final StringBuilder path = new StringBuilder(length + 16 * indices.length).append(parts[0]);
+            for (int i = 0; i < indices.length; i++) {
+                final String value = String.valueOf(args[indices[i]]);
+                path.append(encode[i] ? pathEncode(value) : value).append(parts[i + 1]);
+            }
+            return path.toString();
+        }
+    }
+
+    private static String pathEncode(final String value) {
+        String result = componentEncode(PATH_RESERVED_CHARACTERS, value);
+        // URLEncoder will encode '+' to %2B but will turn ' ' into '+'
+        // We need to retain '+' and encode ' ' as %20
+        if (result.indexOf('+') != -1) {
+            result = result.replace("+", "%20");
+        }
+        if (result.contains("%2B")) {
+            result = result.replace("%2B", "+");
         }
+        return result;
     }
 
+    /**
+     * Resolves the placeholders of a path only known at call time ({@link Url} parameter).
+     */
     @RequiredArgsConstructor
     private static class PathProvider implements BiFunction<String, Object[], String> {
 
-        private final Map<Integer, Encodable> pathParams = new LinkedHashMap<>();
+        private final Map<Integer, Encodable> pathParams;
 
         /**
          * @param original : string with placeholders
@@ -489,19 +710,6 @@ public class RequestParser {
             return out;
         }
 
-        private static String pathEncode(final String value) {
-            String result = componentEncode(PATH_RESERVED_CHARACTERS, value);
-            // URLEncoder will encode '+' to %2B but will turn ' ' into '+'
-            // We need to retain '+' and encode ' ' as %20
-            if (result.indexOf('+') != -1) {
-                result = result.replace("+", "%20");
-            }
-            if (result.contains("%2B")) {
-                result = result.replace("%2B", "+");
-            }
-            return result;
-        }
-
         @Override
         public String apply(final String pathTemplate, final Object[] args) {
             String path = pathTemplate;
@@ -0,0 +1,222 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Locale.ROOT;
+import static java.util.stream.Collectors.toMap;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.talend.sdk.component.api.service.http.Configurer;
+
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Default transport relying on {@link HttpURLConnection}, connections are kept alive and pooled by the JVM
+ * (pool size per destination is controlled by the {@code http.maxConnections} system property).
+ * Responses are transparently decompressed (gzip or deflate) unless the caller sets {@code Accept-Encoding},
+ * request payloads are sent as provided (compressed by the caller if it sets a {@code Content-Encoding}).
+ */
+public class UrlConnectionTransport implements HttpTransport {
+
+    @Override
+    public Exchange execute(final HttpRequest request) throws IOException {
+        final String queryParams = String.join("&", request.getQueryParams());
+        final URL url = new URL(request.getUrl() + (queryParams.isEmpty() ? "" : "?" + queryParams));
+        final HttpURLConnection urlConnection = HttpURLConnection.class.cast(url.openConnection());
+        try {
+            urlConnection.setRequestMethod(request.getMethodType());
+            request.getHeaders().forEach(urlConnection::setRequestProperty);
+
+            final Optional<byte[]> requestBody = request.getBody();
+
+            final DefaultConnection connection = new DefaultConnection(urlConnection, requestBody.orElse(null), true);
+            if (request.getConfigurer() != null) {
+                request.getConfigurer().configure(connection, request.getConfigurationOptions());
+            }
+            connection.postConfigure();
+
+            // if the caller did not request an encoding itself, it gets the decompressed payload
+            final boolean decompress = urlConnection.getRequestProperty("Accept-Encoding") == null;
+            if (decompress) {
+                urlConnection.setRequestProperty("Accept-Encoding", "gzip, deflate");
+            }
+
+            if (requestBody.isPresent()) {
+                urlConnection.setDoOutput(true);
+                try (final OutputStream outputStream = new BufferedOutputStream(urlConnection.getOutputStream())) {
+                    outputStream.write(requestBody.get());
+                    outputStream.flush();
+                }
+            }
+            return new UrlConnectionExchange(urlConnection, decompress);
+        } catch (final IOException | RuntimeException e) {
+            urlConnection.disconnect();
+            throw e;
+        }
+    }
+
+    private static InputStream decompress(final String encoding, final InputStream inputStream) throws IOException {
+        if (encoding == null || inputStream == null) {
+            return inputStream;
+        }
+        switch (encoding.trim().toLowerCase(ROOT)) {
+        case "gzip":
+            return new GZIPInputStream(inputStream);
+        case "deflate":
+            return new InflaterInputStream(inputStream);
+        default:
+            return inputStream;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class UrlConnectionExchange implements Exchange {
+
+        private final HttpURLConnection urlConnection;
+
+        private final boolean decompress;
+
+        private volatile Map<String, List<String>> headers;
+
+        @Override
+        public int status() throws IOException {
+            return urlConnection.getResponseCode();
+        }
+
+        @Override
+        public Map<String, List<String>> headers() {
+            if (headers == null) {
+                final Map<String, List<String>> fields = urlConnection.getHeaderFields();
+                headers =
+                        fields.keySet().stream().filter(Objects::nonNull).collect(toMap(e -> e, fields::get, (k, v) -> {
+                            throw new IllegalArgumentException("Ambiguous key for: '" + k + "'");
+                        }, () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER)));
+                if (isCompressed()) { // the payload is decoded so these headers are no more accurate
+                    headers.remove("Content-Encoding");
+                    headers.remove("Content-Length");
+                }
+            }
+            return headers;
+        }
+
+        @Override
+        public int contentLength() {
+            return isCompressed() ? -1 : urlConnection.getContentLength();
+        }
+
+        @Override
+        public InputStream body() throws IOException {
+            final InputStream inputStream = urlConnection.getInputStream();
+            return isCompressed() ? decompress(urlConnection.getContentEncoding(), inputStream) : inputStream;
+        }
+
+        @Override
+        public InputStream error() {
+            final InputStream errorStream = urlConnection.getErrorStream();
+            try {
+                return isCompressed() ? decompress(urlConnection.getContentEncoding(), errorStream) : errorStream;
+            } catch (final IOException e) {
+                return errorStream;
+            }
+        }
+
+        private boolean isCompressed() {
+            if (!decompress) {
+                return false;
+            }
+            final String encoding = urlConnection.getContentEncoding();
+            return encoding != null
+                    && ("gzip".equalsIgnoreCase(encoding.trim()) || "deflate".equalsIgnoreCase(encoding.trim()));
+        }
+
+        @Override
+        public void release() {
+            urlConnection.disconnect();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class DefaultConnection implements Configurer.Connection {
+
+        private final HttpURLConnection urlConnection;
+
+        private final byte[] payload;
+
+        private boolean followRedirects;
+
+        @Override
+        public String getMethod() {
+            return urlConnection.getRequestMethod();
+        }
+
+        @Override
+        public String getUrl() {
+            return urlConnection.getURL().toExternalForm();
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return urlConnection.getHeaderFields();
+        }
+
+        @Override
+        public byte[] getPayload() {
+            return payload;
+        }
+
+        @Override
+        public Configurer.Connection withHeader(final String name, final String value) {
+            urlConnection.addRequestProperty(name, value);
+            return this;
+        }
+
+        @Override
+        public Configurer.Connection withReadTimeout(final int timeout) {
+            urlConnection.setReadTimeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Configurer.Connection withConnectionTimeout(final int timeout) {
+            urlConnection.setConnectTimeout(timeout);
+            return this;
+        }
+
+        @Override
+        public Configurer.Connection withoutFollowRedirects() {
+            followRedirects = false;
+            return this;
+        }
+
+        private void postConfigure() {
+            urlConnection.setInstanceFollowRedirects(followRedirects);
+        }
+    }
+}
@@ -15,26 +15,141 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http.codec;
 
+import static java.util.Collections.emptyMap;
+import static javax.json.stream.JsonParser.Event.END_ARRAY;
+import static javax.json.stream.JsonParser.Event.START_ARRAY;
+
 import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+import javax.json.JsonStructure;
+import javax.json.JsonValue;
 import javax.json.bind.Jsonb;
+import javax.json.spi.JsonProvider;
+import javax.json.stream.JsonParser;
+import javax.json.stream.JsonParserFactory;
 
+import org.apache.johnzon.jsonb.extension.JsonValueReader;
 import org.talend.sdk.component.api.service.http.Decoder;
 
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 
-@AllArgsConstructor
+@RequiredArgsConstructor
 public class JsonpDecoder implements Decoder {
 
     private final Jsonb jsonb;
 
+    private volatile JsonParserFactory parserFactory;
+
     @Override
     public Object decode(final byte[] value, final Type expectedType) {
+        return decode(new ByteArrayInputStream(value), expectedType);
+    }
+
+    @Override
+    public Object decode(final InputStream value, final Type expectedType) {
+        if (ParameterizedType.class.isInstance(expectedType)) {
+            final ParameterizedType parameterizedType = ParameterizedType.class.cast(expectedType);
+            final Type rawType = parameterizedType.getRawType();
+            if (Iterator.class == rawType || Stream.class == rawType) {
+                final JsonArrayIterator iterator = new JsonArrayIterator(jsonb, getParserFactory().createParser(value),
+                        parameterizedType.getActualTypeArguments()[0]);
+                if (Iterator.class == rawType) {
+                    return iterator;
+                }
+                return StreamSupport
+                        .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                        .onClose(iterator::close);
+            }
+        }
         if (!Class.class.isInstance(expectedType)) {
             throw new IllegalArgumentException("Unsupported type: " + expectedType);
         }
         final Class<?> clazz = Class.class.cast(expectedType);
-        return jsonb.fromJson(new ByteArrayInputStream(value), clazz);
+        return jsonb.fromJson(value, clazz);
+    }
+
+    private JsonParserFactory getParserFactory() {
+        if (parserFactory == null) {
+            synchronized (this) {
+                if (parserFactory == null) {
+                    parserFactory = JsonProvider.provider().createParserFactory(emptyMap());
+                }
+            }
+        }
+        return parserFactory;
+    }
+
+    /**
+     * Reads a JSON array element by element, only the current element is in memory.
+     * The parser (and therefore the underlying stream) is closed once the array end is reached.
+     * A JSON {@code null} element is returned as {@code null}.
+     */
+    @RequiredArgsConstructor
+    private static class JsonArrayIterator implements Iterator<Object>, AutoCloseable {
+
+        private final Jsonb jsonb;
+
+        private final JsonParser parser;
+
+        private final Type itemType;
+
+        private JsonValue next; // JsonValue.NULL for a null element, null when not read yet
+
+        private boolean started;
+
+        private boolean done;
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !done) {
+                advance();
+            }
+            return next != null;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final JsonValue value = next;
+            next = null;
+            if (JsonStructure.class.isInstance(value)) {
+                return jsonb.fromJson(new JsonValueReader<>(JsonStructure.class.cast(value)), itemType);
+            }
+            return jsonb.fromJson(value.toString(), itemType);
+        }
+
+        @Override
+        public void close() {
+            if (!done) {
+                done = true;
+                parser.close();
+            }
+        }
+
+        private void advance() {
+            if (!started) {
+                started = true;
+                if (!parser.hasNext() || parser.next() != START_ARRAY) {
+                    close();
+                    throw new IllegalArgumentException("Expected a JSON array");
+                }
+            }
+            if (!parser.hasNext() || parser.next() == END_ARRAY) {
+                close();
+                return;
+            }
+            next = parser.getValue();
+        }
     }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker state: opens after consecutive failures, rejects the calls during the open duration
+ * and then lets a single trial call decide if it closes or reopens.
+ */
+public class Circuit {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openDuration;
+
+    private final LongSupplier clock;
+
+    private volatile State state = State.CLOSED;
+
+    private volatile int failures;
+
+    private long openedAt;
+
+    public Circuit(final int failureThreshold, final long openDuration, final TimeUnit unit) {
+        this(failureThreshold, openDuration, unit, System::nanoTime);
+    }
+
+    Circuit(final int failureThreshold, final long openDuration, final TimeUnit unit, final LongSupplier clock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = unit.toNanos(openDuration);
+        this.clock = clock;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return true if the call can be done, in this case {@link #onSuccess()} or {@link #onFailure()}
+     * must be called with its outcome.
+     */
+    public boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            // a trial which never reported its outcome is replaced after the open duration
+            final long now = clock.getAsLong();
+            if (now - openedAt < openDuration) {
+                return false;
+            }
+            openedAt = now;
+            state = State.HALF_OPEN;
+            return true;
+        }
+    }
+
+    public void onSuccess() {
+        if (state == State.CLOSED && failures == 0) {
+            return;
+        }
+        synchronized (this) {
+            failures = 0;
+            state = State.CLOSED;
+        }
+    }
+
+    /**
+     * @return true if this failure opened the circuit.
+     */
+    public synchronized boolean onFailure() {
+        if (state == State.OPEN) {
+            return false;
+        }
+        if (state == State.HALF_OPEN || ++failures >= failureThreshold) {
+            failures = 0;
+            openedAt = clock.getAsLong();
+            state = State.OPEN;
+            return true;
+        }
+        return false;
+    }
+}
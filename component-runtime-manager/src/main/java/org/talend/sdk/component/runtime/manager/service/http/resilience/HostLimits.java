@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.talend.sdk.component.api.service.http.CircuitBreaker;
+import org.talend.sdk.component.api.service.http.RateLimit;
+
+import lombok.Data;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rate limit and circuit breaker state of a client for a host.
+ */
+@Slf4j
+public class HostLimits {
+
+    @Getter
+    private final String client;
+
+    @Getter
+    private final String host;
+
+    private final TokenBucket bucket;
+
+    private final Circuit circuit;
+
+    private final LongAdder requests = new LongAdder();
+
+    private final LongAdder retries = new LongAdder();
+
+    private final LongAdder throttled = new LongAdder();
+
+    private final LongAdder rejected = new LongAdder();
+
+    public HostLimits(final String client, final String host, final RateLimit rateLimit,
+            final CircuitBreaker circuitBreaker) {
+        this.client = client;
+        this.host = host;
+        this.bucket = rateLimit == null ? null : new TokenBucket(rateLimit.permits(), rateLimit.period(), MILLISECONDS);
+        this.circuit = circuitBreaker == null ? null
+                : new Circuit(circuitBreaker.failureThreshold(), circuitBreaker.openDuration(), MILLISECONDS);
+    }
+
+    /**
+     * @return the delay in nanoseconds to wait before sending the request.
+     */
+    public long reserve() {
+        if (bucket == null) {
+            return 0;
+        }
+        final long delay = bucket.reserve();
+        if (delay > 0) {
+            throttled.increment();
+        }
+        return delay;
+    }
+
+    /**
+     * @return false if the circuit is open and the request must not be sent.
+     */
+    public boolean tryAcquire() {
+        requests.increment();
+        if (circuit == null || circuit.tryAcquire()) {
+            return true;
+        }
+        rejected.increment();
+        return false;
+    }
+
+    public void onSuccess() {
+        if (circuit != null) {
+            circuit.onSuccess();
+        }
+    }
+
+    public void onFailure() {
+        if (circuit != null && circuit.onFailure()) {
+            log.warn("Circuit opened for {} on {}", client, host);
+        }
+    }
+
+    public void onRetry() {
+        retries.increment();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(client, host, requests.sum(), retries.sum(), throttled.sum(), rejected.sum(),
+                circuit == null ? Circuit.State.CLOSED : circuit.getState());
+    }
+
+    @Data
+    public static class Statistics {
+
+        private final String client;
+
+        private final String host;
+
+        private final long requests;
+
+        private final long retries;
+
+        private final long throttled;
+
+        private final long rejected;
+
+        private final Circuit.State circuit;
+    }
+}
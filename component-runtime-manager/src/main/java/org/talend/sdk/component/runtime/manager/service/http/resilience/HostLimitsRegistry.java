@@ -0,0 +1,66 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.talend.sdk.component.api.service.http.CircuitBreaker;
+import org.talend.sdk.component.api.service.http.RateLimit;
+import org.talend.sdk.component.runtime.manager.service.http.HttpDispatcher;
+
+import lombok.Data;
+
+/**
+ * Holds the rate limits and circuit breakers of the clients of a plugin.
+ */
+public class HostLimitsRegistry {
+
+    private final ConcurrentMap<Key, HostLimits> limits = new ConcurrentHashMap<>();
+
+    /**
+     * @param resilience the configuration of the request.
+     * @param url the request url.
+     * @return the state shared by the requests of the same client, with the same configuration, to the same host.
+     */
+    public HostLimits limits(final Resilience resilience, final String url) {
+        final String host = HttpDispatcher.hostOf(url);
+        return limits
+                .computeIfAbsent(
+                        new Key(resilience.getClient(), host, resilience.getRateLimit(),
+                                resilience.getCircuitBreaker()),
+                        k -> new HostLimits(k.client.getName(), host, k.rateLimit, k.circuitBreaker));
+    }
+
+    public Collection<HostLimits.Statistics> getStatistics() {
+        return limits.values().stream().map(HostLimits::getStatistics).collect(toList());
+    }
+
+    @Data
+    private static class Key {
+
+        private final Class<?> client;
+
+        private final String host;
+
+        private final RateLimit rateLimit;
+
+        private final CircuitBreaker circuitBreaker;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import org.talend.sdk.component.api.service.http.CircuitBreaker;
+import org.talend.sdk.component.api.service.http.RateLimit;
+
+import lombok.Data;
+
+/**
+ * Resilience configuration of a {@link org.talend.sdk.component.api.service.http.Request} method,
+ * each value is null when not configured.
+ */
+@Data
+public class Resilience {
+
+    private final Class<?> client;
+
+    private final RetryPolicy retryPolicy;
+
+    private final RateLimit rateLimit;
+
+    private final CircuitBreaker circuitBreaker;
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import static java.util.Arrays.asList;
+import static java.util.Locale.ROOT;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.talend.sdk.component.api.service.http.Retry;
+
+import lombok.Getter;
+
+/**
+ * Computes the delay between the attempts of a request configured with {@link Retry}.
+ */
+public class RetryPolicy {
+
+    private static final Collection<String> IDEMPOTENT_METHODS =
+            new HashSet<>(asList("GET", "HEAD", "OPTIONS", "TRACE", "PUT", "DELETE"));
+
+    // the server did not process the request so it is safe to send it again whatever the method is
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Getter
+    private final int maxAttempts;
+
+    private final long backoff;
+
+    private final long maxBackoff;
+
+    private final int[] statuses;
+
+    private final boolean nonIdempotent;
+
+    public RetryPolicy(final Retry retry) {
+        this.maxAttempts = retry.maxAttempts();
+        this.backoff = Math.max(0, retry.backoff());
+        this.maxBackoff = Math.max(backoff, retry.maxBackoff());
+        this.statuses = retry.statuses();
+        this.nonIdempotent = retry.nonIdempotent();
+    }
+
+    /**
+     * @param method the HTTP method of the request.
+     * @return true if the request can be sent again after a network error.
+     */
+    public boolean isRetryable(final String method) {
+        return nonIdempotent || (method != null && IDEMPOTENT_METHODS.contains(method.toUpperCase(ROOT)));
+    }
+
+    /**
+     * @param method the HTTP method of the request.
+     * @param status the response status.
+     * @return true if the request can be sent again after this response.
+     */
+    public boolean isRetryable(final String method, final int status) {
+        if (status != TOO_MANY_REQUESTS && !isRetryable(method)) {
+            return false;
+        }
+        for (final int retryable : statuses) {
+            if (retryable == status) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param retry the index of the retry (0 for the first one).
+     * @param retryAfter the {@code Retry-After} header of the failed response if any.
+     * @return the delay in milliseconds before the next attempt, negative if the request must not be retried.
+     */
+    public long delay(final int retry, final String retryAfter) {
+        if (retryAfter != null) {
+            final long requested = parseRetryAfter(retryAfter.trim());
+            if (requested >= 0) {
+                return requested > maxBackoff ? -1 : requested;
+            }
+        }
+        // exponential backoff with "equal jitter" to spread the retries of concurrent callers
+        final long delay = Math.min(maxBackoff, backoff << Math.min(retry, 30));
+        final long half = delay / 2;
+        return half + ThreadLocalRandom.current().nextLong(delay - half + 1);
+    }
+
+    private long parseRetryAfter(final String value) {
+        try {
+            return Long.parseLong(value) * 1000;
+        } catch (final NumberFormatException nfe) {
+            try {
+                return Math
+                        .max(0, ZonedDateTime
+                                .parse(value, DateTimeFormatter.RFC_1123_DATE_TIME)
+                                .toInstant()
+                                .toEpochMilli() - Instant.now().toEpochMilli());
+            } catch (final DateTimeParseException dtpe) {
+                return -1;
+            }
+        }
+    }
+}
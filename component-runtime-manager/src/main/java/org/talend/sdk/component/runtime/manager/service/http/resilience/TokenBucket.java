@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock free rate limiter (generic cell rate algorithm): permits are reserved and the caller is given the delay
+ * to wait before using it, this way the waiting can be scheduled instead of holding a thread.
+ */
+public class TokenBucket {
+
+    private final long interval;
+
+    private final long tolerance;
+
+    private final LongSupplier clock;
+
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(final int permits, final long period, final TimeUnit unit) {
+        this(permits, period, unit, System::nanoTime);
+    }
+
+    TokenBucket(final int permits, final long period, final TimeUnit unit, final LongSupplier clock) {
+        if (permits <= 0 || period <= 0) {
+            throw new IllegalArgumentException("permits and period must be positive");
+        }
+        final long periodNanos = unit.toNanos(period);
+        this.interval = Math.max(1, periodNanos / permits);
+        this.tolerance = periodNanos - interval; // allows a burst of permits
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * Reserves a permit.
+     *
+     * @return the delay in nanoseconds to wait before using the permit.
+     */
+    public long reserve() {
+        final long now = clock.getAsLong();
+        while (true) {
+            final long arrival = theoreticalArrival.get();
+            if (theoreticalArrival.compareAndSet(arrival, Math.max(arrival, now) + interval)) {
+                return Math.max(0, arrival - tolerance - now);
+            }
+        }
+    }
+}
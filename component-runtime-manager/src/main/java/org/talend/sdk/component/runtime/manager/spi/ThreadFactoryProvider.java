@@ -0,0 +1,34 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.spi;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads executing the blocking work of the runtime (asynchronous HTTP calls,
+ * server actions, ...). The pools keep their own bounds, only the kind of thread is pluggable.
+ *
+ * The implementation is looked up with the {@link java.util.ServiceLoader} of the manager,
+ * {@link org.talend.sdk.component.runtime.manager.util.Threads} default one is used if none is registered.
+ */
+public interface ThreadFactoryProvider {
+
+    /**
+     * @param prefix the prefix of the thread names, threads should be named {@code <prefix>-<counter>}.
+     * @return a factory of daemon threads.
+     */
+    ThreadFactory newThreadFactory(String prefix);
+}
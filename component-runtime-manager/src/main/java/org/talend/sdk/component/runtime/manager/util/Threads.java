@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.util;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.util.Iterator;
+import java.util.ServiceLoader;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.talend.sdk.component.runtime.manager.spi.ThreadFactoryProvider;
+
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point to create the threads executing blocking work.
+ *
+ * When {@value #VIRTUAL} is {@code true} and the JVM supports it (Java 21+) virtual threads are used,
+ * else daemon platform threads. A {@link ThreadFactoryProvider} can replace this logic.
+ */
+@Slf4j
+@NoArgsConstructor(access = PRIVATE)
+public final class Threads {
+
+    public static final String VIRTUAL = "talend.component.manager.threads.virtual";
+
+    private static final ThreadFactoryProvider PROVIDER = loadProvider();
+
+    /**
+     * @param prefix the prefix of the thread names.
+     * @return a thread factory for blocking work.
+     */
+    public static ThreadFactory newThreadFactory(final String prefix) {
+        return PROVIDER.newThreadFactory(prefix);
+    }
+
+    /**
+     * @return true if {@link #newThreadFactory(String)} creates virtual threads when no provider is registered.
+     */
+    public static boolean isVirtual() {
+        return Boolean.getBoolean(VIRTUAL) && VirtualThreads.isSupported();
+    }
+
+    static ThreadFactory defaultThreadFactory(final String prefix) {
+        if (isVirtual()) {
+            return VirtualThreads.newThreadFactory(prefix + '-');
+        }
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, prefix + '-' + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ThreadFactoryProvider loadProvider() {
+        final Iterator<ThreadFactoryProvider> providers =
+                ServiceLoader.load(ThreadFactoryProvider.class, Threads.class.getClassLoader()).iterator();
+        if (providers.hasNext()) {
+            final ThreadFactoryProvider provider = providers.next();
+            log.info("Using thread factory provider {}", provider.getClass().getName());
+            return provider;
+        }
+        if (Boolean.getBoolean(VIRTUAL) && !VirtualThreads.isSupported()) {
+            log.warn("{} is set but virtual threads are not supported by this JVM, using platform threads", VIRTUAL);
+        }
+        return Threads::defaultThreadFactory;
+    }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.runtime.base.Delegated;
+import org.talend.sdk.component.runtime.base.Lifecycle;
+import org.talend.sdk.component.runtime.output.InputFactory;
+import org.talend.sdk.component.runtime.output.OutputFactory;
+import org.talend.sdk.component.runtime.output.Processor;
+
+class ComponentInstancePoolTest {
+
+    private final ComponentInstancePool.Key key =
+            new ComponentInstancePool.Key("test", "PROCESSOR", "proc", 1, singletonMap("configuration.value", "a"));
+
+    @Test
+    void reuse() {
+        final ComponentInstancePool pool = new ComponentInstancePool(4, 60000, null);
+        final AtomicInteger created = new AtomicInteger();
+        final Lifecycle first = pool.acquire(key, () -> new CountingProcessor(created));
+        assertTrue(Processor.class.isInstance(first));
+        first.start();
+        first.stop();
+
+        final Lifecycle second = pool
+                .acquire(new ComponentInstancePool.Key("test", "PROCESSOR", "proc", 1,
+                        singletonMap("configuration.value", "a")), () -> new CountingProcessor(created));
+        assertSame(first, second);
+        second.start();
+        assertEquals(1, created.get());
+        final CountingProcessor delegate = CountingProcessor.class.cast(Delegated.class.cast(second).getDelegate());
+        assertEquals(1, delegate.starts.get());
+        assertEquals(0, delegate.stops.get());
+
+        final Lifecycle other = pool
+                .acquire(new ComponentInstancePool.Key("test", "PROCESSOR", "proc", 1,
+                        singletonMap("configuration.value", "b")), () -> new CountingProcessor(created));
+        assertNotSame(second, other);
+        assertEquals(2, created.get());
+
+        second.stop();
+        pool.close();
+        assertEquals(1, delegate.stops.get());
+    }
+
+    @Test
+    void bounded() {
+        final ComponentInstancePool pool = new ComponentInstancePool(1, 60000, null);
+        final AtomicInteger created = new AtomicInteger();
+        final Lifecycle first = pool.acquire(key, () -> new CountingProcessor(created));
+        final Lifecycle second = pool.acquire(key, () -> new CountingProcessor(created));
+        assertNotSame(first, second);
+        first.start();
+        second.start();
+        first.stop();
+        second.stop(); // pool is full
+        second.stop(); // already released
+        final CountingProcessor evicted = CountingProcessor.class.cast(Delegated.class.cast(second).getDelegate());
+        assertEquals(1, evicted.stops.get());
+        assertSame(first, pool.acquire(key, () -> new CountingProcessor(created)));
+    }
+
+    @Test
+    void idleEviction() {
+        final ComponentInstancePool pool = new ComponentInstancePool(4, 0, null);
+        final AtomicInteger created = new AtomicInteger();
+        final Lifecycle first = pool.acquire(key, () -> new CountingProcessor(created));
+        first.start();
+        first.stop();
+        final Lifecycle second = pool.acquire(key, () -> new CountingProcessor(created));
+        assertNotSame(first, second);
+        assertEquals(1, CountingProcessor.class.cast(Delegated.class.cast(first).getDelegate()).stops.get());
+    }
+
+    @Test
+    void emptyKeysAreReleased() {
+        final ComponentInstancePool reusing = new ComponentInstancePool(4, 60000, null);
+        final AtomicInteger created = new AtomicInteger();
+        final Lifecycle reused = reusing.acquire(key, () -> new CountingProcessor(created));
+        reused.start();
+        reused.stop();
+        assertEquals(1, reusing.idleKeys());
+        assertSame(reused, reusing.acquire(key, () -> new CountingProcessor(created)));
+        assertEquals(0, reusing.idleKeys());
+
+        final ComponentInstancePool evicting = new ComponentInstancePool(4, 0, null);
+        final Lifecycle evicted = evicting.acquire(key, () -> new CountingProcessor(created));
+        evicted.start();
+        evicted.stop();
+        evicting
+                .acquire(new ComponentInstancePool.Key("test", "PROCESSOR", "proc", 1,
+                        singletonMap("configuration.value", "b")), () -> new CountingProcessor(created));
+        assertEquals(0, evicting.idleKeys());
+    }
+
+    @Test
+    void scheduledIdleEviction() throws InterruptedException {
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final ComponentInstancePool pool = new ComponentInstancePool(4, 200, () -> scheduler);
+            final Lifecycle instance = pool.acquire(key, () -> new CountingProcessor(new AtomicInteger()));
+            instance.start();
+            instance.stop();
+            final CountingProcessor delegate =
+                    CountingProcessor.class.cast(Delegated.class.cast(instance).getDelegate());
+            assertEquals(0, delegate.stops.get());
+
+            // no more activity on the pool, the scheduled sweep stops the instance
+            final long end = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+            while (delegate.stops.get() == 0 && System.nanoTime() - end < 0) {
+                Thread.sleep(50);
+            }
+            assertEquals(1, delegate.stops.get());
+            assertEquals(0, pool.idleKeys());
+            pool.close();
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static class CountingProcessor implements Processor {
+
+        private final AtomicInteger starts = new AtomicInteger();
+
+        private final AtomicInteger stops = new AtomicInteger();
+
+        private CountingProcessor(final AtomicInteger created) {
+            created.incrementAndGet();
+        }
+
+        @Override
+        public void beforeGroup() {
+            // no-op
+        }
+
+        @Override
+        public void afterGroup(final OutputFactory output) {
+            // no-op
+        }
+
+        @Override
+        public void onNext(final InputFactory input, final OutputFactory output) {
+            // no-op
+        }
+
+        @Override
+        public String plugin() {
+            return "test";
+        }
+
+        @Override
+        public String rootName() {
+            return "test";
+        }
+
+        @Override
+        public String name() {
+            return "proc";
+        }
+
+        @Override
+        public void start() {
+            starts.incrementAndGet();
+        }
+
+        @Override
+        public void stop() {
+            stops.incrementAndGet();
+        }
+    }
+}
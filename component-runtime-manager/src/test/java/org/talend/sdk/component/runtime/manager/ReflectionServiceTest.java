@@ -284,6 +284,18 @@ class ReflectionServiceTest {
         }));
     }
 
+    @Test
+    void validationReportsAllErrors() throws NoSuchMethodException {
+        final Function<Map<String, String>, Object[]> factory = getComponentFactory(SomeConfig.class);
+        for (int i = 0; i < 2; i++) { // compiled rules are reused
+            final IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> factory.apply(singletonMap("root.integer", "4")));
+            assertEquals(2, error.getMessage().split("\n").length, error.getMessage());
+            assertTrue(error.getMessage().contains("root.requiredString"), error.getMessage());
+            assertTrue(error.getMessage().contains("root.integer"), error.getMessage());
+        }
+    }
+
     @Test
     void validationRequiredList() throws NoSuchMethodException {
         final Function<Map<String, String>, Object[]> factory = getComponentFactory(RequiredList.class);
@@ -0,0 +1,60 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.interceptor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.api.service.cache.Cached;
+import org.talend.sdk.component.runtime.manager.service.LocalCacheService;
+
+class CacheHandlerTest {
+
+    @Test
+    void structuredKeys() throws NoSuchMethodException {
+        final AtomicInteger invocations = new AtomicInteger();
+        final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+        final LocalCacheService cache =
+                new LocalCacheService("CacheHandlerTest", System::currentTimeMillis, () -> executor);
+        final CacheHandler handler = new CacheHandler((method, args) -> invocations.incrementAndGet(), cache);
+        final Method method = Service.class.getMethod("find", String.class, int[].class);
+
+        assertEquals(1, handler.invoke(method, new Object[] { "a", new int[] { 1, 2 } }));
+        assertEquals(1, handler.invoke(method, new Object[] { "a", new int[] { 1, 2 } }));
+        assertEquals(2, handler.invoke(method, new Object[] { "a", new int[] { 1, 3 } }));
+        assertEquals(3, handler.invoke(method, new Object[] { null, null }));
+        assertEquals(3, handler.invoke(method, new Object[] { null, null }));
+        assertEquals(3, invocations.get());
+        assertEquals(2, cache.getStatistics().getHits());
+        assertEquals(3, cache.getStatistics().getMisses());
+
+        cache.release();
+        executor.shutdownNow();
+    }
+
+    public static class Service {
+
+        @Cached
+        public int find(final String name, final int[] ids) {
+            return 0;
+        }
+    }
+}
@@ -19,14 +19,18 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.talend.sdk.component.api.service.http.QueryFormat.MULTI;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -34,11 +38,23 @@ import java.lang.reflect.Type;
 import java.net.HttpURLConnection;
 import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import javax.json.bind.JsonbBuilder;
 import javax.xml.bind.annotation.XmlRootElement;
@@ -47,26 +63,35 @@ import org.apache.xbean.propertyeditor.PropertyEditorRegistry;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.internationalization.Internationalized;
 import org.talend.sdk.component.api.service.Service;
+import org.talend.sdk.component.api.service.cache.LocalCache;
+import org.talend.sdk.component.api.service.http.CircuitBreaker;
 import org.talend.sdk.component.api.service.http.Codec;
 import org.talend.sdk.component.api.service.http.Configurer;
 import org.talend.sdk.component.api.service.http.ConfigurerOption;
 import org.talend.sdk.component.api.service.http.Decoder;
 import org.talend.sdk.component.api.service.http.Encoder;
 import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.HttpCache;
 import org.talend.sdk.component.api.service.http.HttpClient;
 import org.talend.sdk.component.api.service.http.HttpException;
 import org.talend.sdk.component.api.service.http.HttpMethod;
 import org.talend.sdk.component.api.service.http.Path;
 import org.talend.sdk.component.api.service.http.Query;
 import org.talend.sdk.component.api.service.http.QueryParams;
+import org.talend.sdk.component.api.service.http.RateLimit;
 import org.talend.sdk.component.api.service.http.Request;
 import org.talend.sdk.component.api.service.http.Response;
+import org.talend.sdk.component.api.service.http.Retry;
 import org.talend.sdk.component.api.service.http.Url;
 import org.talend.sdk.component.api.service.http.UseConfigurer;
 import org.talend.sdk.component.api.service.http.configurer.oauth1.OAuth1;
 import org.talend.sdk.component.runtime.manager.reflect.ParameterModelService;
 import org.talend.sdk.component.runtime.manager.reflect.ReflectionService;
 import org.talend.sdk.component.runtime.manager.service.http.HttpClientFactoryImpl;
+import org.talend.sdk.component.runtime.manager.service.http.HttpDispatcher;
+import org.talend.sdk.component.runtime.manager.service.http.UrlConnectionTransport;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.Circuit;
+import org.talend.sdk.component.runtime.manager.service.http.resilience.HostLimits;
 
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpServer;
@@ -265,6 +290,56 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void streamedJsonArray() throws IOException {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            httpExchange.getResponseHeaders().set("content-type", "application/json;charset=UTF-8");
+            final byte[] bytes = (httpExchange.getRequestURI().getPath().endsWith("/nulls")
+                    ? "[{\"name\":\"a\"},null,{\"name\":\"c\"}]"
+                    : "[{\"name\":\"a\"},{\"name\":\"b\"},{\"name\":\"c\"}]").getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+        try {
+            server.start();
+            final StreamingClient client = newDefaultFactory()
+                    .create(StreamingClient.class, "http://localhost:" + server.getAddress().getPort());
+            {
+                final Iterator<Foo> foos = client.iterator();
+                final Collection<String> names = new ArrayList<>();
+                foos.forEachRemaining(foo -> names.add(foo.getName()));
+                assertEquals(asList("a", "b", "c"), names);
+            }
+            {
+                final Response<Stream<Foo>> response = client.stream();
+                assertEquals(HttpURLConnection.HTTP_OK, response.status());
+                try (final Stream<Foo> foos = response.body()) {
+                    assertEquals("a,b,c", foos.map(Foo::getName).collect(joining(",")));
+                }
+            }
+            try (final Stream<Foo> foos = client.withNulls()) {
+                assertEquals(asList("a", null, "c"),
+                        foos.map(foo -> foo == null ? null : foo.getName()).collect(toList()));
+            }
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    public interface StreamingClient extends HttpClient {
+
+        @Request
+        Iterator<Foo> iterator();
+
+        @Request
+        Response<Stream<Foo>> stream();
+
+        @Request(path = "/nulls")
+        Stream<Foo> withNulls();
+    }
+
     @Test
     void decoderWithServices() throws IOException {
         final HttpServer server = createTestServer(HttpURLConnection.HTTP_OK);
@@ -336,6 +411,277 @@ class HttpClientFactoryImplTest {
         }
     }
 
+    @Test
+    void async() throws Exception {
+        final AtomicInteger concurrency = new AtomicInteger();
+        final AtomicInteger maxConcurrency = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        final ExecutorService serverPool = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverPool);
+        server.createContext("/").setHandler(httpExchange -> {
+            final int current = concurrency.incrementAndGet();
+            maxConcurrency.accumulateAndGet(current, Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            concurrency.decrementAndGet();
+            final boolean error = httpExchange.getRequestURI().getPath().endsWith("/error");
+            final byte[] bytes = httpExchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8);
+            httpExchange
+                    .sendResponseHeaders(error ? HttpURLConnection.HTTP_FORBIDDEN : HttpURLConnection.HTTP_OK,
+                            bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+        try {
+            server.start();
+            final PropertyEditorRegistry propertyEditorRegistry = new PropertyEditorRegistry();
+            final AsyncClient client = new HttpClientFactoryImpl("test",
+                    new ReflectionService(new ParameterModelService(propertyEditorRegistry), propertyEditorRegistry),
+                    JsonbBuilder.create(), emptyMap(), new UrlConnectionTransport(), new HttpDispatcher(4, 2))
+                            .create(AsyncClient.class, "http://localhost:" + server.getAddress().getPort());
+
+            final List<CompletableFuture<Response<String>>> pages =
+                    IntStream.range(0, 6).mapToObj(i -> client.page(i).toCompletableFuture()).collect(toList());
+            CompletableFuture.allOf(pages.toArray(new CompletableFuture[0])).get(1, MINUTES);
+            for (int i = 0; i < pages.size(); i++) {
+                final Response<String> response = pages.get(i).get();
+                assertEquals(HttpURLConnection.HTTP_OK, response.status());
+                assertEquals("/page/" + i, response.body());
+            }
+            assertTrue(maxConcurrency.get() <= 2, String.valueOf(maxConcurrency.get()));
+
+            final ExecutionException error =
+                    assertThrows(ExecutionException.class, () -> client.error().toCompletableFuture().get(1, MINUTES));
+            assertTrue(HttpException.class.isInstance(error.getCause()), error.getCause().toString());
+            assertEquals(HttpURLConnection.HTTP_FORBIDDEN,
+                    HttpException.class.cast(error.getCause()).getResponse().status());
+        } finally {
+            server.stop(0);
+            serverPool.shutdownNow();
+        }
+    }
+
+    @Test
+    void resilience() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            final int call = calls.incrementAndGet();
+            final String path = httpExchange.getRequestURI().getPath();
+            final int status;
+            if (path.endsWith("/broken")) {
+                status = HttpURLConnection.HTTP_INTERNAL_ERROR;
+            } else if (call % 3 != 0) {
+                httpExchange.getResponseHeaders().set("Retry-After", "0");
+                status = HttpURLConnection.HTTP_UNAVAILABLE;
+            } else {
+                status = HttpURLConnection.HTTP_OK;
+            }
+            final byte[] bytes = path.getBytes(StandardCharsets.UTF_8);
+            httpExchange.sendResponseHeaders(status, bytes.length);
+            httpExchange.getResponseBody().write(bytes);
+            httpExchange.close();
+        });
+        try {
+            server.start();
+            final HttpClientFactoryImpl factory = newDefaultFactory();
+            final ResilientClient client =
+                    factory.create(ResilientClient.class, "http://localhost:" + server.getAddress().getPort());
+
+            assertEquals("/retried", client.retried());
+            assertEquals(3, calls.get());
+            assertEquals("/retried", client.retriedAsync().toCompletableFuture().get(1, MINUTES));
+            assertEquals(6, calls.get());
+
+            final HttpException error = assertThrows(HttpException.class, client::broken);
+            assertEquals(HttpURLConnection.HTTP_INTERNAL_ERROR, error.getResponse().status());
+            // circuit is open, rejected without waiting for the rate limit permit used by the first call
+            assertThrows(IllegalStateException.class, client::broken);
+            assertEquals(7, calls.get());
+
+            assertEquals("/retried", client.postedWithRetries());
+            assertEquals(9, calls.get());
+            final HttpException notRetried = assertThrows(HttpException.class, client::posted);
+            assertEquals(HttpURLConnection.HTTP_UNAVAILABLE, notRetried.getResponse().status());
+            assertEquals(10, calls.get());
+
+            final Collection<HostLimits.Statistics> statistics = factory.getStatistics();
+            assertEquals(3, statistics.size()); // retry only, retry and rate limit, circuit breaker
+            assertEquals(5, statistics.stream().mapToLong(HostLimits.Statistics::getRetries).sum());
+            final HostLimits.Statistics broken =
+                    statistics.stream().filter(it -> it.getCircuit() == Circuit.State.OPEN).findFirst().get();
+            assertEquals(2, broken.getRequests());
+            assertEquals(1, broken.getRejected());
+            assertEquals(0, broken.getThrottled());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void compression() throws Exception {
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            final String payload;
+            try (final BufferedReader in = new BufferedReader(
+                    new InputStreamReader("gzip".equals(httpExchange.getRequestHeaders().getFirst("Content-Encoding"))
+                            ? new GZIPInputStream(httpExchange.getRequestBody())
+                            : httpExchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                payload = in.lines().collect(joining("\n"));
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip
+                        .write((httpExchange.getRequestHeaders().getFirst("Accept-Encoding") + "@" + payload)
+                                .getBytes(StandardCharsets.UTF_8));
+            }
+            httpExchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.size());
+            httpExchange.getResponseBody().write(bytes.toByteArray());
+            httpExchange.close();
+        });
+        try {
+            server.start();
+            final CompressedClient client = newDefaultFactory()
+                    .create(CompressedClient.class, "http://localhost:" + server.getAddress().getPort());
+            final Response<String> response = client.send("compressed");
+            assertEquals("gzip, deflate@compressed", response.body());
+            assertNull(response.headers().get("Content-Encoding"));
+
+            // a payload compressed by the caller is not compressed again
+            final ByteArrayOutputStream precompressed = new ByteArrayOutputStream();
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(precompressed)) {
+                gzip.write("precompressed".getBytes(StandardCharsets.UTF_8));
+            }
+            assertEquals("gzip, deflate@precompressed", client.send("gzip", precompressed.toByteArray()).body());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void cached() throws Exception {
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger revalidations = new AtomicInteger();
+        final HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        server.createContext("/").setHandler(httpExchange -> {
+            calls.incrementAndGet();
+            httpExchange.getResponseHeaders().set("ETag", "\"v1\"");
+            if (httpExchange.getRequestURI().getPath().equals("/user")) {
+                final byte[] bytes = ("payload-" + httpExchange.getRequestHeaders().getFirst("Authorization"))
+                        .getBytes(StandardCharsets.UTF_8);
+                httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+                httpExchange.getResponseBody().write(bytes);
+            } else if ("\"v1\"".equals(httpExchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                revalidations.incrementAndGet();
+                httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_NOT_MODIFIED, -1);
+            } else {
+                final byte[] bytes = ("payload-" + calls.get()).getBytes(StandardCharsets.UTF_8);
+                httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, bytes.length);
+                httpExchange.getResponseBody().write(bytes);
+            }
+            httpExchange.close();
+        });
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            server.start();
+            final PropertyEditorRegistry propertyEditorRegistry = new PropertyEditorRegistry();
+            final CachedClient client = new HttpClientFactoryImpl("test",
+                    new ReflectionService(new ParameterModelService(propertyEditorRegistry), propertyEditorRegistry),
+                    JsonbBuilder.create(),
+                    singletonMap(LocalCache.class,
+                            new LocalCacheService("test", System::currentTimeMillis, () -> scheduler)))
+                                    .create(CachedClient.class, "http://localhost:" + server.getAddress().getPort());
+
+            assertEquals("payload-1", client.revalidated());
+            assertEquals("payload-1", client.revalidated());
+            assertEquals("payload-1", client.revalidated());
+            assertEquals(3, calls.get());
+            assertEquals(2, revalidations.get());
+
+            assertEquals("payload-4", client.fresh());
+            assertEquals("payload-4", client.fresh());
+            assertEquals(4, calls.get());
+
+            // the configurer options (credentials) are part of the key
+            assertEquals("payload-alice", client.user("alice"));
+            assertEquals("payload-bob", client.user("bob"));
+            assertEquals("payload-alice", client.user("alice"));
+            assertEquals(6, calls.get());
+        } finally {
+            server.stop(0);
+            scheduler.shutdownNow();
+        }
+    }
+
+    public interface CompressedClient extends HttpClient {
+
+        @Request(method = "POST", compression = "gzip")
+        Response<String> send(String payload);
+
+        @Request(method = "POST")
+        Response<String> send(@Header("Content-Encoding") String encoding, byte[] payload);
+    }
+
+    @HttpCache
+    public interface CachedClient extends HttpClient {
+
+        @Request(path = "/revalidated")
+        String revalidated();
+
+        @Request(path = "/fresh")
+        @HttpCache(maxAge = 60000)
+        String fresh();
+
+        @Request(path = "/user")
+        @HttpCache(maxAge = 60000)
+        @UseConfigurer(UserConfigurer.class)
+        String user(@ConfigurerOption("user") String user);
+
+        class UserConfigurer implements Configurer {
+
+            @Override
+            public void configure(final Connection connection, final ConfigurerConfiguration configuration) {
+                connection.withHeader("Authorization", configuration.get("user", String.class));
+            }
+        }
+    }
+
+    @Retry(backoff = 1)
+    public interface ResilientClient extends HttpClient {
+
+        @Request(path = "/retried")
+        String retried();
+
+        @Request(path = "/retried")
+        @RateLimit(permits = 10)
+        CompletionStage<String> retriedAsync();
+
+        @Request(path = "/broken")
+        @RateLimit(permits = 1, period = 60000)
+        @CircuitBreaker(failureThreshold = 1, openDuration = 60000)
+        String broken();
+
+        @Request(path = "/retried", method = "POST")
+        String posted();
+
+        @Request(path = "/retried", method = "POST")
+        @Retry(backoff = 1, nonIdempotent = true)
+        String postedWithRetries();
+    }
+
+    interface AsyncClient extends HttpClient {
+
+        @Request(path = "/page/{page}")
+        CompletionStage<Response<String>> page(@Path("page") int page);
+
+        @Request(path = "/error")
+        CompletionStage<String> error();
+    }
+
     interface SimpleClient extends HttpClient {
 
         @Request(path = "/api/{userId}")
@@ -510,7 +856,7 @@ class HttpClientFactoryImplTest {
                                 .keySet()
                                 .stream()
                                 .sorted()
-                                .filter(k -> !asList("Accept", "Host", "User-agent").contains(k))
+                                .filter(k -> !asList("Accept", "Accept-encoding", "Host", "User-agent").contains(k))
                                 .map(k -> k + "=" + headers.getFirst(k))
                                 .collect(joining("/"))
                         + "@" + httpExchange.getRequestURI().toASCIIString() + "@" + in.lines().collect(joining("\n")))
@@ -26,6 +26,7 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Supplier;
 
@@ -291,6 +292,43 @@ class LocalCacheServiceTest {
         Assertions.assertEquals(10, this.cacheSize());
     }
 
+    @Test
+    void evictionKeepsRecentlyUsed() {
+        this.defaultMaxSize = 2;
+        cache.computeIfAbsent(String.class, "a", () -> "a");
+        cache.computeIfAbsent(String.class, "b", () -> "b");
+        assertEquals("a", cache.computeIfAbsent(String.class, "a", () -> "renewed"));
+        cache.computeIfAbsent(String.class, "c", () -> "c");
+
+        assertEquals(2, this.cacheSize());
+        assertEquals("a", cache.computeIfAbsent(String.class, "a", () -> "renewed"));
+        assertEquals("renewed", cache.computeIfAbsent(String.class, "b", () -> "renewed"));
+        assertEquals(2, cache.getStatistics().getEvictions());
+    }
+
+    @Test
+    void singleEvictionTask() {
+        final ScheduledThreadPoolExecutor executor = ScheduledThreadPoolExecutor.class.cast(executorGetter.get());
+        for (int i = 0; i < 100; i++) {
+            cache.computeIfAbsent(String.class, "k" + (i % 10), 60_000L, () -> "val");
+        }
+        assertEquals(10, this.cacheSize());
+        assertEquals(1, executor.getQueue().size());
+    }
+
+    @Test
+    void statistics() {
+        cache.computeIfAbsent(String.class, "foo", () -> "bar");
+        cache.computeIfAbsent(String.class, "foo", () -> "bar");
+        cache.computeIfAbsent(String.class, "foo", () -> "bar");
+
+        final LocalCacheService.Statistics statistics = cache.getStatistics();
+        assertEquals(2, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0, statistics.getEvictions());
+        assertEquals(1, statistics.getSize());
+    }
+
     private boolean isCacheEmpty() {
         return this.internalCacheMap().isEmpty();
     }
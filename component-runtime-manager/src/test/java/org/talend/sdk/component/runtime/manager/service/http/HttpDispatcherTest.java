@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Test;
+
+class HttpDispatcherTest {
+
+    @Test
+    void taskRunsWithSubmitterLoader() throws Exception {
+        final HttpDispatcher dispatcher = new HttpDispatcher(1, 1);
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        try (final URLClassLoader first = new URLClassLoader(new URL[0], old);
+                final URLClassLoader second = new URLClassLoader(new URL[0], old)) {
+            thread.setContextClassLoader(first);
+            final ClassLoader firstSeen = dispatcher
+                    .submit("http://localhost:1234", () -> Thread.currentThread().getContextClassLoader())
+                    .toCompletableFuture()
+                    .get(1, MINUTES);
+            thread.setContextClassLoader(second);
+            final ClassLoader secondSeen = dispatcher
+                    .submit("http://localhost:1234", () -> Thread.currentThread().getContextClassLoader())
+                    .toCompletableFuture()
+                    .get(1, MINUTES);
+            final CompletableFuture<ClassLoader> scheduled = new CompletableFuture<>();
+            dispatcher
+                    .schedule(() -> scheduled.complete(Thread.currentThread().getContextClassLoader()), 1,
+                            MILLISECONDS);
+            assertSame(first, firstSeen);
+            assertSame(second, secondSeen);
+            assertSame(second, scheduled.get(1, MINUTES));
+        } finally {
+            thread.setContextClassLoader(old);
+        }
+    }
+
+    @Test
+    void idleHostsAreReleased() throws Exception {
+        final HttpDispatcher dispatcher = new HttpDispatcher(2, 1);
+        for (int i = 0; i < 10; i++) {
+            dispatcher.submit("http://host" + i + ":1234", () -> true).toCompletableFuture().get(1, MINUTES);
+        }
+        final long end = System.currentTimeMillis() + MINUTES.toMillis(1);
+        while (dispatcher.getHostCount() > 0 && System.currentTimeMillis() < end) {
+            Thread.sleep(10); // the host is released after the future completion
+        }
+        assertEquals(0, dispatcher.getHostCount());
+    }
+}
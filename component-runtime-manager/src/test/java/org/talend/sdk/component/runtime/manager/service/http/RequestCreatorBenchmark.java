@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http;
+
+import static java.util.Arrays.asList;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.talend.sdk.component.api.service.http.Header;
+import org.talend.sdk.component.api.service.http.Path;
+import org.talend.sdk.component.api.service.http.Query;
+import org.talend.sdk.component.api.service.http.QueryFormat;
+import org.talend.sdk.component.api.service.http.Request;
+
+import lombok.Data;
+
+/**
+ * Throughput of the request building (URL, query, headers and payload) of a parsed {@code @Request} method.
+ * Not executed with the tests, run it with:
+ *
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=org.talend.sdk.component.runtime.manager.service.http.RequestCreatorBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestCreatorBenchmark {
+
+    private Jsonb jsonb;
+
+    private HttpRequestCreator get;
+
+    private HttpRequestCreator post;
+
+    private Object[] getParams;
+
+    private Object[] postParams;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        jsonb = JsonbBuilder.create();
+        final RequestParser parser = new RequestParser(null, jsonb);
+        get = parser
+                .parse(Api.class.getMethod("get", String.class, int.class, String.class, List.class, String.class))
+                .getRequestCreator();
+        post = parser.parse(Api.class.getMethod("post", String.class, Payload.class)).getRequestCreator();
+        getParams = new Object[] { "my tenant", 12345, "name asc", asList("a", "b c", "d/e"), "Bearer token" };
+        postParams = new Object[] { "my tenant", new Payload("record", 5) };
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jsonb.close();
+    }
+
+    @Benchmark
+    public HttpRequest get() {
+        return get.apply("http://localhost:1234/api", getParams);
+    }
+
+    @Benchmark
+    public byte[] post() {
+        return post.apply("http://localhost:1234/api", postParams).getBody().orElse(null);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RequestCreatorBenchmark.class.getName()).build()).run();
+    }
+
+    public interface Api {
+
+        @Request(path = "/tenants/{tenant}/records/{id}")
+        String get(@Path("tenant") String tenant, @Path("id") int id, @Query("sort") String sort,
+                @Query(value = "fields", format = QueryFormat.MULTI) List<String> fields,
+                @Header("Authorization") String authorization);
+
+        @Request(path = "/tenants/{tenant}/records", method = "POST")
+        String post(@Path("tenant") String tenant, Payload payload);
+    }
+
+    @Data
+    public static class Payload {
+
+        private final String name;
+
+        private final int count;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.runtime.manager.service.http;
 
+import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.lang.reflect.Type;
@@ -57,6 +58,25 @@ class RequestParserTest {
         return 3;
     }
 
+    @Request(path = "/{id}/items/{id}/{unknown}/{name}")
+    String template(@Path("id") int id, @Path(value = "name") String name, @Query("q") String query) {
+        return null;
+    }
+
+    @Test
+    void pathTemplate() throws NoSuchMethodException {
+        final Jsonb jsonb = JsonbBuilder.create();
+        final RequestParser parser = new RequestParser(null, jsonb);
+        final HttpRequestCreator creator = parser
+                .parse(RequestParserTest.class.getDeclaredMethod("template", int.class, String.class, String.class))
+                .getRequestCreator();
+        for (int i = 0; i < 2; i++) { // the template is reused
+            final HttpRequest request = creator.apply("http://base", new Object[] { i, "a b+c", "x y" });
+            Assertions.assertEquals("http://base/" + i + "/items/" + i + "/{unknown}/a%20b+c", request.getUrl());
+            Assertions.assertEquals(singletonList("q=x+y"), request.getQueryParams());
+        }
+    }
+
     @Test
     void parse() throws NoSuchMethodException {
         final Jsonb jsonb = JsonbBuilder.create();
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class CircuitTest {
+
+    @Test
+    void lifecycle() {
+        final AtomicLong clock = new AtomicLong();
+        final Circuit circuit = new Circuit(2, 100, NANOSECONDS, clock::get);
+
+        assertTrue(circuit.tryAcquire());
+        assertFalse(circuit.onFailure());
+        circuit.onSuccess(); // resets the consecutive failures
+        assertFalse(circuit.onFailure());
+        assertTrue(circuit.onFailure());
+        assertEquals(Circuit.State.OPEN, circuit.getState());
+        assertFalse(circuit.tryAcquire());
+
+        clock.set(100);
+        assertTrue(circuit.tryAcquire());
+        assertEquals(Circuit.State.HALF_OPEN, circuit.getState());
+        assertFalse(circuit.tryAcquire()); // single trial
+        assertTrue(circuit.onFailure());
+        assertFalse(circuit.tryAcquire());
+
+        clock.set(200);
+        assertTrue(circuit.tryAcquire());
+        circuit.onSuccess();
+        assertEquals(Circuit.State.CLOSED, circuit.getState());
+        assertTrue(circuit.tryAcquire());
+    }
+}
@@ -0,0 +1,44 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.service.http.resilience;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    void burstThenDelay() {
+        final AtomicLong clock = new AtomicLong();
+        final TokenBucket bucket = new TokenBucket(4, 1000, MILLISECONDS, clock::get);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, bucket.reserve());
+        }
+        assertEquals(250, NANOSECONDS.toMillis(bucket.reserve()));
+        assertEquals(500, NANOSECONDS.toMillis(bucket.reserve()));
+
+        clock.set(MILLISECONDS.toNanos(5000)); // idle, the burst is available again
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, bucket.reserve());
+        }
+        assertEquals(250, NANOSECONDS.toMillis(bucket.reserve()));
+    }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.runtime.manager.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+class ThreadsTest {
+
+    @Test
+    void platform() throws InterruptedException {
+        assertFalse(Threads.isVirtual());
+        assertThreads(Threads.defaultThreadFactory("platform"), "platform");
+    }
+
+    @Test
+    void virtual() throws InterruptedException {
+        System.setProperty(Threads.VIRTUAL, "true");
+        try {
+            assertEquals(VirtualThreads.isSupported(), Threads.isVirtual());
+            assertThreads(Threads.defaultThreadFactory("virtual"), "virtual");
+        } finally {
+            System.clearProperty(Threads.VIRTUAL);
+        }
+    }
+
+    private void assertThreads(final ThreadFactory factory, final String prefix) throws InterruptedException {
+        for (int i = 1; i <= 2; i++) {
+            final AtomicReference<String> name = new AtomicReference<>();
+            final CountDownLatch latch = new CountDownLatch(1);
+            final Thread thread = factory.newThread(() -> {
+                name.set(Thread.currentThread().getName());
+                latch.countDown();
+            });
+            assertTrue(thread.isDaemon());
+            thread.start();
+            assertTrue(latch.await(1, TimeUnit.MINUTES));
+            assertEquals(prefix + '-' + i, name.get());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.StreamingOutput;
 
 import org.eclipse.microprofile.openapi.annotations.Operation;
 import org.eclipse.microprofile.openapi.annotations.media.Content;
@@ -38,6 +39,8 @@ import org.talend.sdk.component.server.front.model.BulkResponses;
 @Tag(name = "Bulk", description = "Enables to execute multiple requests at once.")
 public interface BulkReadResource {
 
+    String NDJSON = "application/x-ndjson";
+
     @POST
     @Operation(description = "Takes a request aggregating N other endpoint requests and responds all results "
             + "in a normalized HTTP response representation.")
@@ -45,4 +48,15 @@ public interface BulkReadResource {
             content = @Content(mediaType = APPLICATION_JSON))
     CompletionStage<BulkResponses> bulk(@RequestBody(description = "the action parameters as a flat map of strings",
             required = true, content = @Content(mediaType = APPLICATION_JSON)) final BulkRequests requests);
+
+    @POST
+    @Path("stream")
+    @Produces(NDJSON)
+    @Operation(description = "Same as the bulk endpoint but the requests are executed concurrently and each result "
+            + "is written as soon as it is available, one JSON object per line with the index of its request "
+            + "(`{\"index\":0,\"result\":{...}}`). Results are written in their completion order.")
+    @APIResponse(responseCode = "200", description = "The request payloads, one per line.",
+            content = @Content(mediaType = NDJSON))
+    StreamingOutput stream(@RequestBody(description = "the requests to execute", required = true,
+            content = @Content(mediaType = APPLICATION_JSON)) final BulkRequests requests);
 }
@@ -46,6 +46,7 @@ import org.eclipse.microprofile.openapi.annotations.tags.Tag;
 import org.talend.sdk.component.server.front.model.ComponentDetailList;
 import org.talend.sdk.component.server.front.model.ComponentIndices;
 import org.talend.sdk.component.server.front.model.Dependencies;
+import org.talend.sdk.component.server.front.model.IconBundle;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
 
 @Path("component")
@@ -109,6 +110,20 @@ public interface ComponentResource {
     Response familyIcon(
             @PathParam("id") @Parameter(name = "id", description = "the family identifier", in = PATH) String id);
 
+    @GET
+    @Path("icon/family/{id}/bundle")
+    @Produces(APPLICATION_JSON)
+    @Operation(operationId = "getFamilyIconBundle",
+            description = "Returns the icons of a family and of all its components in a single payload. "
+                    + "It avoids to request each icon when rendering a palette.")
+    @APIResponse(responseCode = "200", description = "The family and component icons (content included).",
+            content = @Content(mediaType = APPLICATION_JSON))
+    @APIResponse(responseCode = "404", description = "The family is not found",
+            content = @Content(mediaType = APPLICATION_JSON,
+                    schema = @Schema(type = OBJECT, implementation = ErrorPayload.class)))
+    IconBundle familyIconBundle(
+            @PathParam("id") @Parameter(name = "id", description = "the family identifier", in = PATH) String id);
+
     @GET
     @Path("icon/{id}")
     @Produces({ APPLICATION_JSON, APPLICATION_OCTET_STREAM })
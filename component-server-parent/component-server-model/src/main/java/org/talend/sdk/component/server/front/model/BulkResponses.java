@@ -40,4 +40,14 @@ public class BulkResponses {
 
         private byte[] response;
     }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class IndexedResult {
+
+        private int index;
+
+        private Result result;
+    }
 }
@@ -97,7 +97,7 @@ public class ComponentServerConfiguration {
 
     @Inject
     @Documentation("Accepted tokens in Authorization header for remote calls to secured endpoints "
-            + "(/api/v1/environment or /documentation).")
+            + "(/api/v1/environment, /api/v1/metrics or /documentation).")
     @ConfigProperty(name = "talend.component.server.filter.secured.tokens", defaultValue = "-")
     private String securedEndpointsTokens;
 
@@ -146,6 +146,18 @@ public class ComponentServerConfiguration {
     @ConfigProperty(name = "talend.component.server.cache.maxSize", defaultValue = "1000")
     private Integer maxCacheSize;
 
+    @Inject
+    @Documentation("Maximum size in bytes of the payload caches (serialized index responses, documentation and icons). "
+            + "When full, a new entry is only kept if it is used more frequently than the least recently used one.")
+    @ConfigProperty(name = "talend.component.server.cache.maxWeight", defaultValue = "67108864")
+    private Long cacheMaxWeight;
+
+    @Inject
+    @Documentation("Should index endpoints (components, component details and configuration types) keep their "
+            + "serialized payload and send an `ETag` to let clients revalidate them with `If-None-Match`.")
+    @ConfigProperty(name = "talend.component.server.cache.serialized.active", defaultValue = "true")
+    private Boolean serializedCacheActive;
+
     @Inject
     @Documentation("Should the lastUpdated timestamp value of `/environment` "
             + "endpoint be updated with server start time.")
@@ -167,6 +179,102 @@ public class ComponentServerConfiguration {
     @ConfigProperty(name = "talend.component.server.locale.mapping", defaultValue = "en*=en\nfr*=fr\nzh*=zh_CN\nja*=ja")
     private String localeMapping;
 
+    @Inject
+    @Documentation("Number of threads executing the requests of the binary WebSocket endpoint (`/websocket/v1/binary`), "
+            + "requests of a single socket are executed concurrently.")
+    @ConfigProperty(name = "talend.component.server.websocket.binary.threads", defaultValue = "8")
+    private Integer webSocketBinaryThreads;
+
+    @Inject
+    @Documentation("Maximum number of requests of the binary WebSocket endpoint waiting for a thread, "
+            + "when reached the request is rejected with a HTTP 503.")
+    @ConfigProperty(name = "talend.component.server.websocket.binary.queueSize", defaultValue = "64")
+    private Integer webSocketBinaryQueueSize;
+
+    @Inject
+    @Documentation("Maximum size in bytes of a request body of the binary WebSocket endpoint, once inflated when it "
+            + "is compressed. Bigger requests are rejected with a HTTP 413.")
+    @ConfigProperty(name = "talend.component.server.websocket.binary.maxRequestSize", defaultValue = "1048576")
+    private Integer webSocketBinaryMaxRequestSize;
+
+    @Inject
+    @Documentation("Maximum number of sub-requests of a `bulk/stream` request executed concurrently, "
+            + "it is also the size of the thread pool dispatching them.")
+    @ConfigProperty(name = "talend.component.server.bulk.parallelism", defaultValue = "8")
+    private Integer bulkParallelism;
+
+    @Inject
+    @Documentation("Maximum size in bytes of the `bulk/stream` results waiting to be written, "
+            + "when reached no new sub-request is dispatched until they are written.")
+    @ConfigProperty(name = "talend.component.server.bulk.maxBufferedBytes", defaultValue = "8388608")
+    private Long bulkMaxBufferedBytes;
+
+    @Inject
+    @Documentation("Should actions be executed in a bounded thread pool per plugin (bulkhead) instead of the HTTP thread.")
+    @ConfigProperty(name = "talend.component.server.actions.async.active", defaultValue = "true")
+    private Boolean actionAsync;
+
+    @Inject
+    @Documentation("Maximum number of actions of a plugin executed concurrently.")
+    @ConfigProperty(name = "talend.component.server.actions.bulkhead.threads", defaultValue = "8")
+    private Integer actionBulkheadThreads;
+
+    @Inject
+    @Documentation("Maximum number of actions of a plugin waiting for a thread, "
+            + "when reached the execution is rejected with a HTTP 503.")
+    @ConfigProperty(name = "talend.component.server.actions.bulkhead.queueSize", defaultValue = "64")
+    private Integer actionBulkheadQueueSize;
+
+    @Inject
+    @Documentation("Default action timeout in milliseconds, when reached a HTTP 504 is returned. "
+            + "A negative or zero value disables it.")
+    @ConfigProperty(name = "talend.component.server.actions.timeout", defaultValue = "120000")
+    private Long actionTimeout;
+
+    @Inject
+    @Documentation("Specific action timeouts (properties format), the key is `<family>/<type>/<action>` "
+            + "and the value the timeout in milliseconds.")
+    @ConfigProperty(name = "talend.component.server.actions.timeouts")
+    private Optional<String> actionTimeouts;
+
+    @Inject
+    @Documentation("Comma separated list of idempotent action types for which concurrent identical calls "
+            + "(same action, parameters and locale) are executed only once.")
+    @ConfigProperty(name = "talend.component.server.actions.coalescing.types",
+            defaultValue = "suggestions,dynamic_values,schema,discoverdataset")
+    private String actionCoalescingTypes;
+
+    @Inject
+    @Documentation("Duration in milliseconds the results of the coalesced actions are cached per action type "
+            + "(properties format, `<type>=<ttl>`). The cache is reset when a component is deployed.")
+    @ConfigProperty(name = "talend.component.server.actions.cache.ttl")
+    private Optional<String> actionCacheTtl;
+
+    @Inject
+    @Documentation("Maximum number of action results the cache can store.")
+    @ConfigProperty(name = "talend.component.server.actions.cache.maxSize", defaultValue = "500")
+    private Integer actionCacheMaxSize;
+
+    @Inject
+    @Documentation("Duration in seconds the clients can cache the icons (`Cache-Control` max-age). "
+            + "Icons are served with their content hash as `ETag`, with 0 (default) clients revalidate them "
+            + "for each usage (`no-cache`). A positive value avoids these requests but clients can keep a previous "
+            + "icon of a redeployed plugin during this duration.")
+    @ConfigProperty(name = "talend.component.server.icon.cache.maxAge", defaultValue = "0")
+    private Integer iconCacheMaxAge;
+
+    @Inject
+    @Documentation("Should the icons and documentation of the plugins be loaded in background when they are "
+            + "deployed to avoid to pay it on the first requests.")
+    @ConfigProperty(name = "talend.component.server.prerendering.active", defaultValue = "true")
+    private Boolean prerenderingActive;
+
+    @Inject
+    @Documentation("Should the server record its metrics (endpoints, actions and deployments latencies, "
+            + "caches and plugins). They are exposed in prometheus format on `/api/v1/metrics` and through JMX.")
+    @ConfigProperty(name = "talend.component.server.metrics.active", defaultValue = "true")
+    private Boolean metricsActive;
+
     @PostConstruct
     private void init() {
         if (logRequests != null && logRequests) {
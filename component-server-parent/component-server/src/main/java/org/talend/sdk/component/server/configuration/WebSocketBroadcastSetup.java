@@ -19,7 +19,9 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.TimeUnit.SECONDS;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -34,6 +36,12 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Logger;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -89,6 +97,8 @@ import org.talend.sdk.component.server.front.memory.InMemoryRequest;
 import org.talend.sdk.component.server.front.memory.InMemoryResponse;
 import org.talend.sdk.component.server.front.memory.MemoryInputStream;
 import org.talend.sdk.component.server.front.memory.SimpleServletConfig;
+import org.talend.sdk.component.server.front.websocket.BinaryFrames;
+import org.talend.sdk.component.server.lang.NamedThreadFactory;
 
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -111,6 +121,11 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
     @Inject
     private Instance<Application> applications;
 
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    private ExecutorService binaryExecutor;
+
     @Override
     public void contextInitialized(final ServletContextEvent sce) {
         final ServerContainer container =
@@ -144,6 +159,14 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                 new ServiceListGeneratorServlet(registry, bus));
         webSocketRegistry.controller = controller;
 
+        final int binaryThreads = Math.max(1, configuration.getWebSocketBinaryThreads());
+        // queued requests hold their body, bound them as the action bulkheads do
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(binaryThreads, binaryThreads, 60, SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, configuration.getWebSocketBinaryQueueSize())),
+                new NamedThreadFactory("talend-component-server-websocket"), new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        binaryExecutor = pool;
+
         Stream
                 .concat(factory
                         .getClassResourceInfo()
@@ -192,7 +215,22 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                                                         "/", emptyMap());
                                             }
                                         })
-                                        .build()))
+                                        .build(),
+                                        ServerEndpointConfig.Builder
+                                                .create(Endpoint.class, "/websocket" + version + "/binary")
+                                                .configurator(new ServerEndpointConfig.Configurator() {
+
+                                                    @Override
+                                                    public <T> T getEndpointInstance(final Class<T> clazz)
+                                                            throws InstantiationException {
+                                                        return (T) new BinaryJAXRSEndpoint(appBase, controller,
+                                                                servletContext, binaryExecutor,
+                                                                Math
+                                                                        .max(1, configuration
+                                                                                .getWebSocketBinaryMaxRequestSize()));
+                                                    }
+                                                })
+                                                .build()))
                 .sorted(Comparator.comparing(ServerEndpointConfig::getPath))
                 .peek(e -> log.info("Deploying WebSocket(path={})", e.getPath()))
                 .forEach(config -> {
@@ -204,6 +242,13 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
                 });
     }
 
+    @Override
+    public void contextDestroyed(final ServletContextEvent sce) {
+        if (binaryExecutor != null) {
+            binaryExecutor.shutdownNow();
+        }
+    }
+
     @Data
     @EqualsAndHashCode(callSuper = false)
     private static class JAXRSEndpoint extends Endpoint {
@@ -355,6 +400,128 @@ public class WebSocketBroadcastSetup implements ServletContextListener {
         }
     }
 
+    // see BinaryFrames for the protocol, unlike the text one, requests of a socket are executed concurrently
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    private static class BinaryJAXRSEndpoint extends Endpoint {
+
+        private final String appBase;
+
+        private final ServletController controller;
+
+        private final ServletContext context;
+
+        private final Executor executor;
+
+        private final int maxRequestSize;
+
+        @Override
+        public void onOpen(final Session session, final EndpointConfig endpointConfig) {
+            log.debug("Opened binary session {}", session.getId());
+            // the message embeds the body and its metadata (method, destination, headers)
+            session
+                    .setMaxBinaryMessageBufferSize(
+                            Math.max(session.getMaxBinaryMessageBufferSize(), maxRequestSize + 64 * 1024));
+            session.addMessageHandler(ByteBuffer.class, message -> {
+                final int id = message.remaining() >= 4 ? message.getInt(message.position()) : -1;
+                final BinaryFrames.Request request;
+                try {
+                    request = BinaryFrames.decodeRequest(message, maxRequestSize);
+                } catch (final IllegalArgumentException e) {
+                    log.warn("Rejected binary request {} of session {}: {}", id, session.getId(), e.getMessage());
+                    reject(session, id,
+                            BinaryFrames.TooLargeException.class.isInstance(e)
+                                    ? HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE
+                                    : HttpServletResponse.SC_BAD_REQUEST);
+                    return;
+                }
+                try {
+                    executor.execute(() -> invoke(session, request));
+                } catch (final RejectedExecutionException ree) {
+                    log
+                            .warn("Too many binary requests waiting, rejected request {} of session {}", id,
+                                    session.getId());
+                    reject(session, id, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                }
+            });
+        }
+
+        private void reject(final Session session, final int id, final int status) {
+            send(session, BinaryFrames.encodeHeaders(id, status, emptyMap()));
+            send(session, BinaryFrames.encodeEnd(id));
+        }
+
+        @Override
+        public void onClose(final Session session, final CloseReason closeReason) {
+            log.debug("Closed binary session {}", session.getId());
+        }
+
+        @Override
+        public void onError(final Session session, final Throwable throwable) {
+            log.warn("Error for binary session {}", session.getId(), throwable);
+        }
+
+        private void invoke(final Session session, final BinaryFrames.Request frame) {
+            final int id = frame.getId();
+            final String uri = frame.getDestination();
+            final String queryString;
+            final String path;
+            final int query = uri.indexOf('?');
+            if (query > 0) {
+                queryString = uri.substring(query + 1);
+                path = uri.substring(0, query);
+            } else {
+                queryString = null;
+                path = uri;
+            }
+
+            final InMemoryRequest request = new InMemoryRequest(frame.getMethod().toUpperCase(ENGLISH),
+                    frame.getHeaders(), path, appBase + path, appBase, queryString, 8080, context,
+                    new MemoryInputStream(new ByteArrayInputStream(frame.getBody())), session::getUserPrincipal,
+                    controller);
+            final AtomicBoolean headersSent = new AtomicBoolean();
+            final InMemoryResponse response = new InMemoryResponse(session::isOpen, () -> {
+            }, bytes -> send(session, BinaryFrames.encodeData(id, bytes, frame.isAcceptDeflate())),
+                    (status, responseHeaders) -> {
+                        if (headersSent.compareAndSet(false, true)) {
+                            send(session, BinaryFrames.encodeHeaders(id, status, responseHeaders));
+                        }
+                        return ""; // headers are sent in their own frame
+                    });
+            request.setResponse(response);
+            try {
+                controller.invoke(request, response);
+            } catch (final ServletException | RuntimeException e) {
+                log.error(e.getMessage(), e);
+                if (headersSent.compareAndSet(false, true)) {
+                    send(session,
+                            BinaryFrames.encodeHeaders(id, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, emptyMap()));
+                }
+            } finally {
+                try { // sends the pending data, and the headers when the output stream was never opened
+                    response.flushBuffer();
+                    response.getOutputStream().close();
+                } catch (final IOException | RuntimeException e) {
+                    log.debug(e.getMessage(), e);
+                }
+                send(session, BinaryFrames.encodeEnd(id));
+            }
+        }
+
+        private static void send(final Session session, final ByteBuffer frame) {
+            if (!session.isOpen()) {
+                return;
+            }
+            synchronized (session) { // the basic remote does not support concurrent writes
+                try {
+                    session.getBasicRemote().sendBinary(frame);
+                } catch (final IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+    }
+
     private static class WebSocketInputStream extends MemoryInputStream {
 
         private int previous = Integer.MAX_VALUE;
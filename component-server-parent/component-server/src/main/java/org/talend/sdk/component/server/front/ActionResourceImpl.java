@@ -27,6 +27,7 @@ import java.util.HashSet;
 import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -47,10 +48,13 @@ import org.talend.sdk.component.server.front.model.ActionItem;
 import org.talend.sdk.component.server.front.model.ActionList;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.service.ActionExecutionService;
 import org.talend.sdk.component.server.service.ExtensionComponentMetadataManager;
 import org.talend.sdk.component.server.service.LocaleMapper;
 import org.talend.sdk.component.server.service.PropertiesService;
 import org.talend.sdk.component.server.service.httpurlconnection.IgnoreNetAuthenticator;
+import org.talend.sdk.component.server.service.metrics.Histogram;
+import org.talend.sdk.component.server.service.metrics.Metrics;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -74,12 +78,19 @@ public class ActionResourceImpl implements ActionResource {
     @Inject
     private ExtensionComponentMetadataManager virtualActions;
 
+    @Inject
+    private ActionExecutionService executionService;
+
+    @Inject
+    private Metrics metrics;
+
     @Override
     public CompletionStage<Response> execute(final String family, final String type, final String action,
             final String lang, final Map<String, String> params) {
         return virtualActions
                 .getAction(family, type, action)
-                .map(it -> it.getHandler().apply(params, lang).exceptionally(this::onError))
+                .map(it -> measure(System.nanoTime(), family, type, action,
+                        it.getHandler().apply(params, lang).exceptionally(this::onError)))
                 .orElseGet(() -> doExecuteLocalAction(family, type, action, lang, params));
     }
 
@@ -112,31 +123,60 @@ public class ActionResourceImpl implements ActionResource {
 
     private CompletableFuture<Response> doExecuteLocalAction(final String family, final String type,
             final String action, final String lang, final Map<String, String> params) {
-        return CompletableFuture.supplyAsync(() -> {
-            if (action == null) {
-                throw new WebApplicationException(Response
-                        .status(Response.Status.BAD_REQUEST)
-                        .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "Action can't be null"))
-                        .build());
-            }
-            final ServiceMeta.ActionMeta actionMeta = actionDao.findBy(family, type, action);
-            if (actionMeta == null) {
-                throw new WebApplicationException(Response
-                        .status(Response.Status.NOT_FOUND)
-                        .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "No action with id '" + action + "'"))
-                        .build());
-            }
-            try {
-                final Map<String, String> runtimeParams = ofNullable(params).map(HashMap::new).orElseGet(HashMap::new);
-                runtimeParams.put("$lang", localeMapper.mapLocale(lang).getLanguage());
-                final Object result = actionMeta.getInvoker().apply(runtimeParams);
-                return Response.ok(result).type(APPLICATION_JSON_TYPE).build();
-            } catch (final RuntimeException re) {
-                return onError(re);
+        if (action == null) {
+            return failed(new WebApplicationException(Response
+                    .status(Response.Status.BAD_REQUEST)
+                    .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "Action can't be null"))
+                    .build()));
+        }
+        final ServiceMeta.ActionMeta actionMeta = actionDao.findBy(family, type, action);
+        if (actionMeta == null) {
+            return failed(new WebApplicationException(Response
+                    .status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorPayload(ErrorDictionary.ACTION_MISSING, "No action with id '" + action + "'"))
+                    .build()));
+        }
+        final Locale locale = localeMapper.mapLocale(lang);
+        final Map<String, String> runtimeParams = ofNullable(params).map(HashMap::new).orElseGet(HashMap::new);
+        runtimeParams.put("$lang", locale.getLanguage());
+        // executed in the plugin bulkhead, the locale is propagated to ComponentManagerService
+        final long start = System.nanoTime();
+        return measure(start, family, type, action,
+                executionService.execute(family, type, action, locale, runtimeParams, () -> {
+                    try {
+                        final Object result = actionMeta.getInvoker().apply(runtimeParams);
+                        return Response.ok(result).type(APPLICATION_JSON_TYPE).build();
+                    } catch (final RuntimeException re) {
+                        return onError(re);
+                    }
+                }));
+    }
+
+    // only existing actions are measured to keep the number of metrics bounded
+    private <T extends CompletionStage<Response>> T measure(final long start, final String family, final String type,
+            final String action, final T execution) {
+        if (!metrics.isActive()) {
+            return execution;
+        }
+        final Histogram histogram = metrics
+                .histogram("action_duration_seconds", "Latency of the actions.", "family", family, "type", type,
+                        "action", action);
+        execution.whenComplete((response, error) -> {
+            histogram.record((System.nanoTime() - start) / 1000);
+            if (error != null || (response != null && response.getStatus() >= 400)) {
+                metrics
+                        .counter("action_errors_total", "Number of actions which failed.", "family", family, "type",
+                                type, "action", action)
+                        .increment();
             }
-            // synchronous, if needed we can move to async with timeout later but currently we don't want.
-            // check org.talend.sdk.component.server.service.ComponentManagerService.readCurrentLocale if you change it
-        }, Runnable::run);
+        });
+        return execution;
+    }
+
+    private CompletableFuture<Response> failed(final WebApplicationException error) {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        future.completeExceptionally(new CompletionException(error));
+        return future;
     }
 
     private Response onError(final Throwable re) {
@@ -18,6 +18,8 @@ package org.talend.sdk.component.server.front;
 import static java.util.Collections.emptyMap;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
@@ -28,16 +30,24 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.json.bind.Jsonb;
@@ -48,6 +58,7 @@ import javax.ws.rs.HttpMethod;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 
 import org.apache.cxf.Bus;
@@ -55,6 +66,7 @@ import org.apache.cxf.transport.http.DestinationRegistry;
 import org.apache.cxf.transport.servlet.ServletController;
 import org.apache.cxf.transport.servlet.servicelist.ServiceListGeneratorServlet;
 import org.talend.sdk.component.server.api.BulkReadResource;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.front.cxf.CxfExtractor;
 import org.talend.sdk.component.server.front.memory.InMemoryRequest;
 import org.talend.sdk.component.server.front.memory.InMemoryResponse;
@@ -65,8 +77,10 @@ import org.talend.sdk.component.server.front.model.BulkResponses;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
 import org.talend.sdk.component.server.front.security.web.EndpointSecurityService;
+import org.talend.sdk.component.server.lang.NamedThreadFactory;
 import org.talend.sdk.component.server.service.qualifier.ComponentServer;
 
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -104,13 +118,24 @@ public class BulkReadResourceImpl implements BulkReadResource {
     @Inject
     private EndpointSecurityService endpointSecurityService;
 
+    @Inject
+    private ComponentServerConfiguration configuration;
+
     private ServletController controller;
 
+    private ExecutorService executor;
+
     private final String appPrefix = "/api/v1";
 
     private final Collection<String> blacklisted =
             Stream.of(appPrefix + "/component/icon/", appPrefix + "/component/dependency/").collect(toSet());
 
+    // same endpoints as the secured web filters, sub-requests don't go through them
+    private final Collection<String> secured = Stream
+            .of(appPrefix + "/environment", appPrefix + "/environment/", appPrefix + "/metrics",
+                    appPrefix + "/metrics/")
+            .collect(toSet());
+
     private final BulkResponses.Result forbiddenInBulkModeResponse =
             new BulkResponses.Result(Response.Status.FORBIDDEN.getStatusCode(), emptyMap(),
                     "{\"code\":\"UNAUTHORIZED\",\"description\":\"Forbidden endpoint in bulk mode.\"}"
@@ -131,25 +156,26 @@ public class BulkReadResourceImpl implements BulkReadResource {
         controller = new ServletController(registry,
                 new SimpleServletConfig(servletContext, "Talend Component Kit Bulk Transport"),
                 new ServiceListGeneratorServlet(registry, bus));
+        final int threads = Math.max(1, configuration.getBulkParallelism());
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory("talend-component-server-bulk"));
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    @PreDestroy
+    private void destroy() {
+        executor.shutdownNow();
     }
 
     @Override
     public CompletionStage<BulkResponses> bulk(final BulkRequests requests) {
-        final Collection<CompletableFuture<BulkResponses.Result>> responses =
-                ofNullable(requests.getRequests()).map(Collection::stream).orElseGet(Stream::empty).map(request -> {
-                    if (isBlacklisted(request)) {
-                        return completedFuture(forbiddenInBulkModeResponse);
-                    }
-                    if ("/api/v1/environment".equals(request.getPath())
-                            && !endpointSecurityService.isAllowed(httpServletRequest)) {
-                        return completedFuture(forbiddenResponse);
-                    }
-                    if (request.getPath() == null || !request.getPath().startsWith(appPrefix)
-                            || request.getPath().contains("?")) {
-                        return completedFuture(invalidResponse);
-                    }
-                    return doExecute(request, uriInfo);
-                }).collect(toList());
+        final Caller caller = newCaller();
+        final Collection<CompletableFuture<BulkResponses.Result>> responses = ofNullable(requests.getRequests())
+                .map(Collection::stream)
+                .orElseGet(Stream::empty)
+                .map(request -> execute(request, caller, Runnable::run))
+                .collect(toList());
         return CompletableFuture
                 .allOf(responses.toArray(EMPTY_PROMISES))
                 .handle((ignored, error) -> new BulkResponses(responses.stream().map(it -> {
@@ -167,12 +193,83 @@ public class BulkReadResourceImpl implements BulkReadResource {
                 }).collect(toList())));
     }
 
+    @Override
+    public StreamingOutput stream(final BulkRequests requests) {
+        final List<BulkRequests.Request> inputs = ofNullable(requests
+                .getRequests()).<List<BulkRequests.Request>> map(ArrayList::new).orElseGet(Collections::emptyList);
+        final Caller caller = newCaller();
+        final int parallelism = Math.max(1, configuration.getBulkParallelism());
+        final long maxBufferedBytes = configuration.getBulkMaxBufferedBytes();
+        return output -> {
+            final BlockingQueue<BulkResponses.IndexedResult> completed = new LinkedBlockingQueue<>();
+            final AtomicLong bufferedBytes = new AtomicLong();
+            int next = 0;
+            int pending = 0; // dispatched but not yet written
+            while (next < inputs.size() || pending > 0) {
+                // the buffered results are bounded: dispatch only when the already computed ones are written
+                while (next < inputs.size() && pending < parallelism && bufferedBytes.get() <= maxBufferedBytes) {
+                    final int index = next++;
+                    pending++;
+                    execute(inputs.get(index), caller, executor).whenComplete((result, error) -> {
+                        final BulkResponses.Result value = error == null ? result : toErrorResult(error);
+                        bufferedBytes.addAndGet(sizeOf(value));
+                        completed.add(new BulkResponses.IndexedResult(index, value));
+                    });
+                }
+                final BulkResponses.IndexedResult result;
+                try {
+                    result = completed.take();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+                pending--;
+                bufferedBytes.addAndGet(-sizeOf(result.getResult()));
+                output.write(defaultMapper.toJson(result).getBytes(StandardCharsets.UTF_8));
+                output.write('\n');
+                output.flush();
+            }
+        };
+    }
+
+    private int sizeOf(final BulkResponses.Result result) {
+        return result.getResponse() == null ? 0 : result.getResponse().length;
+    }
+
+    private BulkResponses.Result toErrorResult(final Throwable error) {
+        return new BulkResponses.Result(Response.Status.INTERNAL_SERVER_ERROR.getStatusCode(), emptyMap(),
+                defaultMapper
+                        .toJson(new ErrorPayload(ErrorDictionary.UNEXPECTED, error.getMessage()))
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    // the request proxies are only usable in the request thread so capture what sub-requests need early
+    private Caller newCaller() {
+        final int port = uriInfo.getBaseUri().getPort();
+        return new Caller(port < 0 ? 8080 : port, request.getUserPrincipal(), request.getServletContext(),
+                endpointSecurityService.isAllowed(httpServletRequest));
+    }
+
+    private CompletableFuture<BulkResponses.Result> execute(final BulkRequests.Request request, final Caller caller,
+            final Executor executor) {
+        if (isBlacklisted(request)) {
+            return completedFuture(forbiddenInBulkModeResponse);
+        }
+        if (secured.contains(request.getPath()) && !caller.securedEndpointsAllowed) {
+            return completedFuture(forbiddenResponse);
+        }
+        if (request.getPath() == null || !request.getPath().startsWith(appPrefix) || request.getPath().contains("?")) {
+            return completedFuture(invalidResponse);
+        }
+        return CompletableFuture.supplyAsync(() -> doExecute(request, caller), executor).thenCompose(identity());
+    }
+
     private boolean isBlacklisted(final BulkRequests.Request request) {
         return blacklisted.stream().anyMatch(it -> request.getPath() == null || request.getPath().startsWith(it));
     }
 
     private CompletableFuture<BulkResponses.Result> doExecute(final BulkRequests.Request inputRequest,
-            final UriInfo info) {
+            final Caller caller) {
         final Map<String, List<String>> headers =
                 ofNullable(inputRequest.getHeaders()).orElseGet(Collections::emptyMap);
         final String path = ofNullable(inputRequest.getPath()).map(it -> it.substring(appPrefix.length())).orElse("/");
@@ -188,10 +285,9 @@ public class BulkReadResourceImpl implements BulkReadResource {
                         .map(value -> it.getKey() + '=' + value))
                 .collect(joining("&"));
 
-        final int port = info.getBaseUri().getPort();
-        final Principal userPrincipal = request.getUserPrincipal(); // this is ap proxy so ready it early
+        final Principal userPrincipal = caller.principal;
         final InMemoryRequest request = new InMemoryRequest(ofNullable(inputRequest.getVerb()).orElse(HttpMethod.GET),
-                headers, path, appPrefix + path, appPrefix, queryString, port < 0 ? 8080 : port, servletContext,
+                headers, path, appPrefix + path, appPrefix, queryString, caller.port, caller.servletContext,
                 new MemoryInputStream(ofNullable(inputRequest.getPayload())
                         .map(it -> it.getBytes(StandardCharsets.UTF_8))
                         .map(ByteArrayInputStream::new)
@@ -229,4 +325,16 @@ public class BulkReadResourceImpl implements BulkReadResource {
         }
         return promise;
     }
+
+    @RequiredArgsConstructor
+    private static class Caller {
+
+        private final int port;
+
+        private final Principal principal;
+
+        private final ServletContext servletContext;
+
+        private final boolean securedEndpointsAllowed;
+    }
 }
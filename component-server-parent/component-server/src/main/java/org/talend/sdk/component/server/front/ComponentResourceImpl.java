@@ -20,6 +20,7 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static org.talend.sdk.component.server.front.model.ErrorDictionary.COMPONENT_MISSING;
 import static org.talend.sdk.component.server.front.model.ErrorDictionary.DESIGN_MODEL_MISSING;
@@ -38,8 +39,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -50,7 +51,11 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
 
@@ -67,6 +72,7 @@ import org.talend.sdk.component.server.api.ComponentResource;
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.dao.ComponentDao;
 import org.talend.sdk.component.server.dao.ComponentFamilyDao;
+import org.talend.sdk.component.server.front.base.internal.PluginFragments;
 import org.talend.sdk.component.server.front.base.internal.RequestKey;
 import org.talend.sdk.component.server.front.model.ComponentDetail;
 import org.talend.sdk.component.server.front.model.ComponentDetailList;
@@ -77,14 +83,17 @@ import org.talend.sdk.component.server.front.model.Dependencies;
 import org.talend.sdk.component.server.front.model.DependencyDefinition;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.Icon;
+import org.talend.sdk.component.server.front.model.IconBundle;
 import org.talend.sdk.component.server.front.model.Link;
 import org.talend.sdk.component.server.front.model.SimplePropertyDefinition;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.lang.BoundedCache;
 import org.talend.sdk.component.server.lang.MapCache;
 import org.talend.sdk.component.server.service.ActionsService;
 import org.talend.sdk.component.server.service.ComponentManagerService;
 import org.talend.sdk.component.server.service.ExtensionComponentMetadataManager;
 import org.talend.sdk.component.server.service.IconResolver;
+import org.talend.sdk.component.server.service.InvertedIndex;
 import org.talend.sdk.component.server.service.LocaleMapper;
 import org.talend.sdk.component.server.service.PropertiesService;
 import org.talend.sdk.component.server.service.SimpleQueryLanguageCompiler;
@@ -98,8 +107,6 @@ import lombok.extern.slf4j.Slf4j;
 @ApplicationScoped
 public class ComponentResourceImpl implements ComponentResource {
 
-    private final ConcurrentMap<RequestKey, ComponentIndices> indicesPerRequest = new ConcurrentHashMap<>();
-
     @Inject
     private ComponentManager manager;
 
@@ -139,11 +146,18 @@ public class ComponentResourceImpl implements ComponentResource {
     @Inject
     private SimpleQueryLanguageCompiler queryLanguageCompiler;
 
+    @Inject
+    @Context
+    private Request request;
+
     private Map<String, Function<ComponentIndex, Object>> componentEvaluators = new HashMap<>();
 
+    private BoundedCache<RequestKey, ComponentIndices> indicesPerRequest;
+
     @PostConstruct
     private void setupRuntime() {
         log.info("Initializing " + getClass());
+        indicesPerRequest = caches.create("componentIndices", configuration.getMaxCacheSize());
 
         // preload some highly used data
         getIndex("en", false, null);
@@ -151,6 +165,7 @@ public class ComponentResourceImpl implements ComponentResource {
         componentEvaluators.put("plugin", c -> c.getId().getPlugin());
         componentEvaluators.put("id", c -> c.getId().getId());
         componentEvaluators.put("familyId", c -> c.getId().getFamilyId());
+        componentEvaluators.put("family", c -> c.getId().getFamily());
         componentEvaluators.put("name", c -> c.getId().getName());
         componentEvaluators.put("metadata", component -> {
             final Iterator<SimplePropertyDefinition> iterator =
@@ -257,11 +272,15 @@ public class ComponentResourceImpl implements ComponentResource {
     @Override
     public ComponentIndices getIndex(final String language, final boolean includeIconContent, final String query) {
         final Locale locale = localeMapper.mapLocale(language);
-        caches.evictIfNeeded(indicesPerRequest, configuration.getMaxCacheSize() - 1);
         return indicesPerRequest.computeIfAbsent(new RequestKey(locale, includeIconContent, query), k -> {
             final Predicate<ComponentIndex> filter = queryLanguageCompiler.compile(query, componentEvaluators);
+            final Stream<ComponentIndex> deployedComponents =
+                    query == null || query.trim().isEmpty() ? findDeployedComponents(includeIconContent, locale)
+                            : searchDeployedComponents(
+                                    queryLanguageCompiler.compileIndexQuery(query, componentEvaluators.keySet()),
+                                    includeIconContent, locale);
             return new ComponentIndices(Stream
-                    .concat(findDeployedComponents(includeIconContent, locale), virtualComponents
+                    .concat(deployedComponents, virtualComponents
                             .getDetails()
                             .stream()
                             .map(detail -> new ComponentIndex(detail.getId(), detail.getDisplayName(),
@@ -285,7 +304,6 @@ public class ComponentResourceImpl implements ComponentResource {
                     .build();
         }
 
-        // todo: add caching if SvgIconResolver becomes used a lot - not the case ATM
         final ComponentFamilyMeta meta = componentFamilyDao.findById(id);
         if (meta == null) {
             return Response
@@ -313,7 +331,34 @@ public class ComponentResourceImpl implements ComponentResource {
                     .build();
         }
 
-        return Response.ok(iconContent.getBytes()).type(iconContent.getType()).build();
+        return toResponse(iconContent);
+    }
+
+    @Override
+    public IconBundle familyIconBundle(final String id) {
+        final ComponentFamilyMeta meta = componentFamilyDao.findById(id);
+        if (meta == null) {
+            throw new WebApplicationException(Response
+                    .status(Response.Status.NOT_FOUND)
+                    .entity(new ErrorPayload(ErrorDictionary.FAMILY_MISSING, "No family for identifier: " + id))
+                    .type(APPLICATION_JSON_TYPE)
+                    .build());
+        }
+        final Container plugin = manager
+                .findPlugin(meta.getPlugin())
+                .orElseThrow(() -> new WebApplicationException(Response
+                        .status(Response.Status.NOT_FOUND)
+                        .entity(new ErrorPayload(ErrorDictionary.PLUGIN_MISSING,
+                                "No plugin '" + meta.getPlugin() + "' for identifier: " + id))
+                        .type(APPLICATION_JSON_TYPE)
+                        .build()));
+        final Map<String, Icon> components = Stream
+                .of(meta.getPartitionMappers().values().stream(), meta.getProcessors().values().stream(),
+                        meta.getDriverRunners().values().stream())
+                .flatMap(Function.identity())
+                .collect(toMap(ComponentFamilyMeta.BaseMeta::getId, c -> toIcon(plugin, c.getIcon(), true), (a, b) -> a,
+                        TreeMap::new));
+        return new IconBundle(toIcon(plugin, meta.getIcon(), true), components);
     }
 
     @Override
@@ -326,7 +371,6 @@ public class ComponentResourceImpl implements ComponentResource {
                     .build();
         }
 
-        // todo: add caching if SvgIconResolver becomes used a lot - not the case ATM
         final ComponentFamilyMeta.BaseMeta<Object> meta = componentDao.findById(id);
         if (meta == null) {
             return Response
@@ -355,7 +399,29 @@ public class ComponentResourceImpl implements ComponentResource {
                     .build();
         }
 
-        return Response.ok(iconContent.getBytes()).type(iconContent.getType()).build();
+        return toResponse(iconContent);
+    }
+
+    // icon urls don't change when a redeployment changes the icon so by default clients revalidate it with its hash
+    private Response toResponse(final IconResolver.Icon icon) {
+        final EntityTag tag = new EntityTag(icon.getHash());
+        final CacheControl cacheControl = new CacheControl();
+        if (configuration.getIconCacheMaxAge() > 0) {
+            cacheControl.setMaxAge(configuration.getIconCacheMaxAge());
+        } else {
+            cacheControl.setNoCache(true);
+        }
+        return ofNullable(request.evaluatePreconditions(tag))
+                .orElseGet(() -> Response.ok(icon.getBytes()).type(icon.getType()))
+                .tag(tag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+
+    private Icon toIcon(final Container container, final String icon, final boolean includeIcon) {
+        final IconResolver.Icon content = iconResolver.resolve(container, icon);
+        return new Icon(icon, content == null ? null : content.getType(),
+                !includeIcon || content == null ? null : content.getBytes());
     }
 
     @Override
@@ -451,29 +517,70 @@ public class ComponentResourceImpl implements ComponentResource {
     }
 
     private Stream<ComponentIndex> findDeployedComponents(final boolean includeIconContent, final Locale locale) {
-        return manager
-                .find(c -> c
-                        .execute(() -> c.get(ContainerComponentRegistry.class).getComponents().values().stream())
-                        .flatMap(component -> Stream
-                                .of(component
-                                        .getPartitionMappers()
-                                        .values()
-                                        .stream()
-                                        .map(mapper -> toComponentIndex(c, locale, c.getId(), mapper,
-                                                c.get(ComponentManager.OriginalId.class), includeIconContent)),
-                                        component
-                                                .getProcessors()
-                                                .values()
-                                                .stream()
-                                                .map(proc -> toComponentIndex(c, locale, c.getId(), proc,
-                                                        c.get(ComponentManager.OriginalId.class), includeIconContent)),
-                                        component
-                                                .getDriverRunners()
-                                                .values()
-                                                .stream()
-                                                .map(runner -> toComponentIndex(c, locale, c.getId(), runner,
-                                                        c.get(ComponentManager.OriginalId.class), includeIconContent)))
-                                .flatMap(Function.identity())));
+        return manager.find(c -> getIndexFragment(c, locale, includeIconContent).stream());
+    }
+
+    private Stream<ComponentIndex> searchDeployedComponents(
+            final Function<SimpleQueryLanguageCompiler.Index, Set<String>> query, final boolean includeIconContent,
+            final Locale locale) {
+        return manager.find(c -> {
+            final Set<String> ids = query.apply(getSearchIndex(c));
+            if (ids.isEmpty()) {
+                return Stream.empty();
+            }
+            return getIndexFragment(c, locale, includeIconContent)
+                    .stream()
+                    .filter(component -> ids.contains(component.getId().getId()));
+        });
+    }
+
+    // the components of a plugin are rendered once per locale, a (un)deployment doesn't impact other plugins ones
+    private List<ComponentIndex> getIndexFragment(final Container container, final Locale locale,
+            final boolean includeIconContent) {
+        return PluginFragments
+                .of(container, IndexFragments.class, IndexFragments::new)
+                .get(new RequestKey(locale, includeIconContent, null), key -> {
+                    final ComponentManager.OriginalId originalId = container.get(ComponentManager.OriginalId.class);
+                    return findComponents(container)
+                            .map(meta -> toComponentIndex(container, locale, container.getId(), meta, originalId,
+                                    includeIconContent))
+                            .collect(toList());
+                });
+    }
+
+    // the index lives in the container so it is dropped with the plugin when it is undeployed
+    private SearchIndex getSearchIndex(final Container container) {
+        final SearchIndex existing = container.get(SearchIndex.class);
+        if (existing != null) {
+            return existing;
+        }
+        final SearchIndex index = new SearchIndex();
+        final ComponentManager.OriginalId originalId = container.get(ComponentManager.OriginalId.class);
+        findComponents(container).forEach(meta -> {
+            final ComponentIndex component =
+                    toComponentIndex(container, Locale.ENGLISH, container.getId(), meta, originalId, false);
+            final Map<String, Object> values = new HashMap<>();
+            componentEvaluators.forEach((name, evaluator) -> values.put(name, evaluator.apply(component)));
+            index.add(component.getId().getId(), meta, values);
+        });
+        synchronized (container) {
+            final SearchIndex concurrent = container.get(SearchIndex.class);
+            if (concurrent != null) {
+                return concurrent;
+            }
+            container.set(SearchIndex.class, index);
+            return index;
+        }
+    }
+
+    private Stream<ComponentFamilyMeta.BaseMeta<?>> findComponents(final Container container) {
+        return container
+                .execute(() -> container.get(ContainerComponentRegistry.class).getComponents().values().stream())
+                .flatMap(component -> Stream.<Stream<? extends ComponentFamilyMeta
+                        .BaseMeta<?>>> of(component.getPartitionMappers().values().stream(),
+                                component.getProcessors().values().stream(),
+                                component.getDriverRunners().values().stream())
+                        .flatMap(Function.identity()));
     }
 
     private DependencyDefinition getDependenciesFor(final ComponentFamilyMeta.BaseMeta<?> meta) {
@@ -523,8 +630,6 @@ public class ComponentResourceImpl implements ComponentResource {
         final ClassLoader loader = container.getLoader();
         final String icon = meta.getIcon();
         final String familyIcon = meta.getParent().getIcon();
-        final IconResolver.Icon iconContent = iconResolver.resolve(container, icon);
-        final IconResolver.Icon iconFamilyContent = iconResolver.resolve(container, familyIcon);
         final String familyDisplayName =
                 meta.getParent().findBundle(loader, locale).displayName().orElse(meta.getParent().getName());
         final List<String> categories = ofNullable(meta.getParent().getCategories())
@@ -548,12 +653,9 @@ public class ComponentResourceImpl implements ComponentResource {
                         ofNullable(originalId).map(ComponentManager.OriginalId::getValue).orElse(plugin),
                         meta.getParent().getName(), meta.getName()),
                 meta.findBundle(loader, locale).displayName().orElse(meta.getName()), familyDisplayName,
-                new Icon(icon, iconContent == null ? null : iconContent.getType(),
-                        !includeIcon ? null : (iconContent == null ? null : iconContent.getBytes())),
-                new Icon(familyIcon, iconFamilyContent == null ? null : iconFamilyContent.getType(),
-                        !includeIcon ? null : (iconFamilyContent == null ? null : iconFamilyContent.getBytes())),
-                meta.getVersion(), categories, singletonList(new Link("Detail",
-                        "/component/details?identifiers=" + meta.getId(), MediaType.APPLICATION_JSON)),
+                toIcon(container, icon, includeIcon), toIcon(container, familyIcon, includeIcon), meta.getVersion(),
+                categories, singletonList(new Link("Detail", "/component/details?identifiers=" + meta.getId(),
+                        MediaType.APPLICATION_JSON)),
                 meta.getMetadata());
     }
 
@@ -572,4 +674,10 @@ public class ComponentResourceImpl implements ComponentResource {
                 .entity(new ErrorPayload(PLUGIN_MISSING, "No file found for: " + id))
                 .build());
     }
+
+    private static class SearchIndex extends InvertedIndex<ComponentFamilyMeta.BaseMeta<?>> {
+    }
+
+    private static class IndexFragments extends PluginFragments<List<ComponentIndex>> {
+    }
 }
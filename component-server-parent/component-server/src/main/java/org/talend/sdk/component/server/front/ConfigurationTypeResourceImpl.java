@@ -26,10 +26,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -50,12 +49,14 @@ import org.talend.sdk.component.runtime.manager.ComponentManager;
 import org.talend.sdk.component.server.api.ConfigurationTypeResource;
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
 import org.talend.sdk.component.server.dao.ConfigurationDao;
+import org.talend.sdk.component.server.front.base.internal.PluginFragments;
 import org.talend.sdk.component.server.front.base.internal.RequestKey;
 import org.talend.sdk.component.server.front.model.ConfigTypeNode;
 import org.talend.sdk.component.server.front.model.ConfigTypeNodes;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.SimplePropertyDefinition;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.lang.BoundedCache;
 import org.talend.sdk.component.server.lang.MapCache;
 import org.talend.sdk.component.server.service.ActionsService;
 import org.talend.sdk.component.server.service.ExtensionComponentMetadataManager;
@@ -70,8 +71,6 @@ import lombok.extern.slf4j.Slf4j;
 @ApplicationScoped
 public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource {
 
-    private final ConcurrentMap<RequestKey, ConfigTypeNodes> indicesPerRequest = new ConcurrentHashMap<>();
-
     @Inject
     private ComponentManager manager;
 
@@ -101,8 +100,11 @@ public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource
 
     private final Map<String, Function<ConfigTypeNode, Object>> configNodeEvaluators = new HashMap<>();
 
+    private BoundedCache<RequestKey, ConfigTypeNodes> indicesPerRequest;
+
     @PostConstruct
     private void init() {
+        indicesPerRequest = caches.create("configurationTypeIndices", configuration.getMaxCacheSize());
         configNodeEvaluators.put("id", ConfigTypeNode::getId);
         configNodeEvaluators.put("type", ConfigTypeNode::getConfigurationType);
         configNodeEvaluators.put("name", ConfigTypeNode::getName);
@@ -122,7 +124,6 @@ public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource
     @Override
     public ConfigTypeNodes getRepositoryModel(final String language, final boolean lightPayload, final String query) {
         final Locale locale = localeMapper.mapLocale(language);
-        caches.evictIfNeeded(indicesPerRequest, configuration.getMaxCacheSize() - 1);
         return indicesPerRequest
                 .computeIfAbsent(new RequestKey(locale, !lightPayload, query), key -> toNodes(locale, lightPayload,
                         it -> true, queryLanguageCompiler.compile(query, configNodeEvaluators)));
@@ -189,50 +190,43 @@ public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource
 
     private Stream<ConfigTypeNode> createNode(final String parentId, final String family, final Stream<Config> configs,
             final FamilyBundle resourcesBundle, final Container container, final Locale locale,
-            final Predicate<String> idFilter, final boolean lightPayload) {
+            final boolean lightPayload) {
         final ClassLoader loader = container.getLoader();
         if (configs == null) {
             return Stream.empty();
         }
         return configs.flatMap(c -> {
-            final Stream<ConfigTypeNode> configNode;
-            if (idFilter.test(c.getId())) {
-                final ConfigTypeNode node = new ConfigTypeNode();
-                node.setId(c.getId());
-                node.setVersion(c.getVersion());
-                node.setConfigurationType(c.getKey().getConfigType());
-                node.setName(c.getKey().getConfigName());
-                node.setParentId(parentId);
+            final ConfigTypeNode node = new ConfigTypeNode();
+            node.setId(c.getId());
+            node.setVersion(c.getVersion());
+            node.setConfigurationType(c.getKey().getConfigType());
+            node.setName(c.getKey().getConfigName());
+            node.setParentId(parentId);
+            node
+                    .setDisplayName(resourcesBundle
+                            .configurationDisplayName(c.getKey().getConfigType(), c.getKey().getConfigName())
+                            .orElse(c.getKey().getConfigName()));
+            if (!lightPayload) {
+                node.setActions(actionsService.findActions(family, container, locale, c, resourcesBundle));
+
+                // force configuration as root prefix
+                final int prefixLen = c.getMeta().getPath().length();
+                final String forcedPrefix = c.getMeta().getName();
                 node
-                        .setDisplayName(resourcesBundle
-                                .configurationDisplayName(c.getKey().getConfigType(), c.getKey().getConfigName())
-                                .orElse(c.getKey().getConfigName()));
-                if (!lightPayload) {
-                    node.setActions(actionsService.findActions(family, container, locale, c, resourcesBundle));
-
-                    // force configuration as root prefix
-                    final int prefixLen = c.getMeta().getPath().length();
-                    final String forcedPrefix = c.getMeta().getName();
-                    node
-                            .setProperties(propertiesService
-                                    .buildProperties(singletonList(c.getMeta()), loader, locale, null)
-                                    .map(p -> new SimplePropertyDefinition(
-                                            forcedPrefix + p.getPath().substring(prefixLen), p.getName(),
-                                            p.getDisplayName(), p.getType(), p.getDefaultValue(), p.getValidation(),
-                                            p.getMetadata(), p.getPlaceholder(), p.getProposalDisplayNames()))
-                                    .collect(toList()));
-                }
-
-                node.setEdges(c.getChildConfigs().stream().map(Config::getId).collect(toSet()));
-
-                configNode = Stream.of(node);
-            } else {
-                configNode = Stream.empty();
+                        .setProperties(propertiesService
+                                .buildProperties(singletonList(c.getMeta()), loader, locale, null)
+                                .map(p -> new SimplePropertyDefinition(forcedPrefix + p.getPath().substring(prefixLen),
+                                        p.getName(), p.getDisplayName(), p.getType(), p.getDefaultValue(),
+                                        p.getValidation(), p.getMetadata(), p.getPlaceholder(),
+                                        p.getProposalDisplayNames()))
+                                .collect(toList()));
             }
 
+            node.setEdges(c.getChildConfigs().stream().map(Config::getId).collect(toSet()));
+
             return Stream
-                    .concat(configNode, createNode(c.getId(), family, c.getChildConfigs().stream(), resourcesBundle,
-                            container, locale, idFilter, lightPayload));
+                    .concat(Stream.of(node), createNode(c.getId(), family, c.getChildConfigs().stream(),
+                            resourcesBundle, container, locale, lightPayload));
         });
     }
 
@@ -259,33 +253,49 @@ public class ConfigurationTypeResourceImpl implements ConfigurationTypeResource
         return manager
                 .find(Stream::of)
                 .filter(c -> c.get(RepositoryModel.class) != null)
-                .flatMap(c -> c
-                        .get(RepositoryModel.class)
-                        .getFamilies()
-                        .stream()
-                        .filter(f -> !f.getConfigs().get().isEmpty())
-                        .flatMap(family -> {
-                            final FamilyBundle resourcesBundle = family.getMeta().findBundle(c.getLoader(), locale);
-
-                            final Stream<ConfigTypeNode> familyNode;
-                            if (filter.test(family.getId())) {
-                                final ConfigTypeNode node = new ConfigTypeNode();
-                                node.setId(family.getId());
-                                node.setName(family.getMeta().getName());
-
-                                node.setDisplayName(resourcesBundle.displayName().orElse(family.getMeta().getName()));
-
-                                node.setEdges(family.getConfigs().get().stream().map(Config::getId).collect(toSet()));
-                                familyNode = Stream.of(node);
-                            } else {
-                                familyNode = Stream.empty();
-                            }
-                            return Stream
-                                    .concat(familyNode,
-                                            createNode(family.getId(), family.getMeta().getName(),
-                                                    family.getConfigs().get().stream(), resourcesBundle, c, locale,
-                                                    filter, lightPayload));
-                        }))
+                .flatMap(c -> getNodesFragment(c, lightPayload, locale).stream())
+                .filter(node -> filter.test(node.getId()))
                 .filter(nodeFilter);
     }
+
+    // the nodes of a plugin are built once per locale, a (un)deployment doesn't impact other plugins ones
+    private List<ConfigTypeNode> getNodesFragment(final Container c, final boolean lightPayload, final Locale locale) {
+        return PluginFragments
+                .of(c, NodesFragments.class, NodesFragments::new)
+                .get(new RequestKey(locale, !lightPayload, null),
+                        key -> c
+                                .get(RepositoryModel.class)
+                                .getFamilies()
+                                .stream()
+                                .filter(f -> !f.getConfigs().get().isEmpty())
+                                .flatMap(family -> {
+                                    final FamilyBundle resourcesBundle =
+                                            family.getMeta().findBundle(c.getLoader(), locale);
+
+                                    final ConfigTypeNode node = new ConfigTypeNode();
+                                    node.setId(family.getId());
+                                    node.setName(family.getMeta().getName());
+
+                                    node
+                                            .setDisplayName(
+                                                    resourcesBundle.displayName().orElse(family.getMeta().getName()));
+
+                                    node
+                                            .setEdges(family
+                                                    .getConfigs()
+                                                    .get()
+                                                    .stream()
+                                                    .map(Config::getId)
+                                                    .collect(toSet()));
+                                    return Stream
+                                            .concat(Stream.of(node),
+                                                    createNode(family.getId(), family.getMeta().getName(),
+                                                            family.getConfigs().get().stream(), resourcesBundle, c,
+                                                            locale, lightPayload));
+                                })
+                                .collect(toList()));
+    }
+
+    private static class NodesFragments extends PluginFragments<List<ConfigTypeNode>> {
+    }
 }
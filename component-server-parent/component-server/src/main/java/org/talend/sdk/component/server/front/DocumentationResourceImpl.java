@@ -41,14 +41,13 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import javax.ws.rs.WebApplicationException;
@@ -64,8 +63,12 @@ import org.talend.sdk.component.server.dao.ComponentDao;
 import org.talend.sdk.component.server.front.model.DocumentationContent;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.lang.BoundedCache;
+import org.talend.sdk.component.server.lang.MapCache;
+import org.talend.sdk.component.server.lang.PluginScopedKey;
 import org.talend.sdk.component.server.service.ExtensionComponentMetadataManager;
 import org.talend.sdk.component.server.service.LocaleMapper;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -93,16 +96,31 @@ public class DocumentationResourceImpl implements DocumentationResource {
     @Inject
     private ExtensionComponentMetadataManager virtualComponents;
 
+    @Inject
+    private MapCache caches;
+
     private Path i18nBase;
 
+    // shared by all the plugins to bound the memory whatever the number of plugins is
+    private BoundedCache<PluginScopedKey<DocKey>, DocumentationContent> documentations;
+
     @PostConstruct
     private void init() {
+        documentations = caches
+                .create("documentations", configuration.getCacheMaxWeight(),
+                        (DocumentationContent value) -> value.getSource() == null ? 0 : value.getSource().length());
         i18nBase = PathFactory
                 .get(configuration
                         .getDocumentationI18nTranslations()
                         .replace("${home}", System.getProperty("meecrowave.home", "")));
     }
 
+    public void onDeploy(@Observes final DeployedComponent deployedComponent) {
+        documentations
+                .removeIf(PluginScopedKey
+                        .stale(deployedComponent.getPlugin(), manager.findPlugin(deployedComponent.getPlugin())));
+    }
+
     @Override
     public DocumentationContent getDocumentation(final String id, final String language,
             final DocumentationSegment segment) {
@@ -125,18 +143,7 @@ public class DocumentationResourceImpl implements DocumentationResource {
                         .build()));
 
         // rendering to html can be slow so do it lazily and once
-        DocumentationCache cache = container.get(DocumentationCache.class);
-        if (cache == null) {
-            synchronized (container) {
-                cache = container.get(DocumentationCache.class);
-                if (cache == null) {
-                    cache = new DocumentationCache();
-                    container.set(DocumentationCache.class, cache);
-                }
-            }
-        }
-
-        return cache.documentations.computeIfAbsent(new DocKey(id, language, segment), key -> {
+        return documentations.computeIfAbsent(PluginScopedKey.of(container, new DocKey(id, language, segment)), key -> {
             final String content = Stream
                     .of("documentation_" + locale.getLanguage() + ".adoc", "documentation_" + language + ".adoc",
                             "documentation.adoc")
@@ -239,11 +246,6 @@ public class DocumentationResourceImpl implements DocumentationResource {
         }
     }
 
-    private static class DocumentationCache {
-
-        private final ConcurrentMap<DocKey, DocumentationContent> documentations = new ConcurrentHashMap<>();
-    }
-
     // see org.talend.sdk.component.tools.AsciidocDocumentationGenerator.toAsciidoc
     String selectById(final String name, final String value, final DocumentationSegment segment) {
         final List<String> lines;
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.ws.rs.core.StreamingOutput;
+
+import org.talend.sdk.component.server.api.MetricsResource;
+import org.talend.sdk.component.server.service.metrics.Metrics;
+
+@ApplicationScoped
+public class MetricsResourceImpl implements MetricsResource {
+
+    @Inject
+    private Metrics metrics;
+
+    @Override
+    public StreamingOutput get() {
+        return output -> {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(output, UTF_8));
+            metrics.write(writer);
+            writer.flush();
+        };
+    }
+}
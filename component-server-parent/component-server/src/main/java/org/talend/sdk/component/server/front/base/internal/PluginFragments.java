@@ -0,0 +1,54 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.base.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.talend.sdk.component.container.Container;
+
+/**
+ * The part of an index computed for a single plugin.
+ * It is stored in the plugin container so deploying or undeploying a plugin only requires to merge the fragments
+ * again, the other plugins ones are reused.
+ *
+ * @param <V> the fragment type.
+ */
+public abstract class PluginFragments<V> {
+
+    private final ConcurrentMap<RequestKey, V> fragments = new ConcurrentHashMap<>();
+
+    public V get(final RequestKey key, final Function<RequestKey, V> factory) {
+        return fragments.computeIfAbsent(key, factory);
+    }
+
+    public static <F extends PluginFragments<?>> F of(final Container container, final Class<F> type,
+            final Supplier<F> factory) {
+        F fragments = container.get(type);
+        if (fragments == null) {
+            synchronized (container) {
+                fragments = container.get(type);
+                if (fragments == null) {
+                    fragments = factory.get();
+                    container.set(type, fragments);
+                }
+            }
+        }
+        return fragments;
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.cache;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.talend.sdk.component.server.api.ComponentResource;
+import org.talend.sdk.component.server.api.ConfigurationTypeResource;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the index endpoints from their serialized payload and answers {@code If-None-Match} requests
+ * with a 304 when the deployed plugins didn't change.
+ */
+@Provider
+@Dependent
+public class SerializedResponseFeature implements DynamicFeature {
+
+    @Inject
+    private SerializedResponses responses;
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        if (!configuration.getSerializedCacheActive()) {
+            return;
+        }
+        final Class<?> resource = resourceInfo.getResourceClass();
+        final String method = resourceInfo.getResourceMethod().getName();
+        if ((ComponentResource.class.isAssignableFrom(resource)
+                && Stream.of("getIndex", "getDetail", "familyIconBundle").anyMatch(method::equals))
+                || (ConfigurationTypeResource.class.isAssignableFrom(resource)
+                        && "getRepositoryModel".equals(method))) {
+            context.register(new SerializedResponseFilter(responses));
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class SerializedResponseFilter
+            implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+        private static final String TAG = SerializedResponseFilter.class.getName() + ".tag";
+
+        private static final String STORE = SerializedResponseFilter.class.getName() + ".store";
+
+        private final SerializedResponses responses;
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            final String tag = responses
+                    .tag(requestContext.getUriInfo().getPath(),
+                            requestContext.getUriInfo().getRequestUri().getRawQuery());
+            final String ifNoneMatch = requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+            if (ifNoneMatch != null && matches(ifNoneMatch, tag)) {
+                requestContext.abortWith(Response.notModified(new EntityTag(tag)).build());
+                return;
+            }
+            final byte[] payload = responses.find(tag);
+            if (payload != null) {
+                requestContext.abortWith(Response.ok(payload, APPLICATION_JSON_TYPE).tag(new EntityTag(tag)).build());
+                return;
+            }
+            requestContext.setProperty(TAG, tag);
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext,
+                final ContainerResponseContext responseContext) {
+            final Object tag = requestContext.getProperty(TAG);
+            if (tag != null && responseContext.getStatus() == Response.Status.OK.getStatusCode()) {
+                responseContext.getHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(tag.toString()));
+                requestContext.setProperty(STORE, true);
+            }
+        }
+
+        @Override
+        public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+            final Object tag = context.getProperty(TAG);
+            if (tag == null || context.getProperty(STORE) == null) {
+                context.proceed();
+                return;
+            }
+            final OutputStream original = context.getOutputStream();
+            final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            context.setOutputStream(buffer);
+            try {
+                context.proceed();
+            } finally {
+                context.setOutputStream(original);
+            }
+            final byte[] payload = buffer.toByteArray();
+            responses.store(tag.toString(), payload);
+            original.write(payload);
+        }
+
+        private boolean matches(final String ifNoneMatch, final String tag) {
+            return Stream
+                    .of(ifNoneMatch.split(","))
+                    .map(String::trim)
+                    .anyMatch(it -> "*".equals(it) || it.equals('"' + tag + '"') || it.equals("W/\"" + tag + '"'));
+        }
+    }
+}
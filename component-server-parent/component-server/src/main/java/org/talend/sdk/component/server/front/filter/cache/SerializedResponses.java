@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import javax.annotation.PostConstruct;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.lang.BoundedCache;
+import org.talend.sdk.component.server.lang.MapCache;
+import org.talend.sdk.component.server.service.ComponentManagerService;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
+
+/**
+ * Serialized payloads of the index endpoints per entity tag.
+ * The tag is computed from the request and the last deployment date so it changes with the deployed plugins.
+ */
+@ApplicationScoped
+public class SerializedResponses {
+
+    @Inject
+    private ComponentManagerService componentManagerService;
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Inject
+    private MapCache caches;
+
+    private BoundedCache<String, byte[]> payloads;
+
+    @PostConstruct
+    private void init() {
+        payloads = caches.create("serializedResponses", configuration.getCacheMaxWeight(), payload -> payload.length);
+    }
+
+    public void clearCache(@Observes final DeployedComponent deployedComponent) {
+        payloads.clear();
+    }
+
+    public String tag(final String path, final String query) {
+        final String key = componentManagerService.findLastUpdated().getTime() + ":" + path + '?' + query;
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF_8));
+            final StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (final byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public byte[] find(final String tag) {
+        return payloads.get(tag);
+    }
+
+    public void store(final String tag, final byte[] payload) {
+        payloads.put(tag, payload);
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.filter.metrics;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.enterprise.context.Dependent;
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.Provider;
+
+import org.talend.sdk.component.server.service.metrics.Histogram;
+import org.talend.sdk.component.server.service.metrics.Metrics;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the latency of each endpoint, the histogram is resolved once per resource method
+ * so the request only pays a {@code nanoTime()} and the recording.
+ */
+@Provider
+@Dependent
+public class MetricsFeature implements DynamicFeature {
+
+    @Inject
+    private Metrics metrics;
+
+    @Override
+    public void configure(final ResourceInfo resourceInfo, final FeatureContext context) {
+        if (!metrics.isActive()) {
+            return;
+        }
+        final Class<?> resource = resourceInfo.getResourceClass();
+        final Method method = resourceInfo.getResourceMethod();
+        final String httpMethod = methods(resource, method)
+                .flatMap(m -> Stream.of(m.getAnnotations()))
+                .map(a -> a.annotationType().getAnnotation(HttpMethod.class))
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(HttpMethod::value)
+                .orElse("GET");
+        final String endpoint = path(resource) + path(resource, method);
+        context
+                .register(
+                        new MetricsFilter(
+                                metrics
+                                        .histogram("http_request_duration_seconds", "Latency of the HTTP endpoints.",
+                                                "method", httpMethod, "endpoint", endpoint),
+                                metrics
+                                        .counter("http_request_errors_total",
+                                                "Number of HTTP requests which led to an error status (>= 400).",
+                                                "method", httpMethod, "endpoint", endpoint)),
+                        // first request filter and last response filter to measure the whole processing
+                        Priorities.AUTHENTICATION - 100);
+    }
+
+    private String path(final Class<?> resource) {
+        return hierarchy(resource)
+                .map(this::findPath)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst()
+                .orElse("");
+    }
+
+    private String path(final Class<?> resource, final Method method) {
+        return methods(resource, method)
+                .map(this::findPath)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .findFirst()
+                .orElse("");
+    }
+
+    private Stream<Method> methods(final Class<?> resource, final Method method) {
+        return Stream
+                .concat(Stream.of(method), hierarchy(resource).map(type -> findMethod(type, method)))
+                .filter(Objects::nonNull);
+    }
+
+    // the resource can be a proxy and the jaxrs annotations are on the api interfaces
+    private Stream<Class<?>> hierarchy(final Class<?> type) {
+        if (type == null || type == Object.class) {
+            return Stream.empty();
+        }
+        return Stream
+                .concat(Stream.concat(Stream.of(type), Stream.of(type.getInterfaces())),
+                        hierarchy(type.getSuperclass()));
+    }
+
+    private Method findMethod(final Class<?> type, final Method method) {
+        try {
+            return type.getDeclaredMethod(method.getName(), method.getParameterTypes());
+        } catch (final NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private Optional<String> findPath(final AnnotatedElement element) {
+        return Optional
+                .ofNullable(element.getAnnotation(Path.class))
+                .map(Path::value)
+                .map(p -> p.startsWith("/") ? p : '/' + p);
+    }
+
+    @RequiredArgsConstructor
+    private static class MetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+        private static final String START = MetricsFilter.class.getName() + ".start";
+
+        private final Histogram histogram;
+
+        private final Metrics.Counter errors;
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) {
+            requestContext.setProperty(START, System.nanoTime());
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext,
+                final ContainerResponseContext responseContext) {
+            final Object start = requestContext.getProperty(START);
+            if (start == null) { // aborted before our request filter
+                return;
+            }
+            histogram.record((System.nanoTime() - Long.class.cast(start)) / 1000);
+            if (responseContext.getStatus() >= 400) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.security.web;
+
+import javax.enterprise.context.Dependent;
+import javax.servlet.annotation.WebFilter;
+
+@Dependent
+@WebFilter(urlPatterns = { "/api/v1/metrics", "/api/v1/metrics/" })
+public class MetricsFilter extends SecuredFilter {
+}
@@ -0,0 +1,311 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.websocket;
+
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Codec of the binary WebSocket protocol, all numbers are big endian and strings are length prefixed
+ * ({@link DataOutputStream#writeUTF(String)}).
+ *
+ * A request is a single binary message:
+ * {@code int id, byte flags, string method, string destination, short headerCount, (string name, string value)*,
+ * int bodyLength, byte[] body}. A header with several values is written once per value.
+ *
+ * A response is a sequence of binary messages (frames) starting by {@code int id, byte type, byte flags}
+ * where the type is {@link #HEADERS} ({@code short status, short headerCount, (string name, string value)*}),
+ * {@link #DATA} (the rest of the message is a chunk of the payload) or {@link #END} (no content).
+ * The id is chosen by the client and identifies the request a frame belongs to so several requests can be in
+ * flight on the same socket.
+ */
+@NoArgsConstructor(access = PRIVATE)
+public final class BinaryFrames {
+
+    /**
+     * The body (request) or the chunk (data frame) is compressed with {@link Deflater}.
+     */
+    public static final byte FLAG_DEFLATED = 1;
+
+    /**
+     * The client accepts compressed data frames.
+     */
+    public static final byte FLAG_ACCEPT_DEFLATE = 2;
+
+    public static final byte HEADERS = 1;
+
+    public static final byte DATA = 2;
+
+    public static final byte END = 3;
+
+    // compressing tiny chunks costs more than it saves
+    private static final int MIN_DEFLATE_SIZE = 512;
+
+    public static ByteBuffer encodeRequest(final Request request, final boolean deflate) {
+        return write(out -> {
+            final byte[] body = request.getBody() == null ? new byte[0] : request.getBody();
+            final boolean deflated = deflate && body.length >= MIN_DEFLATE_SIZE;
+            out.writeInt(request.getId());
+            out.writeByte((deflated ? FLAG_DEFLATED : 0) | (request.isAcceptDeflate() ? FLAG_ACCEPT_DEFLATE : 0));
+            out.writeUTF(request.getMethod());
+            out.writeUTF(request.getDestination());
+            writeHeaders(out, request.getHeaders());
+            final byte[] payload = deflated ? deflate(body) : body;
+            out.writeInt(payload.length);
+            out.write(payload);
+        });
+    }
+
+    /**
+     * @param message the binary message.
+     * @param maxBodySize the maximum size of the body once inflated.
+     * @return the decoded request.
+     * @throws IllegalArgumentException if the message is invalid.
+     * @throws TooLargeException if its body is too big.
+     */
+    public static Request decodeRequest(final ByteBuffer message, final int maxBodySize) {
+        return read(message, in -> {
+            final Request request = new Request();
+            request.setId(in.readInt());
+            final byte flags = in.readByte();
+            request.setAcceptDeflate((flags & FLAG_ACCEPT_DEFLATE) != 0);
+            request.setMethod(in.readUTF());
+            request.setDestination(in.readUTF());
+            request.setHeaders(readHeaders(in));
+            final boolean deflated = (flags & FLAG_DEFLATED) != 0;
+            final int length = in.readInt();
+            if (length < 0 || length > in.available()) {
+                throw new IllegalArgumentException("Invalid body length: " + length);
+            }
+            if (!deflated && length > maxBodySize) {
+                throw new TooLargeException("Body bigger than " + maxBodySize + " bytes");
+            }
+            final byte[] body = new byte[length];
+            in.readFully(body);
+            request.setBody(deflated ? inflate(body, maxBodySize) : body);
+            return request;
+        });
+    }
+
+    public static ByteBuffer encodeHeaders(final int id, final int status, final Map<String, List<String>> headers) {
+        return write(out -> {
+            out.writeInt(id);
+            out.writeByte(HEADERS);
+            out.writeByte(0);
+            out.writeShort(status);
+            writeHeaders(out, headers);
+        });
+    }
+
+    public static ByteBuffer encodeData(final int id, final byte[] chunk, final boolean deflate) {
+        final boolean deflated = deflate && chunk.length >= MIN_DEFLATE_SIZE;
+        final byte[] payload = deflated ? deflate(chunk) : chunk;
+        final ByteBuffer buffer = ByteBuffer.allocate(6 + payload.length);
+        buffer.putInt(id).put(DATA).put(deflated ? FLAG_DEFLATED : 0).put(payload);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static ByteBuffer encodeEnd(final int id) {
+        final ByteBuffer buffer = ByteBuffer.allocate(6);
+        buffer.putInt(id).put(END).put((byte) 0);
+        buffer.flip();
+        return buffer;
+    }
+
+    public static Frame decodeFrame(final ByteBuffer message) {
+        return read(message, in -> {
+            final Frame frame = new Frame();
+            frame.setId(in.readInt());
+            frame.setType(in.readByte());
+            final byte flags = in.readByte();
+            switch (frame.getType()) {
+            case HEADERS:
+                frame.setStatus(in.readUnsignedShort());
+                frame.setHeaders(readHeaders(in));
+                break;
+            case DATA:
+                final byte[] chunk = new byte[in.available()];
+                in.readFully(chunk);
+                frame.setData((flags & FLAG_DEFLATED) != 0 ? inflate(chunk, Integer.MAX_VALUE) : chunk);
+                break;
+            case END:
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown frame type: " + frame.getType());
+            }
+            return frame;
+        });
+    }
+
+    private static void writeHeaders(final DataOutputStream out, final Map<String, List<String>> headers)
+            throws IOException {
+        if (headers == null) {
+            out.writeShort(0);
+            return;
+        }
+        final List<String[]> values = new ArrayList<>(headers.size());
+        for (final Map.Entry<String, List<String>> header : headers.entrySet()) {
+            if (header.getValue() == null || header.getValue().isEmpty()) {
+                values.add(new String[] { header.getKey(), "" });
+                continue;
+            }
+            for (final String value : header.getValue()) {
+                values.add(new String[] { header.getKey(), value == null ? "" : value });
+            }
+        }
+        out.writeShort(values.size());
+        for (final String[] header : values) {
+            out.writeUTF(header[0]);
+            out.writeUTF(header[1]);
+        }
+    }
+
+    private static Map<String, List<String>> readHeaders(final DataInputStream in) throws IOException {
+        final int count = in.readUnsignedShort();
+        final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int i = 0; i < count; i++) {
+            final String name = in.readUTF();
+            headers.computeIfAbsent(name, k -> new ArrayList<>(1)).add(in.readUTF());
+        }
+        return headers;
+    }
+
+    private static byte[] deflate(final byte[] data) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(final byte[] data, final int maxSize) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            final ByteArrayOutputStream out =
+                    new ByteArrayOutputStream((int) Math.min(maxSize, Math.max(64, data.length * 2L)));
+            final byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                final int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated deflated payload");
+                }
+                if (out.size() + read > maxSize) { // don't let a tiny message exhaust the heap
+                    throw new TooLargeException("Inflated payload bigger than " + maxSize + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (final DataFormatException e) {
+            throw new IllegalArgumentException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static ByteBuffer write(final Writer writer) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (final DataOutputStream out = new DataOutputStream(buffer)) {
+            writer.write(out);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return ByteBuffer.wrap(buffer.toByteArray());
+    }
+
+    private static <T> T read(final ByteBuffer message, final Reader<T> reader) {
+        final byte[] bytes = new byte[message.remaining()];
+        message.get(bytes);
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            return reader.read(in);
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Invalid binary message", e);
+        }
+    }
+
+    private interface Writer {
+
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private interface Reader<T> {
+
+        T read(DataInputStream in) throws IOException;
+    }
+
+    @Data
+    public static class Request {
+
+        private int id;
+
+        private boolean acceptDeflate;
+
+        private String method;
+
+        private String destination;
+
+        private Map<String, List<String>> headers;
+
+        private byte[] body;
+    }
+
+    @Data
+    public static class Frame {
+
+        private int id;
+
+        private byte type;
+
+        private int status;
+
+        private Map<String, List<String>> headers;
+
+        private byte[] data;
+    }
+
+    // the message is valid but its body exceeds the allowed size
+    public static class TooLargeException extends IllegalArgumentException {
+
+        public TooLargeException(final String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,441 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.lang;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A cache bounded by the weight of its values (1 per entry by default).
+ *
+ * Reads are served by a {@link ConcurrentHashMap}, the eviction policy orders the entries by recency
+ * (least recently used first) and a new entry is only admitted if it is accessed more frequently than the entries
+ * it would evict (TinyLFU admission) so one-shot keys - typically distinct queries - don't evict hot entries.
+ * Accesses are buffered and replayed on the policy in batches so reads don't contend on its lock,
+ * and concurrent misses on a key compute its value once. A value computed while its key is cleared or removed
+ * is returned to its callers but not stored since it can derive from the removed state.
+ *
+ * @param <K> the key type.
+ * @param <V> the value type.
+ */
+public class BoundedCache<K, V> {
+
+    // accesses replayed on the policy at once
+    private static final int DRAIN_THRESHOLD = 64;
+
+    // above, accesses are dropped - the policy is an approximation anyway
+    private static final int MAX_PENDING_ACCESSES = 1024;
+
+    private final ConcurrentMap<K, V> data = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<K, Load<V>> loading = new ConcurrentHashMap<>();
+
+    // access ordered, guarded by lock
+    private final LinkedHashMap<K, Long> policy = new LinkedHashMap<>(16, .75f, true);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Queue<Access<K>> accesses = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger pendingAccesses = new AtomicInteger();
+
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    private final long maxWeight;
+
+    private final ToLongFunction<V> weigher;
+
+    private final Stats stats;
+
+    private long weight;
+
+    BoundedCache(final long maxWeight, final ToLongFunction<V> weigher, final Stats stats) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.stats = stats;
+    }
+
+    public V get(final K key) {
+        final V value = data.get(key);
+        onAccess(key, value != null);
+        return value;
+    }
+
+    public V computeIfAbsent(final K key, final Function<K, V> factory) {
+        final V existing = data.get(key);
+        if (existing != null) {
+            onAccess(key, true);
+            return existing;
+        }
+        onAccess(key, false);
+        final Load<V> loader = new Load<>();
+        final Load<V> inProgress = loading.putIfAbsent(key, loader);
+        if (inProgress != null) { // concurrent miss, wait for the value
+            try {
+                return inProgress.join();
+            } catch (final CompletionException ce) {
+                if (RuntimeException.class.isInstance(ce.getCause())) {
+                    throw RuntimeException.class.cast(ce.getCause());
+                }
+                throw ce;
+            }
+        }
+        try {
+            V value = data.get(key); // loaded before this thread registered its loader
+            if (value == null) {
+                value = factory.apply(key);
+                if (value != null) {
+                    lock.lock();
+                    try {
+                        if (!loader.invalidated) { // not cleared or removed while computing
+                            final V previous = data.putIfAbsent(key, value);
+                            if (previous != null) { // concurrently put
+                                value = previous;
+                            } else {
+                                admit(key, value);
+                            }
+                        }
+                    } finally {
+                        lock.unlock();
+                    }
+                }
+            }
+            loader.complete(value);
+            return value;
+        } catch (final RuntimeException | Error e) {
+            loader.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, loader);
+        }
+    }
+
+    public void put(final K key, final V value) {
+        data.put(key, value);
+        admit(key, value);
+    }
+
+    public boolean remove(final K key, final V value) {
+        if (data.remove(key, value)) {
+            lock.lock();
+            try {
+                onReplacement(policy.remove(key));
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @param predicate the keys to remove.
+     */
+    public void removeIf(final Predicate<K> predicate) {
+        lock.lock();
+        try {
+            final Iterator<Map.Entry<K, Long>> iterator = policy.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<K, Long> entry = iterator.next();
+                if (predicate.test(entry.getKey())) {
+                    iterator.remove();
+                    data.remove(entry.getKey());
+                    onRemoval(entry.getValue());
+                }
+            }
+            invalidateLoads(predicate);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void clear() {
+        lock.lock();
+        try {
+            stats.weight.addAndGet(-weight);
+            stats.size.addAndGet(-policy.size());
+            data.clear();
+            policy.clear();
+            weight = 0;
+            invalidateLoads(key -> true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // guarded by lock, next misses compute a new value instead of waiting for the invalidated ones
+    private void invalidateLoads(final Predicate<K> predicate) {
+        final Iterator<Map.Entry<K, Load<V>>> iterator = loading.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<K, Load<V>> load = iterator.next();
+            if (predicate.test(load.getKey())) {
+                load.getValue().invalidated = true;
+                iterator.remove();
+            }
+        }
+    }
+
+    public int size() {
+        return data.size();
+    }
+
+    private void onAccess(final K key, final boolean hit) {
+        (hit ? stats.hits : stats.misses).incrementAndGet();
+        final int pending = pendingAccesses.incrementAndGet();
+        if (pending > MAX_PENDING_ACCESSES) {
+            pendingAccesses.decrementAndGet();
+        } else {
+            accesses.add(new Access<>(key, hit));
+        }
+        if (pending >= DRAIN_THRESHOLD && lock.tryLock()) {
+            try {
+                drainAccesses();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // guarded by lock
+    private void drainAccesses() {
+        Access<K> access;
+        while ((access = accesses.poll()) != null) {
+            pendingAccesses.decrementAndGet();
+            sketch.increment(access.key.hashCode());
+            if (access.hit) {
+                policy.get(access.key); // refresh recency
+            }
+        }
+    }
+
+    private void admit(final K key, final V value) {
+        final long entryWeight = Math.max(0, weigher.applyAsLong(value));
+        lock.lock();
+        try {
+            if (data.get(key) != value) { // removed or replaced concurrently
+                return;
+            }
+            drainAccesses();
+            onReplacement(policy.put(key, entryWeight));
+            weight += entryWeight;
+            stats.weight.addAndGet(entryWeight);
+            stats.size.incrementAndGet();
+            if (entryWeight > maxWeight) {
+                evict(key);
+                stats.rejections.incrementAndGet();
+                return;
+            }
+            if (weight <= maxWeight) {
+                return;
+            }
+
+            // select the victims first to not lose them if the candidate is finally rejected
+            final int candidateFrequency = sketch.frequency(key.hashCode());
+            final Collection<Map.Entry<K, Long>> victims = new ArrayList<>();
+            long freed = 0;
+            for (final Map.Entry<K, Long> victim : policy.entrySet()) {
+                if (weight - freed <= maxWeight) {
+                    break;
+                }
+                if (Objects.equals(victim.getKey(), key)) {
+                    continue;
+                }
+                if (candidateFrequency < sketch.frequency(victim.getKey().hashCode())) {
+                    evict(key); // the victim is more popular, keep it
+                    stats.rejections.incrementAndGet();
+                    return;
+                }
+                victims.add(victim);
+                freed += victim.getValue();
+            }
+            for (final Map.Entry<K, Long> victim : victims) {
+                policy.remove(victim.getKey());
+                data.remove(victim.getKey());
+                onRemoval(victim.getValue());
+                stats.evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void evict(final K key) {
+        data.remove(key);
+        onRemoval(policy.remove(key));
+    }
+
+    private void onReplacement(final Long removedWeight) {
+        if (removedWeight != null) {
+            onRemoval(removedWeight);
+        }
+    }
+
+    private void onRemoval(final long removedWeight) {
+        weight -= removedWeight;
+        stats.weight.addAndGet(-removedWeight);
+        stats.size.decrementAndGet();
+    }
+
+    private static class Load<V> extends CompletableFuture<V> {
+
+        // guarded by the cache lock
+        private boolean invalidated;
+    }
+
+    private static class Access<K> {
+
+        private final K key;
+
+        private final boolean hit;
+
+        private Access(final K key, final boolean hit) {
+            this.key = key;
+            this.hit = hit;
+        }
+    }
+
+    /**
+     * Statistics of a cache, shared by all the caches created with the same name.
+     */
+    public static class Stats implements CacheMetrics {
+
+        private final AtomicLong hits = new AtomicLong();
+
+        private final AtomicLong misses = new AtomicLong();
+
+        private final AtomicLong evictions = new AtomicLong();
+
+        private final AtomicLong rejections = new AtomicLong();
+
+        private final AtomicLong size = new AtomicLong();
+
+        private final AtomicLong weight = new AtomicLong();
+
+        @Override
+        public long getHits() {
+            return hits.get();
+        }
+
+        @Override
+        public long getMisses() {
+            return misses.get();
+        }
+
+        @Override
+        public double getHitRatio() {
+            final long hitCount = hits.get();
+            final long total = hitCount + misses.get();
+            return total == 0 ? 0 : hitCount / (double) total;
+        }
+
+        @Override
+        public long getEvictions() {
+            return evictions.get();
+        }
+
+        @Override
+        public long getRejections() {
+            return rejections.get();
+        }
+
+        @Override
+        public long getSize() {
+            return size.get();
+        }
+
+        @Override
+        public long getWeight() {
+            return weight.get();
+        }
+    }
+
+    public interface CacheMetrics {
+
+        long getHits();
+
+        long getMisses();
+
+        double getHitRatio();
+
+        long getEvictions();
+
+        long getRejections();
+
+        long getSize();
+
+        long getWeight();
+    }
+
+    /**
+     * Count-min sketch of 4 bits counters estimating the access frequency of the keys,
+     * counters are halved periodically so the frequencies follow the recent traffic. Guarded by the cache lock.
+     */
+    private static class FrequencySketch {
+
+        private static final int SIZE = 4096; // power of 2
+
+        private static final int[] SEEDS = { 0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F };
+
+        private final byte[] counters = new byte[SIZE];
+
+        private int additions;
+
+        private void increment(final int hash) {
+            for (final int seed : SEEDS) {
+                final int index = index(hash, seed);
+                if (counters[index] < 15) {
+                    counters[index]++;
+                }
+            }
+            if (++additions >= SIZE * 10) {
+                for (int i = 0; i < counters.length; i++) {
+                    counters[i] >>= 1;
+                }
+                additions = 0;
+            }
+        }
+
+        private int frequency(final int hash) {
+            int min = Integer.MAX_VALUE;
+            for (final int seed : SEEDS) {
+                min = Math.min(min, counters[index(hash, seed)]);
+            }
+            return min;
+        }
+
+        private static int index(final int hash, final int seed) {
+            int h = hash * seed;
+            h ^= h >>> 16;
+            return h & (SIZE - 1);
+        }
+    }
+}
@@ -15,27 +15,67 @@
  */
 package org.talend.sdk.component.server.lang;
 
-import java.util.Iterator;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.ToLongFunction;
 
 import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.talend.sdk.component.server.service.jmx.JmxService;
+import org.talend.sdk.component.server.service.metrics.Metrics;
 
 @ApplicationScoped
 public class MapCache {
 
-    // simple - but enough - protection against too much entries in the cache
-    // this mainly targets ?query king of parameters
-    public <A, B> void evictIfNeeded(final ConcurrentMap<A, B> cache, final int maxSize) {
-        if (maxSize < 0) {
-            cache.clear();
-            return;
-        }
-        while (cache.size() > maxSize) {
-            final Iterator<Map.Entry<A, B>> iterator = cache.entrySet().iterator();
-            if (iterator.hasNext()) {
-                iterator.remove();
-            }
+    @Inject
+    private JmxService jmx;
+
+    @Inject
+    private Metrics metrics;
+
+    private final ConcurrentMap<String, BoundedCache.Stats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a cache bounded by its number of entries, mainly protecting the server against ?query kind of keys.
+     *
+     * @param name the cache name, caches sharing a name share their statistics.
+     * @param maxSize the max number of entries, a negative value disables the cache.
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return a new cache.
+     */
+    public <K, V> BoundedCache<K, V> create(final String name, final int maxSize) {
+        return create(name, Math.max(0, maxSize), v -> 1);
+    }
+
+    /**
+     * @param name the cache name, caches sharing a name share their statistics.
+     * @param maxWeight the max weight of the cache.
+     * @param weigher the weight of a value (its size in bytes for payloads for instance).
+     * @param <K> the key type.
+     * @param <V> the value type.
+     * @return a new cache.
+     */
+    public <K, V> BoundedCache<K, V> create(final String name, final long maxWeight, final ToLongFunction<V> weigher) {
+        return new BoundedCache<>(maxWeight, weigher, stats.computeIfAbsent(name, this::createStats));
+    }
+
+    private BoundedCache.Stats createStats(final String name) {
+        final BoundedCache.Stats stats =
+                jmx.register(new BoundedCache.Stats(), "type=cache,name=" + name, BoundedCache.CacheMetrics.class);
+        if (metrics.isActive()) {
+            metrics.counter("cache_hits_total", "Number of cache hits.", stats::getHits, "cache", name);
+            metrics.counter("cache_misses_total", "Number of cache misses.", stats::getMisses, "cache", name);
+            metrics
+                    .counter("cache_evictions_total", "Number of evicted cache entries.", stats::getEvictions, "cache",
+                            name);
+            metrics
+                    .counter("cache_rejections_total", "Number of entries not admitted in the cache.",
+                            stats::getRejections, "cache", name);
+            metrics.gauge("cache_size", "Number of cache entries.", stats::getSize, "cache", name);
+            metrics.gauge("cache_weight", "Weight of the cache entries.", stats::getWeight, "cache", name);
         }
+        return stats;
     }
 }
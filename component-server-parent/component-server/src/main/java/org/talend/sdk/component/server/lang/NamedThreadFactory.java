@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.lang;
+
+import java.util.concurrent.ThreadFactory;
+
+import org.talend.sdk.component.runtime.manager.util.Threads;
+
+/**
+ * Creates daemon threads named {@code <prefix>-<counter>} to identify the server pools in thread dumps.
+ * They are virtual threads when {@value Threads#VIRTUAL} is enabled on Java 21+, the pools keep their bounds.
+ */
+public class NamedThreadFactory implements ThreadFactory {
+
+    private final ThreadFactory delegate;
+
+    public NamedThreadFactory(final String prefix) {
+        this.delegate = Threads.newThreadFactory(prefix);
+    }
+
+    @Override
+    public Thread newThread(final Runnable r) {
+        return delegate.newThread(r);
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.lang;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+
+import org.talend.sdk.component.container.Container;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Key of a cache shared by all the plugins - their entries share its weight budget.
+ * The scope identifies a deployment of the plugin so a redeployed plugin never sees the entries of the previous one.
+ *
+ * @param <K> the key type in the plugin.
+ */
+@EqualsAndHashCode
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PluginScopedKey<K> {
+
+    @Getter
+    private final String plugin;
+
+    private final Scope scope;
+
+    @Getter
+    private final K key;
+
+    public static <K> PluginScopedKey<K> of(final Container container, final K key) {
+        return new PluginScopedKey<>(container.getId(), scopeOf(container), key);
+    }
+
+    /**
+     * @param plugin the plugin which was (un)deployed.
+     * @param current the current deployment of the plugin if any.
+     * @param <K> the key type.
+     * @return a predicate matching the keys of the previous deployments of the plugin.
+     */
+    public static <K> Predicate<PluginScopedKey<K>> stale(final String plugin, final Optional<Container> current) {
+        final Scope scope = current.map(PluginScopedKey::scopeOf).orElse(null);
+        return key -> key.plugin.equals(plugin) && key.scope != scope;
+    }
+
+    private static Scope scopeOf(final Container container) {
+        Scope scope = container.get(Scope.class);
+        if (scope == null) {
+            synchronized (container) {
+                scope = container.get(Scope.class);
+                if (scope == null) {
+                    scope = new Scope();
+                    container.set(Scope.class, scope);
+                }
+            }
+        }
+        return scope;
+    }
+
+    // identity based
+    private static class Scope {
+    }
+}
@@ -0,0 +1,482 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.Optional.ofNullable;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Response;
+
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.dao.ComponentActionDao;
+import org.talend.sdk.component.server.front.model.ErrorDictionary;
+import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.lang.BoundedCache;
+import org.talend.sdk.component.server.lang.MapCache;
+import org.talend.sdk.component.server.lang.NamedThreadFactory;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
+import org.talend.sdk.component.server.service.jmx.JmxService;
+
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Executes the actions in a bounded pool per plugin (bulkhead) to ensure a slow or blocked plugin
+ * can't use all the server threads. The executions waiting for a thread are bounded too and rejected (HTTP 503)
+ * when the queue is full and an execution taking longer than its timeout is cancelled (HTTP 504).
+ *
+ * Concurrent identical calls of idempotent action types are executed once and their result can be cached
+ * for a configurable duration per action type.
+ *
+ * Each action and plugin pool exposes its metrics as a MBean in {@code org.talend.sdk.component.server} domain.
+ */
+@ApplicationScoped
+public class ActionExecutionService {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Inject
+    private ComponentActionDao actionDao;
+
+    @Inject
+    private ComponentManagerService componentManagerService;
+
+    @Inject
+    private MapCache caches;
+
+    @Inject
+    private JmxService jmx;
+
+    private final ConcurrentMap<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ActionStats> stats = new ConcurrentHashMap<>();
+
+    private final Map<String, Long> timeouts = new HashMap<>();
+
+    private final Map<String, Long> cacheTtls = new HashMap<>();
+
+    private final Collection<String> coalescedTypes = new HashSet<>();
+
+    private final ConcurrentMap<ResultKey, CompletableFuture<Response>> inFlight = new ConcurrentHashMap<>();
+
+    private BoundedCache<ResultKey, CachedResult> results;
+
+    private final AtomicInteger cacheGeneration = new AtomicInteger();
+
+    private ScheduledExecutorService timer;
+
+    @PostConstruct
+    private void init() {
+        results = caches.create("actionResults", configuration.getActionCacheMaxSize());
+        readDurations(configuration.getActionTimeouts(), timeouts);
+        readDurations(configuration.getActionCacheTtl(), cacheTtls);
+        Stream
+                .of(configuration.getActionCoalescingTypes().split(","))
+                .map(String::trim)
+                .filter(it -> !it.isEmpty())
+                .forEach(coalescedTypes::add);
+        timer = Executors
+                .newSingleThreadScheduledExecutor(new NamedThreadFactory("talend-component-server-action-timer"));
+    }
+
+    public void clearCache(@Observes final DeployedComponent deployedComponent) {
+        cacheGeneration.incrementAndGet();
+        results.clear();
+        // running and queued actions complete with the old plugin, next ones get a new pool
+        ofNullable(bulkheads.remove(deployedComponent.getPlugin())).ifPresent(bulkhead -> {
+            jmx.unregister(bulkheadName(deployedComponent.getPlugin()));
+            bulkhead.executor.shutdown();
+        });
+    }
+
+    @PreDestroy
+    private void destroy() {
+        timer.shutdownNow();
+        bulkheads.values().forEach(it -> it.executor.shutdownNow());
+        bulkheads.clear();
+    }
+
+    /**
+     * @param family the action family.
+     * @param type the action type.
+     * @param action the action name.
+     * @param locale the request locale.
+     * @param params the action parameters, used with the locale to identify identical calls.
+     * @param task the action invocation, executed in the plugin pool.
+     * @return the action response, completed with a 503 if the plugin pool is saturated
+     * or a 504 if the action timeout is reached.
+     */
+    public CompletableFuture<Response> execute(final String family, final String type, final String action,
+            final Locale locale, final Map<String, String> params, final Supplier<Response> task) {
+        final ActionStats actionStats = stats
+                .computeIfAbsent(family + '/' + type + '/' + action,
+                        key -> jmx
+                                .register(new ActionStats(),
+                                        "type=action,family=" + ObjectName.quote(family) + ",actionType="
+                                                + ObjectName.quote(type) + ",name=" + ObjectName.quote(action),
+                                        ActionMetrics.class));
+        if (!coalescedTypes.contains(type)) {
+            return doExecute(family, type, action, locale, task, actionStats);
+        }
+
+        final ResultKey key = new ResultKey(family, type, action, toKey(locale), new TreeMap<>(params));
+        final CachedResult cached = results.get(key);
+        if (cached != null) {
+            if (cached.expiresAt > System.currentTimeMillis()) {
+                actionStats.cacheHits.incrementAndGet();
+                return completedFuture(copy(cached.response));
+            }
+            results.remove(key, cached);
+        }
+
+        final CompletableFuture<Response> execution = new CompletableFuture<>();
+        final CompletableFuture<Response> existing = inFlight.putIfAbsent(key, execution);
+        if (existing != null) {
+            actionStats.coalesced.incrementAndGet();
+            return existing.thenApply(this::copy);
+        }
+        actionStats.cacheMisses.incrementAndGet();
+        final long ttl = cacheTtls.getOrDefault(type, 0L);
+        final int generation = cacheGeneration.get();
+        doExecute(family, type, action, locale, task, actionStats).whenComplete((response, error) -> {
+            if (error == null && ttl > 0 && response.getStatus() == Response.Status.OK.getStatusCode()
+                    && generation == cacheGeneration.get()) { // not computed with an undeployed plugin
+                results.put(key, new CachedResult(response, System.currentTimeMillis() + ttl));
+            }
+            inFlight.remove(key, execution);
+            if (error != null) {
+                execution.completeExceptionally(error);
+            } else {
+                execution.complete(response);
+            }
+        });
+        // the same response instance can't be written by multiple requests
+        return execution.thenApply(this::copy);
+    }
+
+    private CompletableFuture<Response> doExecute(final String family, final String type, final String action,
+            final Locale locale, final Supplier<Response> task, final ActionStats actionStats) {
+        final long start = System.nanoTime();
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        result.whenComplete((response, error) -> actionStats.onResponse(System.nanoTime() - start, response, error));
+
+        if (!configuration.getActionAsync()) {
+            run(task, result);
+            return result;
+        }
+
+        final String plugin = ofNullable(actionDao.findPluginBy(family, type, action)).orElse(family);
+        final Supplier<Response> localizedTask = componentManagerService.withCurrentLocale(locale, task);
+        final Future<?> execution;
+        try {
+            execution = submit(plugin, () -> run(localizedTask, result));
+        } catch (final RejectedExecutionException ree) {
+            actionStats.rejected.incrementAndGet();
+            result
+                    .completeExceptionally(new CompletionException(error(Response.Status.SERVICE_UNAVAILABLE,
+                            "Too many actions are running for plugin '" + plugin + "', retry later")));
+            return result;
+        }
+
+        final long timeout =
+                timeouts.getOrDefault(family + '/' + type + '/' + action, configuration.getActionTimeout());
+        if (timeout > 0) {
+            final ScheduledFuture<?> timeoutTask = timer.schedule(() -> {
+                if (result
+                        .completeExceptionally(new CompletionException(error(Response.Status.GATEWAY_TIMEOUT,
+                                "Action '" + action + "' didn't complete in " + timeout + "ms")))) {
+                    actionStats.timeouts.incrementAndGet();
+                    execution.cancel(true);
+                }
+            }, timeout, MILLISECONDS);
+            result.whenComplete((r, e) -> timeoutTask.cancel(false));
+        }
+        return result;
+    }
+
+    private Future<?> submit(final String plugin, final Runnable task) {
+        while (true) {
+            final Bulkhead bulkhead = bulkheads.computeIfAbsent(plugin, this::newBulkhead);
+            try {
+                return bulkhead.executor.submit(task);
+            } catch (final RejectedExecutionException ree) {
+                if (!bulkhead.executor.isShutdown()) {
+                    bulkhead.rejected.incrementAndGet();
+                    throw ree;
+                } // else the plugin was redeployed concurrently, retry with the new pool
+            }
+        }
+    }
+
+    private void run(final Supplier<Response> task, final CompletableFuture<Response> result) {
+        try {
+            result.complete(task.get());
+        } catch (final CompletionException ce) {
+            result.completeExceptionally(ce);
+        } catch (final RuntimeException | Error e) {
+            result.completeExceptionally(new CompletionException(e));
+        }
+    }
+
+    // the full tag since messages can depend on the country or script and not only on the language
+    private String toKey(final Locale locale) {
+        final String tag = locale.toLanguageTag();
+        return "und".equals(tag) ? locale.toString() : tag; // ill-formed locales must not share the same key
+    }
+
+    private Response copy(final Response response) {
+        return Response.fromResponse(response).build();
+    }
+
+    private void readDurations(final Optional<String> config, final Map<String, Long> durations) {
+        config.ifPresent(value -> {
+            final Properties properties = new Properties();
+            try (final StringReader reader = new StringReader(value)) {
+                properties.load(reader);
+            } catch (final IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+            properties
+                    .stringPropertyNames()
+                    .forEach(key -> durations.put(key.trim(), Long.parseLong(properties.getProperty(key).trim())));
+        });
+    }
+
+    private WebApplicationException error(final Response.Status status, final String message) {
+        return new WebApplicationException(
+                Response.status(status).entity(new ErrorPayload(ErrorDictionary.ACTION_ERROR, message)).build());
+    }
+
+    private Bulkhead newBulkhead(final String plugin) {
+        final int threads = Math.max(1, configuration.getActionBulkheadThreads());
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, configuration.getActionBulkheadQueueSize())),
+                new NamedThreadFactory("talend-component-server-action-" + plugin),
+                new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return jmx.register(new Bulkhead(executor), bulkheadName(plugin), BulkheadMetrics.class);
+    }
+
+    private String bulkheadName(final String plugin) {
+        return "type=bulkhead,name=" + ObjectName.quote(plugin);
+    }
+
+    public interface ActionMetrics {
+
+        long getCalls();
+
+        long getErrors();
+
+        long getTimeouts();
+
+        long getRejected();
+
+        long getMeanDuration();
+
+        long getMaxDuration();
+
+        long getCacheHits();
+
+        long getCacheMisses();
+
+        long getCoalesced();
+    }
+
+    public interface BulkheadMetrics {
+
+        int getActiveThreads();
+
+        int getQueueSize();
+
+        int getRemainingQueueCapacity();
+
+        long getCompletedTasks();
+
+        long getRejected();
+    }
+
+    private static class ActionStats implements ActionMetrics {
+
+        private final AtomicLong calls = new AtomicLong();
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private final AtomicLong timeouts = new AtomicLong();
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private final AtomicLong totalDuration = new AtomicLong();
+
+        private final AtomicLong maxDuration = new AtomicLong();
+
+        private final AtomicLong cacheHits = new AtomicLong();
+
+        private final AtomicLong cacheMisses = new AtomicLong();
+
+        private final AtomicLong coalesced = new AtomicLong();
+
+        private void onResponse(final long duration, final Response response, final Throwable error) {
+            calls.incrementAndGet();
+            if (error != null || response.getStatus() >= 400) {
+                errors.incrementAndGet();
+            }
+            final long millis = NANOSECONDS.toMillis(duration);
+            totalDuration.addAndGet(millis);
+            maxDuration.accumulateAndGet(millis, Math::max);
+        }
+
+        @Override
+        public long getCalls() {
+            return calls.get();
+        }
+
+        @Override
+        public long getErrors() {
+            return errors.get();
+        }
+
+        @Override
+        public long getTimeouts() {
+            return timeouts.get();
+        }
+
+        @Override
+        public long getRejected() {
+            return rejected.get();
+        }
+
+        @Override
+        public long getMeanDuration() {
+            final long count = calls.get();
+            return count == 0 ? 0 : totalDuration.get() / count;
+        }
+
+        @Override
+        public long getMaxDuration() {
+            return maxDuration.get();
+        }
+
+        @Override
+        public long getCacheHits() {
+            return cacheHits.get();
+        }
+
+        @Override
+        public long getCacheMisses() {
+            return cacheMisses.get();
+        }
+
+        @Override
+        public long getCoalesced() {
+            return coalesced.get();
+        }
+    }
+
+    private static class Bulkhead implements BulkheadMetrics {
+
+        private final ThreadPoolExecutor executor;
+
+        private final AtomicLong rejected = new AtomicLong();
+
+        private Bulkhead(final ThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public int getActiveThreads() {
+            return executor.getActiveCount();
+        }
+
+        @Override
+        public int getQueueSize() {
+            return executor.getQueue().size();
+        }
+
+        @Override
+        public int getRemainingQueueCapacity() {
+            return executor.getQueue().remainingCapacity();
+        }
+
+        @Override
+        public long getCompletedTasks() {
+            return executor.getCompletedTaskCount();
+        }
+
+        @Override
+        public long getRejected() {
+            return rejected.get();
+        }
+    }
+
+    @Data
+    private static class ResultKey {
+
+        private final String family;
+
+        private final String type;
+
+        private final String action;
+
+        private final String locale;
+
+        private final Map<String, String> params;
+    }
+
+    @RequiredArgsConstructor
+    private static class CachedResult {
+
+        private final Response response;
+
+        private final long expiresAt;
+    }
+}
@@ -61,6 +61,7 @@ import org.talend.sdk.component.server.dao.ComponentDao;
 import org.talend.sdk.component.server.dao.ComponentFamilyDao;
 import org.talend.sdk.component.server.dao.ConfigurationDao;
 import org.talend.sdk.component.server.service.event.DeployedComponent;
+import org.talend.sdk.component.server.service.metrics.Metrics;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -101,6 +102,9 @@ public class ComponentManagerService {
     @Inject
     private LocaleMapper localeMapper;
 
+    @Inject
+    private Metrics metrics;
+
     private ComponentManager instance;
 
     private MvnCoordinateToFileConverter mvnCoordinateToFileConverter;
@@ -109,6 +113,8 @@ public class ComponentManagerService {
 
     private volatile Date lastUpdated = new Date();
 
+    private final ThreadLocal<Locale> boundLocale = new ThreadLocal<>();
+
     private boolean started;
 
     public void startupLoad(@Observes @Initialized(ApplicationScoped.class) final Object start) {
@@ -139,7 +145,10 @@ public class ComponentManagerService {
             }
         };
         deploymentListener = new DeploymentListener(componentDao, componentFamilyDao, actionDao, configurationDao,
-                virtualDependenciesService);
+                virtualDependenciesService, metrics);
+        if (metrics.isActive()) {
+            metrics.gauge("plugins", "Number of deployed plugins.", () -> instance.getContainer().findAll().size());
+        }
         instance.getContainer().registerListener(deploymentListener);
 
         // note: we don't want to download anything from the manager, if we need to download any artifact we need
@@ -172,7 +181,46 @@ public class ComponentManagerService {
         started = true;
     }
 
+    /**
+     * Binds the locale of the current request to a task executed in another thread.
+     *
+     * @param task the task to execute outside of the request thread.
+     * @param <T> the task result type.
+     * @return a task using the current request locale.
+     */
+    public <T> Supplier<T> withCurrentLocale(final Supplier<T> task) {
+        return withCurrentLocale(readCurrentLocale(), task);
+    }
+
+    /**
+     * Binds the locale of a request to a task executed in another thread (where the request is not available).
+     *
+     * @param locale the locale of the request.
+     * @param task the task to execute outside of the request thread.
+     * @param <T> the task result type.
+     * @return a task using the request locale as current locale.
+     */
+    public <T> Supplier<T> withCurrentLocale(final Locale locale, final Supplier<T> task) {
+        return () -> {
+            final Locale old = boundLocale.get();
+            boundLocale.set(locale);
+            try {
+                return task.get();
+            } finally {
+                if (old == null) {
+                    boundLocale.remove();
+                } else {
+                    boundLocale.set(old);
+                }
+            }
+        };
+    }
+
     private Locale readCurrentLocale() {
+        final Locale bound = boundLocale.get();
+        if (bound != null) {
+            return bound;
+        }
         try {
             return ofNullable(uriInfo.getQueryParameters().getFirst("lang"))
                     .map(localeMapper::mapLocale)
@@ -197,11 +245,17 @@ public class ComponentManagerService {
                 .orElseThrow(() -> new IllegalArgumentException("Plugin GAV can't be empty"));
 
         final Path m2 = instance.getContainer().getRootRepositoryLocationPath();
+        final long start = System.nanoTime();
         final String plugin =
                 instance.addWithLocationPlugin(pluginGAV, m2.resolve(pluginPath).toAbsolutePath().toString());
+        if (metrics.isActive()) {
+            metrics
+                    .histogram("plugin_deployment_duration_seconds", "Duration of the plugin deployments.")
+                    .record((System.nanoTime() - start) / 1000);
+        }
         lastUpdated = new Date();
         if (started) {
-            deployedComponentEvent.fire(new DeployedComponent());
+            deployedComponentEvent.fire(new DeployedComponent(plugin));
         }
         return plugin;
     }
@@ -219,6 +273,9 @@ public class ComponentManagerService {
 
         instance.removePlugin(pluginID);
         lastUpdated = new Date();
+        if (started) {
+            deployedComponentEvent.fire(new DeployedComponent(pluginID));
+        }
     }
 
     public Date findLastUpdated() {
@@ -238,13 +295,33 @@ public class ComponentManagerService {
 
         private final VirtualDependenciesService virtualDependenciesService;
 
+        private final Metrics metrics;
+
         @Override
         public void onCreate(final Container container) {
             container.set(CleanupTask.class, new CleanupTask(postDeploy(container)));
+            if (metrics.isActive()) {
+                final int entries = container.getLoader().getURLs().length;
+                final long bytes = container.findExistingClasspathFiles().mapToLong(file -> {
+                    try {
+                        return Files.size(file);
+                    } catch (final IOException e) {
+                        return 0;
+                    }
+                }).sum();
+                metrics
+                        .gauge("plugin_classpath_entries", "Number of entries in the plugin classloader.",
+                                () -> entries, "plugin", container.getId());
+                metrics
+                        .gauge("plugin_classpath_bytes", "Size of the plugin classpath files.", () -> bytes, "plugin",
+                                container.getId());
+            }
         }
 
         @Override
         public void onClose(final Container container) {
+            metrics.remove("plugin_classpath_entries", "plugin", container.getId());
+            metrics.remove("plugin_classpath_bytes", "plugin", container.getId());
             if (container.getState() == Container.State.ON_ERROR) {
                 // means it was not deployed so don't drop old state
                 return;
@@ -271,7 +348,7 @@ public class ComponentManagerService {
                     .getServices()
                     .stream()
                     .flatMap(c -> c.getActions().stream())
-                    .map(actionDao::createOrUpdate)
+                    .map(action -> actionDao.createOrUpdate(plugin.getId(), action))
                     .collect(toList());
 
             final Collection<String> families = plugin
@@ -25,19 +25,27 @@ import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
 import javax.inject.Inject;
 
 import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
 import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.lang.BoundedCache;
+import org.talend.sdk.component.server.lang.MapCache;
+import org.talend.sdk.component.server.lang.PluginScopedKey;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @ApplicationScoped
@@ -46,12 +54,24 @@ public class IconResolver {
     @Inject
     private ComponentServerConfiguration componentServerConfiguration;
 
+    @Inject
+    private MapCache caches;
+
+    @Inject
+    private ComponentManager manager;
+
     private boolean supportsSvg;
 
     private List<String> patterns;
 
+    // shared by all the plugins to bound the memory whatever the number of plugins is
+    private BoundedCache<PluginScopedKey<String>, Optional<Icon>> icons;
+
     @PostConstruct
     protected void init() {
+        icons = caches
+                .create("icons", componentServerConfiguration.getCacheMaxWeight(),
+                        (Optional<Icon> value) -> value.map(it -> it.getBytes().length).orElse(0));
         supportsSvg = System.getProperty("talend.studio.version") == null
                 && componentServerConfiguration.getIconExtensions().stream().anyMatch(it -> it.endsWith(".svg"));
         patterns = isSupportsSvg() ? componentServerConfiguration.getIconExtensions()
@@ -62,6 +82,12 @@ public class IconResolver {
                         .collect(toList());
     }
 
+    public void onDeploy(@Observes final DeployedComponent deployedComponent) {
+        icons
+                .removeIf(PluginScopedKey
+                        .stale(deployedComponent.getPlugin(), manager.findPlugin(deployedComponent.getPlugin())));
+    }
+
     protected boolean isSupportsSvg() {
         return supportsSvg;
     }
@@ -93,19 +119,9 @@ public class IconResolver {
             return null;
         }
 
-        Cache cache = container.get(Cache.class);
-        if (cache == null) {
-            synchronized (container) {
-                cache = container.get(Cache.class);
-                if (cache == null) {
-                    cache = new Cache();
-                    container.set(Cache.class, cache);
-                }
-            }
-        }
         final ClassLoader appLoader = Thread.currentThread().getContextClassLoader();
-        return cache.icons
-                .computeIfAbsent(icon,
+        return icons
+                .computeIfAbsent(PluginScopedKey.of(container, icon),
                         k -> ofNullable(getOverridenIcon(icon, appLoader)
                                 .orElseGet(() -> doLoad(container.getLoader(), icon)
                                         .orElseGet(() -> doLoad(appLoader, icon).orElse(null)))))
@@ -134,8 +150,10 @@ public class IconResolver {
     }
 
     private Optional<Icon> loadIcon(final ClassLoader loader, final String path) {
-        return ofNullable(loader.getResourceAsStream(path))
-                .map(resource -> new Icon(getType(path.toLowerCase(ROOT)), toBytes(resource)));
+        return ofNullable(loader.getResourceAsStream(path)).map(resource -> {
+            final byte[] bytes = toBytes(resource);
+            return new Icon(getType(path.toLowerCase(ROOT)), bytes);
+        });
     }
 
     private String getType(final String path) {
@@ -148,17 +166,33 @@ public class IconResolver {
         throw new IllegalArgumentException("Unsupported icon type: " + path);
     }
 
-    private static class Cache {
-
-        private final ConcurrentMap<String, Optional<Icon>> icons = new ConcurrentHashMap<>();
-    }
-
     @Data
+    @AllArgsConstructor
     public static class Icon {
 
         private final String type;
 
         private final byte[] bytes;
+
+        /**
+         * Content hash of the icon, usable as an ETag.
+         */
+        private final String hash;
+
+        public Icon(final String type, final byte[] bytes) {
+            this(type, bytes, hash(bytes));
+        }
+    }
+
+    private static String hash(final byte[] bytes) {
+        try {
+            return Base64
+                    .getUrlEncoder()
+                    .withoutPadding()
+                    .encodeToString(MessageDigest.getInstance("SHA-1").digest(bytes));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private byte[] toBytes(final InputStream resource) {
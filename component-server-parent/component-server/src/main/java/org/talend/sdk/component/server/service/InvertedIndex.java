@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Indexes entries by the values of their query fields to let
+ * {@link SimpleQueryLanguageCompiler#compileIndexQuery(String, java.util.Collection)} select them
+ * without evaluating each of them.
+ * The index is populated once and then only read so it is not thread safe during its population.
+ *
+ * @param <T> the indexed entry type.
+ */
+public class InvertedIndex<T> implements SimpleQueryLanguageCompiler.Index {
+
+    // keeps the indexation order to return the entries in a stable order
+    private final Map<String, T> entries = new LinkedHashMap<>();
+
+    private final Map<String, Map<String, Set<String>>> postings = new HashMap<>();
+
+    private final Map<String, Set<String>> presence = new HashMap<>();
+
+    /**
+     * @param id the entry identifier.
+     * @param entry the entry.
+     * @param values the value of each field of the entry, maps are indexed per key ({@code field[key]}).
+     */
+    public void add(final String id, final T entry, final Map<String, Object> values) {
+        entries.put(id, entry);
+        values.forEach((field, value) -> {
+            index(id, field, value);
+            if (Map.class.isInstance(value)) {
+                ((Map<?, ?>) value).forEach((key, item) -> index(id, field + '[' + key + ']', item));
+            }
+        });
+    }
+
+    public Stream<T> select(final Function<SimpleQueryLanguageCompiler.Index, Set<String>> query) {
+        final Set<String> ids = query.apply(this);
+        if (ids.isEmpty()) {
+            return Stream.empty();
+        }
+        return entries.entrySet().stream().filter(it -> ids.contains(it.getKey())).map(Map.Entry::getValue);
+    }
+
+    @Override
+    public Set<String> all() {
+        return unmodifiableSet(entries.keySet());
+    }
+
+    @Override
+    public Set<String> find(final String field, final String value) {
+        final Set<String> matching =
+                postings.getOrDefault(field, emptyMap()).getOrDefault(String.valueOf(value), emptySet());
+        if (value != null) {
+            return matching;
+        }
+        // the entries without this field match null too
+        final Set<String> indexed = presence.getOrDefault(field, emptySet());
+        final Set<String> ids = new HashSet<>(matching);
+        entries.keySet().stream().filter(it -> !indexed.contains(it)).forEach(ids::add);
+        return ids;
+    }
+
+    private void index(final String id, final String field, final Object value) {
+        if (value == null) {
+            return;
+        }
+        presence.computeIfAbsent(field, k -> new HashSet<>()).add(id);
+        postings
+                .computeIfAbsent(field, k -> new HashMap<>())
+                .computeIfAbsent(String.valueOf(value), k -> new HashSet<>())
+                .add(id);
+    }
+}
@@ -0,0 +1,136 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Initialized;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+import javax.ws.rs.WebApplicationException;
+
+import org.talend.sdk.component.container.Container;
+import org.talend.sdk.component.runtime.manager.ComponentFamilyMeta;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
+import org.talend.sdk.component.server.api.DocumentationResource;
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.lang.NamedThreadFactory;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads the icons and documentation of the deployed plugins in background (at startup and when a plugin is
+ * deployed) so the first UI requests, which generally load all of them, hit the caches.
+ */
+@Slf4j
+@ApplicationScoped
+public class ResourcesPrerenderer {
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    @Inject
+    private ComponentManager manager;
+
+    @Inject
+    private IconResolver iconResolver;
+
+    @Inject
+    private DocumentationResource documentation;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    private void init() {
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(1, 1, 60, SECONDS, new LinkedBlockingQueue<>(),
+                new NamedThreadFactory("talend-component-server-prerendering"));
+        pool.allowCoreThreadTimeOut(true);
+        executor = pool;
+    }
+
+    @PreDestroy
+    private void destroy() {
+        executor.shutdownNow();
+    }
+
+    public void onStart(@Observes @Initialized(ApplicationScoped.class) final Object start) {
+        if (configuration.getPrerenderingActive()) {
+            manager.find(Stream::of).forEach(this::prerender);
+        }
+    }
+
+    public void onDeploy(@Observes final DeployedComponent deployedComponent) {
+        if (configuration.getPrerenderingActive()) {
+            manager.findPlugin(deployedComponent.getPlugin()).ifPresent(this::prerender);
+        }
+    }
+
+    private void prerender(final Container container) {
+        // the server loader is used to resolve overriden and built-in icons
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        executor.execute(() -> {
+            final Thread thread = Thread.currentThread();
+            final ClassLoader old = thread.getContextClassLoader();
+            thread.setContextClassLoader(loader);
+            try {
+                doPrerender(container);
+            } catch (final RuntimeException re) { // the plugin can be undeployed in between
+                log.debug("Can't prerender '{}': {}", container.getId(), re.getMessage(), re);
+            } finally {
+                thread.setContextClassLoader(old);
+            }
+        });
+    }
+
+    private void doPrerender(final Container container) {
+        final ContainerComponentRegistry registry = container.get(ContainerComponentRegistry.class);
+        if (registry == null || container.isClosed()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        registry.getComponents().values().forEach(family -> {
+            iconResolver.resolve(container, family.getIcon());
+            Stream
+                    .of(family.getPartitionMappers().values().stream(), family.getProcessors().values().stream(),
+                            family.getDriverRunners().values().stream())
+                    .flatMap(Function.identity())
+                    .forEach(component -> prerender(container, component));
+        });
+        log.debug("Prerendered '{}' in {}ms", container.getId(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void prerender(final Container container, final ComponentFamilyMeta.BaseMeta<?> component) {
+        iconResolver.resolve(container, component.getIcon());
+        Stream.of(DocumentationResource.DocumentationSegment.values()).forEach(segment -> {
+            try {
+                documentation.getDocumentation(component.getId(), "en", segment);
+            } catch (final WebApplicationException wae) {
+                // no documentation
+            }
+        });
+    }
+}
@@ -16,9 +16,13 @@
 package org.talend.sdk.component.server.service;
 
 import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toSet;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
@@ -40,13 +44,27 @@ public class SimpleQueryLanguageCompiler {
         if (query == null || query.trim().isEmpty()) {
             return t -> true;
         }
-        return doCompile(query.toCharArray(), 0, evaluators, TokenType.END).predicate;
+        return doCompile(query.toCharArray(), 0, new PredicateFactory<>(evaluators), TokenType.END).expression;
     }
 
-    public <T> SubExpression<T> doCompile(final char[] buffer, final int from,
-            final Map<String, Function<T, Object>> evaluators, final TokenType stopToken) {
-        Predicate<T> predicate = null;
-        BinaryOperator<Predicate<T>> combiner = null;
+    /**
+     * Compiles the query as set operations on an index instead of a predicate evaluated on each candidate.
+     *
+     * @param query the query to compile.
+     * @param fields the fields the query can use.
+     * @return a function selecting the identifiers matching the query in an index.
+     */
+    public Function<Index, Set<String>> compileIndexQuery(final String query, final Collection<String> fields) {
+        if (query == null || query.trim().isEmpty()) {
+            return Index::all;
+        }
+        return doCompile(query.toCharArray(), 0, new IndexQueryFactory(fields), TokenType.END).expression;
+    }
+
+    private <E> SubExpression<E> doCompile(final char[] buffer, final int from, final ExpressionFactory<E> factory,
+            final TokenType stopToken) {
+        E expression = null;
+        BinaryOperator<E> combiner = null;
 
         int index = from;
         while (true) {
@@ -69,30 +87,29 @@ public class SimpleQueryLanguageCompiler {
                 final Token expectedValueToken = nextToken(buffer, index);
                 if (expectedValueToken.type == TokenType.VALUE) {
                     index = moveIndex(buffer, expectedValueToken, false);
-                    final Predicate<T> expr =
-                            toPredicate(token.value, opToken.value, expectedValueToken.value, evaluators);
+                    final E expr = toExpression(token.value, opToken.value, expectedValueToken.value, factory);
 
-                    validateCombiner(predicate, combiner, token);
-                    predicate = predicate == null ? expr : combiner.apply(predicate, expr);
+                    validateCombiner(expression, combiner, token);
+                    expression = expression == null ? expr : combiner.apply(expression, expr);
                     combiner = null;
                     break;
                 }
                 throw new IllegalArgumentException("Unsupported token: " + token.type + " at index " + token.end);
             }
             case SUB_EXPRESSION_START:
-                final SubExpression<T> expr = doCompile(buffer, index, evaluators, TokenType.SUB_EXPRESSION_END);
-                validateCombiner(predicate, combiner, token);
-                predicate = predicate == null ? expr.predicate : combiner.apply(predicate, expr.predicate);
+                final SubExpression<E> expr = doCompile(buffer, index, factory, TokenType.SUB_EXPRESSION_END);
+                validateCombiner(expression, combiner, token);
+                expression = expression == null ? expr.expression : combiner.apply(expression, expr.expression);
                 combiner = null;
                 index = expr.end + 1;
                 break;
             case COMBINER:
                 switch (token.value) {
                 case "AND":
-                    combiner = Predicate::and;
+                    combiner = factory::and;
                     break;
                 case "OR":
-                    combiner = Predicate::or;
+                    combiner = factory::or;
                     break;
                 default:
                     throw new IllegalArgumentException("Unsupported combiner operator: " + token.type + " at index "
@@ -103,12 +120,11 @@ public class SimpleQueryLanguageCompiler {
                 throw new IllegalArgumentException("Unsupported token: " + token.type + " at index " + token.end);
             }
         }
-        return new SubExpression<>(index, predicate == null ? t -> true : predicate);
+        return new SubExpression<>(index, expression == null ? factory.all() : expression);
     }
 
-    private <T> void validateCombiner(final Predicate<T> predicate, final BinaryOperator<Predicate<T>> combiner,
-            final Token token) {
-        if (combiner == null && predicate != null) {
+    private <E> void validateCombiner(final E expression, final BinaryOperator<E> combiner, final Token token) {
+        if (combiner == null && expression != null) {
             throw new IllegalArgumentException("Missing combiner for predicate at index " + token.end);
         }
     }
@@ -122,15 +138,15 @@ public class SimpleQueryLanguageCompiler {
         return index;
     }
 
-    private <T> Predicate<T> toPredicate(final String key, final String operator, final String expectedValue,
-            final Map<String, Function<T, Object>> evaluators) {
-        final BiPredicate<String, String> comparator;
+    private <E> E toExpression(final String key, final String operator, final String expectedValue,
+            final ExpressionFactory<E> factory) {
+        final boolean equal;
         switch (operator) {
         case "=":
-            comparator = EQUAL_PREDICATE;
+            equal = true;
             break;
         case "!=":
-            comparator = DIFFERENT_PREDICATE;
+            equal = false;
             break;
         default:
             throw new IllegalArgumentException("unknown operator: '" + operator + "'");
@@ -139,22 +155,12 @@ public class SimpleQueryLanguageCompiler {
         if (mapExpr > 0) {
             final int endMapAccess = key.indexOf(']', mapExpr);
             if (endMapAccess > 0) {
-                final String mapName = key.substring(0, mapExpr);
-                final String mapKey = key.substring(mapExpr + 1, endMapAccess);
-                final Function<T, Object> evaluator = ofNullable(evaluators.get(mapName))
-                        .orElseThrow(() -> new IllegalArgumentException("Missing evaluator for '" + mapName + "'"));
-                return new ComparePredicate<>(comparator, t -> {
-                    final Object map = evaluator.apply(t);
-                    if (!Map.class.isInstance(map)) {
-                        throw new IllegalArgumentException(map + " is not a map");
-                    }
-                    return Map.class.cast(map).get(mapKey);
-                }, expectedValue);
+                return factory
+                        .compare(key.substring(0, mapExpr), key.substring(mapExpr + 1, endMapAccess), equal,
+                                expectedValue);
             }
         }
-        final Function<T, Object> evaluator = ofNullable(evaluators.get(key))
-                .orElseThrow(() -> new IllegalArgumentException("Missing evaluator for '" + key + "'"));
-        return new ComparePredicate<T>(comparator, evaluator, expectedValue);
+        return factory.compare(key, null, equal, expectedValue);
     }
 
     private Token nextToken(final char[] buffer, final int from) {
@@ -242,11 +248,11 @@ public class SimpleQueryLanguageCompiler {
 
     @ToString
     @RequiredArgsConstructor
-    private static class SubExpression<T> {
+    private static class SubExpression<E> {
 
         private final int end;
 
-        private final Predicate<T> predicate;
+        private final E expression;
     }
 
     private static class EqualPredicate implements BiPredicate<String, String> {
@@ -279,4 +285,126 @@ public class SimpleQueryLanguageCompiler {
             return comparator.test(String.valueOf(evaluator.apply(t)), expectedValue);
         }
     }
+
+    /**
+     * An inverted index, i.e. the identifiers of the indexed entries per field value.
+     */
+    public interface Index {
+
+        /**
+         * @return all the identifiers of the index.
+         */
+        Set<String> all();
+
+        /**
+         * @param field the field name, {@code name[key]} for a map entry.
+         * @param value the expected value, {@code null} matches the entries without this field.
+         * @return the identifiers of the entries with this value.
+         */
+        Set<String> find(String field, String value);
+    }
+
+    private interface ExpressionFactory<E> {
+
+        E all();
+
+        E compare(String field, String mapKey, boolean equal, String expectedValue);
+
+        E and(E left, E right);
+
+        E or(E left, E right);
+    }
+
+    @RequiredArgsConstructor
+    private class PredicateFactory<T> implements ExpressionFactory<Predicate<T>> {
+
+        private final Map<String, Function<T, Object>> evaluators;
+
+        @Override
+        public Predicate<T> all() {
+            return t -> true;
+        }
+
+        @Override
+        public Predicate<T> compare(final String field, final String mapKey, final boolean equal,
+                final String expectedValue) {
+            final BiPredicate<String, String> comparator = equal ? EQUAL_PREDICATE : DIFFERENT_PREDICATE;
+            final Function<T, Object> evaluator = ofNullable(evaluators.get(field))
+                    .orElseThrow(() -> new IllegalArgumentException("Missing evaluator for '" + field + "'"));
+            if (mapKey == null) {
+                return new ComparePredicate<>(comparator, evaluator, expectedValue);
+            }
+            return new ComparePredicate<>(comparator, t -> {
+                final Object map = evaluator.apply(t);
+                if (!Map.class.isInstance(map)) {
+                    throw new IllegalArgumentException(map + " is not a map");
+                }
+                return Map.class.cast(map).get(mapKey);
+            }, expectedValue);
+        }
+
+        @Override
+        public Predicate<T> and(final Predicate<T> left, final Predicate<T> right) {
+            return left.and(right);
+        }
+
+        @Override
+        public Predicate<T> or(final Predicate<T> left, final Predicate<T> right) {
+            return left.or(right);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class IndexQueryFactory implements ExpressionFactory<Function<Index, Set<String>>> {
+
+        private final Collection<String> fields;
+
+        @Override
+        public Function<Index, Set<String>> all() {
+            return Index::all;
+        }
+
+        @Override
+        public Function<Index, Set<String>> compare(final String field, final String mapKey, final boolean equal,
+                final String expectedValue) {
+            if (!fields.contains(field)) {
+                throw new IllegalArgumentException("Missing evaluator for '" + field + "'");
+            }
+            final String indexedField = mapKey == null ? field : field + '[' + mapKey + ']';
+            final String value = "null".equals(expectedValue) ? null : expectedValue;
+            if (equal) {
+                return index -> index.find(indexedField, value);
+            }
+            return index -> {
+                final Set<String> excluded = index.find(indexedField, value);
+                return index.all().stream().filter(it -> !excluded.contains(it)).collect(toSet());
+            };
+        }
+
+        @Override
+        public Function<Index, Set<String>> and(final Function<Index, Set<String>> left,
+                final Function<Index, Set<String>> right) {
+            return index -> {
+                final Set<String> leftIds = left.apply(index);
+                if (leftIds.isEmpty()) {
+                    return leftIds;
+                }
+                final Set<String> rightIds = right.apply(index);
+                final boolean leftSmaller = leftIds.size() < rightIds.size();
+                final Set<String> smaller = leftSmaller ? leftIds : rightIds;
+                final Set<String> bigger = leftSmaller ? rightIds : leftIds;
+                return smaller.stream().filter(bigger::contains).collect(toSet());
+            };
+        }
+
+        @Override
+        public Function<Index, Set<String>> or(final Function<Index, Set<String>> left,
+                final Function<Index, Set<String>> right) {
+            return index -> {
+                final Set<String> ids = new HashSet<>(left.apply(index));
+                ids.addAll(right.apply(index));
+                return ids;
+            };
+        }
+    }
 }
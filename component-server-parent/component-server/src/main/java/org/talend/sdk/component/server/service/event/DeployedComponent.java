@@ -17,6 +17,14 @@ package org.talend.sdk.component.server.service.event;
 
 import lombok.Data;
 
+/**
+ * Fired when a plugin is deployed or undeployed.
+ */
 @Data
 public class DeployedComponent {
+
+    /**
+     * The identifier of the plugin which changed.
+     */
+    private final String plugin;
 }
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.jmx;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collection;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registers the server metrics as MBeans in {@code org.talend.sdk.component.server} domain
+ * and unregisters them when the server stops.
+ */
+@Slf4j
+@ApplicationScoped
+public class JmxService {
+
+    private static final String DOMAIN = "org.talend.sdk.component.server";
+
+    private final Collection<ObjectName> registeredMBeans = new CopyOnWriteArrayList<>();
+
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    /**
+     * @param instance the metrics instance.
+     * @param name the object name properties (without the domain).
+     * @param api the interface exposed as MBean.
+     * @param <T> the metrics type.
+     * @return the instance.
+     */
+    public <T> T register(final T instance, final String name, final Class<? super T> api) {
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN + ':' + name);
+            mBeanServer.registerMBean(new StandardMBean(instance, (Class<Object>) api), objectName);
+            registeredMBeans.add(objectName);
+        } catch (final Exception e) { // metrics are not blocking
+            log.debug("Can't register {}: {}", name, e.getMessage());
+        }
+        return instance;
+    }
+
+    /**
+     * @param name the object name properties (without the domain) used at registration time.
+     */
+    public void unregister(final String name) {
+        try {
+            final ObjectName objectName = new ObjectName(DOMAIN + ':' + name);
+            if (registeredMBeans.remove(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final Exception e) {
+            log.debug("Can't unregister {}: {}", name, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    private void destroy() {
+        registeredMBeans.forEach(name -> {
+            try {
+                mBeanServer.unregisterMBean(name);
+            } catch (final Exception e) {
+                log.debug(e.getMessage(), e);
+            }
+        });
+        registeredMBeans.clear();
+    }
+}
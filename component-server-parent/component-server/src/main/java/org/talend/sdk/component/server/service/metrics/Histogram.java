@@ -0,0 +1,139 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free latency histogram recording microseconds in log-linear buckets (a power of 2 range is split
+ * in 64 linear sub-buckets) so percentiles are accurate to ~1.5% with a fixed memory footprint,
+ * the recording is a few atomic increments which makes it usable for always-on metrics.
+ */
+public class Histogram implements Metrics.HistogramMetrics {
+
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // values greater than 2^32us (~71mn) are recorded in the last bucket
+    private static final int MAX_VALUE_BITS = 32;
+
+    private static final long MAX_VALUE = (1L << MAX_VALUE_BITS) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(indexOf(MAX_VALUE) + 1);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(final long duration, final TimeUnit unit) {
+        record(unit.toMicros(duration));
+    }
+
+    public void record(final long micros) {
+        final long value = Math.min(Math.max(0, micros), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    /**
+     * @param quantile the quantile to compute (between 0 and 1).
+     * @return the highest value (in microseconds) of the bucket containing the quantile.
+     */
+    public long getValueAtQuantile(final double quantile) {
+        final long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        final long target = Math.max(1, (long) Math.ceil(Math.min(1, Math.max(0, quantile)) * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueOf(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public long getSum() {
+        return sum.sum();
+    }
+
+    @Override
+    public long getMax() {
+        return max.get();
+    }
+
+    @Override
+    public double getMean() {
+        final long total = count.sum();
+        return total == 0 ? 0 : sum.sum() / (double) total;
+    }
+
+    @Override
+    public long getP50() {
+        return getValueAtQuantile(.5);
+    }
+
+    @Override
+    public long getP90() {
+        return getValueAtQuantile(.9);
+    }
+
+    @Override
+    public long getP99() {
+        return getValueAtQuantile(.99);
+    }
+
+    @Override
+    public long getP999() {
+        return getValueAtQuantile(.999);
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestValueOf(final int index) {
+        if (index < SUB_BUCKETS * 2) {
+            return index;
+        }
+        final int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        final long mantissa = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
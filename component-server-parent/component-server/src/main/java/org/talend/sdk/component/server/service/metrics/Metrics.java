@@ -0,0 +1,303 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.metrics;
+
+import static java.util.stream.Collectors.joining;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.management.ObjectName;
+
+import org.talend.sdk.component.server.configuration.ComponentServerConfiguration;
+import org.talend.sdk.component.server.service.jmx.JmxService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Registry of the server metrics, they are exported in prometheus text format and as MBeans
+ * ({@code type=metric,name=<metric>,<tags>}).
+ * Metrics are identified by a name and tags (key/value pairs), callers on hot paths should keep the returned
+ * instance instead of looking it up for each recording.
+ */
+@ApplicationScoped
+public class Metrics {
+
+    private static final String PREFIX = "talend_component_server_";
+
+    private static final double[] QUANTILES = { .5, .9, .99, .999 };
+
+    private final ConcurrentMap<String, Family<?>> families = new ConcurrentSkipListMap<>();
+
+    @Inject
+    private JmxService jmx;
+
+    @Inject
+    private ComponentServerConfiguration configuration;
+
+    /**
+     * @return {@code true} if the metrics must be recorded, callers skip the recording otherwise.
+     */
+    public boolean isActive() {
+        return configuration.getMetricsActive();
+    }
+
+    /**
+     * @param name the metric name, durations are exported in seconds so it should end with {@code _seconds}.
+     * @param help the metric description.
+     * @param tags the metric tags as key/value pairs.
+     * @return the histogram of this name and tags.
+     */
+    public Histogram histogram(final String name, final String help, final String... tags) {
+        return this.<Histogram> family(name, help, Type.SUMMARY).get(tags, Histogram::new, HistogramMetrics.class);
+    }
+
+    public Counter counter(final String name, final String help, final String... tags) {
+        return this.<Counter> family(name, help, Type.COUNTER).get(tags, Counter::new, CounterMetrics.class);
+    }
+
+    /**
+     * Exports a count maintained by the caller, it must only increase.
+     *
+     * @param name the metric name, it should end with {@code _total}.
+     * @param help the metric description.
+     * @param value the current count.
+     * @param tags the metric tags as key/value pairs.
+     */
+    public void counter(final String name, final String help, final LongSupplier value, final String... tags) {
+        this
+                .<FunctionCounter> family(name, help, Type.COUNTER)
+                .get(tags, () -> new FunctionCounter(value), CounterMetrics.class);
+    }
+
+    public void gauge(final String name, final String help, final DoubleSupplier value, final String... tags) {
+        this.<Gauge> family(name, help, Type.GAUGE).get(tags, () -> new Gauge(value), GaugeMetrics.class);
+    }
+
+    /**
+     * Removes a metric, typically when the plugin it is about is undeployed.
+     *
+     * @param name the metric name.
+     * @param tags the metric tags.
+     */
+    public void remove(final String name, final String... tags) {
+        final Family<?> family = families.get(name);
+        if (family != null && family.metrics.remove(Arrays.asList(tags)) != null) {
+            jmx.unregister(family.objectName(tags));
+        }
+    }
+
+    public void write(final Writer writer) throws IOException {
+        for (final Family<?> family : families.values()) {
+            if (family.metrics.isEmpty()) {
+                continue;
+            }
+            final String name = PREFIX + family.name;
+            writer
+                    .append("# HELP ")
+                    .append(name)
+                    .append(' ')
+                    .append(family.help.replace("\\", "\\\\").replace("\n", "\\n"))
+                    .append('\n');
+            writer.append("# TYPE ").append(name).append(' ').append(family.type.prometheus).append('\n');
+            for (final Map.Entry<List<String>, ?> metric : family.metrics.entrySet()) {
+                final List<String> tags = metric.getKey();
+                switch (family.type) {
+                case SUMMARY:
+                    final Histogram histogram = Histogram.class.cast(metric.getValue());
+                    for (final double quantile : QUANTILES) {
+                        writeSample(writer, name, tags, "quantile", Double.toString(quantile),
+                                seconds(histogram.getValueAtQuantile(quantile)));
+                    }
+                    writeSample(writer, name + "_sum", tags, null, null, seconds(histogram.getSum()));
+                    writeSample(writer, name + "_count", tags, null, null, Long.toString(histogram.getCount()));
+                    break;
+                case COUNTER:
+                    writeSample(writer, name, tags, null, null,
+                            Long.toString(CounterMetrics.class.cast(metric.getValue()).getCount()));
+                    break;
+                default:
+                    writeSample(writer, name, tags, null, null,
+                            Double.toString(Gauge.class.cast(metric.getValue()).getValue()));
+                }
+            }
+        }
+    }
+
+    private void writeSample(final Writer writer, final String name, final List<String> tags, final String extraKey,
+            final String extraValue, final String value) throws IOException {
+        writer.append(name);
+        if (!tags.isEmpty() || extraKey != null) {
+            writer.append('{');
+            final String labels = IntStream
+                    .range(0, tags.size() / 2)
+                    .mapToObj(i -> tags.get(i * 2) + "=\"" + escape(tags.get(i * 2 + 1)) + '"')
+                    .collect(joining(","));
+            writer.append(labels);
+            if (extraKey != null) {
+                if (!labels.isEmpty()) {
+                    writer.append(',');
+                }
+                writer.append(extraKey).append("=\"").append(extraValue).append('"');
+            }
+            writer.append('}');
+        }
+        writer.append(' ').append(value).append('\n');
+    }
+
+    private String seconds(final long micros) {
+        return Double.toString(micros / 1_000_000.);
+    }
+
+    private String escape(final String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private <T> Family<T> family(final String name, final String help, final Type type) {
+        final Family<?> family = families.computeIfAbsent(name, n -> new Family<>(n, help, type, jmx));
+        if (family.type != type) {
+            throw new IllegalArgumentException("Metric '" + name + "' is already registered as a " + family.type);
+        }
+        return (Family<T>) family;
+    }
+
+    private enum Type {
+        SUMMARY("summary"),
+        COUNTER("counter"),
+        GAUGE("gauge");
+
+        private final String prometheus;
+
+        Type(final String prometheus) {
+            this.prometheus = prometheus;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Family<T> {
+
+        private final String name;
+
+        private final String help;
+
+        private final Type type;
+
+        private final JmxService jmx;
+
+        private final ConcurrentMap<List<String>, T> metrics = new ConcurrentHashMap<>();
+
+        private T get(final String[] tags, final Supplier<T> factory, final Class<? super T> api) {
+            if (tags.length % 2 != 0) {
+                throw new IllegalArgumentException("Tags must be key/value pairs: " + Arrays.toString(tags));
+            }
+            final List<String> key = Arrays.asList(tags);
+            final T existing = metrics.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            return metrics.computeIfAbsent(key, k -> jmx.register(factory.get(), objectName(tags), api));
+        }
+
+        private String objectName(final String[] tags) {
+            return "type=metric,name=" + name
+                    + IntStream
+                            .range(0, tags.length / 2)
+                            .mapToObj(i -> ',' + tags[i * 2] + '=' + ObjectName.quote(tags[i * 2 + 1]))
+                            .collect(joining());
+        }
+    }
+
+    public static class Counter implements CounterMetrics {
+
+        private final LongAdder count = new LongAdder();
+
+        public void increment() {
+            count.increment();
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class FunctionCounter implements CounterMetrics {
+
+        private final LongSupplier count;
+
+        @Override
+        public long getCount() {
+            return count.getAsLong();
+        }
+    }
+
+    @RequiredArgsConstructor
+    public static class Gauge implements GaugeMetrics {
+
+        private final DoubleSupplier value;
+
+        @Override
+        public double getValue() {
+            return value.getAsDouble();
+        }
+    }
+
+    /**
+     * Latencies exposed through JMX, all values are in microseconds.
+     */
+    public interface HistogramMetrics {
+
+        long getCount();
+
+        long getSum();
+
+        long getMax();
+
+        double getMean();
+
+        long getP50();
+
+        long getP90();
+
+        long getP99();
+
+        long getP999();
+    }
+
+    public interface CounterMetrics {
+
+        long getCount();
+    }
+
+    public interface GaugeMetrics {
+
+        double getValue();
+    }
+}
@@ -16,9 +16,13 @@
 package org.talend.sdk.component.server.front;
 
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -26,8 +30,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.GenericType;
@@ -36,10 +43,13 @@ import javax.ws.rs.core.Response;
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.junit.jupiter.api.Test;
 import org.talend.sdk.component.api.service.healthcheck.HealthCheckStatus;
+import org.talend.sdk.component.server.dao.ComponentActionDao;
 import org.talend.sdk.component.server.front.model.ActionItem;
 import org.talend.sdk.component.server.front.model.ActionList;
 import org.talend.sdk.component.server.front.model.ErrorDictionary;
 import org.talend.sdk.component.server.front.model.error.ErrorPayload;
+import org.talend.sdk.component.server.service.ActionExecutionService;
+import org.talend.sdk.component.server.service.event.DeployedComponent;
 
 @MonoMeecrowaveConfig
 class ActionResourceImplTest {
@@ -47,10 +57,16 @@ class ActionResourceImplTest {
     @Inject
     private WebTarget base;
 
+    @Inject
+    private ComponentActionDao actionDao;
+
+    @Inject
+    private ActionExecutionService actionExecutionService;
+
     @Test
     void index() {
         final ActionList index = base.path("action/index").request(APPLICATION_JSON_TYPE).get(ActionList.class);
-        assertEquals(10, index.getItems().size());
+        assertEquals(11, index.getItems().size());
 
         final List<ActionItem> items = new ArrayList<>(index.getItems());
         items.sort(Comparator.comparing(ActionItem::getName));
@@ -118,6 +134,69 @@ class ActionResourceImplTest {
         assertEquals("Action execution failed with: user exception", errorPayload.getDescription());
     }
 
+    @Test
+    void timeout() {
+        final Response error = base
+                .path("action/execute")
+                .queryParam("type", "user")
+                .queryParam("family", "custom")
+                .queryParam("action", "slow")
+                .request(APPLICATION_JSON_TYPE)
+                .post(Entity.entity(new HashMap<String, String>(), APPLICATION_JSON_TYPE));
+        assertEquals(504, error.getStatus());
+        final ErrorPayload errorPayload = error.readEntity(ErrorPayload.class);
+        assertEquals(ErrorDictionary.ACTION_ERROR, errorPayload.getCode());
+        assertEquals("Action 'slow' didn't complete in 500ms", errorPayload.getDescription());
+    }
+
+    @Test
+    void cachedResult() throws Exception {
+        final ObjectName name = new ObjectName(
+                "org.talend.sdk.component.server:type=action,family=\"custom\",actionType=\"suggestions\",name=\"forTests\"");
+        final Function<String, Response> call = value -> base
+                .path("action/execute")
+                .queryParam("type", "suggestions")
+                .queryParam("family", "custom")
+                .queryParam("action", "forTests")
+                .request(APPLICATION_JSON_TYPE)
+                .post(Entity.entity(singletonMap("i.m.a.virtual.configuration.entry", value), APPLICATION_JSON_TYPE));
+        assertEquals(200, call.apply("cached").getStatus());
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final long hits = Long.class.cast(server.getAttribute(name, "CacheHits"));
+        final long misses = Long.class.cast(server.getAttribute(name, "CacheMisses"));
+
+        assertEquals(200, call.apply("cached").getStatus());
+        assertEquals(hits + 1, server.getAttribute(name, "CacheHits"));
+        assertEquals(misses, server.getAttribute(name, "CacheMisses"));
+
+        assertEquals(200, call.apply("other").getStatus());
+        assertEquals(misses + 1, server.getAttribute(name, "CacheMisses"));
+    }
+
+    @Test
+    void bulkheadReleasedOnRedeploy() throws Exception {
+        final Supplier<Response> call = () -> base
+                .path("action/execute")
+                .queryParam("type", "suggestions")
+                .queryParam("family", "custom")
+                .queryParam("action", "forTests")
+                .request(APPLICATION_JSON_TYPE)
+                .post(Entity
+                        .entity(singletonMap("i.m.a.virtual.configuration.entry", "bulkhead"), APPLICATION_JSON_TYPE));
+        final String plugin = actionDao.findPluginBy("custom", "suggestions", "forTests");
+        final ObjectName name =
+                new ObjectName("org.talend.sdk.component.server:type=bulkhead,name=" + ObjectName.quote(plugin));
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(200, call.get().getStatus());
+        assertTrue(server.isRegistered(name));
+
+        actionExecutionService.clearCache(new DeployedComponent(plugin));
+        assertFalse(server.isRegistered(name));
+
+        assertEquals(200, call.get().getStatus());
+        assertTrue(server.isRegistered(name));
+    }
+
     @Test
     void testBackendException() {
         final Response error = base
@@ -19,6 +19,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.toMap;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
@@ -28,10 +29,13 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
 import javax.servlet.http.HttpServletResponse;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.client.WebTarget;
@@ -39,6 +43,7 @@ import javax.ws.rs.core.HttpHeaders;
 
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.server.api.BulkReadResource;
 import org.talend.sdk.component.server.front.model.BulkRequests;
 import org.talend.sdk.component.server.front.model.BulkResponses;
 import org.talend.sdk.component.server.test.ComponentClient;
@@ -124,6 +129,38 @@ class BulkReadResourceImplTest {
                 new String(results.get(2).getResponse(), StandardCharsets.UTF_8));
     }
 
+    @Test
+    void stream() throws Exception {
+        final BulkRequests.Request index = new BulkRequests.Request(HttpMethod.GET, null,
+                singletonMap(HttpHeaders.CONTENT_TYPE, singletonList(APPLICATION_JSON)), "/api/v1/component/index",
+                emptyMap());
+        final String lines = base
+                .path("bulk/stream")
+                .request(BulkReadResource.NDJSON)
+                .post(entity(
+                        new BulkRequests(asList(index,
+                                new BulkRequests.Request(HttpMethod.GET, null, emptyMap(),
+                                        "/api/v1/component/icon/1234", emptyMap()),
+                                new BulkRequests.Request(HttpMethod.GET, null,
+                                        singletonMap(HttpHeaders.CONTENT_TYPE, singletonList(APPLICATION_JSON)),
+                                        "/api/v1/documentation/component/" + client.getJdbcId(), emptyMap()),
+                                index)),
+                        APPLICATION_JSON_TYPE), String.class);
+        try (final Jsonb jsonb = JsonbBuilder.create()) {
+            final Map<Integer, BulkResponses.Result> results = Stream
+                    .of(lines.split("\n"))
+                    .map(line -> jsonb.fromJson(line, BulkResponses.IndexedResult.class))
+                    .collect(toMap(BulkResponses.IndexedResult::getIndex, BulkResponses.IndexedResult::getResult));
+            assertEquals(4, results.size());
+            IntStream.of(0, 2, 3).forEach(it -> assertEquals(HttpServletResponse.SC_OK, results.get(it).getStatus()));
+            assertEquals(HttpServletResponse.SC_FORBIDDEN, results.get(1).getStatus());
+            assertTrue(new String(results.get(3).getResponse(), StandardCharsets.UTF_8)
+                    .contains("\"pluginLocation\":\"org.talend.comp:jdbc-component:jar:0.0.1:compile\""));
+            assertTrue(new String(results.get(2).getResponse(), StandardCharsets.UTF_8)
+                    .startsWith("{\n  \"source\":\"== input"));
+        }
+    }
+
     @Test
     void forbidden() {
         final BulkResponses responses =
@@ -15,13 +15,21 @@
  */
 package org.talend.sdk.component.server.front;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toMap;
 import static javax.ws.rs.client.Entity.entity;
 import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static javax.ws.rs.core.MediaType.APPLICATION_OCTET_STREAM_TYPE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -30,6 +38,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Base64;
@@ -46,9 +55,14 @@ import java.util.jar.JarFile;
 import java.util.stream.IntStream;
 
 import javax.inject.Inject;
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
 import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.GenericType;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
 
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.apache.ziplock.IO;
@@ -63,9 +77,13 @@ import org.talend.sdk.component.server.front.model.ComponentIndex;
 import org.talend.sdk.component.server.front.model.ComponentIndices;
 import org.talend.sdk.component.server.front.model.Dependencies;
 import org.talend.sdk.component.server.front.model.DependencyDefinition;
+import org.talend.sdk.component.server.front.model.Icon;
+import org.talend.sdk.component.server.front.model.IconBundle;
 import org.talend.sdk.component.server.front.model.Link;
 import org.talend.sdk.component.server.front.model.PropertyValidation;
 import org.talend.sdk.component.server.front.model.SimplePropertyDefinition;
+import org.talend.sdk.component.server.front.websocket.BinaryFrames;
+import org.talend.sdk.component.server.service.ComponentManagerService;
 import org.talend.sdk.component.server.test.ComponentClient;
 import org.talend.sdk.component.server.test.websocket.WebsocketClient;
 
@@ -81,6 +99,85 @@ class ComponentResourceImplTest {
     @Inject
     private WebsocketClient ws;
 
+    @Inject
+    private ComponentResourceImpl componentResource;
+
+    @Inject
+    private ComponentManagerService componentManagerService;
+
+    @Test
+    void webSocketBinary() {
+        final BinaryFrames.Request index = new BinaryFrames.Request();
+        index.setId(1);
+        index.setAcceptDeflate(true);
+        index.setMethod("get");
+        index.setDestination("/component/index?includeIconContent=true");
+        index.setHeaders(singletonMap(HttpHeaders.ACCEPT, singletonList("application/json")));
+        final BinaryFrames.Request details = new BinaryFrames.Request();
+        details.setId(2);
+        details.setMethod("get");
+        details.setDestination("/component/details?identifiers=" + client.getJdbcId());
+        details.setHeaders(singletonMap(HttpHeaders.ACCEPT, singletonList("application/json")));
+
+        final Map<Integer, WebsocketClient.BinaryResponse> responses = ws.readBinary(asList(index, details));
+        assertEquals(2, responses.size());
+        responses.values().forEach(it -> assertEquals(200, it.getStatus()));
+        try (final Jsonb jsonb = JsonbBuilder.create()) {
+            assertIndex(jsonb
+                    .fromJson(new String(responses.get(1).getBody().toByteArray(), StandardCharsets.UTF_8),
+                            ComponentIndices.class));
+            assertEquals(1,
+                    jsonb
+                            .fromJson(new String(responses.get(2).getBody().toByteArray(), StandardCharsets.UTF_8),
+                                    ComponentDetailList.class)
+                            .getDetails()
+                            .size());
+        } catch (final Exception e) {
+            fail(e.getMessage());
+        }
+    }
+
+    @Test
+    void webSocketBinaryWithoutBody() {
+        final EntityTag tag = base.path("component/index").request(APPLICATION_JSON_TYPE).get().getEntityTag();
+
+        final BinaryFrames.Request notModified = new BinaryFrames.Request();
+        notModified.setId(1);
+        notModified.setMethod("get");
+        notModified.setDestination("/component/index");
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put(HttpHeaders.ACCEPT, singletonList("application/json"));
+        headers.put(HttpHeaders.IF_NONE_MATCH, singletonList(tag.toString()));
+        notModified.setHeaders(headers);
+
+        // the response output stream is never opened but the stream of the request must still end
+        final WebsocketClient.BinaryResponse response = ws.readBinary(singletonList(notModified)).get(1);
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getBody().size());
+    }
+
+    @Test
+    void webSocketBinaryTooBig() {
+        final BinaryFrames.Request bomb = new BinaryFrames.Request();
+        bomb.setId(1);
+        bomb.setMethod("post");
+        bomb.setDestination("/component/index");
+        bomb.setBody(new byte[16 * 1024 * 1024]); // deflated to a few kilobytes
+        assertEquals(413, ws.readBinary(singletonList(bomb)).get(1).getStatus());
+    }
+
+    @Test
+    void webSocketBinaryMalformed() {
+        final BinaryFrames.Request request = new BinaryFrames.Request();
+        request.setId(1);
+        request.setMethod("post");
+        request.setDestination("/component/index");
+        request.setBody(new byte[16]);
+        final ByteBuffer truncated = BinaryFrames.encodeRequest(request, false);
+        truncated.limit(truncated.limit() - 1);
+        assertEquals(400, ws.readBinaryMessages(singletonList(truncated)).get(1).getStatus());
+    }
+
     @Test
     void webSocketGetIndex() {
         assertIndex(ws.read(ComponentIndices.class, "get", "/component/index?includeIconContent=true", ""));
@@ -139,6 +236,142 @@ class ComponentResourceImplTest {
         assertIndex(client.fetchIndex());
     }
 
+    @Test
+    void redeployOnlyRebuildsItsPluginFragment() {
+        final String gav = "org.talend.test1:the-test-component:jar:1.2.6:compile";
+        final Map<String, ComponentIndex> before = indexById();
+        assertTrue(before.values().stream().anyMatch(it -> "the-test-component".equals(it.getId().getPlugin())));
+        assertTrue(before
+                .values()
+                .stream()
+                .map(it -> it.getId().getPlugin())
+                .anyMatch(plugin -> !"the-test-component".equals(plugin)
+                        && componentManagerService.manager().findPlugin(plugin).isPresent()));
+
+        componentManagerService.undeploy(gav);
+        componentManagerService.deploy(gav);
+
+        final Map<String, ComponentIndex> after = indexById();
+        assertEquals(before.keySet(), after.keySet());
+        before.forEach((id, component) -> {
+            if ("the-test-component".equals(component.getId().getPlugin())) {
+                assertNotSame(component, after.get(id), id);
+            } else if (componentManagerService.manager().findPlugin(component.getId().getPlugin()).isPresent()) {
+                // virtual (extension) components are not plugin fragments, only deployed plugins ones are checked
+                assertSame(component, after.get(id), id);
+            }
+        });
+    }
+
+    private Map<String, ComponentIndex> indexById() {
+        return componentResource
+                .getIndex("en", false, null)
+                .getComponents()
+                .stream()
+                .collect(toMap(it -> it.getId().getId(), identity()));
+    }
+
+    @Test
+    void getIndexNotModified() {
+        final Response index = base
+                .path("component/index")
+                .queryParam("includeIconContent", true)
+                .request(APPLICATION_JSON_TYPE)
+                .get();
+        assertEquals(200, index.getStatus());
+        final EntityTag tag = index.getEntityTag();
+        assertNotNull(tag);
+        final String payload = index.readEntity(String.class);
+
+        final Response cached = base
+                .path("component/index")
+                .queryParam("includeIconContent", true)
+                .request(APPLICATION_JSON_TYPE)
+                .get();
+        assertEquals(200, cached.getStatus());
+        assertEquals(tag, cached.getEntityTag());
+        assertEquals(payload, cached.readEntity(String.class));
+
+        final Response notModified = base
+                .path("component/index")
+                .queryParam("includeIconContent", true)
+                .request(APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.IF_NONE_MATCH, tag.toString())
+                .get();
+        assertEquals(304, notModified.getStatus());
+        assertFalse(notModified.hasEntity());
+
+        final Response otherQuery = base
+                .path("component/index")
+                .queryParam("includeIconContent", false)
+                .request(APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.IF_NONE_MATCH, tag.toString())
+                .get();
+        assertEquals(200, otherQuery.getStatus());
+        assertNotEquals(tag, otherQuery.getEntityTag());
+    }
+
+    @Test
+    void iconNotModified() {
+        final Response icon =
+                base.path("component/icon/{id}").resolveTemplate("id", client.getJdbcId()).request().get();
+        assertEquals(200, icon.getStatus());
+        assertEquals("image/png", icon.getMediaType().toString());
+        // the icon can change with a redeployment of its plugin
+        assertTrue(icon.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("no-cache"));
+        final EntityTag tag = icon.getEntityTag();
+        assertNotNull(tag);
+
+        final Response notModified = base
+                .path("component/icon/{id}")
+                .resolveTemplate("id", client.getJdbcId())
+                .request()
+                .header(HttpHeaders.IF_NONE_MATCH, tag.toString())
+                .get();
+        assertEquals(304, notModified.getStatus());
+        assertEquals(tag, notModified.getEntityTag());
+    }
+
+    @Test
+    void familyIconBundle() {
+        final ComponentIndex jdbc = base
+                .path("component/index")
+                .queryParam("q", "id = " + client.getJdbcId())
+                .request(APPLICATION_JSON_TYPE)
+                .get(ComponentIndices.class)
+                .getComponents()
+                .iterator()
+                .next();
+        final IconBundle bundle = base
+                .path("component/icon/family/{id}/bundle")
+                .resolveTemplate("id", jdbc.getId().getFamilyId())
+                .request(APPLICATION_JSON_TYPE)
+                .get(IconBundle.class);
+        assertEquals(jdbc.getIconFamily().getIcon(), bundle.getFamily().getIcon());
+        assertTrue(bundle
+                .getComponents()
+                .keySet()
+                .stream()
+                .allMatch(id -> id.equals(client.getJdbcId()) || client
+                        .fetchIndex()
+                        .getComponents()
+                        .stream()
+                        .anyMatch(c -> c.getId().getId().equals(id)
+                                && c.getId().getFamilyId().equals(jdbc.getId().getFamilyId()))));
+        final Icon icon = bundle.getComponents().get(client.getJdbcId());
+        assertEquals("db-input", icon.getIcon());
+        assertEquals("image/png", icon.getCustomIconType());
+        assertNotNull(icon.getCustomIcon());
+
+        assertEquals(404,
+                base
+                        .path("component/icon/family/{id}/bundle")
+                        .resolveTemplate("id", "missing")
+                        .request()
+                        .get()
+                        .getStatus());
+    }
+
     @Test
     void getIndexWithQuery() {
         final List<ComponentIndex> components = base
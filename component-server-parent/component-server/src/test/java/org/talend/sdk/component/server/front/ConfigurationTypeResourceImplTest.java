@@ -16,6 +16,7 @@
 package org.talend.sdk.component.server.front;
 
 import static java.util.Collections.singleton;
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -23,6 +24,9 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import java.util.Map;
 
 import javax.inject.Inject;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
 
 import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
 import org.junit.jupiter.api.Assertions;
@@ -39,6 +43,24 @@ class ConfigurationTypeResourceImplTest {
     @Inject
     private WebsocketClient ws;
 
+    @Inject
+    private WebTarget base;
+
+    @Test
+    void indexNotModified() {
+        final Response index = base.path("configurationtype/index").request(APPLICATION_JSON_TYPE).get();
+        assertEquals(200, index.getStatus());
+        assertNotNull(index.getEntityTag());
+        assertIndex(index.readEntity(ConfigTypeNodes.class));
+
+        final Response notModified = base
+                .path("configurationtype/index")
+                .request(APPLICATION_JSON_TYPE)
+                .header(HttpHeaders.IF_NONE_MATCH, index.getEntityTag().toString())
+                .get();
+        assertEquals(304, notModified.getStatus());
+    }
+
     @Test
     void webSocketGetIndex() {
         final ConfigTypeNodes index = ws.read(ConfigTypeNodes.class, "get", "/configurationtype/index", "");
@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front;
+
+import static javax.ws.rs.core.MediaType.APPLICATION_JSON_TYPE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+
+import javax.inject.Inject;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+
+import org.apache.meecrowave.junit5.MonoMeecrowaveConfig;
+import org.junit.jupiter.api.Test;
+import org.talend.sdk.component.server.api.MetricsResource;
+
+@MonoMeecrowaveConfig
+class MetricsResourceImplTest {
+
+    @Inject
+    private WebTarget base;
+
+    @Test
+    void prometheus() {
+        assertEquals(200, base.path("environment").request(APPLICATION_JSON_TYPE).get().getStatus());
+        assertEquals(520,
+                base
+                        .path("action/execute")
+                        .queryParam("type", "healthcheck")
+                        .queryParam("family", "chain")
+                        .queryParam("action", "default")
+                        .request(APPLICATION_JSON_TYPE)
+                        .post(Entity.entity(new HashMap<String, String>(), APPLICATION_JSON_TYPE))
+                        .getStatus());
+
+        final String metrics = base.path("metrics").request(MetricsResource.PROMETHEUS).get(String.class);
+        assertTrue(metrics.contains("# TYPE talend_component_server_http_request_duration_seconds summary\n"), metrics);
+        assertTrue(metrics
+                .contains("talend_component_server_http_request_duration_seconds_count{method=\"GET\","
+                        + "endpoint=\"/environment\"} "),
+                metrics);
+        assertTrue(metrics
+                .contains("talend_component_server_action_errors_total{family=\"chain\",type=\"healthcheck\","
+                        + "action=\"default\"} "),
+                metrics);
+        assertTrue(metrics
+                .contains("talend_component_server_action_duration_seconds{family=\"chain\",type=\"healthcheck\","
+                        + "action=\"default\",quantile=\"0.99\"} "),
+                metrics);
+        assertTrue(metrics.contains("talend_component_server_plugin_classpath_entries{plugin=\""), metrics);
+        assertTrue(metrics.contains("# TYPE talend_component_server_cache_hits_total counter\n"), metrics);
+        assertTrue(metrics.contains("talend_component_server_cache_hits_total{cache=\""), metrics);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.front.websocket;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class BinaryFramesTest {
+
+    @Test
+    void multiValuedHeaders() {
+        final Map<String, List<String>> headers = new HashMap<>();
+        headers.put("Accept", singletonList("application/json"));
+        headers.put("X-Values", asList("a,b", "c"));
+        final BinaryFrames.Frame frame = BinaryFrames.decodeFrame(BinaryFrames.encodeHeaders(1, 200, headers));
+        assertEquals(200, frame.getStatus());
+        assertEquals(singletonList("application/json"), frame.getHeaders().get("accept"));
+        assertEquals(asList("a,b", "c"), frame.getHeaders().get("x-values"));
+    }
+
+    @Test
+    void deflatedRequest() {
+        final BinaryFrames.Request request = new BinaryFrames.Request();
+        request.setId(3);
+        request.setMethod("post");
+        request.setDestination("/action/execute");
+        request.setBody(new String(new char[4096]).replace('\0', 'a').getBytes(StandardCharsets.UTF_8));
+
+        final BinaryFrames.Request decoded =
+                BinaryFrames.decodeRequest(BinaryFrames.encodeRequest(request, true), 4096);
+        assertEquals(3, decoded.getId());
+        assertArrayEquals(request.getBody(), decoded.getBody());
+
+        assertThrows(BinaryFrames.TooLargeException.class,
+                () -> BinaryFrames.decodeRequest(BinaryFrames.encodeRequest(request, true), 4095));
+        assertThrows(BinaryFrames.TooLargeException.class,
+                () -> BinaryFrames.decodeRequest(BinaryFrames.encodeRequest(request, false), 4095));
+    }
+
+    @Test
+    void truncatedRequest() {
+        final BinaryFrames.Request request = new BinaryFrames.Request();
+        request.setId(4);
+        request.setMethod("post");
+        request.setDestination("/action/execute");
+        request.setBody(new byte[16]);
+
+        final ByteBuffer message = BinaryFrames.encodeRequest(request, false);
+        message.limit(message.limit() - 1);
+        final IllegalArgumentException error =
+                assertThrows(IllegalArgumentException.class, () -> BinaryFrames.decodeRequest(message, 4096));
+        assertFalse(BinaryFrames.TooLargeException.class.isInstance(error));
+    }
+}
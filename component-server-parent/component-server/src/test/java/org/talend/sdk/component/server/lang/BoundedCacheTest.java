@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.lang;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    @Test
+    void hotEntriesSurviveScans() {
+        final BoundedCache.Stats stats = new BoundedCache.Stats();
+        final BoundedCache<String, String> cache = new BoundedCache<>(2, v -> 1, stats);
+        IntStream.range(0, 5).forEach(i -> {
+            cache.computeIfAbsent("hot1", k -> k);
+            cache.computeIfAbsent("hot2", k -> k);
+        });
+        IntStream.range(0, 100).forEach(i -> cache.computeIfAbsent("scan" + i, k -> k));
+        assertEquals("hot1", cache.get("hot1"));
+        assertEquals("hot2", cache.get("hot2"));
+        assertEquals(2, cache.size());
+        assertEquals(2, stats.getSize());
+        assertEquals(100, stats.getRejections());
+    }
+
+    @Test
+    void weight() {
+        final BoundedCache.Stats stats = new BoundedCache.Stats();
+        final BoundedCache<String, String> cache = new BoundedCache<>(10, String::length, stats);
+        cache.put("a", "12345");
+        cache.put("b", "12345");
+        assertEquals(10, stats.getWeight());
+        cache.put("b", "12345");
+        cache.put("c", "123"); // same frequency than the victim
+        assertNull(cache.get("a"));
+        assertEquals(8, stats.getWeight());
+        cache.put("d", "12345678901"); // heavier than the cache
+        assertNull(cache.get("d"));
+        cache.clear();
+        assertEquals(0, stats.getWeight());
+        assertEquals(0, stats.getSize());
+    }
+
+    @Test
+    void rejectedCandidateKeepsVictims() {
+        final BoundedCache.Stats stats = new BoundedCache.Stats();
+        final BoundedCache<String, String> cache = new BoundedCache<>(10, String::length, stats);
+        cache.put("cold", "123");
+        IntStream.range(0, 5).forEach(i -> cache.computeIfAbsent("hot", k -> "1234567"));
+        // would need to evict both entries and "hot" is more popular than the candidate
+        cache.put("new", "12345678");
+        assertEquals("123", cache.get("cold"));
+        assertEquals("1234567", cache.get("hot"));
+        assertNull(cache.get("new"));
+        assertEquals(10, stats.getWeight());
+    }
+
+    @Test
+    void concurrentMissesComputeOnce() throws Exception {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10, v -> 1, new BoundedCache.Stats());
+        final AtomicInteger computations = new AtomicInteger();
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final Collection<Future<String>> results = IntStream.range(0, 4).mapToObj(i -> pool.submit(() -> {
+                if (i > 0) {
+                    computing.await();
+                }
+                return cache.computeIfAbsent("key", k -> {
+                    computations.incrementAndGet();
+                    computing.countDown();
+                    try {
+                        release.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "value";
+                });
+            })).collect(toList());
+            computing.await();
+            Thread.sleep(200); // let the other threads miss
+            release.countDown();
+            for (final Future<String> result : results) {
+                assertEquals("value", result.get(1, MINUTES));
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void clearDuringComputation() throws Exception {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10, v -> 1, new BoundedCache.Stats());
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            final Future<String> stale = pool.submit(() -> cache.computeIfAbsent("key", k -> {
+                computing.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "stale";
+            }));
+            computing.await();
+            cache.clear();
+            // a miss after the clear doesn't wait for the stale computation
+            assertEquals("fresh", cache.computeIfAbsent("key", k -> "fresh"));
+            cache.clear();
+            release.countDown();
+
+            // the caller gets its value but it is not cached
+            assertEquals("stale", stale.get(1, MINUTES));
+            assertNull(cache.get("key"));
+            assertEquals(0, cache.size());
+            assertEquals("new", cache.computeIfAbsent("key", k -> "new"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void removeDuringComputation() throws Exception {
+        final BoundedCache<String, String> cache = new BoundedCache<>(10, v -> 1, new BoundedCache.Stats());
+        final CountDownLatch computing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            final Collection<Future<String>> results =
+                    Stream.of("removed", "kept").map(key -> pool.submit(() -> cache.computeIfAbsent(key, k -> {
+                        computing.countDown();
+                        try {
+                            release.await();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return k;
+                    }))).collect(toList());
+            computing.await();
+            Thread.sleep(200); // let both computations start
+            cache.removeIf("removed"::equals);
+            release.countDown();
+            for (final Future<String> result : results) {
+                result.get(1, MINUTES);
+            }
+            assertNull(cache.get("removed"));
+            assertEquals("kept", cache.get("kept"));
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -15,6 +15,11 @@
  */
 package org.talend.sdk.component.server.service;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static java.util.stream.Collectors.joining;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -50,6 +55,46 @@ class SimpleQueryLanguageCompilerTest {
         }).test(null));
     }
 
+    @ParameterizedTest
+    @CsvSource({ "id = 5,5", "id != 5,4|6", "(id = 5) OR (id = 6),5|6", "(id != 5) AND (name = b),6",
+            "(name = a) AND (map[foo] = bar),4|5", "map[foo] != bar,6", "map[foo] = null,6",
+            "(name = a) OR (name = b) AND (map[foo] = bar),4|5", "name = missing,", "map = wrong," })
+    void index(final String input, final String ids) {
+        final InvertedIndex<String> index = new InvertedIndex<>();
+        index.add("4", "4", new HashMap<String, Object>() {
+
+            {
+                put("id", "4");
+                put("name", "a");
+                put("map", singletonMap("foo", "bar"));
+            }
+        });
+        index.add("5", "5", new HashMap<String, Object>() {
+
+            {
+                put("id", "5");
+                put("name", "a");
+                put("map", singletonMap("foo", "bar"));
+            }
+        });
+        index.add("6", "6", new HashMap<String, Object>() {
+
+            {
+                put("id", "6");
+                put("name", "b");
+                put("map", emptyMap());
+            }
+        });
+        assertEquals(ids == null ? "" : ids,
+                index.select(compiler.compileIndexQuery(input, asList("id", "name", "map"))).collect(joining("|")));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "missing = 5", "(id = 5) AND (missing = foo::bar)", "(id = 5" })
+    void invalidIndex(final String input) {
+        assertThrows(IllegalArgumentException.class, () -> compiler.compileIndexQuery(input, singletonList("id")));
+    }
+
     @ParameterizedTest
     @ValueSource(strings = { "id", "id =", "(id = 5", "(id != 5", "id = 5)", "missing = 5",
             "(id = 5) AND (missing = foo::bar)" })
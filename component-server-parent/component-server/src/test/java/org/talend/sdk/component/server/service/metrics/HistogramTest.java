@@ -0,0 +1,69 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.server.service.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+class HistogramTest {
+
+    @Test
+    void empty() {
+        final Histogram histogram = new Histogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getP99());
+        assertEquals(0, histogram.getMean());
+    }
+
+    @Test
+    void quantiles() {
+        final Histogram histogram = new Histogram();
+        LongStream.rangeClosed(1, 10_000).forEach(histogram::record);
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(10_000, histogram.getMax());
+        assertEquals(5000.5, histogram.getMean());
+        assertAccurate(5_000, histogram.getP50());
+        assertAccurate(9_000, histogram.getP90());
+        assertAccurate(9_900, histogram.getP99());
+        assertEquals(10_000, histogram.getValueAtQuantile(1));
+    }
+
+    @Test
+    void units() {
+        final Histogram histogram = new Histogram();
+        histogram.record(3, TimeUnit.MILLISECONDS);
+        assertEquals(3_000, histogram.getSum());
+        histogram.record(-1);
+        assertEquals(0, histogram.getValueAtQuantile(0));
+    }
+
+    @Test
+    void buckets() {
+        LongStream.of(0, 1, 63, 64, 127, 128, 129, 1_000, 123_456, 1L << 31).forEach(value -> {
+            final long highest = Histogram.highestValueOf(Histogram.indexOf(value));
+            assertTrue(highest >= value && highest - value <= value / 64, value + " -> " + highest);
+        });
+    }
+
+    private void assertAccurate(final long expected, final long actual) {
+        assertTrue(Math.abs(expected - actual) <= expected / 64, expected + " != " + actual);
+    }
+}
@@ -95,6 +95,8 @@ public class InitTestInfra implements Meecrowave.ConfigurationCustomizer {
                         "icons/%s.svg,icons/svg/%s.svg,%s.svg,%s_icon32.png,icons/%s_icon32.png,icons/png/%s_icon32.png");
         System.setProperty("talend.component.server.locale.mapping", "en*=en\nfr*=fr\ntest=test");
         System.setProperty("talend.component.server.gridlayout.translation.support", "true");
+        System.setProperty("talend.component.server.actions.timeouts", "custom/user/slow=500");
+        System.setProperty("talend.component.server.actions.cache.ttl", "suggestions=60000");
 
         final String skipLogs = System.getProperty("component.server.test.logging.skip", "true");
         System.setProperty("talend.component.server.request.log", Boolean.toString("false".equals(skipLogs)));
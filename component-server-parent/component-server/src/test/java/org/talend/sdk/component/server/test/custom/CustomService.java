@@ -15,6 +15,7 @@
  */
 package org.talend.sdk.component.server.test.custom;
 
+import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 
 import java.io.IOException;
@@ -70,4 +71,10 @@ public class CustomService implements Serializable {
     public Map<String, String> generateBackendException(final LocalConfiguration configuration) {
         throw new ComponentException(ComponentException.ErrorOrigin.BACKEND, "backend exception");
     }
+
+    @Action("slow")
+    public Map<String, String> slow(final LocalConfiguration configuration) throws InterruptedException {
+        Thread.sleep(10000);
+        return singletonMap("status", "done");
+    }
 }
@@ -16,14 +16,20 @@
 package org.talend.sdk.component.server.test.websocket;
 
 import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -43,6 +49,9 @@ import javax.websocket.Session;
 import javax.websocket.WebSocketContainer;
 
 import org.apache.meecrowave.Meecrowave;
+import org.talend.sdk.component.server.front.websocket.BinaryFrames;
+
+import lombok.Data;
 
 @ApplicationScoped
 public class WebsocketClient {
@@ -50,6 +59,72 @@ public class WebsocketClient {
     @Inject
     private Meecrowave.Builder config;
 
+    // sends all the requests on the same socket and collects the frames until all of them are ended
+    public Map<Integer, BinaryResponse> readBinary(final Collection<BinaryFrames.Request> requests) {
+        return readBinaryMessages(requests.stream().map(it -> BinaryFrames.encodeRequest(it, true)).collect(toList()));
+    }
+
+    // same as readBinary but with raw messages, each of them must get a response
+    public Map<Integer, BinaryResponse> readBinaryMessages(final Collection<ByteBuffer> messages) {
+        final WebSocketContainer container = ContainerProvider.getWebSocketContainer();
+        final CountDownLatch latch = new CountDownLatch(messages.size());
+        final Map<Integer, BinaryResponse> responses = new ConcurrentHashMap<>();
+        final Session session;
+        try {
+            session = container.connectToServer(new Endpoint() {
+
+                @Override
+                public void onOpen(final Session session, final EndpointConfig endpointConfig) {
+                    session.setMaxBinaryMessageBufferSize(1024 * 1024);
+                    session.addMessageHandler(ByteBuffer.class, new MessageHandler.Whole<ByteBuffer>() {
+
+                        @Override
+                        public void onMessage(final ByteBuffer message) {
+                            final BinaryFrames.Frame frame = BinaryFrames.decodeFrame(message);
+                            final BinaryResponse response =
+                                    responses.computeIfAbsent(frame.getId(), id -> new BinaryResponse());
+                            switch (frame.getType()) {
+                            case BinaryFrames.HEADERS:
+                                response.setStatus(frame.getStatus());
+                                response.setHeaders(frame.getHeaders());
+                                break;
+                            case BinaryFrames.DATA:
+                                response.getBody().write(frame.getData(), 0, frame.getData().length);
+                                break;
+                            default:
+                                latch.countDown();
+                            }
+                        }
+                    });
+                }
+            }, ClientEndpointConfig.Builder.create().build(),
+                    URI.create("ws://localhost:" + config.getHttpPort() + "/websocket/v1/binary"));
+        } catch (final DeploymentException | IOException e) {
+            fail(e.getMessage());
+            throw new IllegalStateException(e);
+        }
+        try {
+            for (final ByteBuffer message : messages) {
+                session.getBasicRemote().sendBinary(message);
+            }
+            assertTrue(latch.await(1, MINUTES), "Missing responses, got: " + responses.keySet());
+            return responses;
+        } catch (final IOException e) {
+            fail(e.getMessage());
+            throw new IllegalStateException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail(e.getMessage());
+            throw new IllegalStateException(e);
+        } finally {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.GOING_AWAY, "bye bye"));
+            } catch (final IOException e) {
+                fail(e.getMessage());
+            }
+        }
+    }
+
     public <T> T read(final Class<T> response, final String method, final String uri, final String body) {
         return read(response, method, uri, body, "application/json");
     }
@@ -154,4 +229,14 @@ public class WebsocketClient {
             }
         }
     }
+
+    @Data
+    public static class BinaryResponse {
+
+        private int status;
+
+        private Map<String, List<String>> headers;
+
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    }
 }
@@ -0,0 +1,185 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.joining;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import org.talend.sdk.component.path.PathFactory;
+import org.talend.sdk.component.runtime.manager.ComponentFamilyMeta;
+import org.talend.sdk.component.runtime.manager.ComponentManager;
+import org.talend.sdk.component.runtime.manager.ContainerComponentRegistry;
+
+/**
+ * Runs a dry deployment of component plugins in a forked JVM started with
+ * {@code -XX:ArchiveClassesAtExit} to produce a dynamic class data sharing (AppCDS) archive.
+ * Plugins must be jars, JVM only archives classes coming from jar files.
+ * Note that the forked JVM must be a java 13 or later one.
+ *
+ * The JVM only uses the archive when it is the same JVM build and its classpath starts with the training one
+ * so the training JVM also writes its version and classpath in a descriptor ({@code <archive>.properties})
+ * the runtime compares to its own to report an archive it ignores.
+ */
+public class CdsArchiveTask implements Runnable {
+
+    private static final String DESCRIPTOR_PROPERTY = "talend.cds.descriptor";
+
+    private final File java;
+
+    private final Collection<File> classpath;
+
+    private final File m2;
+
+    private final Collection<File> plugins;
+
+    private final Collection<String> jvmOptions;
+
+    private final File output;
+
+    private final Log log;
+
+    public CdsArchiveTask(final File java, final Collection<File> classpath, final File m2,
+            final Collection<File> plugins, final Collection<String> jvmOptions, final File output, final Object log) {
+        this.java = java;
+        this.classpath = classpath;
+        this.m2 = m2;
+        this.plugins = plugins;
+        this.jvmOptions = jvmOptions;
+        this.output = output;
+        try {
+            this.log = Log.class.isInstance(log) ? Log.class.cast(log) : new ReflectiveLog(log);
+        } catch (final NoSuchMethodException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        if (plugins.isEmpty()) {
+            throw new IllegalArgumentException("No plugin to train");
+        }
+        plugins.stream().filter(it -> !it.isFile() || !it.getName().endsWith(".jar")).findFirst().ifPresent(it -> {
+            throw new IllegalArgumentException("Only jar plugins can be archived: " + it);
+        });
+        output.getParentFile().mkdirs();
+
+        final List<String> command = createCommand();
+        log.info("Training " + plugins + " to generate " + output);
+        try {
+            final Process process = new ProcessBuilder(command).inheritIO().start();
+            final int exitCode = process.waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException("Training failed with exit code " + exitCode + ", command=" + command);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        if (!output.exists()) {
+            throw new IllegalStateException("No archive generated, ensure " + java + " supports dynamic CDS archives");
+        }
+        log.info("Created " + output + ", it can only be used by " + java + " with the classpath " + classpath);
+    }
+
+    List<String> createCommand() {
+        final List<String> command = new ArrayList<>();
+        command.add(java.getAbsolutePath());
+        command.add("-XX:ArchiveClassesAtExit=" + output.getAbsolutePath());
+        command.add("-D" + DESCRIPTOR_PROPERTY + '=' + getDescriptor(output).getAbsolutePath());
+        command.addAll(jvmOptions);
+        command.add("-cp");
+        command.add(classpath.stream().map(File::getAbsolutePath).collect(joining(File.pathSeparator)));
+        command.add(CdsArchiveTask.class.getName());
+        command.add(m2.getAbsolutePath());
+        plugins.stream().map(File::getAbsolutePath).forEach(command::add);
+        return command;
+    }
+
+    /**
+     * Training entry point, it deploys the plugins and loads the classes a deployment and a design time usage
+     * load, then the JVM dumps them in the archive when exiting.
+     *
+     * @param args the maven repository then the plugins to deploy.
+     */
+    public static void main(final String[] args) {
+        if (args == null || args.length < 2) {
+            throw new IllegalArgumentException("Usage: java " + CdsArchiveTask.class.getName() + " <m2> <plugin>...");
+        }
+        try (final ComponentManager manager = new ComponentManager(PathFactory.get(args[0]))) {
+            Stream.of(args).skip(1).forEach(manager::addPlugin);
+            manager
+                    .find(Stream::of)
+                    .map(it -> it.get(ContainerComponentRegistry.class))
+                    .flatMap(it -> it.getComponents().values().stream())
+                    .flatMap(family -> Stream
+                            .of(family.getPartitionMappers().values().stream(),
+                                    family.getProcessors().values().stream(),
+                                    family.getDriverRunners().values().stream())
+                            .flatMap(it -> it))
+                    .forEach(CdsArchiveTask::train);
+            manager
+                    .find(Stream::of)
+                    .map(it -> it.get(ContainerComponentRegistry.class))
+                    .flatMap(it -> it.getServices().stream())
+                    .flatMap(it -> it.getActions().stream())
+                    .forEach(action -> action.getParameters().get());
+        }
+        ofNullable(System.getProperty(DESCRIPTOR_PROPERTY)).map(File::new).ifPresent(CdsArchiveTask::writeDescriptor);
+    }
+
+    /**
+     * @param archive the class data sharing archive.
+     * @return the file describing the JVM and classpath the archive was created with.
+     */
+    public static File getDescriptor(final File archive) {
+        return new File(archive.getParentFile(), archive.getName() + ".properties");
+    }
+
+    private static void writeDescriptor(final File descriptor) {
+        final Properties properties = new Properties();
+        Stream
+                .of("java.vm.vendor", "java.vm.version", "java.class.path")
+                .forEach(key -> properties.setProperty(key, System.getProperty(key, "")));
+        try (final OutputStream stream = new FileOutputStream(descriptor)) {
+            properties.store(stream, "Class data sharing archive training JVM");
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void train(final ComponentFamilyMeta.BaseMeta<?> meta) {
+        // force lazy metadata and bundles to be computed to load the related classes
+        meta.getParameterMetas().get();
+        meta.findBundle(meta.getType().getClassLoader(), Locale.ENGLISH).displayName();
+        meta.getParent().findBundle(meta.getType().getClassLoader(), Locale.ENGLISH).displayName();
+        if (meta.getMigrationHandler() != null) {
+            meta.getMigrationHandler().get();
+        }
+    }
+}
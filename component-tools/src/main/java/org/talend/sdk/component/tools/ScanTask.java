@@ -17,6 +17,7 @@ package org.talend.sdk.component.tools;
 
 import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -27,7 +28,9 @@ import java.net.MalformedURLException;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
 import java.util.stream.Stream;
 
 import org.apache.xbean.finder.AnnotationFinder;
@@ -65,17 +68,38 @@ public class ScanTask implements Runnable {
     public void run() {
         output.getParentFile().mkdirs();
         try (final OutputStream stream = new FileOutputStream(output)) {
+            final AnnotationFinder finder = newFinder();
+            final Filter filter = newFilter();
             final Properties properties = new Properties();
-            properties.setProperty("classes.list", scanList().collect(joining(",")));
+            properties.setProperty("classes.list", scanList(finder, filter).collect(joining(",")));
+            // per marker index, it avoids the runtime to load all classes to filter them by annotation
+            scanIndex(finder, filter)
+                    .forEach((marker, classes) -> properties
+                            .setProperty("classes.index." + marker, String.join(",", classes)));
             properties.store(stream, "generated by " + getClass() + " at " + new Date());
         } catch (final IOException e) {
             throw new IllegalStateException(e.getMessage(), e);
         }
     }
 
-    private Stream<String> scanList() {
-        final AnnotationFinder finder = newFinder();
-        final Filter filter = newFilter();
+    private Map<String, List<String>> scanIndex(final AnnotationFinder finder, final Filter filter) {
+        final Map<String, List<String>> index = new TreeMap<>();
+        Stream
+                .of(PartitionMapper.class, Processor.class, Emitter.class, DriverRunner.class, Service.class,
+                        Internationalized.class)
+                .forEach(marker -> index
+                        .put(marker.getName(), toNames(finder.findAnnotatedClasses(marker).stream(), filter)));
+        index
+                .put(Request.class.getName(), toNames(
+                        finder.findAnnotatedMethods(Request.class).stream().map(Method::getDeclaringClass), filter));
+        return index;
+    }
+
+    private List<String> toNames(final Stream<Class<?>> classes, final Filter filter) {
+        return classes.distinct().map(Class::getName).sorted().filter(filter::accept).collect(toList());
+    }
+
+    private Stream<String> scanList(final AnnotationFinder finder, final Filter filter) {
         return Stream
                 .concat(Stream
                         .of(PartitionMapper.class, Processor.class, Emitter.class, DriverRunner.class, Service.class,
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.tools;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+class CdsArchiveTaskTest {
+
+    @Test
+    void command(@TempDir final File temporaryFolder) {
+        final File java = new File(temporaryFolder, "bin/java");
+        final File output = new File(temporaryFolder, "out/app.jsa");
+        final File m2 = new File(temporaryFolder, "m2");
+        final File plugin1 = new File(temporaryFolder, "plugin1.jar");
+        final File plugin2 = new File(temporaryFolder, "plugin2.jar");
+        final File cp1 = new File(temporaryFolder, "runtime.jar");
+        final File cp2 = new File(temporaryFolder, "api.jar");
+        final List<String> command = new CdsArchiveTask(java, asList(cp1, cp2), m2, asList(plugin1, plugin2),
+                singletonList("-Xmx256m"), output, log).createCommand();
+        assertEquals(asList(java.getAbsolutePath(), "-XX:ArchiveClassesAtExit=" + output.getAbsolutePath(),
+                "-Dtalend.cds.descriptor=" + new File(output.getParentFile(), "app.jsa.properties").getAbsolutePath(),
+                "-Xmx256m", "-cp", cp1.getAbsolutePath() + File.pathSeparator + cp2.getAbsolutePath(),
+                CdsArchiveTask.class.getName(), m2.getAbsolutePath(), plugin1.getAbsolutePath(),
+                plugin2.getAbsolutePath()), command);
+    }
+
+    @Test
+    void onlyJars(@TempDir final File temporaryFolder) {
+        final CdsArchiveTask task = new CdsArchiveTask(new File("java"), singletonList(temporaryFolder),
+                temporaryFolder, singletonList(temporaryFolder), singletonList("-Xmx256m"),
+                new File(temporaryFolder, "app.jsa"), log);
+        assertThrows(IllegalArgumentException.class, task::run);
+    }
+
+    // the classes loaded by the training JVM are the ones the archive contains
+    @Test
+    void trainingClassList(@TempDir final File temporaryFolder) throws IOException {
+        final File plugin = createPlugin(new File(temporaryFolder, "plugin.jar"));
+        final File classList = new File(temporaryFolder, "classes.log");
+        final File output = new File(temporaryFolder, "app.jsa");
+        final List<File> classpath = Stream
+                .of(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(File::new)
+                .collect(toList());
+        final CdsArchiveTask task = new CdsArchiveTask(
+                new File(System.getProperty("java.home"), "bin/java" + (OS.WINDOWS.isCurrentOs() ? ".exe" : "")),
+                classpath, new File(temporaryFolder, "m2"), singletonList(plugin), classLoadingLogOptions(classList),
+                output, log);
+        if (isDynamicCdsSupported()) {
+            task.run();
+            assertTrue(output.exists());
+        } else { // the option is ignored so the training runs but no archive is produced
+            assertThrows(IllegalStateException.class, task::run);
+        }
+
+        // the runtime validates the archive against the training JVM
+        final Properties descriptor = new Properties();
+        try (final InputStream stream = new FileInputStream(CdsArchiveTask.getDescriptor(output))) {
+            descriptor.load(stream);
+        }
+        assertEquals(System.getProperty("java.vm.version"), descriptor.getProperty("java.vm.version"));
+        assertEquals(classpath.stream().map(File::getAbsolutePath).collect(joining(File.pathSeparator)),
+                descriptor.getProperty("java.class.path"));
+
+        final String classes = String.join("\n", Files.readAllLines(classList.toPath()));
+        assertTrue(classes.contains(CdsArchiveTask.class.getName()), classes);
+        assertTrue(classes.contains("org.talend.sdk.component.runtime.manager.ComponentManager"), classes);
+        // the plugin classes are loaded by the plugin classloader during the dry deployment
+        assertTrue(classes.contains("org.talend.test.valid.MySource"), classes);
+        assertTrue(classes.contains("org.talend.test.valid.MyComponent"), classes);
+    }
+
+    private List<String> classLoadingLogOptions(final File log) {
+        if (getJavaVersion() < 9) { // the archive option is unknown, ignore it to still run the training
+            return asList("-XX:+IgnoreUnrecognizedVMOptions", "-XX:+UnlockDiagnosticVMOptions", "-XX:+LogVMOutput",
+                    "-XX:LogFile=" + log.getAbsolutePath(), "-XX:+TraceClassLoading");
+        }
+        return asList("-XX:+IgnoreUnrecognizedVMOptions", "-Xlog:class+load=info:file=" + log.getAbsolutePath());
+    }
+
+    private boolean isDynamicCdsSupported() {
+        return getJavaVersion() >= 13;
+    }
+
+    private int getJavaVersion() {
+        final String version = System.getProperty("java.specification.version");
+        return Integer.parseInt(version.startsWith("1.") ? version.substring(2) : version);
+    }
+
+    private File createPlugin(final File jar) throws IOException {
+        final File classes = new File("target/test-classes");
+        final File pkg = new File(classes, "org/talend/test/valid");
+        try (final JarOutputStream out = new JarOutputStream(new FileOutputStream(jar))) {
+            for (final File file : pkg.listFiles(File::isFile)) {
+                out.putNextEntry(new JarEntry("org/talend/test/valid/" + file.getName()));
+                Files.copy(file.toPath(), out);
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+}
@@ -38,7 +38,7 @@ class ScanTaskTest {
         try (final InputStream stream = new FileInputStream(out)) {
             properties.load(stream);
         }
-        assertEquals(1, properties.size());
+        assertEquals(8, properties.size());
         assertEquals("org.talend.test.valid.MyComponent,"
                 + "org.talend.test.valid.MyInternalization,org.talend.test.valid.MySource,"
                 + "org.talend.test.valid.customicon.MyComponent," + "org.talend.test.valid.customiconapi.MyComponent,"
@@ -53,5 +53,8 @@ class ScanTaskTest {
                 + "org.talend.test.valid.structure.MyComponentWithStructure,"
                 + "org.talend.test.valid.update.Comp,org.talend.test.valid.wording.MyComponent",
                 properties.getProperty("classes.list"));
+        assertEquals("org.talend.test.valid.MyInternalization", properties
+                .getProperty("classes.index.org.talend.sdk.component.api.internationalization.Internationalized"));
+        assertEquals("", properties.getProperty("classes.index.org.talend.sdk.component.api.service.http.Request"));
     }
 }
@@ -16,6 +16,7 @@
 package org.talend.sdk.component.classloader;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyEnumeration;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.enumeration;
 import static java.util.Collections.list;
@@ -108,12 +109,28 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     private final URLClassLoader classLoaderFromClasspath;
 
+    // null if urls can't be indexed
+    private final JarIndex jarIndex;
+
+    // null if the nested dependencies are not lazily loaded
+    private NestedJar.Archives nestedJars;
+
     public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
             final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
             final String[] nestedDependencies, final String[] jvmPrefixes) {
+        this(id, urls, parent, parentFilter, childFirstFilter, nestedDependencies, jvmPrefixes, false);
+    }
+
+    /**
+     * @param lazyNestedDependencies if true, the nested dependencies stored (not compressed) in their jar are
+     * memory mapped and only their central directory is loaded, entries are read when needed.
+     */
+    public ConfigurableClassLoader(final String id, final URL[] urls, final ClassLoader parent,
+            final Predicate<String> parentFilter, final Predicate<String> childFirstFilter,
+            final String[] nestedDependencies, final String[] jvmPrefixes, final boolean lazyNestedDependencies) {
         this(id, urls, parent, parentFilter, childFirstFilter, emptyMap(), jvmPrefixes);
         if (nestedDependencies != null) {
-            loadNestedDependencies(parent, nestedDependencies);
+            loadNestedDependencies(parent, nestedDependencies, lazyNestedDependencies);
         }
     }
 
@@ -134,12 +151,17 @@ public class ConfigurableClassLoader extends URLClassLoader {
                 .filter(it -> Stream.of(this.fullPathJvmPrefixes).noneMatch(it::equals))
                 .toArray(String[]::new);
         classLoaderFromClasspath = createClassLoaderFromClasspath();
+        jarIndex = JarIndex.create(urls);
     }
 
-    // load all in memory to avoid perf issues - should we try offheap?
-    private void loadNestedDependencies(final ClassLoader parent, final String[] nestedDependencies) {
+    // load all in memory to avoid perf issues, lazy mode keeps the mapped jars offheap and only indexes them
+    private void loadNestedDependencies(final ClassLoader parent, final String[] nestedDependencies,
+            final boolean lazy) {
         final byte[] buffer = new byte[8192]; // should be good for most cases
         final ByteArrayOutputStream out = new ByteArrayOutputStream(buffer.length);
+        if (lazy) {
+            nestedJars = new NestedJar.Archives();
+        }
         Stream.of(nestedDependencies).map(d -> NESTED_MAVEN_REPOSITORY + d).forEach(resource -> {
             final URL url = ofNullable(super.findResource(resource)).orElseGet(() -> parent.getResource(resource));
             if (url == null) {
@@ -164,6 +186,21 @@ public class ConfigurableClassLoader extends URLClassLoader {
             } catch (final IOException e) {
                 throw new IllegalStateException(e);
             }
+            final NestedJar nestedJar = lazy ? nestedJars.open(url) : null;
+            if (nestedJar != null) {
+                nestedJar.names().stream().filter(it -> !it.endsWith("/")).forEach(name -> {
+                    if (isBlacklisted(name)) {
+                        logUnexpectedDependency(url, name);
+                    } else {
+                        resources.put(name, new Resource(resource, null, nestedJar, name, manifest, codeSource));
+                    }
+                });
+                resources.forEach((k, v) -> this.resources.computeIfAbsent(k, i -> new ArrayList<>()).add(v));
+                return;
+            }
+            if (lazy) {
+                log.debug("{} can't be lazily loaded, ensure it is not compressed in its jar", url);
+            }
             try (final JarInputStream jarInputStream = new JarInputStream(urlConnection.getInputStream())) {
                 ZipEntry entry;
                 while ((entry = jarInputStream.getNextEntry()) != null) {
@@ -179,7 +216,9 @@ public class ConfigurableClassLoader extends URLClassLoader {
                             out.write(buffer, 0, read);
                         }
 
-                        resources.put(entry.getName(), new Resource(resource, out.toByteArray(), manifest, codeSource));
+                        resources
+                                .put(entry.getName(), new Resource(resource, out.toByteArray(), null, entry.getName(),
+                                        manifest, codeSource));
                     }
                 }
             } catch (final IOException e) {
@@ -234,6 +273,12 @@ public class ConfigurableClassLoader extends URLClassLoader {
     @Override
     public synchronized void close() throws IOException {
         resources.clear();
+        if (jarIndex != null) {
+            jarIndex.close();
+        }
+        if (nestedJars != null) {
+            nestedJars.close();
+        }
         if (temporaryCopy != null) {
             try {
                 temporaryCopy.close();
@@ -327,8 +372,8 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     @Override
     public URL findResource(final String name) {
-        return resources.isEmpty() ? super.findResource(name)
-                : ofNullable(super.findResource(name))
+        return resources.isEmpty() ? findOwnResource(name)
+                : ofNullable(findOwnResource(name))
                         .orElseGet(() -> ofNullable(resources.get(name))
                                 .filter(s -> !s.isEmpty())
                                 .map(s -> s.iterator().next())
@@ -370,13 +415,13 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return ofNullable(doGetResourceAsStream(name))
                 .orElseGet(() -> ofNullable(resources.get(name))
                         .filter(s -> s.size() > 0)
-                        .map(s -> s.iterator().next().resource)
+                        .map(s -> s.iterator().next().getBytes())
                         .map(ByteArrayInputStream::new)
                         .orElse(null));
     }
 
     private InputStream doGetResourceAsStream(final String name) {
-        final URL resource = super.findResource(name);
+        final URL resource = findOwnResource(name);
         if (isBlacklisted(name)) {
             logUnexpectedDependency(resource, name);
             return null;
@@ -416,7 +461,8 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
     @Override
     public Enumeration<URL> findResources(final String name) throws IOException {
-        final Enumeration<URL> delegates = super.findResources(name);
+        final Enumeration<URL> delegates =
+                jarIndex == null || jarIndex.mayContain(name) ? super.findResources(name) : emptyEnumeration();
         if (resources.isEmpty()) {
             return delegates;
         }
@@ -430,6 +476,10 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return enumeration(aggregated);
     }
 
+    private URL findOwnResource(final String name) {
+        return jarIndex == null || jarIndex.mayContain(name) ? super.findResource(name) : null;
+    }
+
     private boolean isNestedDependencyResource(final String name) {
         return name != null && name.startsWith(NESTED_MAVEN_REPOSITORY);
     }
@@ -464,7 +514,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     ofNullable(resources.get(name))
                             .map(s -> s
                                     .stream()
-                                    .map(it -> it.resource)
+                                    .map(Resource::getBytes)
                                     .map(ByteArrayInputStream::new)
                                     .map(InputStream.class::cast))
                             .orElseGet(Stream::empty))
@@ -731,8 +781,16 @@ public class ConfigurableClassLoader extends URLClassLoader {
         Class<?> clazz = null;
         final String resourceName = name.replace('.', '/');
         final String path = resourceName.concat(".class");
-        final URL url = super.findResource(path);
-        if (url != null) {
+        final JarIndex.Entry indexed = jarIndex == null ? null : jarIndex.find(path);
+        final URL url = jarIndex == null ? super.findResource(path) : null;
+        if (indexed != null) {
+            try {
+                clazz = defineIndexedClass(name, resourceName, indexed);
+            } catch (final IOException e) {
+                log.warn(e.getMessage(), e);
+                return null;
+            }
+        } else if (url != null) {
             try {
                 final URLConnection connection = url.openConnection();
                 connection.setUseCaches(false);
@@ -767,11 +825,14 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     }
                     bytes = outputStream.toByteArray();
                 }
-                final Certificate[] certificates = JarURLConnection.class.isInstance(connection)
-                        ? JarURLConnection.class.cast(connection).getCertificates()
-                        : NO_CERTIFICATES;
+                final boolean isJar = JarURLConnection.class.isInstance(connection);
+                final Certificate[] certificates =
+                        isJar ? JarURLConnection.class.cast(connection).getCertificates() : NO_CERTIFICATES;
+                // use the jar as code source (as URLClassLoader) to let the JVM match class data sharing archives
+                final URL codeSourceLocation = isJar ? JarURLConnection.class.cast(connection).getJarFileURL() : url;
                 bytes = doTransform(resourceName, bytes);
-                clazz = super.defineClass(name, bytes, 0, bytes.length, new CodeSource(url, certificates));
+                clazz = super.defineClass(name, bytes, 0, bytes.length,
+                        new CodeSource(codeSourceLocation, certificates));
             } catch (final IOException e) {
                 log.warn(e.getMessage(), e);
                 return null;
@@ -786,7 +847,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
                     doDefinePackage(resource.manifest, null, name.substring(0, i));
                 }
 
-                final byte[] bytes = doTransform(resourceName, resource.resource);
+                final byte[] bytes = doTransform(resourceName, resource.getBytes());
                 clazz = defineClass(name, bytes, 0, bytes.length, resource.codeSource);
             }
         }
@@ -796,6 +857,33 @@ public class ConfigurableClassLoader extends URLClassLoader {
         return null;
     }
 
+    private Class<?> defineIndexedClass(final String name, final String resourceName, final JarIndex.Entry indexed)
+            throws IOException {
+        final int i = name.lastIndexOf('.');
+        if (i != -1) {
+            final String pckName = name.substring(0, i);
+            if (super.getPackage(pckName) == null) {
+                doDefinePackage(indexed.getManifest(), indexed.getJarUrl(), pckName);
+            }
+        }
+
+        byte[] bytes;
+        try (final InputStream stream = indexed.getJarFile().getInputStream(indexed.getEntry());
+                final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(
+                        indexed.getEntry().getSize() > 0 ? (int) indexed.getEntry().getSize() : 1024)) {
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                outputStream.write(buffer, 0, read);
+            }
+            bytes = outputStream.toByteArray();
+        }
+        // certificates are available once the entry is fully read
+        final Certificate[] certificates = indexed.getEntry().getCertificates();
+        bytes = doTransform(resourceName, bytes);
+        return super.defineClass(name, bytes, 0, bytes.length, new CodeSource(indexed.getJarUrl(), certificates));
+    }
+
     private byte[] doTransform(final String resourceName, final byte[] inBytes) {
         if (transformers.isEmpty()) {
             return inBytes;
@@ -854,11 +942,20 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
         private final String entry;
 
+        // null when lazily read from the nested jar
         private final byte[] resource;
 
+        private final NestedJar nestedJar;
+
+        private final String name;
+
         private final Manifest manifest;
 
         private final CodeSource codeSource;
+
+        private byte[] getBytes() {
+            return resource != null ? resource : nestedJar.read(name);
+        }
     }
 
     @RequiredArgsConstructor(access = PRIVATE)
@@ -888,7 +985,7 @@ public class ConfigurableClassLoader extends URLClassLoader {
 
         @Override
         public InputStream getInputStream() {
-            return new ByteArrayInputStream(resource.resource);
+            return new ByteArrayInputStream(resource.getBytes());
         }
     }
 
@@ -0,0 +1,172 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.util.Collections.emptyList;
+import static lombok.AccessLevel.PRIVATE;
+import static org.talend.sdk.component.jar.Jars.toPath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Index of the directories of the jars of a classloader, it allows to find in which jar(s) a resource can be
+ * without testing all the jars and keeps the jars opened to read the classes without any URL connection.
+ * It is only created if all the urls are plain (not multi-release) jars to keep the {@link java.net.URLClassLoader}
+ * lookup order and semantic.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = PRIVATE)
+class JarIndex implements Closeable {
+
+    private final Collection<IndexedJar> jars;
+
+    // directory -> jars having an entry in this directory (url order)
+    private final Map<String, List<IndexedJar>> directories;
+
+    static JarIndex create(final URL[] urls) {
+        if (urls == null || urls.length == 0) {
+            return null;
+        }
+        final Collection<IndexedJar> jars = new ArrayList<>(urls.length);
+        final Map<String, List<IndexedJar>> directories = new HashMap<>();
+        try {
+            for (final URL url : urls) {
+                final Path path = "file".equals(url.getProtocol()) ? toPath(url) : null;
+                if (path == null || !Files.isRegularFile(path)) {
+                    throw new IllegalArgumentException("Not a jar: " + url);
+                }
+                final JarFile jarFile = new JarFile(path.toFile());
+                final IndexedJar jar = new IndexedJar(url, jarFile, jarFile.getManifest());
+                jars.add(jar);
+                if (jar.manifest != null
+                        && Boolean.parseBoolean(jar.manifest.getMainAttributes().getValue("Multi-Release"))) {
+                    throw new IllegalArgumentException("Multi-release jar: " + url);
+                }
+                final Enumeration<JarEntry> entries = jarFile.entries();
+                while (entries.hasMoreElements()) {
+                    final JarEntry entry = entries.nextElement();
+                    if (entry.isDirectory()) {
+                        continue;
+                    }
+                    final List<IndexedJar> indexedJars =
+                            directories.computeIfAbsent(directoryOf(entry.getName()), k -> new ArrayList<>(1));
+                    if (indexedJars.isEmpty() || indexedJars.get(indexedJars.size() - 1) != jar) {
+                        indexedJars.add(jar);
+                    }
+                }
+            }
+        } catch (final IOException | IllegalArgumentException e) {
+            log.debug("Can't index {}, will use plain lookup ({})", urls, e.getMessage());
+            closeAll(jars);
+            return null;
+        }
+        return new JarIndex(jars, directories);
+    }
+
+    /**
+     * @param name the resource name.
+     * @return false if no jar of this index can contain this resource.
+     */
+    boolean mayContain(final String name) {
+        if (name.isEmpty() || name.startsWith("/") || name.endsWith("/")) { // directories are not indexed
+            return true;
+        }
+        return directories.containsKey(directoryOf(name));
+    }
+
+    /**
+     * @param name the resource name.
+     * @return the first entry matching this name or null if not in this index.
+     */
+    Entry find(final String name) {
+        for (final IndexedJar jar : directories.getOrDefault(directoryOf(name), emptyList())) {
+            final JarEntry entry = jar.file.getJarEntry(name);
+            if (entry != null) {
+                return new Entry(jar, entry);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() {
+        directories.clear();
+        closeAll(jars);
+    }
+
+    private static void closeAll(final Collection<IndexedJar> jars) {
+        jars.forEach(jar -> {
+            try {
+                jar.file.close();
+            } catch (final IOException e) {
+                log.warn(e.getMessage(), e);
+            }
+        });
+        jars.clear();
+    }
+
+    private static String directoryOf(final String name) {
+        return name.substring(0, name.lastIndexOf('/') + 1);
+    }
+
+    @RequiredArgsConstructor(access = PRIVATE)
+    private static class IndexedJar {
+
+        private final URL url;
+
+        private final JarFile file;
+
+        private final Manifest manifest;
+    }
+
+    @RequiredArgsConstructor(access = PRIVATE)
+    static class Entry {
+
+        private final IndexedJar jar;
+
+        @Getter
+        private final JarEntry entry;
+
+        URL getJarUrl() {
+            return jar.url;
+        }
+
+        JarFile getJarFile() {
+            return jar.file;
+        }
+
+        Manifest getManifest() {
+            return jar.manifest;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.classloader;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Optional.ofNullable;
+import static lombok.AccessLevel.PRIVATE;
+import static org.talend.sdk.component.jar.Jars.toPath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Lazy view of a jar of the nested maven repository: only its central directory is read,
+ * the entries are read (and inflated if needed) on demand from a read only memory mapping of the file.
+ * A jar nested in another jar can only be mapped if it is stored (not compressed) in the outer jar,
+ * see {@code ContainerDependenciesTransformer#storeUncompressed}.
+ * The nested jars are opened through {@link Archives} which maps and indexes each outer jar once
+ * and releases the mappings when closed.
+ */
+@Slf4j
+@RequiredArgsConstructor(access = PRIVATE)
+class NestedJar {
+
+    private static final int LOCAL_HEADER = 0x04034b50;
+
+    private static final int CENTRAL_HEADER = 0x02014b50;
+
+    private static final int END_HEADER = 0x06054b50;
+
+    private static final int END_HEADER_SIZE = 22;
+
+    private static final int LOCAL_HEADER_SIZE = 30;
+
+    private static final int CENTRAL_HEADER_SIZE = 46;
+
+    private static final Consumer<ByteBuffer> UNMAPPER = createUnmapper();
+
+    private final Archives archives;
+
+    private final ByteBuffer content;
+
+    private final Map<String, Item> entries;
+
+    Collection<String> names() {
+        return entries.keySet();
+    }
+
+    /**
+     * @param name the entry name.
+     * @return the uncompressed entry content or null if missing.
+     */
+    byte[] read(final String name) {
+        final Item item = entries.get(name);
+        if (item == null) {
+            return null;
+        }
+        final byte[] data = new byte[item.compressedSize];
+        final Lock lock = archives.lock.readLock();
+        lock.lock();
+        try { // once closed the mapping is released, reading it would crash the JVM
+            if (archives.closed) {
+                throw new IllegalStateException("Nested jars are closed, can't read " + name);
+            }
+            final ByteBuffer buffer = content.duplicate().order(LITTLE_ENDIAN);
+            buffer.position(item.dataOffset(buffer));
+            buffer.get(data);
+        } finally {
+            lock.unlock();
+        }
+        switch (item.method) {
+        case ZipEntry.STORED:
+            return data;
+        case ZipEntry.DEFLATED:
+            final Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(data);
+                final byte[] out = new byte[item.size];
+                int read = 0;
+                while (read < out.length && !inflater.finished()) {
+                    final int count = inflater.inflate(out, read, out.length - read);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    read += count;
+                }
+                if (read != out.length) {
+                    throw new IllegalStateException("Truncated entry " + name);
+                }
+                return out;
+            } catch (final DataFormatException e) {
+                throw new IllegalStateException("Invalid entry " + name, e);
+            } finally {
+                inflater.end();
+            }
+        default:
+            throw new IllegalStateException("Unsupported compression method " + item.method + " for " + name);
+        }
+    }
+
+    private static ByteBuffer map(final Path path) throws IOException {
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // mapping stays valid once closed
+        }
+    }
+
+    // the mappings are released by the GC by default, java 9+ exposes Unsafe#invokeCleaner to do it eagerly
+    // and java 8 the cleaner of the direct buffer
+    private static Consumer<ByteBuffer> createUnmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                final Object unsafe = theUnsafe.get(null);
+                return buffer -> invoke(invokeCleaner, unsafe, buffer);
+            } catch (final NoSuchMethodException java8) {
+                final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                return buffer -> ofNullable(invoke(cleaner, buffer)).ifPresent(it -> invoke(clean, it));
+            }
+        } catch (final Exception | LinkageError e) {
+            log.debug("Can't release the mappings eagerly, they will be released by the GC ({})", e.getMessage());
+            return buffer -> {
+            };
+        }
+    }
+
+    private static Object invoke(final Method method, final Object instance, final Object... args) {
+        try {
+            return method.invoke(instance, args);
+        } catch (final IllegalAccessException | InvocationTargetException | RuntimeException e) {
+            log.debug("Can't release a mapping, it will be released by the GC ({})", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Item> readCentralDirectory(final ByteBuffer zip, final Predicate<String> filter)
+            throws IOException {
+        final ByteBuffer buffer = zip.duplicate().order(LITTLE_ENDIAN);
+        final int end = findEndOfCentralDirectory(buffer);
+        final int count = buffer.getShort(end + 10) & 0xFFFF;
+        final long offset = buffer.getInt(end + 16) & 0xFFFFFFFFL;
+        if (count == 0xFFFF || offset == 0xFFFFFFFFL) {
+            throw new IOException("zip64 archives are not supported");
+        }
+        final Map<String, Item> items = new LinkedHashMap<>(count);
+        int position = (int) offset;
+        for (int i = 0; i < count; i++) {
+            if (buffer.getInt(position) != CENTRAL_HEADER) {
+                throw new IOException("Invalid central directory");
+            }
+            final int nameLength = buffer.getShort(position + 28) & 0xFFFF;
+            final int extraLength = buffer.getShort(position + 30) & 0xFFFF;
+            final int commentLength = buffer.getShort(position + 32) & 0xFFFF;
+            final byte[] rawName = new byte[nameLength];
+            buffer.position(position + CENTRAL_HEADER_SIZE);
+            buffer.get(rawName);
+            final String name = new String(rawName, UTF_8);
+            if (filter.test(name)) {
+                final long compressedSize = buffer.getInt(position + 20) & 0xFFFFFFFFL;
+                final long size = buffer.getInt(position + 24) & 0xFFFFFFFFL;
+                final long localHeader = buffer.getInt(position + 42) & 0xFFFFFFFFL;
+                if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || localHeader == 0xFFFFFFFFL) {
+                    throw new IOException("zip64 entries are not supported");
+                }
+                items
+                        .put(name, new Item(buffer.getShort(position + 10) & 0xFFFF, (int) compressedSize, (int) size,
+                                (int) localHeader));
+            }
+            position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return items;
+    }
+
+    private static int findEndOfCentralDirectory(final ByteBuffer buffer) throws IOException {
+        final int min = Math.max(0, buffer.limit() - END_HEADER_SIZE - 0xFFFF);
+        for (int i = buffer.limit() - END_HEADER_SIZE; i >= min; i--) {
+            if (buffer.getInt(i) == END_HEADER) {
+                return i;
+            }
+        }
+        throw new IOException("No end of central directory found");
+    }
+
+    /**
+     * Opens the nested jars of a classloader. An outer jar is mapped and its central directory read once
+     * for all the jars it contains, the mappings are released when closed.
+     */
+    static class Archives implements Closeable {
+
+        // can't be mapped or indexed (compressed, zip64, ...), don't retry for each nested jar
+        private static final Outer UNSUPPORTED = new Outer(null, null);
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final Map<Path, Outer> outers = new HashMap<>();
+
+        private final Collection<ByteBuffer> mappings = new ArrayList<>();
+
+        private boolean closed;
+
+        /**
+         * @param url the nested jar url, either a file or an entry of a file jar.
+         * @return the lazy jar or null if it can't be mapped.
+         */
+        NestedJar open(final URL url) {
+            final Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                if (closed) {
+                    throw new IllegalStateException("Nested jars are closed, can't open " + url);
+                }
+                final ByteBuffer content;
+                if ("file".equals(url.getProtocol())) {
+                    final Path path = toPath(url);
+                    if (path == null || !Files.isRegularFile(path)) {
+                        return null;
+                    }
+                    content = map(path);
+                    mappings.add(content);
+                } else if ("jar".equals(url.getProtocol())) {
+                    final String spec = url.getFile();
+                    final int separator = spec.indexOf("!/");
+                    final URL outerUrl = new URL(spec.substring(0, separator));
+                    final String name = spec.substring(separator + 2);
+                    final Path path = "file".equals(outerUrl.getProtocol()) ? toPath(outerUrl) : null;
+                    if (path == null || !Files.isRegularFile(path) || name.contains("!/")) {
+                        return null;
+                    }
+                    final Outer outer = outer(path);
+                    final Item item = outer.entries == null ? null : outer.entries.get(name);
+                    if (item == null) {
+                        return null;
+                    }
+                    if (item.method != ZipEntry.STORED) {
+                        log.debug("{} is compressed, it can't be mapped", url);
+                        return null;
+                    }
+                    final int offset = item.dataOffset(outer.content);
+                    final ByteBuffer view = outer.content.duplicate();
+                    view.position(offset);
+                    view.limit(offset + item.size);
+                    content = view.slice(); // shares the outer mapping
+                } else {
+                    return null;
+                }
+                return new NestedJar(this, content, readCentralDirectory(content, name -> true));
+            } catch (final IOException | RuntimeException e) { // corrupted or zip64 archive
+                log.debug("Can't map {}, will load it in memory ({})", url, e.getMessage());
+                return null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        @Override
+        public void close() {
+            final Lock writeLock = lock.writeLock();
+            writeLock.lock();
+            try {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                outers.clear();
+                mappings.forEach(UNMAPPER);
+                mappings.clear();
+            } finally {
+                writeLock.unlock();
+            }
+        }
+
+        int mappings() {
+            final Lock readLock = lock.readLock();
+            readLock.lock();
+            try {
+                return mappings.size();
+            } finally {
+                readLock.unlock();
+            }
+        }
+
+        private Outer outer(final Path path) {
+            final Outer existing = outers.get(path);
+            if (existing != null) {
+                return existing;
+            }
+            Outer outer;
+            try {
+                final ByteBuffer content = map(path);
+                mappings.add(content);
+                outer = new Outer(content, readCentralDirectory(content, name -> name.endsWith(".jar")));
+            } catch (final IOException | RuntimeException e) {
+                log.debug("Can't index {} ({})", path, e.getMessage());
+                outer = UNSUPPORTED;
+            }
+            outers.put(path, outer);
+            return outer;
+        }
+    }
+
+    @RequiredArgsConstructor(access = PRIVATE)
+    private static class Outer {
+
+        private final ByteBuffer content;
+
+        // only the jars, null if unsupported
+        private final Map<String, Item> entries;
+    }
+
+    @RequiredArgsConstructor(access = PRIVATE)
+    private static class Item {
+
+        private final int method;
+
+        private final int compressedSize;
+
+        private final int size;
+
+        private final int localHeader;
+
+        private int dataOffset(final ByteBuffer zip) {
+            final ByteBuffer buffer = zip.duplicate().order(LITTLE_ENDIAN);
+            if (buffer.getInt(localHeader) != LOCAL_HEADER) {
+                throw new IllegalStateException("Invalid local header at " + localHeader);
+            }
+            return localHeader + LOCAL_HEADER_SIZE + (buffer.getShort(localHeader + 26) & 0xFFFF)
+                    + (buffer.getShort(localHeader + 28) & 0xFFFF);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.talend.sdk.component.container;
 
 import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.list;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
@@ -33,7 +34,9 @@ import java.nio.file.attribute.FileTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
@@ -92,6 +95,8 @@ public class Container implements Lifecycle {
 
     private final boolean hasNestedRepository;
 
+    private final AtomicReference<SharedDependencies.Lease> sharedLease = new AtomicReference<>();
+
     public Container(final String id, final String rootModule, final Artifact[] dependencies,
             final ContainerManager.ClassLoaderConfiguration configuration,
             final Function<String, Path> localDependencyRelativeResolver, final Consumer<Container> initializer,
@@ -106,13 +111,20 @@ public class Container implements Lifecycle {
 
         this.classloaderProvider = () -> {
             final List<Path> existingClasspathFiles = findExistingClasspathFiles().collect(toList());
-            final URL[] urls = existingClasspathFiles.stream().peek(this::visitLastModified).map(f -> {
-                try {
-                    return f.toUri().toURL();
-                } catch (final MalformedURLException e) {
-                    throw new IllegalStateException(e);
-                }
-            }).toArray(URL[]::new);
+            final SharedDependencies.Layer layer = acquireSharedLayer();
+            final Collection<Path> sharedFiles = layer == null ? emptyList() : layer.getFiles();
+            final URL[] urls = existingClasspathFiles
+                    .stream()
+                    .peek(this::visitLastModified)
+                    .filter(it -> !sharedFiles.contains(it))
+                    .map(f -> {
+                        try {
+                            return f.toUri().toURL();
+                        } catch (final MalformedURLException e) {
+                            throw new IllegalStateException(e);
+                        }
+                    })
+                    .toArray(URL[]::new);
 
             final ContainerManager.ClassLoaderConfiguration overrideClassLoaderConfig =
                     ofNullable(get(ContainerManager.ClassLoaderConfiguration.class)).orElse(configuration);
@@ -143,9 +155,16 @@ public class Container implements Lifecycle {
                                     .distinct()
                                     .toArray(String[]::new)
                             : null;
-            final ConfigurableClassLoader loader = new ConfigurableClassLoader(id, urls,
-                    overrideClassLoaderConfig.getParent(), overrideClassLoaderConfig.getParentClassesFilter(),
-                    overrideClassLoaderConfig.getClassesFilter(), rawNestedDependencies, jvmMarkers);
+            final ConfigurableClassLoader loader = layer == null
+                    ? new ConfigurableClassLoader(id, urls, overrideClassLoaderConfig.getParent(),
+                            overrideClassLoaderConfig.getParentClassesFilter(),
+                            overrideClassLoaderConfig.getClassesFilter(), rawNestedDependencies, jvmMarkers,
+                            overrideClassLoaderConfig.isLazyNestedDependencies())
+                    // shared classes and resources are delegated to the layer
+                    : new ConfigurableClassLoader(id, urls, layer.getClassLoader(),
+                            overrideClassLoaderConfig.getParentClassesFilter().or(layer::hasClass),
+                            overrideClassLoaderConfig.getClassesFilter(), rawNestedDependencies,
+                            layer.extendJvmMarkers(jvmMarkers), overrideClassLoaderConfig.isLazyNestedDependencies());
             transformers.forEach(loader::registerTransformer);
             activeSpecificTransformers(loader);
             return loader;
@@ -153,6 +172,50 @@ public class Container implements Lifecycle {
         reload();
     }
 
+    // transformers can't be applied to shared classes and layers use the manager classloader configuration
+    // so only containers without any transformer and specific configuration can share their libraries
+    private SharedDependencies.Layer acquireSharedLayer() {
+        final SharedDependencies sharedDependencies = get(SharedDependencies.class);
+        if (sharedDependencies == null || !transformers.isEmpty()
+                || get(ContainerManager.ClassLoaderConfiguration.class) != null) {
+            return null;
+        }
+        final Path containerFile = getContainerFile().orElse(null);
+        if (containerFile != null && hasAutoTransformers(containerFile)) {
+            return null;
+        }
+        final Map<Artifact, Path> libraries = new LinkedHashMap<>();
+        Stream
+                .of(dependencies)
+                .filter(it -> "jar".equals(it.getType()))
+                .forEach(it -> of(localDependencyRelativeResolver.apply(it.toPath()))
+                        .filter(Files::isRegularFile)
+                        .filter(path -> !path.equals(containerFile))
+                        .ifPresent(path -> libraries.putIfAbsent(it, path)));
+        // a dependency can also register transformers for the whole container
+        if (libraries.values().stream().anyMatch(this::hasAutoTransformers)) {
+            return null;
+        }
+        final SharedDependencies.Lease lease = sharedDependencies.acquire(libraries);
+        sharedLease.set(lease);
+        return lease == null ? null : lease.getLayer();
+    }
+
+    private boolean hasAutoTransformers(final Path module) {
+        final String service = "META-INF/services/" + AutoClassFileTransformer.class.getName();
+        if (Files.isDirectory(module)) {
+            return Files.exists(module.resolve(service));
+        }
+        if (!Files.isRegularFile(module)) {
+            return false;
+        }
+        try (final JarFile jarFile = new JarFile(module.toFile())) {
+            return jarFile.getEntry(service) != null;
+        } catch (final IOException e) {
+            return true; // unknown, don't share
+        }
+    }
+
     private void activeSpecificTransformers(final ConfigurableClassLoader loader) {
         final Thread thread = Thread.currentThread();
         final ClassLoader old = thread.getContextClassLoader();
@@ -299,6 +362,13 @@ public class Container implements Lifecycle {
         this.created.set(new Date());
     }
 
+    /**
+     * @return the layer hosting the libraries shared with other containers, null if there is none.
+     */
+    public SharedDependencies.Layer getSharedLayer() {
+        return ofNullable(sharedLease.get()).map(SharedDependencies.Lease::getLayer).orElse(null);
+    }
+
     public Date getLastModifiedTimestamp() {
         return lastModifiedTimestamp.get();
     }
@@ -325,6 +395,7 @@ public class Container implements Lifecycle {
                 log.debug(e.getMessage(), e);
             }
         });
+        ofNullable(sharedLease.getAndSet(null)).ifPresent(it -> get(SharedDependencies.class).release(it));
     }
 
     private <T> T withTccl(final UnsafeSupplier<T> supplier) throws Throwable {
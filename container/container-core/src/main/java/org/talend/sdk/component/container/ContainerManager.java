@@ -29,6 +29,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -94,6 +95,10 @@ public class ContainerManager implements Lifecycle {
 
     private final boolean hasNestedRepository;
 
+    // null if not enabled
+    @Getter
+    private final SharedDependencies sharedDependencies;
+
     public ContainerManager(final DependenciesResolutionConfiguration dependenciesResolutionConfiguration,
             final ClassLoaderConfiguration classLoaderConfiguration, final Consumer<Container> containerInitializer,
             final Level logInfoLevelMapping) {
@@ -114,7 +119,8 @@ public class ContainerManager implements Lifecycle {
                 ofNullable(classLoaderConfiguration.getParent()).orElseGet(ContainerManager.class::getClassLoader),
                 ofNullable(classLoaderConfiguration.getClassesFilter()).orElseGet(() -> name -> true),
                 ofNullable(classLoaderConfiguration.getParentClassesFilter()).orElseGet(() -> name -> true),
-                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource);
+                classLoaderConfiguration.isSupportsResourceDependencies(), nestedPluginMappingResource,
+                classLoaderConfiguration.isLazyNestedDependencies(), classLoaderConfiguration.isSharedDependencies());
         if (classLoaderConfiguration.isSupportsResourceDependencies()) {
             try (final InputStream mappingStream =
                     classLoaderConfiguration.getParent().getResourceAsStream(nestedPluginMappingResource)) {
@@ -149,6 +155,38 @@ public class ContainerManager implements Lifecycle {
                 this.classLoaderConfiguration.isSupportsResourceDependencies() && this.classLoaderConfiguration
                         .getParent()
                         .getResource(ConfigurableClassLoader.NESTED_MAVEN_REPOSITORY) != null;
+        this.sharedDependencies =
+                this.classLoaderConfiguration.isSharedDependencies()
+                        ? new SharedDependencies(this.classLoaderConfiguration.getParent(),
+                                this.classLoaderConfiguration.getParentClassesFilter(),
+                                this.classLoaderConfiguration.getClassesFilter(), jvmMarkers)
+                        : null;
+        logSharedArchive();
+    }
+
+    private void logSharedArchive() {
+        try {
+            ManagementFactory
+                    .getRuntimeMXBean()
+                    .getInputArguments()
+                    .stream()
+                    .filter(it -> it.startsWith("-XX:SharedArchiveFile="))
+                    .reduce((previous, last) -> last) // last option wins
+                    .map(it -> PathFactory.get(it.substring("-XX:SharedArchiveFile=".length())))
+                    .ifPresent(archive -> {
+                        final Optional<String> mismatch = SharedArchives.findMismatch(archive, System.getProperties());
+                        if (mismatch.isPresent()) {
+                            log
+                                    .warn("The class data sharing archive {} is likely ignored by the JVM, {}. "
+                                            + "Recreate it with the runtime JVM and classpath "
+                                            + "or check it with -Xlog:cds.", archive, mismatch.get());
+                        } else {
+                            info("Using class data sharing archive " + archive + " for plugin classes");
+                        }
+                    });
+        } catch (final RuntimeException | NoClassDefFoundError e) { // no management module
+            log.debug(e.getMessage(), e);
+        }
     }
 
     public File getRootRepositoryLocation() {
@@ -388,6 +426,12 @@ public class ContainerManager implements Lifecycle {
 
         private final String nestedPluginMappingResource;
 
+        // are nested jars memory mapped and read on demand instead of being loaded in memory
+        private final boolean lazyNestedDependencies;
+
+        // are identical libraries of the containers loaded once in a shared parent layer
+        private final boolean sharedDependencies;
+
         // note: we can add if needed resource filters too (to filter META-INF/services
         // for instance)
     }
@@ -442,8 +486,10 @@ public class ContainerManager implements Lifecycle {
 
             final Container container = new Container(id, moduleLocation, classpath.toArray(Artifact[]::new),
                     classLoaderConfiguration, ContainerManager.this::resolve,
-                    ofNullable(containerInitializer)
+                    ofNullable(sharedDependencies)
+                            .<Consumer<Container>> map(shared -> c -> c.set(SharedDependencies.class, shared))
                             .orElse(NOOP_CUSTOMIZER)
+                            .andThen(ofNullable(containerInitializer).orElse(NOOP_CUSTOMIZER))
                             .andThen(ofNullable(customizer).orElse(NOOP_CUSTOMIZER)),
                     jvmMarkers, hasNestedRepository) {
 
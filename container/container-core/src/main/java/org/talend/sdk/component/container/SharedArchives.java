@@ -0,0 +1,86 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.container;
+
+import static java.util.Optional.ofNullable;
+import static lombok.AccessLevel.PRIVATE;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+import lombok.NoArgsConstructor;
+
+/**
+ * The JVM silently ignores (with {@code -Xshare:auto}) a class data sharing archive created by another JVM build
+ * or with a classpath which is not a prefix of the runtime one. The training (cds-archive goal) writes the JVM
+ * and classpath it used in {@code <archive>.properties} so the runtime can report such an archive.
+ */
+@NoArgsConstructor(access = PRIVATE)
+final class SharedArchives {
+
+    /**
+     * @param archive the class data sharing archive the JVM was started with.
+     * @param runtime the runtime system properties.
+     * @return why the JVM does not use the archive, empty if it can use it.
+     */
+    static Optional<String> findMismatch(final Path archive, final Properties runtime) {
+        final Path descriptor = archive.resolveSibling(archive.getFileName() + ".properties");
+        if (!Files.exists(descriptor)) {
+            return Optional.of("no descriptor (" + descriptor + ") to validate it");
+        }
+        final Properties training = new Properties();
+        try (final InputStream stream = Files.newInputStream(descriptor)) {
+            training.load(stream);
+        } catch (final IOException e) {
+            return Optional.of("invalid descriptor " + descriptor + " (" + e.getMessage() + ")");
+        }
+        final Optional<String> jvm = Stream
+                .of("java.vm.vendor", "java.vm.version")
+                .filter(key -> !Objects.equals(training.getProperty(key), runtime.getProperty(key)))
+                .map(key -> "it was created with " + key + '=' + training.getProperty(key) + " but the runtime uses "
+                        + runtime.getProperty(key))
+                .findFirst();
+        if (jvm.isPresent()) {
+            return jvm;
+        }
+        final List<String> trainingClasspath = split(training.getProperty("java.class.path"));
+        final List<String> runtimeClasspath = split(runtime.getProperty("java.class.path"));
+        if (trainingClasspath.size() > runtimeClasspath.size()
+                || !trainingClasspath.equals(runtimeClasspath.subList(0, trainingClasspath.size()))) {
+            return Optional
+                    .of("the runtime classpath " + runtimeClasspath + " does not start with the training one "
+                            + trainingClasspath);
+        }
+        return Optional.empty();
+    }
+
+    private static List<String> split(final String classpath) {
+        return ofNullable(classpath)
+                .filter(it -> !it.isEmpty())
+                .map(it -> Arrays.asList(it.split(File.pathSeparator)))
+                .orElseGet(Collections::emptyList);
+    }
+}
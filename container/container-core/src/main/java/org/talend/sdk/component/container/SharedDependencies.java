@@ -0,0 +1,397 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.container;
+
+import static java.util.Collections.emptySet;
+import static java.util.Comparator.comparing;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.talend.sdk.component.classloader.ConfigurableClassLoader;
+import org.talend.sdk.component.dependencies.maven.Artifact;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Registry of the classloader layers shared between containers when
+ * {@link ContainerManager.ClassLoaderConfiguration#isSharedDependencies()} is enabled.
+ *
+ * A layer hosts library jars - identified by their coordinates and checksum - and is reused, as a read only parent,
+ * by the containers having all these jars in their dependencies. Their own classloader then only contains their module
+ * and their specific dependencies so common libraries classes are loaded once.
+ *
+ * When a container shares more libraries with another active container than with the existing layers, a layer
+ * is created from the libraries they have in common. A layer only sees its own classes so the common libraries are
+ * reduced to a set closed under their dependencies: a library declaring (in its embedded pom) a dependency which is
+ * not common to both containers - another version for instance - stays in the containers, as well as the libraries
+ * without pom since their dependencies are unknown.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class SharedDependencies {
+
+    private final ClassLoader parent;
+
+    private final Predicate<String> parentFilter;
+
+    private final Predicate<String> classesFilter;
+
+    private final String[] jvmMarkers;
+
+    private final Collection<Layer> layers = new ArrayList<>();
+
+    private final Collection<Lease> leases = new ArrayList<>();
+
+    private final ConcurrentMap<Path, Checksum> checksums = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Library> descriptors = new ConcurrentHashMap<>();
+
+    private final AtomicInteger ids = new AtomicInteger();
+
+    /**
+     * @param libraries the library jars of a container.
+     * @return the lease of the layer the container must use as parent or null if there is no library.
+     */
+    synchronized Lease acquire(final Map<Artifact, Path> libraries) {
+        if (libraries.isEmpty()) {
+            return null;
+        }
+        final Map<String, Path> artifacts = new LinkedHashMap<>();
+        libraries.forEach((artifact, path) -> {
+            final String key = artifact.toCoordinate() + '@' + checksum(path);
+            artifacts.putIfAbsent(key, path);
+            descriptors.computeIfAbsent(key, k -> describe(artifact, path));
+        });
+        final Map<String, Collection<String>> keysById = index(artifacts.keySet().stream());
+        final Layer reusable = layers
+                .stream()
+                .filter(it -> artifacts.keySet().containsAll(it.artifacts.keySet()))
+                .filter(it -> it.artifacts.size() == artifacts.size()
+                        || it.artifacts.keySet().stream().allMatch(key -> isClosed(key, it.artifacts, keysById)))
+                .max(comparing(it -> it.artifacts.size()))
+                .orElse(null);
+        final int reused = reusable == null ? 0 : reusable.artifacts.size();
+        final Layer layer = leases
+                .stream()
+                .map(it -> common(artifacts, it.artifacts))
+                .filter(it -> it.size() > reused)
+                .max(comparing(Map::size))
+                .map(this::newLayer)
+                .orElseGet(() -> reusable != null ? reusable : newLayer(artifacts));
+        layer.users.incrementAndGet();
+        final Lease lease = new Lease(layer, artifacts.keySet());
+        leases.add(lease);
+        return lease;
+    }
+
+    synchronized void release(final Lease lease) {
+        leases.remove(lease);
+        final Layer layer = lease.layer;
+        if (layer.users.decrementAndGet() > 0) {
+            return;
+        }
+        layers.remove(layer);
+        try {
+            layer.loader.close();
+        } catch (final IOException e) {
+            log.warn(e.getMessage(), e);
+        }
+    }
+
+    public synchronized Collection<Layer> getLayers() {
+        return new ArrayList<>(layers);
+    }
+
+    private Layer newLayer(final Map<String, Path> artifacts) {
+        final Layer created = new Layer("shared-" + ids.incrementAndGet(), artifacts);
+        layers.add(created);
+        log.debug("Created shared layer {} for {}", created.id, artifacts.keySet());
+        return created;
+    }
+
+    private Map<String, Path> common(final Map<String, Path> artifacts, final Collection<String> other) {
+        final Map<String, Path> common = artifacts
+                .entrySet()
+                .stream()
+                .filter(it -> other.contains(it.getKey()))
+                .collect(toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        if (common.size() == artifacts.size() && common.size() == other.size()) { // same libraries
+            return common;
+        }
+        final Map<String, Collection<String>> keysById =
+                index(Stream.concat(artifacts.keySet().stream(), other.stream()));
+        List<String> open;
+        while (!(open = common.keySet().stream().filter(key -> !isClosed(key, common, keysById)).collect(toList()))
+                .isEmpty()) {
+            common.keySet().removeAll(open);
+        }
+        return common;
+    }
+
+    // all the libraries (of the containers) matching a dependency of the library must be in the layer
+    private boolean isClosed(final String key, final Map<String, Path> layer,
+            final Map<String, Collection<String>> keysById) {
+        final Library library = descriptors.get(key);
+        return library != null && library.dependencies != null
+                && library.dependencies
+                        .stream()
+                        .flatMap(it -> keysById.getOrDefault(it, emptySet()).stream())
+                        .allMatch(layer::containsKey);
+    }
+
+    private Map<String, Collection<String>> index(final Stream<String> keys) {
+        final Map<String, Collection<String>> keysById = new HashMap<>();
+        keys
+                .distinct()
+                .forEach(key -> ofNullable(descriptors.get(key))
+                        .ifPresent(it -> keysById.computeIfAbsent(it.id, k -> new HashSet<>()).add(key)));
+        return keysById;
+    }
+
+    // the runtime dependencies declared in the pom the jar embeds, null if unknown
+    private Library describe(final Artifact artifact, final Path path) {
+        final String id = artifact.getGroup() + ':' + artifact.getArtifact();
+        try (final JarFile jar = new JarFile(path.toFile())) {
+            final ZipEntry pom =
+                    jar.getEntry("META-INF/maven/" + artifact.getGroup() + '/' + artifact.getArtifact() + "/pom.xml");
+            if (pom == null) {
+                return new Library(id, null);
+            }
+            final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            final Document document;
+            try (final InputStream stream = jar.getInputStream(pom)) {
+                document = factory.newDocumentBuilder().parse(stream);
+            }
+            final Collection<String> dependencies = new HashSet<>();
+            for (final Element dependency : children(
+                    children(document.getDocumentElement(), "dependencies").stream().findFirst().orElse(null),
+                    "dependency")) {
+                final String scope = text(dependency, "scope");
+                if ("test".equals(scope)) {
+                    continue;
+                }
+                final String group = text(dependency, "groupId").replace("${project.groupId}", artifact.getGroup());
+                final String name = text(dependency, "artifactId");
+                if (group.contains("${") || name.contains("${")) {
+                    return new Library(id, null);
+                }
+                dependencies.add(group + ':' + name);
+            }
+            return new Library(id, dependencies);
+        } catch (final IOException | ParserConfigurationException | SAXException e) {
+            log.debug("Can't read the dependencies of {}: {}", path, e.getMessage());
+            return new Library(id, null);
+        }
+    }
+
+    private String text(final Element parent, final String name) {
+        return children(parent, name).stream().findFirst().map(it -> it.getTextContent().trim()).orElse("");
+    }
+
+    private Collection<Element> children(final Element parent, final String name) {
+        final Collection<Element> children = new ArrayList<>();
+        if (parent == null) {
+            return children;
+        }
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (Element.class.isInstance(node) && name.equals(node.getNodeName())) {
+                children.add(Element.class.cast(node));
+            }
+        }
+        return children;
+    }
+
+    // a jar redeployed at the same path (snapshots) has a new size or last modified date
+    private String checksum(final Path file) {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        final long size = attributes.size();
+        final long lastModified = attributes.lastModifiedTime().toMillis();
+        final Checksum cached = checksums.get(file);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return cached.value;
+        }
+        final String value = sha1(file);
+        checksums.put(file, new Checksum(size, lastModified, value));
+        return value;
+    }
+
+    private String sha1(final Path file) {
+        try (final InputStream stream = Files.newInputStream(file)) {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            final byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                digest.update(buffer, 0, read);
+            }
+            final StringBuilder hex = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (final IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Library {
+
+        // groupId:artifactId
+        private final String id;
+
+        private final Collection<String> dependencies;
+    }
+
+    @RequiredArgsConstructor
+    private static class Checksum {
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final String value;
+    }
+
+    /**
+     * Usage of a layer by a container.
+     */
+    @RequiredArgsConstructor
+    public static class Lease {
+
+        @Getter
+        private final Layer layer;
+
+        // all the libraries of the container
+        private final Collection<String> artifacts;
+    }
+
+    public class Layer {
+
+        @Getter
+        private final String id;
+
+        private final Map<String, Path> artifacts;
+
+        private final ConfigurableClassLoader loader;
+
+        private final AtomicInteger users = new AtomicInteger();
+
+        private final AtomicLong loadedClasses = new AtomicLong();
+
+        private final AtomicLong loadedBytecode = new AtomicLong();
+
+        private Layer(final String id, final Map<String, Path> artifacts) {
+            this.id = id;
+            this.artifacts = artifacts;
+            this.loader = new ConfigurableClassLoader(id, artifacts.values().stream().map(it -> {
+                try {
+                    return it.toUri().toURL();
+                } catch (final MalformedURLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toArray(URL[]::new), parent, parentFilter, classesFilter, null, jvmMarkers);
+            this.loader.registerTransformer((loader, className, classBeingRedefined, protectionDomain, bytes) -> {
+                loadedClasses.incrementAndGet();
+                loadedBytecode.addAndGet(bytes.length);
+                return bytes;
+            });
+        }
+
+        /**
+         * @return the shared artifacts ({@code coordinates@sha1}).
+         */
+        public Collection<String> getArtifacts() {
+            return artifacts.keySet();
+        }
+
+        public int getUsers() {
+            return users.get();
+        }
+
+        public long getLoadedClasses() {
+            return loadedClasses.get();
+        }
+
+        /**
+         * @return an estimation of the metaspace saved by this layer, i.e. the bytecode size of the classes it loaded
+         * for each container reusing them.
+         */
+        public long getSavedMetaspace() {
+            return loadedBytecode.get() * Math.max(0, users.get() - 1);
+        }
+
+        ClassLoader getClassLoader() {
+            return loader;
+        }
+
+        Collection<Path> getFiles() {
+            return artifacts.values();
+        }
+
+        boolean hasClass(final String name) {
+            return loader.findResource(name.replace('.', '/') + ".class") != null;
+        }
+
+        String[] extendJvmMarkers(final String[] markers) {
+            return Stream
+                    .concat(Stream.of(markers), artifacts.values().stream().map(it -> it.toAbsolutePath().toString()))
+                    .toArray(String[]::new);
+        }
+    }
+}
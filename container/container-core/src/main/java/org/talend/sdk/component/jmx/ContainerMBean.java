@@ -15,6 +15,8 @@
  */
 package org.talend.sdk.component.jmx;
 
+import static java.util.Optional.ofNullable;
+
 import java.util.Date;
 import java.util.stream.Stream;
 
@@ -34,6 +36,7 @@ import javax.management.ReflectionException;
 
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerManager;
+import org.talend.sdk.component.container.SharedDependencies;
 
 import lombok.RequiredArgsConstructor;
 
@@ -57,6 +60,16 @@ public class ContainerMBean implements DynamicMBean {
             return delegate.isClosed();
         case "created":
             return delegate.getCreated();
+        case "sharedLayer":
+            return ofNullable(delegate.getSharedLayer()).map(SharedDependencies.Layer::getId).orElse(null);
+        case "sharedArtifacts":
+            return ofNullable(delegate.getSharedLayer())
+                    .map(it -> it.getArtifacts().toArray(new String[0]))
+                    .orElseGet(() -> new String[0]);
+        case "sharedClasses":
+            return ofNullable(delegate.getSharedLayer()).map(SharedDependencies.Layer::getLoadedClasses).orElse(0L);
+        case "sharedMetaspaceSaved":
+            return ofNullable(delegate.getSharedLayer()).map(SharedDependencies.Layer::getSavedMetaspace).orElse(0L);
         default:
             throw new AttributeNotFoundException(attribute);
         }
@@ -112,7 +125,16 @@ public class ContainerMBean implements DynamicMBean {
                         new MBeanAttributeInfo("closed", boolean.class.getName(), "Is the container already closed",
                                 true, false, false),
                         new MBeanAttributeInfo("created", Date.class.getName(), "When was the container created", true,
-                                false, false) },
+                                false, false),
+                        new MBeanAttributeInfo("sharedLayer", String.class.getName(),
+                                "The shared dependencies layer used by the container if any", true, false, false),
+                        new MBeanAttributeInfo("sharedArtifacts", String[].class.getName(),
+                                "The artifacts (coordinates@sha1) of the shared layer", true, false, false),
+                        new MBeanAttributeInfo("sharedClasses", long.class.getName(),
+                                "How many classes the shared layer loaded", true, false, false),
+                        new MBeanAttributeInfo("sharedMetaspaceSaved", long.class.getName(),
+                                "Estimation (in bytes) of the metaspace the shared layer saved for all its containers",
+                                true, false, false) },
                 new MBeanConstructorInfo[0],
                 new MBeanOperationInfo[] { new MBeanOperationInfo("reload",
                         "Reloads the container (ie stops it, recreates the classloader from the same files and starts it. Allows to kind of hot reload a plugin.",
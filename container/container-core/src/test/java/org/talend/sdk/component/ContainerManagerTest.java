@@ -18,6 +18,7 @@ package org.talend.sdk.component;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -33,6 +34,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.talend.sdk.component.container.Container;
 import org.talend.sdk.component.container.ContainerListener;
 import org.talend.sdk.component.container.ContainerManager;
+import org.talend.sdk.component.container.SharedDependencies;
 import org.talend.sdk.component.dependencies.maven.MvnDependencyListLocalRepositoryResolver;
 import org.talend.sdk.component.path.PathFactory;
 import org.talend.sdk.component.test.Constants;
@@ -129,16 +131,121 @@ class ContainerManagerTest {
         });
     }
 
+    @Test
+    void sharedDependencies(final TempJars jars) throws Exception {
+        try (final ContainerManager manager =
+                createDefaultManager(ContainerManager.ClassLoaderConfiguration.builder().sharedDependencies(true))) {
+            final Container first = manager.builder("first", createZiplockJar(jars).getAbsolutePath()).create();
+            final Container second = manager.builder("second", createZiplockJar(jars).getAbsolutePath()).create();
+
+            final SharedDependencies.Layer layer = first.getSharedLayer();
+            assertNotNull(layer);
+            assertEquals(layer, second.getSharedLayer());
+            assertEquals(2, layer.getUsers());
+            assertEquals(1, layer.getArtifacts().size());
+            assertTrue(layer.getArtifacts().iterator().next().startsWith("org.apache.tomee:ziplock:jar:7.0.5@"));
+
+            final Class<?> jarLocation = first.getLoader().loadClass("org.apache.ziplock.JarLocation");
+            assertEquals(jarLocation, second.getLoader().loadClass("org.apache.ziplock.JarLocation"));
+            assertNotEquals(first.getLoader(), jarLocation.getClassLoader());
+            assertNotEquals(ContainerManagerTest.class.getClassLoader(), jarLocation.getClassLoader());
+            assertNotNull(second.getLoader().getResource("org/apache/ziplock/JarLocation.class"));
+            assertTrue(layer.getLoadedClasses() > 0);
+            assertTrue(layer.getSavedMetaspace() > 0);
+
+            second.close();
+            assertEquals(1, layer.getUsers());
+            assertEquals(0, layer.getSavedMetaspace());
+            assertEquals(1, manager.getSharedDependencies().getLayers().size());
+        }
+    }
+
+    @Test
+    void sharedDependenciesPartialOverlap(final TempJars jars) throws Exception {
+        try (final ContainerManager manager =
+                createDefaultManager(ContainerManager.ClassLoaderConfiguration.builder().sharedDependencies(true))) {
+            final String ziplock = "org.apache.tomee:ziplock:jar:7.0.5";
+            final Container first = manager
+                    .builder("first",
+                            jars.create(ziplock + "\ncom.fasterxml.woodstox:woodstox-core:jar:5.1.0").getAbsolutePath())
+                    .create();
+            final Container second = manager
+                    .builder("second", jars.create(ziplock + "\nxerces:xercesImpl:jar:2.12.0").getAbsolutePath())
+                    .create();
+            final Container third = manager.builder("third", jars.create(ziplock).getAbsolutePath()).create();
+
+            // only the common library is shared, the specific ones stay in the plugin classloaders
+            final SharedDependencies.Layer common = second.getSharedLayer();
+            assertNotEquals(first.getSharedLayer(), common);
+            assertEquals(1, common.getArtifacts().size());
+            assertTrue(common.getArtifacts().iterator().next().startsWith(ziplock + "@"));
+            assertEquals(common, third.getSharedLayer());
+            assertEquals(2, common.getUsers());
+            assertEquals(second.getLoader().loadClass("org.apache.ziplock.JarLocation"),
+                    third.getLoader().loadClass("org.apache.ziplock.JarLocation"));
+            assertEquals(second.getLoader(),
+                    second.getLoader().loadClass("org.apache.xerces.parsers.SAXParser").getClassLoader());
+
+            third.close();
+            second.close();
+            assertEquals(1, manager.getSharedDependencies().getLayers().size());
+            assertEquals(first.getSharedLayer(), manager.getSharedDependencies().getLayers().iterator().next());
+        }
+    }
+
+    @Test
+    void sharedDependenciesClosedUnderDependencies(final TempJars jars) throws Exception {
+        try (final ContainerManager manager =
+                createDefaultManager(ContainerManager.ClassLoaderConfiguration.builder().sharedDependencies(true))) {
+            final String woodstox = "com.fasterxml.woodstox:woodstox-core:jar:5.1.0";
+            final Container first = manager
+                    .builder("first",
+                            jars.create(woodstox + "\norg.codehaus.woodstox:stax2-api:jar:4.1").getAbsolutePath())
+                    .create();
+            final Container second = manager
+                    .builder("second",
+                            jars.create(woodstox + "\norg.codehaus.woodstox:stax2-api:jar:3.1.4").getAbsolutePath())
+                    .create();
+            final Container third = manager
+                    .builder("third",
+                            jars
+                                    .create(woodstox + "\norg.codehaus.woodstox:stax2-api:jar:4.1"
+                                            + "\norg.apache.tomee:ziplock:jar:7.0.5")
+                                    .getAbsolutePath())
+                    .create();
+
+            // woodstox depends on stax2-api which has another version in the second plugin so it is not shared
+            assertNotEquals(first.getSharedLayer(), second.getSharedLayer());
+            assertEquals(2, second.getSharedLayer().getArtifacts().size());
+            assertEquals(1, second.getSharedLayer().getUsers());
+            final String factory = "com.ctc.wstx.stax.WstxInputFactory";
+            final Class<?> firstFactory = first.getLoader().loadClass(factory);
+            final Class<?> secondFactory = second.getLoader().loadClass(factory);
+            assertNotEquals(firstFactory, secondFactory);
+            assertEquals(secondFactory.getClassLoader(),
+                    second.getLoader().loadClass("org.codehaus.stax2.XMLInputFactory2").getClassLoader());
+
+            // the first plugin libraries are closed under their dependencies so they are reused
+            assertEquals(first.getSharedLayer(), third.getSharedLayer());
+            assertEquals(firstFactory, third.getLoader().loadClass(factory));
+        }
+    }
+
     private File createZiplockJar(final TempJars jars) {
         return jars.create("org.apache.tomee:ziplock:jar:7.0.5");
     }
 
     private ContainerManager createDefaultManager() {
+        return createDefaultManager(ContainerManager.ClassLoaderConfiguration.builder());
+    }
+
+    private ContainerManager createDefaultManager(
+            final ContainerManager.ClassLoaderConfiguration.ClassLoaderConfigurationBuilder classLoaderConfiguration) {
         return new ContainerManager(ContainerManager.DependenciesResolutionConfiguration
                 .builder()
                 .resolver(new MvnDependencyListLocalRepositoryResolver(Constants.DEPENDENCIES_LIST_RESOURCE_PATH,
                         d -> null))
                 .rootRepositoryLocation(PathFactory.get(Constants.DEPENDENCIES_LOCATION))
-                .create(), ContainerManager.ClassLoaderConfiguration.builder().create(), null, Level.INFO);
+                .create(), classLoaderConfiguration.create(), null, Level.INFO);
     }
 }
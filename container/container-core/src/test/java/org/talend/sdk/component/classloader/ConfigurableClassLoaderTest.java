@@ -20,9 +20,11 @@ import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.toList;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -38,7 +40,9 @@ import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.spi.FileSystemProvider;
+import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.List;
 import java.util.ServiceLoader;
 import java.util.UUID;
@@ -47,6 +51,7 @@ import java.util.jar.JarEntry;
 import java.util.jar.JarOutputStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 
 import javax.xml.stream.XMLOutputFactory;
@@ -79,6 +84,27 @@ class ConfigurableClassLoaderTest {
         }
     }
 
+    @Test
+    void indexedJars() throws Exception {
+        final ClassLoader parent = ConfigurableClassLoaderTest.class.getClassLoader();
+        final URL jar = new File(Constants.DEPENDENCIES_LOCATION, "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar")
+                .toURI()
+                .toURL();
+        try (final ConfigurableClassLoader loader = new ConfigurableClassLoader("", new URL[] { jar }, parent,
+                name -> true, name -> true, null, new String[0])) {
+            final Class<?> jarLocation = loader.loadClass("org.apache.ziplock.JarLocation");
+            assertEquals(loader, jarLocation.getClassLoader());
+            assertEquals(jar, jarLocation.getProtectionDomain().getCodeSource().getLocation());
+
+            assertNotNull(loader.findResource("org/apache/ziplock/Archive.class"));
+            assertNotNull(loader.findResource("META-INF/MANIFEST.MF"));
+            assertNull(loader.findResource("org/apache/ziplock/Missing.class"));
+            assertNull(loader.findResource("org/missing/Archive.class"));
+            assertFalse(loader.findResources("org/missing/Archive.class").hasMoreElements());
+            assertNull(loader.getResourceAsStream("org/missing/Archive.class"));
+        }
+    }
+
     @Test
     void childLoading() {
         Stream.of(true, false).forEach(parentFirst -> {
@@ -218,6 +244,80 @@ class ConfigurableClassLoaderTest {
         }
     }
 
+    @Test
+    void lazyNestedJars(@TempDir final File temporaryFolder) throws Exception {
+        for (final boolean stored : new boolean[] { true, false }) { // not stored falls back on the eager loading
+            final File nestedJar = createNestedJar(temporaryFolder, stored, "org.apache.tomee:ziplock:jar:7.0.5");
+            try (final URLClassLoader parent = new URLClassLoader(new URL[] { nestedJar.toURI().toURL() },
+                    Thread.currentThread().getContextClassLoader());
+                    final ConfigurableClassLoader loader = new ConfigurableClassLoader("", new URL[0], parent,
+                            name -> true, name -> true,
+                            new String[] { "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar" }, new String[0], true)) {
+                try (final NestedJar.Archives archives = new NestedJar.Archives()) {
+                    assertEquals(stored, archives
+                            .open(new URL("jar:" + nestedJar.toURI().toURL()
+                                    + "!/MAVEN-INF/repository/org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar")) != null);
+                }
+
+                final Class<?> aClass = loader.loadClass("org.apache.ziplock.JarLocation");
+                assertEquals(loader, aClass.getClassLoader());
+                assertEquals("org.apache.ziplock", aClass.getPackage().getName());
+                assertNotNull(aClass.getMethod("jarLocation", Class.class).invoke(null, getClass()));
+
+                final String resource = "org/apache/ziplock/JarLocation.class";
+                final URL url = loader.getResource(resource);
+                assertNotNull(url);
+                assertEquals("nested", url.getProtocol());
+                assertEquals(4666, slurp(url.openStream()).length, 256);
+                assertEquals(4666, slurp(loader.getResourceAsStream(resource)).length, 256);
+                assertEquals(1, loader.findContainedResources(resource).size());
+                assertNull(loader.getResource(resource + ".missing"));
+            } finally {
+                if (!nestedJar.delete()) {
+                    nestedJar.deleteOnExit();
+                }
+            }
+        }
+    }
+
+    @Test
+    void lazyNestedJarsShareTheirOuterJar(@TempDir final File temporaryFolder) throws Exception {
+        final File nestedJar = createNestedJar(temporaryFolder, true, "org.apache.tomee:ziplock:jar:7.0.5",
+                "org.codehaus.woodstox:stax2-api:jar:4.1");
+        try {
+            final String repository = "jar:" + nestedJar.toURI().toURL() + "!/MAVEN-INF/repository/";
+            final NestedJar ziplock;
+            try (final NestedJar.Archives archives = new NestedJar.Archives()) {
+                ziplock = archives.open(new URL(repository + "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar"));
+                final NestedJar stax2 =
+                        archives.open(new URL(repository + "org/codehaus/woodstox/stax2-api/4.1/stax2-api-4.1.jar"));
+                assertNotNull(ziplock.read("org/apache/ziplock/JarLocation.class"));
+                assertNotNull(stax2.read("org/codehaus/stax2/XMLStreamReader2.class"));
+                assertEquals(1, archives.mappings());
+            }
+            // released, reading it would crash the JVM
+            assertThrows(IllegalStateException.class, () -> ziplock.read("org/apache/ziplock/JarLocation.class"));
+
+            final URL resource;
+            try (final URLClassLoader parent = new URLClassLoader(new URL[] { nestedJar.toURI().toURL() },
+                    Thread.currentThread().getContextClassLoader());
+                    final ConfigurableClassLoader loader =
+                            new ConfigurableClassLoader("", new URL[0], parent, name -> true, name -> true,
+                                    new String[] { "org/apache/tomee/ziplock/7.0.5/ziplock-7.0.5.jar",
+                                            "org/codehaus/woodstox/stax2-api/4.1/stax2-api-4.1.jar" },
+                                    new String[0], true)) {
+                resource = loader.getResource("org/codehaus/stax2/XMLStreamReader2.class");
+                assertNotNull(resource);
+                assertNotNull(loader.loadClass("org.apache.ziplock.JarLocation"));
+            }
+            assertThrows(IllegalStateException.class, resource::openStream);
+        } finally {
+            if (!nestedJar.delete()) {
+                nestedJar.deleteOnExit();
+            }
+        }
+    }
+
     @Test
     void noNestedJarsMissingResources() throws IOException {
         try (final URLClassLoader parent =
@@ -346,8 +446,14 @@ class ConfigurableClassLoaderTest {
 
     // super light packaging of a nested jar, this is 100% for test purposes
     private File createNestedJar(final File temporaryFolder, final String... deps) throws IOException {
+        return createNestedJar(temporaryFolder, false, deps);
+    }
+
+    private File createNestedJar(final File temporaryFolder, final boolean stored, final String... deps)
+            throws IOException {
         final File tmp = new File(temporaryFolder, UUID.randomUUID().toString() + ".jar");
         tmp.getParentFile().mkdirs();
+        final Collection<String> folders = new HashSet<>();
         try (final JarOutputStream out = new JarOutputStream(new FileOutputStream(tmp))) {
             {
                 out.putNextEntry(new ZipEntry(Constants.DEPENDENCIES_LIST_RESOURCE_PATH));
@@ -366,6 +472,9 @@ class ConfigurableClassLoaderTest {
                     final StringBuilder current = new StringBuilder();
                     for (int i = 0; i < subPaths.length - 1; i++) {
                         current.append(subPaths[i]).append("/");
+                        if (!folders.add(current.toString())) {
+                            continue;
+                        }
                         try {
                             out.putNextEntry(new ZipEntry(current.toString()));
                         } catch (final IOException e) {
@@ -377,7 +486,16 @@ class ConfigurableClassLoaderTest {
                     final File jar =
                             new File(Constants.DEPENDENCIES_LOCATION, path.substring("MAVEN-INF/repository/".length()));
                     try {
-                        out.putNextEntry(new ZipEntry(path));
+                        final ZipEntry entry = new ZipEntry(path);
+                        if (stored) {
+                            final byte[] bytes = Files.readAllBytes(jar.toPath());
+                            final CRC32 crc = new CRC32();
+                            crc.update(bytes);
+                            entry.setMethod(ZipEntry.STORED);
+                            entry.setSize(bytes.length);
+                            entry.setCrc(crc.getValue());
+                        }
+                        out.putNextEntry(entry);
                         Files.copy(jar.toPath(), out);
                     } catch (final IOException e) {
                         fail(e.getMessage());
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.container;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SharedArchivesTest {
+
+    @Test
+    void sameJvmAndClasspath(@TempDir final Path temporaryFolder) throws IOException {
+        final Path archive =
+                createArchive(temporaryFolder, jvm("11.0.2", "/app/a.jar" + File.pathSeparator + "/app/b.jar"));
+        assertFalse(SharedArchives
+                .findMismatch(archive, jvm("11.0.2", "/app/a.jar" + File.pathSeparator + "/app/b.jar"))
+                .isPresent());
+        // the runtime classpath can extend the training one
+        assertFalse(
+                SharedArchives
+                        .findMismatch(archive,
+                                jvm("11.0.2",
+                                        "/app/a.jar" + File.pathSeparator + "/app/b.jar" + File.pathSeparator
+                                                + "/app/c.jar"))
+                        .isPresent());
+    }
+
+    @Test
+    void anotherJvm(@TempDir final Path temporaryFolder) throws IOException {
+        final Path archive = createArchive(temporaryFolder, jvm("11.0.2", "/app/a.jar"));
+        final Optional<String> mismatch = SharedArchives.findMismatch(archive, jvm("17.0.1", "/app/a.jar"));
+        assertEquals("it was created with java.vm.version=11.0.2 but the runtime uses 17.0.1", mismatch.get());
+    }
+
+    @Test
+    void anotherClasspath(@TempDir final Path temporaryFolder) throws IOException {
+        final Path archive =
+                createArchive(temporaryFolder, jvm("11.0.2", "/m2/a.jar" + File.pathSeparator + "/m2/b.jar"));
+        assertTrue(SharedArchives
+                .findMismatch(archive, jvm("11.0.2", "/app/a.jar" + File.pathSeparator + "/app/b.jar"))
+                .get()
+                .startsWith("the runtime classpath [/app/a.jar, /app/b.jar] does not start with the training one"));
+        assertTrue(SharedArchives.findMismatch(archive, jvm("11.0.2", "/m2/a.jar")).isPresent());
+    }
+
+    @Test
+    void missingDescriptor(@TempDir final Path temporaryFolder) throws IOException {
+        final Path archive = Files.createFile(temporaryFolder.resolve("app.jsa"));
+        assertTrue(SharedArchives.findMismatch(archive, jvm("11.0.2", "/app/a.jar")).get().startsWith("no descriptor"));
+    }
+
+    private Path createArchive(final Path folder, final Properties training) throws IOException {
+        final Path archive = Files.createFile(folder.resolve("app.jsa"));
+        try (final OutputStream stream = Files.newOutputStream(folder.resolve("app.jsa.properties"))) {
+            training.store(stream, "test");
+        }
+        return archive;
+    }
+
+    private Properties jvm(final String version, final String classpath) {
+        final Properties properties = new Properties();
+        properties.setProperty("java.vm.vendor", "Test");
+        properties.setProperty("java.vm.version", version);
+        properties.setProperty("java.class.path", classpath);
+        return properties;
+    }
+}
@@ -18,6 +18,7 @@ package org.talend.sdk.component.jmx;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -63,6 +64,9 @@ class JmxManagerTest {
             assertTrue(Date.class.isInstance(created));
             // ensure date is stable until reloading
             assertEquals(created, created);
+            // no shared layer by default
+            assertNull(mBeanServer.getAttribute(name, "sharedLayer"));
+            assertEquals(0L, mBeanServer.getAttribute(name, "sharedMetaspaceSaved"));
 
             mBeanServer.invoke(name, "reload", new Object[0], new String[0]);
             assertNotSame(created, mBeanServer.getAttribute(name, "created"));
@@ -21,11 +21,14 @@ import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toSet;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.jar.JarOutputStream;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 
 import lombok.Setter;
@@ -38,6 +41,10 @@ public class ContainerDependenciesTransformer extends ArtifactTransformer {
     @Setter
     private String ignoredPaths = "META-INF/";
 
+    // stored jars can be memory mapped at runtime instead of being loaded in memory
+    @Setter
+    private boolean storeUncompressed = false;
+
     private Collection<String> ignoredPathsRuntime = null;
 
     @Override
@@ -68,7 +75,13 @@ public class ContainerDependenciesTransformer extends ArtifactTransformer {
                     if (artifact.getFile() == null) {
                         throw new IllegalArgumentException("No file specified for " + artifact);
                     }
-                    jarOutputStream.putNextEntry(new ZipEntry(path));
+                    final ZipEntry entry = new ZipEntry(path);
+                    if (storeUncompressed) {
+                        entry.setMethod(ZipEntry.STORED);
+                        entry.setSize(Files.size(artifact.getFile().toPath()));
+                        entry.setCrc(crc(artifact.getFile().toPath()));
+                    }
+                    jarOutputStream.putNextEntry(entry);
                     Files.copy(artifact.getFile().toPath(), jarOutputStream);
                 }
             } catch (final IOException e) {
@@ -77,6 +90,18 @@ public class ContainerDependenciesTransformer extends ArtifactTransformer {
         });
     }
 
+    private long crc(final Path file) throws IOException {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[8192];
+        try (final InputStream stream = Files.newInputStream(file)) {
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                crc.update(buffer, 0, read);
+            }
+        }
+        return crc.getValue();
+    }
+
     // we can't "putNextEntry" twice with a JarOutputStream so ignore default ones
     private boolean isExcluded(final String folderPath) {
         if (ignoredPathsRuntime == null) {
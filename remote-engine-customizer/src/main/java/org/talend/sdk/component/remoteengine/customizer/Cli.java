@@ -68,10 +68,11 @@ public final class Cli {
             @Option("docker-configuration-") final DockerConfiguration dockerConfiguration,
             @Option("registry-configuration-") final RegistryConfiguration registryConfiguration,
             @Option("update-original-docker-compose") @Default("true") final boolean updateOriginalFile,
-            final ConnectorLoader connectorLoader, final RemoteEngineCustomizer remoteEngineCustomizer) {
+            @Option("cds-archive") final String cdsArchive, final ConnectorLoader connectorLoader,
+            final RemoteEngineCustomizer remoteEngineCustomizer) {
         remoteEngineCustomizer
                 .registerComponents(remoteEngineDirConf, workDirConf, cacheDirConf, baseImageConf, targetImageConf,
                         carPaths, fromImageType, targetImageType, dockerConfiguration, registryConfiguration,
-                        connectorLoader, updateOriginalFile);
+                        connectorLoader, updateOriginalFile, cdsArchive);
     }
 }
@@ -92,7 +92,7 @@ public class RemoteEngineCustomizer {
             final String cacheDirConf, final String baseImageConf, final String targetImageConf,
             final Collection<String> carPaths, final ImageType fromImageType, final ImageType targetImageType,
             final DockerConfiguration dockerConfiguration, final RegistryConfiguration registryConfiguration,
-            final ConnectorLoader connectorLoader, final boolean updateOriginalFile) {
+            final ConnectorLoader connectorLoader, final boolean updateOriginalFile, final String cdsArchiveConf) {
         // CHECKSTYLE:ON
         final Path remoteEngineDir =
                 PathFactory.get(requireNonNull(remoteEngineDirConf, "Missing remote engine folder"));
@@ -105,6 +105,10 @@ public class RemoteEngineCustomizer {
         if (!missingCars.isEmpty()) {
             throw new IllegalArgumentException("Missing component archives: " + missingCars);
         }
+        final Path cdsArchive = ofNullable(cdsArchiveConf).map(PathFactory::get).orElse(null);
+        if (cdsArchive != null && !Files.exists(cdsArchive)) {
+            throw new IllegalArgumentException("Missing class data sharing archive: " + cdsArchive);
+        }
 
         try {
             final Properties filtering = IO.loadProperties(remoteEngineDir.resolve(".env"));
@@ -200,6 +204,30 @@ public class RemoteEngineCustomizer {
                 log.info("Building image '{}'", toConnectorsImage);
                 final JibContainerBuilder from = from(fromImageType, dockerConfiguration, fromConnectorsImage);
                 connectorsLayer.stream().map(ConnectorLoader.ConnectorLayer::getLayer).forEach(from::addLayer);
+                if (cdsArchive != null) {
+                    final AbsoluteUnixPath archivePath = rootContainerPath.resolve("talend-component.jsa");
+                    final LayerConfiguration.Builder archiveLayer = LayerConfiguration
+                            .builder()
+                            .addEntry(cdsArchive, archivePath, FilePermissions.DEFAULT_FILE_PERMISSIONS, now);
+                    // the runtime compares the archive JVM and classpath to its own to report an ignored archive
+                    final Path descriptor = cdsArchive.resolveSibling(cdsArchive.getFileName() + ".properties");
+                    if (Files.exists(descriptor)) {
+                        archiveLayer
+                                .addEntry(descriptor, rootContainerPath.resolve("talend-component.jsa.properties"),
+                                        FilePermissions.DEFAULT_FILE_PERMISSIONS, now);
+                    } else {
+                        log
+                                .warn("No '{}', the connectors will not be able to check they use '{}'", descriptor,
+                                        cdsArchive);
+                    }
+                    from.addLayer(archiveLayer.build());
+                    // keep base image options, the archive must be created with the same JVM than the image one
+                    final String javaToolOptions =
+                            ofNullable(image.getEnvironment().get("JAVA_TOOL_OPTIONS")).map(it -> it + ' ').orElse("")
+                                    + "-XX:SharedArchiveFile=" + archivePath + " -Xshare:auto";
+                    from.addEnvironmentVariable("JAVA_TOOL_OPTIONS", javaToolOptions);
+                    log.info("Adding class data sharing archive '{}' as '{}'", cdsArchive, archivePath);
+                }
                 from
                         .addLayer(LayerConfiguration
                                 .builder()
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.remoteengine.customizer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CliTest {
+
+    @Test
+    void cdsArchive(@TempDir final Path temporaryFolder) throws IOException {
+        final Path remoteEngine = Files.createDirectories(temporaryFolder.resolve("remote-engine"));
+        final Path car = Files.createFile(temporaryFolder.resolve("component.car"));
+        final Path cdsArchive = Files.createFile(temporaryFolder.resolve("app.jsa"));
+        // the archive is accepted, the command then fails because the remote engine folder is empty
+        final Throwable error = rootCause(assertThrows(Exception.class,
+                () -> Cli
+                        .run(new String[] { "register-component-archive", "--remote-engine-dir=" + remoteEngine,
+                                "--work-dir=" + temporaryFolder.resolve("work"), "--component-archive=" + car,
+                                "--cds-archive=" + cdsArchive })));
+        assertEquals("Missing file: " + remoteEngine.resolve("docker-compose.yml"), error.getMessage());
+    }
+
+    private Throwable rootCause(final Throwable error) { // crest wraps the command exception
+        Throwable current = error;
+        while (current.getCause() != null) {
+            current = current.getCause();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.remoteengine.customizer.task;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.talend.sdk.component.remoteengine.customizer.model.ImageType;
+import org.talend.sdk.component.remoteengine.customizer.service.ConnectorLoader;
+
+class RemoteEngineCustomizerTest {
+
+    @Test
+    void missingCdsArchive(@TempDir final Path temporaryFolder) throws IOException {
+        final Path car = Files.createFile(temporaryFolder.resolve("component.car"));
+        final Path cdsArchive = temporaryFolder.resolve("missing.jsa");
+        final IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new RemoteEngineCustomizer()
+                        .registerComponents(temporaryFolder.toString(), temporaryFolder.resolve("work").toString(),
+                                temporaryFolder.resolve("cache").toString(), "auto", "auto",
+                                singletonList(car.toString()), ImageType.AUTO, ImageType.DOCKER, null, null,
+                                new ConnectorLoader(), false, cdsArchive.toString()));
+        assertEquals("Missing class data sharing archive: " + cdsArchive, error.getMessage());
+    }
+}
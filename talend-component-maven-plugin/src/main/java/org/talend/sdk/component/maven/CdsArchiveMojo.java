@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2006-2021 Talend Inc. - www.talend.com
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.talend.sdk.component.maven;
+
+import static java.util.Collections.emptyList;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static org.apache.maven.plugins.annotations.LifecyclePhase.PACKAGE;
+import static org.apache.maven.plugins.annotations.ResolutionScope.COMPILE_PLUS_RUNTIME;
+import static org.talend.sdk.component.maven.api.Audience.Type.PUBLIC;
+
+import java.io.File;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.talend.sdk.component.maven.api.Audience;
+import org.talend.sdk.component.tools.CdsArchiveTask;
+
+/**
+ * Trains the component in a dry run (deployment and metadata loading) and generates
+ * a dynamic class data sharing (AppCDS) archive which can be used with {@code -XX:SharedArchiveFile}
+ * to reduce the startup time of short lived executions.
+ * It requires a java 13 or later JVM and the packaged jar of the component.
+ * The JVM only uses the archive when it is the training JVM build and when its classpath starts with the training
+ * one (this plugin classpath), the generated {@code <archive>.properties} descriptor lets the runtime report
+ * an archive it ignores.
+ */
+@Audience(PUBLIC)
+@Mojo(name = "cds-archive", defaultPhase = PACKAGE, requiresDependencyResolution = COMPILE_PLUS_RUNTIME,
+        threadSafe = true)
+public class CdsArchiveMojo extends DependencyAwareMojo {
+
+    /**
+     * Where to generate the archive.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/${project.build.finalName}.jsa",
+            property = "talend.cds.output")
+    private File output;
+
+    /**
+     * The java executable to use for the training, it must support {@code -XX:ArchiveClassesAtExit}.
+     */
+    @Parameter(defaultValue = "${java.home}/bin/java", property = "talend.cds.java")
+    private File java;
+
+    /**
+     * Additional JVM options, they should match the runtime ones (garbage collector for instance).
+     */
+    @Parameter(property = "talend.cds.jvmOptions")
+    private List<String> jvmOptions;
+
+    /**
+     * Other plugins (jar paths) to train at the same time, useful to build a single archive for an engine.
+     */
+    @Parameter(property = "talend.cds.additionalPlugins")
+    private List<File> additionalPlugins;
+
+    @Parameter(defaultValue = "${settings.localRepository}", property = "talend.cds.mavenrepository")
+    private File repository;
+
+    @Parameter(defaultValue = "${plugin.artifacts}", readonly = true)
+    private List<Artifact> pluginArtifacts;
+
+    @Parameter(defaultValue = "${project.packaging}", readonly = true)
+    private String packaging;
+
+    /**
+     * Should this execution be skipped.
+     */
+    @Parameter(defaultValue = "false", property = "talend.cds.skip")
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (skip) {
+            return;
+        }
+        if ("pom".equals(packaging)) {
+            getLog().info("Skipping CDS archive creation since the packaging is of type pom");
+            return;
+        }
+
+        final File jar = artifacts().get(mainGav());
+        if (jar == null || !jar.isFile()) {
+            throw new MojoExecutionException("No jar for " + mainGav() + ", ensure to run this goal after packaging");
+        }
+        final List<File> classpath =
+                pluginArtifacts.stream().map(Artifact::getFile).filter(Objects::nonNull).collect(toList());
+        final List<File> plugins = Stream
+                .concat(Stream.of(jar), ofNullable(additionalPlugins).map(List::stream).orElseGet(Stream::empty))
+                .collect(toList());
+        new CdsArchiveTask(java, classpath, repository, plugins, ofNullable(jvmOptions).orElse(emptyList()), output,
+                getLog()).run();
+    }
+}